@@ -0,0 +1,167 @@
+package Benchmarks;
+
+import Business.Character.Character;
+import Business.Item.Armor;
+import Business.Item.Item;
+import Business.Item.Weapon;
+import Business.Stats.Stats;
+import Business.Team.Member;
+import Business.Team.Team;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+
+/**
+ * Datos sintéticos para los benchmarks, siempre los mismos para un tamaño dado (semilla fija), en memoria
+ * o escritos con el formato de los JSON de {@code Data/}.
+ */
+public final class BenchmarkData {
+    private static final long SEED = 42;
+    private static final String[] STRATEGIES = {"balanced", "focus-weakest", "spread-damage", "focus-heaviest", "focus-lightest"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Crea personajes con IDs 0..count-1 y pesos entre 40 y 160.
+     */
+    public static List<Character> characters(int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Character> characters = new ArrayList<>(count);
+        for (int id = 0; id < count; id++) {
+            characters.add(new Character(id, "Character " + id, 40 + random.nextInt(121)));
+        }
+        return characters;
+    }
+
+    /**
+     * Crea ítems, la mitad armas y la mitad armaduras, con poder entre 1 y 90 y durabilidad entre 1 y 20.
+     */
+    public static List<Item> items(int count) {
+        SplittableRandom random = new SplittableRandom(SEED + 1);
+        List<Item> items = new ArrayList<>(count);
+        for (int id = 0; id < count; id++) {
+            int power = 1 + random.nextInt(90);
+            int durability = 1 + random.nextInt(20);
+            items.add(id % 2 == 0 ? new Weapon(id, "Weapon " + id, power, durability) : new Armor(id, "Armor " + id, power, durability));
+        }
+        return items;
+    }
+
+    /**
+     * Crea un equipo con miembros consecutivos a partir de un ID, cada uno con una estrategia distinta.
+     */
+    public static Team team(String name, long firstId, int size) {
+        List<Member> members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            members.add(new Member(firstId + i, STRATEGIES[i % STRATEGIES.length]));
+        }
+        return new Team(name, members);
+    }
+
+    /**
+     * Crea equipos de 4 miembros tomados al azar de {@code characters} personajes.
+     */
+    public static List<Team> teams(int count, int characters) {
+        SplittableRandom random = new SplittableRandom(SEED + 2);
+        List<Team> teams = new ArrayList<>(count);
+        for (int t = 0; t < count; t++) {
+            List<Member> members = new ArrayList<>(4);
+            for (int i = 0; i < 4; i++) {
+                members.add(new Member(random.nextInt(characters), STRATEGIES[random.nextInt(STRATEGIES.length)]));
+            }
+            teams.add(new Team("Team " + t, members));
+        }
+        return teams;
+    }
+
+    /**
+     * Crea las estadísticas de {@code count} equipos.
+     */
+    public static List<Stats> stats(int count) {
+        SplittableRandom random = new SplittableRandom(SEED + 3);
+        List<Stats> stats = new ArrayList<>(count);
+        for (int t = 0; t < count; t++) {
+            int played = random.nextInt(200);
+            int won = played == 0 ? 0 : random.nextInt(played + 1);
+            stats.add(new Stats("Team " + t, played, won, random.nextInt(4 * played + 1), random.nextInt(4 * played + 1)));
+        }
+        return stats;
+    }
+
+    public static void writeCharacters(Path path, List<Character> characters) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("[\n");
+            for (int i = 0; i < characters.size(); i++) {
+                Character character = characters.get(i);
+                writer.write("  {\"id\": " + character.getId() + ", \"name\": \"" + character.getName() + "\", \"weight\": "
+                        + character.getWeight() + "}");
+                writer.write(i + 1 < characters.size() ? ",\n" : "\n");
+            }
+            writer.write("]\n");
+        }
+    }
+
+    public static void writeItems(Path path, List<Item> items) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("[\n");
+            for (int i = 0; i < items.size(); i++) {
+                Item item = items.get(i);
+                writer.write("  {\"id\": " + item.getId() + ", \"name\": \"" + item.getName() + "\", \"power\": " + item.getPower()
+                        + ", \"durability\": " + item.getDurability() + ", \"class\": \"" + item.getItemClass() + "\"}");
+                writer.write(i + 1 < items.size() ? ",\n" : "\n");
+            }
+            writer.write("]\n");
+        }
+    }
+
+    public static void writeTeams(Path path, List<Team> teams) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("[\n");
+            for (int t = 0; t < teams.size(); t++) {
+                Team team = teams.get(t);
+                writer.write("  {\"name\": \"" + team.getTeamName() + "\", \"members\": [");
+                List<Member> members = team.getTeamMembers();
+                for (int i = 0; i < members.size(); i++) {
+                    writer.write((i > 0 ? ", " : "") + "{\"id\": " + members.get(i).getMemberId() + ", \"strategy\": \""
+                            + members.get(i).getStrategy() + "\"}");
+                }
+                writer.write(t + 1 < teams.size() ? "]},\n" : "]}\n");
+            }
+            writer.write("]\n");
+        }
+    }
+
+    public static void writeStats(Path path, List<Stats> stats) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("[\n");
+            for (int t = 0; t < stats.size(); t++) {
+                Stats team = stats.get(t);
+                writer.write("  {\"team_name\": \"" + team.getTeamName() + "\", \"games_played\": " + team.getGamesPlayed()
+                        + ", \"games_won\": " + team.getGamesWon() + ", \"ko_done\": " + team.getKODone()
+                        + ", \"ko_received\": " + team.getKOReceived() + "}");
+                writer.write(t + 1 < stats.size() ? ",\n" : "\n");
+            }
+            writer.write("]\n");
+        }
+    }
+
+    /**
+     * Borra un directorio temporal y todo su contenido.
+     */
+    public static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package Benchmarks;
+
+import Business.Character.Character;
+import Persistance.Binary.CatalogSnapshot;
+import Persistance.Binary.CatalogSnapshotWriter;
+import Persistance.Binary.CharacterSnapshotDAO;
+import Persistance.Binary.CharacterView;
+import Persistance.JSON.CharacterJSONDAO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga de los personajes desde JSON frente a la apertura de una {@link CatalogSnapshot} exportada de ese
+ * mismo JSON, y el coste de usarla: una búsqueda por ID y el recorrido completo con la vista.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogSnapshotBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private Path directory;
+    private Path charactersJson;
+    private Path snapshotPath;
+    private CatalogSnapshot snapshot;
+    private CharacterSnapshotDAO dao;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void export() throws IOException {
+        directory = Files.createTempDirectory("jmh-catalog");
+        charactersJson = directory.resolve("characters.json");
+        Path itemsJson = directory.resolve("items.json");
+        snapshotPath = directory.resolve("catalog.bin");
+        BenchmarkData.writeCharacters(charactersJson, BenchmarkData.characters(size));
+        BenchmarkData.writeItems(itemsJson, BenchmarkData.items(Math.max(2, size / 3)));
+        snapshot = CatalogSnapshotWriter.export(charactersJson, itemsJson, snapshotPath);
+        dao = new CharacterSnapshotDAO(snapshot);
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        BenchmarkData.delete(directory);
+    }
+
+    @Benchmark
+    public List<Character> loadJson() {
+        return new CharacterJSONDAO(charactersJson.toString()).getCharacters();
+    }
+
+    /**
+     * Abre la instantánea y busca un personaje, lo mínimo para servir la primera consulta. Cada apertura
+     * proyecta el archivo en memoria y la proyección no se libera hasta que se recoge, así que se mide un número
+     * fijo de aperturas sueltas en lugar de repetirla durante toda la iteración.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 50)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Character openSnapshot() throws IOException {
+        return new CharacterSnapshotDAO(new CatalogSnapshot(snapshotPath)).getCharacter(size / 2);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Character lookup() {
+        return dao.getCharacter(random.nextInt(size));
+    }
+
+    @Benchmark
+    public long scan() {
+        CharacterView view = snapshot.characterView();
+        long weights = 0;
+        for (int record = 0; record < snapshot.getCharacterCount(); record++) {
+            weights += view.moveTo(record).getWeight();
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,108 @@
+package Benchmarks;
+
+import Business.Character.Character;
+import Business.Character.CharacterIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de un personaje por ID: el recorrido lineal de la lista (como hacía
+ * CharacterManager.getCharacter), un HashMap con claves Long y {@link CharacterIndex}, y lo que cuesta
+ * construir cada índice. Con {@code -prof gc} se ve la memoria que reserva cada construcción.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CharacterIndexBenchmark {
+    private static final int QUERIES = 1 << 16;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private List<Character> characters;
+    private CharacterIndex index;
+    private Map<Long, Character> map;
+    private long[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void createData() {
+        // IDs above 2^32, like the ones in characters.json, in random order
+        SplittableRandom random = new SplittableRandom(42);
+        characters = new ArrayList<>(size);
+        long[] ids = new long[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = 4_000_000_000L + random.nextLong(1L << 40);
+            characters.add(new Character(ids[i], "Character " + i, 50 + i % 100));
+        }
+        queries = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = ids[random.nextInt(size)];
+        }
+        index = buildIndex();
+        map = buildHashMap();
+    }
+
+    @Benchmark
+    public Character scan() {
+        long id = nextQuery();
+        for (Character character : characters) {
+            if (character.getId() == id) {
+                return character;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public Character hashMap() {
+        return map.get(nextQuery());
+    }
+
+    @Benchmark
+    public Character index() {
+        return index.get(nextQuery());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CharacterIndex buildIndex() {
+        return new CharacterIndex(characters);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<Long, Character> buildHashMap() {
+        Map<Long, Character> built = new HashMap<>();
+        for (Character character : characters) {
+            built.putIfAbsent(character.getId(), character);
+        }
+        return built;
+    }
+
+    private long nextQuery() {
+        long id = queries[next];
+        next = (next + 1) & (QUERIES - 1);
+        return id;
+    }
+}
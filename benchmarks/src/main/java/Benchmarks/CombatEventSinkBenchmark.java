@@ -0,0 +1,83 @@
+package Benchmarks;
+
+import Business.Character.Character;
+import Business.Combat.CombatResult;
+import Business.Combat.CombatSimulator;
+import Business.Combat.CombatState;
+import Business.Combat.Event.NullEventSink;
+import Business.Item.Item;
+import Business.Team.Team;
+import Persistance.Binary.CombatEventFileSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un combate de 4 contra 4 con {@link CombatSimulator} descartando los eventos ({@link NullEventSink}) y
+ * guardándolos en un archivo binario ({@link CombatEventFileSink}). Los dos usan las mismas semillas, así que
+ * la diferencia es el coste de guardar los eventos. El archivo se empieza de nuevo en cada iteración.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CombatEventSinkBenchmark {
+    private static final int MEMBERS = 4;
+
+    private CombatSimulator simulator;
+    private Team team1;
+    private Team team2;
+    private CombatState state;
+    private Path file;
+    private CombatEventFileSink sink;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void createData() {
+        List<Character> characters = BenchmarkData.characters(2 * MEMBERS);
+        List<Item> items = BenchmarkData.items(4);
+        simulator = new CombatSimulator(characters, items);
+        team1 = BenchmarkData.team("Benchmark 1", 0, MEMBERS);
+        team2 = BenchmarkData.team("Benchmark 2", MEMBERS, MEMBERS);
+        state = new CombatState(2 * MEMBERS);
+    }
+
+    @Setup(Level.Iteration)
+    public void openFile() throws IOException {
+        file = Files.createTempFile("jmh-events", ".bin");
+        sink = new CombatEventFileSink(file);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteFile() throws IOException {
+        sink.close();
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public CombatResult nullSink() {
+        return simulator.simulate(team1, team2, seed++, state, NullEventSink.INSTANCE);
+    }
+
+    @Benchmark
+    public CombatResult fileSink() {
+        return simulator.simulate(team1, team2, seed++, state, sink);
+    }
+}
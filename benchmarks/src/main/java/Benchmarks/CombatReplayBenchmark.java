@@ -0,0 +1,83 @@
+package Benchmarks;
+
+import Business.Character.Character;
+import Business.Combat.CombatReplay;
+import Business.Combat.CombatSimulator;
+import Business.Item.Item;
+import Business.Team.Team;
+import Persistance.Binary.CombatEventFileReader;
+import Persistance.Binary.CombatEventFileSink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda en un archivo de eventos de {@code combats} combates de 4 contra 4 de los que un equipo pierde a
+ * todos sus miembros en la primera ronda, con {@link CombatReplay#find}, frente a repetir un solo combate desde
+ * su semilla.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CombatReplayBenchmark {
+    private static final int MEMBERS = 4;
+
+    @Param({"10000", "200000"})
+    public int combats;
+
+    private CombatSimulator simulator;
+    private Team team1;
+    private Team team2;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeCombats() throws IOException {
+        List<Character> characters = BenchmarkData.characters(2 * MEMBERS);
+        List<Item> items = BenchmarkData.items(4);
+        simulator = new CombatSimulator(characters, items);
+        team1 = BenchmarkData.team("Benchmark 1", 0, MEMBERS);
+        team2 = BenchmarkData.team("Benchmark 2", MEMBERS, MEMBERS);
+        file = Files.createTempFile("jmh-events", ".bin");
+        try (CombatEventFileSink sink = new CombatEventFileSink(file)) {
+            for (int seed = 0; seed < combats; seed++) {
+                simulator.simulate(team1, team2, seed, sink);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<CombatReplay> findWipes() throws IOException {
+        return CombatReplay.find(new CombatEventFileReader(file),
+                replay -> replay.getAliveTeam1(1) == 0 || replay.getAliveTeam2(1) == 0);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public CombatReplay fromSeed() {
+        return CombatReplay.fromSeed(simulator, team1, team2, combats / 2);
+    }
+}
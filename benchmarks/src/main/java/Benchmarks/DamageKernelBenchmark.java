@@ -0,0 +1,79 @@
+package Benchmarks;
+
+import Business.Combat.AttackBatch;
+import Business.Combat.DamageKernel;
+import Business.Combat.ScalarDamageKernel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un lote de ataques calculado con el núcleo de daño escalar y con el que elige {@link DamageKernel#create()}
+ * (el vectorial, porque el benchmark se ejecuta con {@code jdk.incubator.vector}). El tiempo es por lote;
+ * dividido por {@code batchSize} da el tiempo por ataque. Antes de medir se comprueba que los dos núcleos
+ * dan los mismos resultados.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DamageKernelBenchmark {
+
+    @Param({"64", "1024", "16384", "262144"})
+    public int batchSize;
+
+    private DamageKernel scalar;
+    private DamageKernel best;
+    private AttackBatch batch;
+
+    @Setup(Level.Trial)
+    public void createBatch() {
+        scalar = new ScalarDamageKernel();
+        best = DamageKernel.create();
+        batch = randomBatch(batchSize);
+        AttackBatch check = randomBatch(batchSize);
+        scalar.compute(batch);
+        best.compute(check);
+        for (int i = 0; i < batchSize; i++) {
+            if (batch.getFinalDamage(i) != check.getFinalDamage(i) || batch.getAttack(i) != check.getAttack(i)) {
+                throw new IllegalStateException("Kernels differ at attack " + i + ".");
+            }
+        }
+    }
+
+    @Benchmark
+    public AttackBatch scalar() {
+        scalar.compute(batch);
+        return batch;
+    }
+
+    @Benchmark
+    public AttackBatch best() {
+        best.compute(batch);
+        return batch;
+    }
+
+    private static AttackBatch randomBatch(int size) {
+        SplittableRandom random = new SplittableRandom(7); // same data for both kernels
+        AttackBatch batch = new AttackBatch(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(50 + random.nextInt(100), random.nextDouble(), random.nextInt(100),
+                    50 + random.nextInt(100), random.nextDouble(), random.nextInt(100));
+        }
+        return batch;
+    }
+}
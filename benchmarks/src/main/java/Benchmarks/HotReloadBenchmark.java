@@ -0,0 +1,126 @@
+package Benchmarks;
+
+import Business.Character.Character;
+import Persistance.Cache.CachingRepository;
+import Persistance.CharacterDAO;
+import Persistance.PersistenceConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta de un personaje a través de la caché del repositorio sin vigilante (cada consulta lee los
+ * atributos de characters.json) y con él, y la recarga del archivo cuando solo ha cambiado el peso de un
+ * personaje, que reutiliza el índice anterior.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotReloadBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    private Path polledDirectory;
+    private Path watchedDirectory;
+    private CachingRepository polled;
+    private CachingRepository watched;
+    private CharacterDAO polledCharacters;
+    private CharacterDAO watchedCharacters;
+    private List<Character> characters;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void openRepositories() throws IOException {
+        characters = new ArrayList<>(BenchmarkData.characters(size));
+        polledDirectory = writeDirectory();
+        watchedDirectory = writeDirectory();
+        PersistenceConfig config = PersistenceConfig.of(PersistenceConfig.JSON);
+        polled = new CachingRepository(polledDirectory, config.with("watch", "false"));
+        watched = new CachingRepository(watchedDirectory, config);
+        polled.preload();
+        watched.preload();
+        polledCharacters = polled.getCharacterDAO();
+        watchedCharacters = watched.getCharacterDAO();
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeRepositories() throws IOException {
+        polled.close();
+        watched.close();
+        BenchmarkData.delete(polledDirectory);
+        BenchmarkData.delete(watchedDirectory);
+    }
+
+    /**
+     * Cambia el peso del primer personaje en el archivo antes de cada recarga, fuera de la medida.
+     */
+    @State(Scope.Thread)
+    public static class Edit {
+        // JMH may inject a different HotReloadBenchmark instance here than the one running the benchmark: the
+        // fixture keeps the DAO of the directory it edits
+        private CharacterDAO characters;
+        private long version;
+
+        @Setup(Level.Invocation)
+        public void edit(HotReloadBenchmark benchmark) throws IOException {
+            characters = benchmark.polledCharacters;
+            version++;
+            List<Character> edited = benchmark.characters;
+            Character first = edited.get(0);
+            edited.set(0, new Character(first.getId(), first.getName(), 40 + (int) (version % 100)));
+            Path path = benchmark.polledDirectory.resolve("characters.json");
+            BenchmarkData.writeCharacters(path, edited);
+            // The size may not change: a newer modification time is what tells the cache to reload
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() + version * 1000));
+        }
+    }
+
+    @Benchmark
+    public Character polledLookup() {
+        return polledCharacters.getCharacter(random.nextInt(size));
+    }
+
+    @Benchmark
+    public Character watchedLookup() {
+        return watchedCharacters.getCharacter(random.nextInt(size));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Character reload(Edit edit) {
+        return edit.characters.getCharacter(0);
+    }
+
+    private Path writeDirectory() throws IOException {
+        Path directory = Files.createTempDirectory("jmh-reload");
+        BenchmarkData.writeCharacters(directory.resolve("characters.json"), characters);
+        BenchmarkData.writeItems(directory.resolve("items.json"), BenchmarkData.items(64));
+        BenchmarkData.writeTeams(directory.resolve("teams.json"), BenchmarkData.teams(10, size));
+        BenchmarkData.writeStats(directory.resolve("stats.json"), BenchmarkData.stats(10));
+        return directory;
+    }
+}
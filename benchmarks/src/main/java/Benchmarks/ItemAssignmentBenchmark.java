@@ -0,0 +1,77 @@
+package Benchmarks;
+
+import Business.Item.Armor;
+import Business.Item.Item;
+import Business.Item.ItemCatalog;
+import Business.Item.Weapon;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Una pareja arma/armadura elegida al azar de un pool de {@value #POOL_SIZE} ítems con {@code weapons} armas:
+ * el muestreo por rechazo que usaba CombatManager (sacar ítems hasta tener un arma y una armadura) frente a
+ * {@link ItemCatalog}. El muestreo por rechazo no termina si falta una clase, así que el pool tiene siempre
+ * al menos una de cada.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemAssignmentBenchmark {
+    private static final int POOL_SIZE = 1000;
+
+    @Param({"500", "100", "10", "1"})
+    public int weapons;
+
+    private List<Item> pool;
+    private ItemCatalog catalog;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void createPool() {
+        pool = new ArrayList<>(POOL_SIZE);
+        for (int i = 0; i < POOL_SIZE; i++) {
+            pool.add(i < weapons ? new Weapon(i, "Weapon " + i, 50, 5) : new Armor(i, "Armor " + i, 30, 5));
+        }
+        catalog = new ItemCatalog(pool);
+        random = new SplittableRandom(1);
+    }
+
+    @Benchmark
+    public long rejection() {
+        Item weapon = null;
+        Item armor = null;
+        while (weapon == null || armor == null) {
+            Item item = pool.get(random.nextInt(pool.size()));
+            if (item.isWeapon() && weapon == null) {
+                weapon = item;
+            }
+            if (item.isArmor() && armor == null) {
+                armor = item;
+            }
+        }
+        return weapon.getPower() + armor.getPower();
+    }
+
+    @Benchmark
+    public long catalog() {
+        return catalog.randomWeapon(random).getPower() + catalog.randomArmor(random).getPower();
+    }
+}
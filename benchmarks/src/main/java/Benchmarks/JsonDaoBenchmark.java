@@ -0,0 +1,102 @@
+package Benchmarks;
+
+import Business.Character.Character;
+import Business.Item.Item;
+import Business.Stats.Stats;
+import Business.Team.Team;
+import Persistance.JSON.CharacterJSONDAO;
+import Persistance.JSON.ItemJSONDAO;
+import Persistance.JSON.StatsJSONDAO;
+import Persistance.JSON.TeamJSONDAO;
+import org.json.JSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura completa de cada JSON de datos con su DAO, y escritura de las estadísticas con
+ * {@link StatsJSONDAO#saveStats}, según el número de registros. Los equipos y las estadísticas son un
+ * décimo de {@code size} (como mínimo 1), y los ítems, un tercio.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonDaoBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private Path directory;
+    private Path characters;
+    private Path items;
+    private Path teams;
+    private Path stats;
+    private Path savedStats;
+    private List<Stats> statsToSave;
+
+    @Setup(Level.Trial)
+    public void writeFiles() throws IOException {
+        int teamCount = Math.max(1, size / 10);
+        directory = Files.createTempDirectory("jmh-json");
+        characters = directory.resolve("characters.json");
+        items = directory.resolve("items.json");
+        teams = directory.resolve("teams.json");
+        stats = directory.resolve("stats.json");
+        savedStats = directory.resolve("saved-stats.json");
+        BenchmarkData.writeCharacters(characters, BenchmarkData.characters(size));
+        BenchmarkData.writeItems(items, BenchmarkData.items(Math.max(2, size / 3)));
+        BenchmarkData.writeTeams(teams, BenchmarkData.teams(teamCount, size));
+        statsToSave = BenchmarkData.stats(teamCount);
+        BenchmarkData.writeStats(stats, statsToSave);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        BenchmarkData.delete(directory);
+    }
+
+    @Benchmark
+    public List<Character> readCharacters() {
+        return new CharacterJSONDAO(characters.toString()).getCharacters();
+    }
+
+    @Benchmark
+    public List<Item> readItems() {
+        return new ItemJSONDAO(items.toString()).getItems();
+    }
+
+    @Benchmark
+    public List<Team> readTeams() {
+        return new TeamJSONDAO(teams.toString()).getTeams();
+    }
+
+    @Benchmark
+    public List<Stats> readStats() {
+        return new StatsJSONDAO(stats.toString()).getStats();
+    }
+
+    @Benchmark
+    public Path saveStats() throws JSONException {
+        new StatsJSONDAO(savedStats.toString()).saveStats(statsToSave);
+        return savedStats;
+    }
+}
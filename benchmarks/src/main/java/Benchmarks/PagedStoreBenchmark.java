@@ -0,0 +1,90 @@
+package Benchmarks;
+
+import Business.Character.Character;
+import Persistance.JSON.CharacterJSONDAO;
+import Persistance.Paged.PagedCharacterDAO;
+import Persistance.Paged.PagedStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsquedas y actualizaciones de personajes al azar en un {@link PagedStore} con una caché de
+ * {@code cachePages} páginas, mucho menor que el archivo, y el recorrido completo en orden de clave.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PagedStoreBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"256"})
+    public int cachePages;
+
+    private Path directory;
+    private PagedCharacterDAO characters;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void importCharacters() throws IOException {
+        directory = Files.createTempDirectory("jmh-paged");
+        Path json = directory.resolve("characters.json");
+        BenchmarkData.writeCharacters(json, BenchmarkData.characters(size));
+        characters = new PagedCharacterDAO(new PagedStore(directory.resolve("characters.pages"), cachePages));
+        if (characters.importFrom(new CharacterJSONDAO(json.toString())) != size) {
+            throw new IllegalStateException("Import lost characters.");
+        }
+        random = new SplittableRandom(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        characters.close();
+        BenchmarkData.delete(directory);
+    }
+
+    @Benchmark
+    public Character lookup() {
+        return characters.getCharacter(random.nextInt(size));
+    }
+
+    /**
+     * Cambia el peso de un personaje; el almacén escribe cada cambio.
+     */
+    @Benchmark
+    public Character update() {
+        long id = random.nextInt(size);
+        Character character = new Character(id, "Character " + id, 40 + random.nextInt(121));
+        characters.putCharacter(character);
+        return character;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long scan() {
+        long[] weights = {0};
+        characters.forEachCharacter(character -> weights[0] += character.getWeight());
+        return weights[0];
+    }
+}
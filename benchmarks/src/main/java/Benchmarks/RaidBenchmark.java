@@ -0,0 +1,79 @@
+package Benchmarks;
+
+import Business.Character.Character;
+import Business.Combat.CombatResult;
+import Business.Combat.CombatSimulator;
+import Business.Combat.RaidSimulator;
+import Business.Item.Item;
+import Business.Team.Team;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Una batalla de {@code teamSize} contra {@code teamSize} con {@link RaidSimulator}, en el pool común y en un
+ * pool de un solo hilo. Antes de medir se comprueba que el resultado no depende del número de hilos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RaidBenchmark {
+
+    @Param({"10000", "100000"})
+    public int teamSize;
+
+    private ForkJoinPool singleThread;
+    private RaidSimulator parallel;
+    private RaidSimulator sequential;
+    private Team team1;
+    private Team team2;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void createData() {
+        List<Character> characters = BenchmarkData.characters(2 * teamSize);
+        List<Item> items = BenchmarkData.items(64);
+        team1 = BenchmarkData.team("Benchmark 1", 0, teamSize);
+        team2 = BenchmarkData.team("Benchmark 2", teamSize, teamSize);
+        singleThread = new ForkJoinPool(1);
+        parallel = new RaidSimulator(characters, items, CombatSimulator.DEFAULT_MAX_ROUNDS, ForkJoinPool.commonPool());
+        sequential = new RaidSimulator(characters, items, CombatSimulator.DEFAULT_MAX_ROUNDS, singleThread);
+        String result = parallel.simulate(team1, team2, 0).toString();
+        String check = sequential.simulate(team1, team2, 0).toString();
+        if (!result.equals(check)) {
+            throw new IllegalStateException("Result depends on the number of threads: " + result + " / " + check);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        singleThread.shutdown();
+    }
+
+    @Benchmark
+    public CombatResult commonPool() {
+        return parallel.simulate(team1, team2, seed++);
+    }
+
+    @Benchmark
+    public CombatResult singleThread() {
+        return sequential.simulate(team1, team2, seed++);
+    }
+}
@@ -0,0 +1,78 @@
+package Benchmarks;
+
+import Persistance.Cache.CachingRepository;
+import Persistance.Cache.LoadReport;
+import Persistance.JSON.DatasetGenerator;
+import Persistance.PersistenceConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arranque de un {@link CachingRepository} sobre archivos generados con {@link DatasetGenerator}: los cuatro
+ * archivos cargados uno detrás de otro ({@code threads} 1) o a la vez. Se generan {@code size} personajes, un
+ * tercio de ítems y un décimo de equipos y de estadísticas. Con varios núcleos, el arranque en paralelo
+ * debería tardar lo que el archivo más lento; con uno solo, lo mismo que en serie.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupLoadBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"1", "4"})
+    public int threads;
+
+    private Path directory;
+    private PersistenceConfig config;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        directory = Files.createTempDirectory("jmh-startup");
+        new DatasetGenerator(size, size / 3, size / 10, 42).generate(directory);
+        config = PersistenceConfig.of(PersistenceConfig.JSON).with("watch", "false");
+        // The first repository also builds teams.records from teams.json, outside the measurement
+        CachingRepository repository = new CachingRepository(directory, config);
+        repository.preload(1);
+        repository.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        BenchmarkData.delete(directory);
+    }
+
+    @Benchmark
+    public List<LoadReport> preload() {
+        CachingRepository repository = new CachingRepository(directory, config);
+        List<LoadReport> reports = repository.preload(threads);
+        repository.close();
+        for (LoadReport report : reports) {
+            if (!report.isLoaded()) {
+                throw new IllegalStateException("Could not load " + report.getSource());
+            }
+        }
+        return reports;
+    }
+}
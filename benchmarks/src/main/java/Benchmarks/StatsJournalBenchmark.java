@@ -0,0 +1,79 @@
+package Benchmarks;
+
+import Persistance.Binary.JournaledStatsDAO;
+import Persistance.JSON.StatsJSONDAO;
+import org.json.JSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Guardar el resultado de un combate de un equipo al azar reescribiendo el JSON de estadísticas
+ * ({@link StatsJSONDAO}) frente a añadirlo al diario de {@link JournaledStatsDAO}, que compacta él solo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatsJournalBenchmark {
+
+    @Param({"1000", "100000"})
+    public int teams;
+
+    private Path directory;
+    private StatsJSONDAO rewrite;
+    private JournaledStatsDAO journaled;
+    private String[] names;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void writeFiles() throws IOException {
+        directory = Files.createTempDirectory("jmh-stats");
+        Path json = directory.resolve("rewrite.json");
+        Path snapshot = directory.resolve("stats.json");
+        BenchmarkData.writeStats(json, BenchmarkData.stats(teams));
+        BenchmarkData.writeStats(snapshot, BenchmarkData.stats(teams));
+        rewrite = new StatsJSONDAO(json.toString());
+        journaled = new JournaledStatsDAO(snapshot);
+        journaled.getStats(); // recovery, outside the measurement
+        names = new String[teams];
+        for (int t = 0; t < teams; t++) {
+            names[t] = "Team " + t;
+        }
+        random = new SplittableRandom(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        journaled.close();
+        BenchmarkData.delete(directory);
+    }
+
+    @Benchmark
+    public void rewriteJson() throws JSONException {
+        rewrite.addResults(names[random.nextInt(teams)], 1, random.nextInt(2), random.nextInt(4), random.nextInt(4));
+    }
+
+    @Benchmark
+    public void journal() {
+        journaled.addResults(names[random.nextInt(teams)], 1, random.nextInt(2), random.nextInt(4), random.nextInt(4));
+    }
+}
@@ -0,0 +1,99 @@
+package Benchmarks;
+
+import Persistance.Binary.JournaledStatsDAO;
+import Persistance.Cache.WriteBehindStatsDAO;
+import org.json.JSONException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Varios hilos guardando resultados de combates directamente en un {@link JournaledStatsDAO} (cada resultado
+ * es una escritura, de una en una) frente a hacerlo a través de un {@link WriteBehindStatsDAO}, cuyo hilo
+ * escritor junta los resultados de cada equipo. Se mide el ritmo al que los hilos entregan resultados; lo
+ * que queda en la cola al acabar se escribe al cerrar, fuera de la medida. Con {@code -t} se cambia el número
+ * de hilos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class StatsWriteBehindBenchmark {
+
+    @Param({"64"})
+    public int teams;
+
+    private Path directory;
+    private JournaledStatsDAO direct;
+    private WriteBehindStatsDAO behind;
+    private String[] names;
+
+    @Setup(Level.Trial)
+    public void openFiles() throws IOException {
+        directory = Files.createTempDirectory("jmh-stats");
+        Path directPath = directory.resolve("direct.json");
+        Path behindPath = directory.resolve("behind.json");
+        BenchmarkData.writeStats(directPath, BenchmarkData.stats(teams));
+        BenchmarkData.writeStats(behindPath, BenchmarkData.stats(teams));
+        direct = new JournaledStatsDAO(directPath);
+        direct.getStats();
+        behind = new WriteBehindStatsDAO(new JournaledStatsDAO(behindPath));
+        behind.getStats();
+        names = new String[teams];
+        for (int t = 0; t < teams; t++) {
+            names[t] = "Team " + t;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeFiles() throws IOException {
+        direct.close();
+        behind.close();
+        BenchmarkData.delete(directory);
+    }
+
+    /**
+     * Los números al azar de cada hilo.
+     */
+    @State(Scope.Thread)
+    public static class Results {
+        private SplittableRandom random;
+
+        @Setup(Level.Trial)
+        public void seed() {
+            random = new SplittableRandom(Thread.currentThread().getId());
+        }
+    }
+
+    @Benchmark
+    public void direct(Results results) {
+        SplittableRandom random = results.random;
+        direct.addResults(names[random.nextInt(teams)], 1, random.nextInt(2), random.nextInt(4), random.nextInt(4));
+    }
+
+    @Benchmark
+    public void writeBehind(Results results) throws JSONException {
+        SplittableRandom random = results.random;
+        behind.addResults(names[random.nextInt(teams)], 1, random.nextInt(2), random.nextInt(4), random.nextInt(4));
+    }
+}
@@ -0,0 +1,75 @@
+package Benchmarks;
+
+import Business.Team.Team;
+import Persistance.Binary.RecordTeamDAO;
+import Persistance.JSON.TeamJSONDAO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Crear y borrar un equipo en el JSON de equipos, que se lee y se reescribe entero en cada cambio, frente a
+ * hacerlo en un {@link RecordTeamDAO}, que añade un registro o una lápida al final del archivo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TeamStoreBenchmark {
+
+    @Param({"1000", "100000"})
+    public int teams;
+
+    private Path directory;
+    private TeamJSONDAO json;
+    private RecordTeamDAO records;
+    private Team team;
+
+    @Setup(Level.Trial)
+    public void writeFiles() throws IOException {
+        directory = Files.createTempDirectory("jmh-teams");
+        Path jsonPath = directory.resolve("teams.json");
+        Path seedPath = directory.resolve("seed.json");
+        BenchmarkData.writeTeams(jsonPath, BenchmarkData.teams(teams, 4 * teams));
+        Files.copy(jsonPath, seedPath);
+        json = new TeamJSONDAO(jsonPath.toString());
+        records = new RecordTeamDAO(directory.resolve("teams.records"), seedPath);
+        records.getTeams(); // import from the seed, outside the measurement
+        team = BenchmarkData.team("New team", 0, 4);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFiles() throws IOException {
+        records.close();
+        BenchmarkData.delete(directory);
+    }
+
+    @Benchmark
+    public boolean json() {
+        json.createTeam(team);
+        return json.deleteTeam(team);
+    }
+
+    @Benchmark
+    public boolean records() {
+        records.createTeam(team);
+        return records.deleteTeam(team);
+    }
+}
@@ -0,0 +1,153 @@
+package Business.Combat;
+
+import Benchmarks.BenchmarkData;
+import Business.Character.Character;
+import Business.Combat.Event.NullEventSink;
+import Business.Combat.Targeting.TeamTargets;
+import Business.Item.Item;
+import Business.Item.ItemCatalog;
+import Business.Team.Member;
+import Business.Team.Team;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Partes del combate de {@link CombatManager} sin consola: asignar ítems a un equipo, un solo ataque y un
+ * combate entero. {@code size} es el número de personajes (y un tercio de ítems) entre los que se eligen los
+ * equipos, y {@code teamSize} el número de miembros de cada equipo.
+ * <p>
+ * Está en el paquete del combate porque {@code executeAttack} no es público. El {@link CombatManager} usa el
+ * repositorio compartido, así que el benchmark se ejecuta desde la raíz del proyecto, con {@code Data/}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CombatBenchmark {
+    private static final long SEED = 7;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"4", "64"})
+    public int teamSize;
+
+    private CombatManager manager;
+    private List<Character> characters;
+    private ItemCatalog catalog;
+    private SplittableRandom random;
+    private Team team;
+
+    @Setup(Level.Trial)
+    public void createData() {
+        manager = new CombatManager();
+        characters = BenchmarkData.characters(Math.max(size, 2 * teamSize));
+        List<Item> items = BenchmarkData.items(Math.max(2, size / 3));
+        catalog = new ItemCatalog(items);
+        random = new SplittableRandom(SEED);
+        team = BenchmarkData.team("Benchmark", 0, teamSize);
+    }
+
+    /**
+     * Un atacante que golpea por turnos a cada miembro del otro equipo. Cada iteración empieza con
+     * personajes sin daño; los ataques se acumulan durante la iteración, como en un combate largo.
+     */
+    @State(Scope.Thread)
+    public static class Attack {
+        // JMH may inject a different CombatBenchmark instance here than the one running the benchmark: the
+        // fixture keeps the manager that holds its combat's characters
+        private CombatManager manager;
+        private Combat combat;
+        private TeamTargets defenders;
+        private Member attacker;
+        private List<Member> targets;
+        private int nextTarget;
+
+        @Setup(Level.Iteration)
+        public void prepare(CombatBenchmark benchmark) throws IOException {
+            int teamSize = benchmark.teamSize;
+            manager = benchmark.manager;
+            combat = benchmark.newCombat();
+            attacker = combat.getTeam1().getTeamMembers().get(0);
+            targets = combat.getTeam2().getTeamMembers();
+            defenders = new TeamTargets(teamSize);
+            defenders.reset(teamSize, teamSize);
+            for (int i = 0; i < teamSize; i++) {
+                defenders.join(teamSize + i, benchmark.characters.get(teamSize + i).getWeight());
+            }
+            nextTarget = 0;
+        }
+    }
+
+    /**
+     * Un combate nuevo, con sus ítems, antes de cada llamada.
+     */
+    @State(Scope.Thread)
+    public static class Fight {
+        private CombatManager manager;
+        private Combat combat;
+
+        @Setup(Level.Invocation)
+        public void prepare(CombatBenchmark benchmark) throws IOException {
+            manager = benchmark.manager;
+            combat = benchmark.newCombat();
+        }
+    }
+
+    @Benchmark
+    public List<String> assignItemsForCombat() {
+        return manager.assignItemsForCombat(team, catalog, characters, random);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public TeamTargets executeAttack(Attack attack) {
+        int target = attack.nextTarget;
+        attack.nextTarget = target + 1 == teamSize ? 0 : target + 1;
+        attack.manager.executeAttack(attack.attacker, 0, attack.targets.get(target), teamSize + target, attack.defenders,
+                attack.combat, NullEventSink.INSTANCE);
+        return attack.defenders;
+    }
+
+    @Benchmark
+    public Combat executeCombat(Fight fight) {
+        fight.manager.executeCombat(fight.combat, NullEventSink.INSTANCE);
+        return fight.combat;
+    }
+
+    /**
+     * Crea un combate entre los personajes 0..teamSize-1 y los siguientes teamSize, con copias limpias de
+     * esos personajes y sus ítems ya asignados.
+     */
+    private Combat newCombat() throws IOException {
+        Team team1 = BenchmarkData.team("Benchmark 1", 0, teamSize);
+        Team team2 = BenchmarkData.team("Benchmark 2", teamSize, teamSize);
+        List<Character> fighters = new ArrayList<>(2 * teamSize);
+        for (int i = 0; i < 2 * teamSize; i++) {
+            Character character = characters.get(i);
+            fighters.add(new Character(character.getId(), character.getName(), character.getWeight()));
+        }
+        Combat next = manager.prepareCombat(team1, team2, fighters, SEED);
+        manager.assignItemsForCombat(team1, catalog, fighters, next.getRandom());
+        manager.assignItemsForCombat(team2, catalog, fighters, next.getRandom());
+        return next;
+    }
+}
@@ -0,0 +1,106 @@
+package Business.Combat;
+
+import Benchmarks.BenchmarkData;
+import Business.Character.Character;
+import Business.Combat.Event.NullEventSink;
+import Business.Item.Item;
+import Business.Item.ItemCatalog;
+import Business.Team.Team;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un combate completo por el camino de objetos de {@link CombatManager} ({@code executeAttack} sobre
+ * Member, Character e Item) frente al mismo combate sobre {@link CombatState} con {@link CombatSimulator}.
+ * Los dos aplican {@link CombatRules} y usan las mismas semillas, así que juegan de media los mismos ataques
+ * por combate y la diferencia de tiempo es la del ataque.
+ * <p>
+ * El camino de objetos recibe los personajes copiados y los ítems asignados antes de cada llamada, fuera de
+ * la medida; el simulador los asigna dentro de {@code simulate}, así que la comparación no le favorece. Con
+ * {@code -prof gc} se ve además la memoria reservada por combate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CombatStateBenchmark {
+
+    @Param({"4", "64"})
+    public int teamSize;
+
+    private CombatManager manager;
+    private List<Character> characters;
+    private List<Item> items;
+    private ItemCatalog catalog;
+    private Team team1;
+    private Team team2;
+    private CombatSimulator simulator;
+    private CombatState state;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void createData() {
+        manager = new CombatManager();
+        characters = BenchmarkData.characters(2 * teamSize);
+        items = BenchmarkData.items(64);
+        catalog = new ItemCatalog(items);
+        team1 = BenchmarkData.team("Benchmark 1", 0, teamSize);
+        team2 = BenchmarkData.team("Benchmark 2", teamSize, teamSize);
+        simulator = new CombatSimulator(characters, items);
+        state = new CombatState(2 * teamSize);
+    }
+
+    /**
+     * Un combate nuevo del camino de objetos antes de cada llamada: equipos y personajes sin daño, con sus ítems.
+     */
+    @State(Scope.Thread)
+    public static class Fight {
+        // JMH may inject a different CombatStateBenchmark instance here than the one running the benchmark: the
+        // fixture keeps the manager that holds its combat's characters
+        private CombatManager manager;
+        private Combat combat;
+        private long seed;
+
+        @Setup(Level.Invocation)
+        public void prepare(CombatStateBenchmark benchmark) throws IOException {
+            manager = benchmark.manager;
+            int teamSize = benchmark.teamSize;
+            Team team1 = BenchmarkData.team("Benchmark 1", 0, teamSize);
+            Team team2 = BenchmarkData.team("Benchmark 2", teamSize, teamSize);
+            List<Character> fighters = new ArrayList<>(2 * teamSize);
+            for (Character character : benchmark.characters) {
+                fighters.add(new Character(character.getId(), character.getName(), character.getWeight()));
+            }
+            combat = manager.prepareCombat(team1, team2, fighters, seed++);
+            manager.assignItemsForCombat(team1, benchmark.catalog, fighters, combat.getRandom());
+            manager.assignItemsForCombat(team2, benchmark.catalog, fighters, combat.getRandom());
+        }
+    }
+
+    @Benchmark
+    public CombatResult objectGraph(Fight fight) {
+        return fight.manager.executeCombat(fight.combat, NullEventSink.INSTANCE);
+    }
+
+    @Benchmark
+    public CombatResult combatState() {
+        return simulator.simulate(team1, team2, seed++, state, NullEventSink.INSTANCE);
+    }
+}
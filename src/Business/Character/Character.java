@@ -6,7 +6,7 @@ import Business.Item.Item;
  * Crea un personaje con un ID, nombre y peso.
  */
 public class Character {
-    private int id;
+    private long id;
     private String name;
     private int weight;
     private double accumulatedDamage;
@@ -21,7 +21,7 @@ public class Character {
      * @param name  el nombre del personaje.
      * @param weight el peso del personaje en kilogramos.
      */
-    public Character(int id, String name, int weight) {
+    public Character(long id, String name, int weight) {
         this.id = id;
         this.name = name;
         this.weight = weight;
@@ -32,7 +32,7 @@ public class Character {
      *
      * @return el identificador único del personaje.
      */
-    public int getId() {
+    public long getId() {
         return id;
     }
 
@@ -0,0 +1,149 @@
+package Business.Character;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Índice de personajes por ID de 64 bits sobre arrays primitivos (direccionamiento abierto con sondeo
+ * lineal), sin objetos Long ni entradas de mapa por personaje.
+ * <p>
+ * El índice guarda, para cada ID, la posición (slot) del personaje en la lista con la que se creó. Si un ID
+ * aparece varias veces se queda el primero, igual que una búsqueda lineal. El índice no se modifica una vez
+ * creado: si la lista cambia hay que crear otro, o usar {@link #withCharacters} si los IDs no se han movido.
+ */
+public class CharacterIndex {
+
+    /** Valor de {@link #slots} en las celdas libres y resultado de {@link #slotOf} cuando el ID no existe. */
+    public static final int NOT_FOUND = -1;
+
+    /** Ocupación máxima de la tabla; por encima, el sondeo lineal empieza a encadenar colisiones. */
+    private static final double MAX_LOAD = 0.7;
+
+    private final Character[] characters;
+    private final long[] keys;
+    private final int[] slots;
+    private final int mask;
+
+    /**
+     * Crea el índice de una lista de personajes.
+     *
+     * @param characters Los personajes a indexar. Su posición en la lista es el slot de cada uno.
+     */
+    public CharacterIndex(List<Character> characters) {
+        this.characters = characters.toArray(new Character[0]);
+        int capacity = tableSize(this.characters.length);
+        this.keys = new long[capacity];
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+        Arrays.fill(slots, NOT_FOUND);
+
+        for (int slot = 0; slot < this.characters.length; slot++) {
+            long id = this.characters[slot].getId();
+            int cell = cellOf(id);
+            while (slots[cell] != NOT_FOUND && keys[cell] != id) {
+                cell = (cell + 1) & mask;
+            }
+            if (slots[cell] == NOT_FOUND) {
+                keys[cell] = id;
+                slots[cell] = slot;
+            }
+        }
+    }
+
+    private CharacterIndex(Character[] characters, long[] keys, int[] slots) {
+        this.characters = characters;
+        this.keys = keys;
+        this.slots = slots;
+        this.mask = keys.length - 1;
+    }
+
+    /**
+     * Crea el índice de otra lista con los mismos IDs en las mismas posiciones (por ejemplo, después de
+     * cambiar el nombre o el peso de algunos personajes), compartiendo la tabla de este índice en lugar de
+     * volver a construirla.
+     *
+     * @param characters Los personajes, con el mismo ID que los de este índice en cada posición.
+     * @return El índice de la lista nueva.
+     * @throws IllegalArgumentException Si la lista no tiene los mismos IDs en las mismas posiciones.
+     */
+    public CharacterIndex withCharacters(List<Character> characters) {
+        Character[] updated = characters.toArray(new Character[0]);
+        if (updated.length != this.characters.length) {
+            throw new IllegalArgumentException("Expected " + this.characters.length + " characters, got " + updated.length);
+        }
+        for (int slot = 0; slot < updated.length; slot++) {
+            if (updated[slot].getId() != this.characters[slot].getId()) {
+                throw new IllegalArgumentException("Character at slot " + slot + " has a different ID: " + updated[slot].getId());
+            }
+        }
+        return new CharacterIndex(updated, keys, slots);
+    }
+
+    /**
+     * Obtiene la posición de un personaje en la lista original.
+     *
+     * @param id El ID del personaje.
+     * @return La posición del personaje, o {@link #NOT_FOUND} si no existe.
+     */
+    public int slotOf(long id) {
+        int cell = cellOf(id);
+        int slot;
+        while ((slot = slots[cell]) != NOT_FOUND) {
+            if (keys[cell] == id) {
+                return slot;
+            }
+            cell = (cell + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Busca un personaje por su ID.
+     *
+     * @param id El ID del personaje.
+     * @return El personaje, o null si no existe.
+     */
+    public Character get(long id) {
+        int slot = slotOf(id);
+        return slot == NOT_FOUND ? null : characters[slot];
+    }
+
+    /**
+     * Obtiene el personaje de una posición.
+     *
+     * @param slot La posición del personaje en la lista original.
+     * @return El personaje.
+     */
+    public Character getBySlot(int slot) {
+        return characters[slot];
+    }
+
+    /**
+     * Obtiene el número de personajes indexados (incluidos los de ID repetido).
+     *
+     * @return El número de personajes.
+     */
+    public int size() {
+        return characters.length;
+    }
+
+    private int cellOf(long id) {
+        // Murmur3 finalizer: IDs are often consecutive, so they need spreading before masking
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private static int tableSize(int entries) {
+        long needed = (long) Math.ceil(Math.max(entries, 1) / MAX_LOAD);
+        if (needed > 1 << 30) {
+            throw new IllegalArgumentException("Too many characters to index: " + entries);
+        }
+        int size = (int) needed;
+        return size <= 2 ? 2 : Integer.highestOneBit(size - 1) << 1;
+    }
+}
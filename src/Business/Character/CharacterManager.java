@@ -1,7 +1,7 @@
 package Business.Character;
 
+import Persistance.Cache.CachingRepository;
 import Persistance.CharacterDAO;
-import Persistance.JSON.CharacterJSONDAO;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -17,8 +17,8 @@ public class CharacterManager {
      * Crea una instancia de CharacterManager e inicializa los DAOs necesarios.
      */
     public CharacterManager() {
-        // Decido usar el JSON DAO
-        this.characterDAO = new CharacterJSONDAO();
+        // Decido usar el JSON DAO, a través de la caché compartida
+        this.characterDAO = CachingRepository.getDefault().getCharacterDAO();
     }
 
     /**
@@ -85,13 +85,7 @@ public class CharacterManager {
      * @param id el ID del personaje a buscar.
      * @return el objeto {@link Character} que coincide con el ID, o {@code null} si no se encuentra.
      */
-    public Character getCharacter(int id) {
-        List<Character> characters = characterDAO.getCharacters();
-        for (Character character : characters) {
-            if (character.getId() == id) {
-                return character;
-            }
-        }
-        return null;
+    public Character getCharacter(long id) {
+        return characterDAO.getCharacter(id);
     }
 }
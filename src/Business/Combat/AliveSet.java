@@ -0,0 +1,124 @@
+package Business.Combat;
+
+import java.util.SplittableRandom;
+
+/**
+ * Conjunto de miembros activos de un equipo grande, guardado como mapa de bits (un bit por miembro)
+ * con un contador que se actualiza en O(1) en cada K.O.
+ * <p>
+ * Para elegir miembros al azar sin recorrer todo el mapa, un árbol de Fenwick guarda cuántos miembros
+ * activos hay en cada palabra de 64 bits: localizar el activo número k cuesta O(log n).
+ * <p>
+ * Consultar el conjunto no lo modifica, así que varios hilos pueden leerlo a la vez mientras nadie lo cambie.
+ */
+public class AliveSet {
+
+    private final long[] words;
+    /** Árbol de Fenwick (índices desde 1) con el número de bits activos de cada palabra. */
+    private final int[] tree;
+    private final int size;
+    private int count;
+
+    /**
+     * Crea un conjunto vacío.
+     *
+     * @param size Número de miembros del equipo.
+     */
+    public AliveSet(int size) {
+        this.size = size;
+        this.words = new long[(size + 63) >>> 6];
+        this.tree = new int[words.length + 1];
+    }
+
+    /**
+     * Marca un miembro como activo.
+     *
+     * @param member Índice del miembro en el equipo.
+     */
+    public void add(int member) {
+        long bit = 1L << member;
+        if ((words[member >>> 6] & bit) == 0) {
+            words[member >>> 6] |= bit;
+            count++;
+            updateTree(member >>> 6, 1);
+        }
+    }
+
+    /**
+     * Quita un miembro del conjunto (al caer K.O.).
+     *
+     * @param member Índice del miembro en el equipo.
+     * @return true si el miembro estaba activo.
+     */
+    public boolean remove(int member) {
+        long bit = 1L << member;
+        if ((words[member >>> 6] & bit) == 0) {
+            return false;
+        }
+        words[member >>> 6] &= ~bit;
+        count--;
+        updateTree(member >>> 6, -1);
+        return true;
+    }
+
+    public boolean contains(int member) {
+        return (words[member >>> 6] & (1L << member)) != 0;
+    }
+
+    /**
+     * Obtiene el número de miembros activos.
+     *
+     * @return El número de miembros en el conjunto.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Elige un miembro activo al azar, con la misma probabilidad para todos.
+     * <p>
+     * Mientras quedan muchos activos prueba posiciones al azar; si no acierta en pocos intentos, elige
+     * un número entre los activos y lo localiza con el árbol de Fenwick.
+     *
+     * @param random El generador aleatorio.
+     * @return El índice del miembro, o -1 si el conjunto está vacío.
+     */
+    public int randomMember(SplittableRandom random) {
+        if (count == 0) {
+            return -1;
+        }
+        for (int attempt = 0; attempt < 4; attempt++) {
+            int member = random.nextInt(size);
+            if (contains(member)) {
+                return member;
+            }
+        }
+        return select(random.nextInt(count));
+    }
+
+    /**
+     * Obtiene el miembro activo número {@code rank} (empezando en 0) en orden de índice.
+     */
+    private int select(int rank) {
+        // Walk down the Fenwick tree to the word holding the member, then drop bits inside it
+        int word = 0;
+        for (int step = Integer.highestOneBit(words.length); step > 0; step >>>= 1) {
+            int next = word + step;
+            if (next <= words.length && tree[next] <= rank) {
+                word = next;
+                rank -= tree[next];
+            }
+        }
+        long bits = words[word];
+        for (int i = 0; i < rank; i++) {
+            bits &= bits - 1; // drop the lowest set bit
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    private void updateTree(int word, int delta) {
+        for (int i = word + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package Business.Combat;
+
+import java.util.Arrays;
+
+/**
+ * Lote de ataques (atacante contra defensor) para calcular de una vez su valor de ataque y su daño final
+ * con un {@link DamageKernel}.
+ * <p>
+ * Los datos se guardan como estructura de arrays, igual que {@link CombatState}, para que el núcleo pueda
+ * recorrerlos de forma secuencial (y vectorial). El lote crece según hace falta y se reutiliza con
+ * {@link #clear()}. No es seguro compartir una instancia entre hilos.
+ */
+public class AttackBatch {
+
+    // Package-private so the kernels can read and write the arrays directly
+    double[] attackerWeight;
+    double[] attackerDamage;
+    double[] weaponPower;
+    double[] defenderWeight;
+    double[] defenderDamage;
+    double[] armorPower;
+    double[] attack;
+    double[] finalDamage;
+
+    private int size;
+
+    /**
+     * Crea un lote vacío.
+     *
+     * @param capacity Número de ataques que caben sin reservar más memoria.
+     */
+    public AttackBatch(int capacity) {
+        allocate(Math.max(capacity, 1));
+    }
+
+    /**
+     * Añade un ataque al lote.
+     *
+     * @param attackerWeight Peso del atacante.
+     * @param attackerDamage Daño acumulado del atacante.
+     * @param weaponPower    Poder del arma del atacante.
+     * @param defenderWeight Peso del defensor.
+     * @param defenderDamage Daño acumulado del defensor.
+     * @param armorPower     Poder de la armadura del defensor.
+     * @return La posición del ataque en el lote.
+     */
+    public int add(double attackerWeight, double attackerDamage, double weaponPower,
+                   double defenderWeight, double defenderDamage, double armorPower) {
+        if (size == this.attackerWeight.length) {
+            grow(size * 2);
+        }
+        this.attackerWeight[size] = attackerWeight;
+        this.attackerDamage[size] = attackerDamage;
+        this.weaponPower[size] = weaponPower;
+        this.defenderWeight[size] = defenderWeight;
+        this.defenderDamage[size] = defenderDamage;
+        this.armorPower[size] = armorPower;
+        return size++;
+    }
+
+    /**
+     * Vacía el lote, conservando la memoria reservada.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Obtiene el número de ataques del lote.
+     *
+     * @return El número de ataques añadidos.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtiene el valor de ataque calculado para un ataque del lote.
+     *
+     * @param index La posición del ataque.
+     * @return El valor de ataque.
+     */
+    public double getAttack(int index) {
+        return attack[index];
+    }
+
+    /**
+     * Obtiene el daño final calculado para un ataque del lote.
+     *
+     * @param index La posición del ataque.
+     * @return El daño final que recibe el defensor.
+     */
+    public double getFinalDamage(int index) {
+        return finalDamage[index];
+    }
+
+    private void allocate(int capacity) {
+        attackerWeight = new double[capacity];
+        attackerDamage = new double[capacity];
+        weaponPower = new double[capacity];
+        defenderWeight = new double[capacity];
+        defenderDamage = new double[capacity];
+        armorPower = new double[capacity];
+        attack = new double[capacity];
+        finalDamage = new double[capacity];
+    }
+
+    private void grow(int capacity) {
+        attackerWeight = Arrays.copyOf(attackerWeight, capacity);
+        attackerDamage = Arrays.copyOf(attackerDamage, capacity);
+        weaponPower = Arrays.copyOf(weaponPower, capacity);
+        defenderWeight = Arrays.copyOf(defenderWeight, capacity);
+        defenderDamage = Arrays.copyOf(defenderDamage, capacity);
+        armorPower = Arrays.copyOf(armorPower, capacity);
+        attack = Arrays.copyOf(attack, capacity);
+        finalDamage = Arrays.copyOf(finalDamage, capacity);
+    }
+}
@@ -5,6 +5,7 @@ import Business.Stats.Stats;
 import Business.Team.Team;
 
 import java.util.List;
+import java.util.SplittableRandom;
 
 /**
  * Representa un combate entre dos equipos, incluyendo sus estadísticas y objetos utilizados.
@@ -14,9 +15,11 @@ public class Combat {
     private final Team team2;
     private final Stats statsTeam1;
     private final Stats statsTeam2;
+    private final long seed;
+    private final SplittableRandom random;
 
     /**
-     * Crea una nueva instancia de Combat.
+     * Crea una nueva instancia de Combat con una semilla no reproducible.
      *
      * @param team1      el primer equipo participante.
      * @param team2      el segundo equipo participante.
@@ -24,10 +27,25 @@ public class Combat {
      * @param statsTeam2 las estadísticas del segundo equipo.
      */
     public Combat(Team team1, Team team2, Stats statsTeam1, Stats statsTeam2) {
+        this(team1, team2, statsTeam1, statsTeam2, CombatRandom.newMasterSeed());
+    }
+
+    /**
+     * Crea una nueva instancia de Combat cuyo desarrollo queda determinado por una semilla.
+     *
+     * @param team1      el primer equipo participante.
+     * @param team2      el segundo equipo participante.
+     * @param statsTeam1 las estadísticas del primer equipo.
+     * @param statsTeam2 las estadísticas del segundo equipo.
+     * @param seed       la semilla del combate.
+     */
+    public Combat(Team team1, Team team2, Stats statsTeam1, Stats statsTeam2, long seed) {
         this.team1 = team1;
         this.team2 = team2;
         this.statsTeam1 = statsTeam1;
         this.statsTeam2 = statsTeam2;
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
     }
 
     /**
@@ -66,5 +84,24 @@ public class Combat {
         return statsTeam2;
     }
 
+    /**
+     * Obtiene la semilla con la que se generó el combate.
+     *
+     * @return la semilla del combate.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Obtiene el generador aleatorio del combate. Todas las decisiones aleatorias del combate
+     * deben salir de este generador para que el combate sea reproducible.
+     *
+     * @return el generador aleatorio del combate.
+     */
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
 
 }
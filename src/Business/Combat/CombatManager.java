@@ -1,22 +1,34 @@
 package Business.Combat;
 
 import Business.Character.Character;
+import Business.Character.CharacterIndex;
 import Business.Character.CharacterManager;
+import Business.Combat.Event.CombatEventSink;
+import Business.Combat.Event.CombatEventType;
+import Business.Combat.Targeting.TargetingStrategies;
+import Business.Combat.Targeting.TeamTargets;
+import Business.Item.Armor;
 import Business.Item.Item;
+import Business.Item.ItemCatalog;
+import Business.Item.Weapon;
 import Business.Stats.Stats;
 import Business.Stats.StatsManager;
 import Business.Team.Member;
 import Business.Team.Team;
-import Business.Team.TeamManager;
-import Persistance.JSON.CharacterJSONDAO;
-import Persistance.JSON.TeamJSONDAO;
-import Presentation.Controller;
+import Persistance.Cache.CachingRepository;
+import Persistance.CharacterDAO;
+import Persistance.TeamDAO;
+import Presentation.ConsoleEventSink;
+import org.json.JSONException;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.SplittableRandom;
 
 /**
  * Clase encargada de gestionar el combate y llevar a cabo las operaciones necesarias
@@ -26,19 +38,18 @@ public class CombatManager {
 
     // *** ATRIBUTOS ***
     private StatsManager statsManager;
-    private TeamManager teamManager;
     private CharacterManager characterManager;
-    private TeamJSONDAO teamDAO;
-    private CharacterJSONDAO characterDAO;
+    private TeamDAO teamDAO;
+    private CharacterDAO characterDAO;
+    private CharacterIndex combatCharacters = new CharacterIndex(List.of());
 
     /**
      * Constructor de la clase CombatManager. Inicializa los gestores de estadísticas, equipos, personajes e ítems.
      */
     public CombatManager() {
         this.statsManager = new StatsManager();
-        this.teamDAO = new TeamJSONDAO();
-        this.characterDAO = new CharacterJSONDAO();
-        this.teamManager = new TeamManager();
+        this.teamDAO = CachingRepository.getDefault().getTeamDAO();
+        this.characterDAO = CachingRepository.getDefault().getCharacterDAO();
         this.characterManager = new CharacterManager();
     }
 
@@ -50,25 +61,55 @@ public class CombatManager {
      * @param characters Lista de personajes disponibles.
      */
     public void initializeTeams(Team team1, Team team2, List<Item> items, List<Character> characters) throws IOException {
-        this.teamManager = new TeamManager();
+        initializeTeams(team1, team2, items, characters, CombatRandom.newMasterSeed());
+    }
+
+    /**
+     * Inicializa los equipos con ítems y personajes asignados, usando una semilla para que el combate sea reproducible.
+     * @param team1 El primer equipo.
+     * @param team2 El segundo equipo.
+     * @param items Lista de ítems disponibles.
+     * @param characters Lista de personajes disponibles.
+     * @param seed La semilla del combate.
+     */
+    public void initializeTeams(Team team1, Team team2, List<Item> items, List<Character> characters, long seed) throws IOException {
+        Combat combat = prepareCombat(team1, team2, characters, seed);
+
         System.out.println("\nInitializing teams...\n");
 
+        ItemCatalog catalog = new ItemCatalog(items);
         System.out.println("Team #1 – " + team1.getTeamName());
-        List<String> team1Details = assignItemsForCombat(team1, items, characters);
+        List<String> team1Details = assignItemsForCombat(team1, catalog, characters, combat.getRandom());
         team1Details.forEach(System.out::println);
 
         System.out.println("\nTeam #2 – " + team2.getTeamName());
-        List<String> team2Details = assignItemsForCombat(team2, items, characters);
+        List<String> team2Details = assignItemsForCombat(team2, catalog, characters, combat.getRandom());
         team2Details.forEach(System.out::println);
 
         System.out.println("\nCombat ready!\n<Press any key to continue...>");
         new Scanner(System.in).nextLine();
 
+        executeCombat(combat);
+    }
+
+    /**
+     * Prepara un combate sin mostrar nada ni esperar al usuario: busca las estadísticas de los equipos y toma
+     * los personajes indicados como los del combate, que son los que reciben los ítems y el daño. Después se
+     * asignan los ítems con {@link #assignItemsForCombat} y se lanza con {@link #executeCombat(Combat, CombatEventSink)}.
+     * @param team1 El primer equipo.
+     * @param team2 El segundo equipo.
+     * @param characters Los personajes del combate.
+     * @param seed La semilla del combate.
+     * @return El combate.
+     * @throws IOException Si no se pueden leer las estadísticas.
+     */
+    public Combat prepareCombat(Team team1, Team team2, List<Character> characters, long seed) throws IOException {
         Stats statsTeam1 = statsManager.getStatsByTeamName(team1.getTeamName());
         Stats statsTeam2 = statsManager.getStatsByTeamName(team2.getTeamName());
 
-        Combat combat = new Combat(team1, team2, statsTeam1, statsTeam2); // Adjust as necessary
-        executeCombat(combat);
+        // The combat works on these instances, which are the ones that receive the items
+        combatCharacters = new CharacterIndex(characters);
+        return new Combat(team1, team2, statsTeam1, statsTeam2, seed);
     }
 
     /**
@@ -79,49 +120,51 @@ public class CombatManager {
      * @return Una lista de detalles sobre los ítems asignados.
      */
     public List<String> assignItemsForCombat(Team team, List<Item> availableItems, List<Character> characters) {
+        return assignItemsForCombat(team, availableItems, characters, new SplittableRandom(CombatRandom.newMasterSeed()));
+    }
+
+    /**
+     * Asigna ítems aleatorios a los miembros de un equipo para el combate usando el generador del combate.
+     * @param team El equipo a asignar ítems.
+     * @param availableItems Los ítems disponibles para asignar.
+     * @param characters Los personajes disponibles para asignar ítems.
+     * @param random El generador aleatorio del combate.
+     * @return Una lista de detalles sobre los ítems asignados.
+     */
+    public List<String> assignItemsForCombat(Team team, List<Item> availableItems, List<Character> characters, SplittableRandom random) {
+        return assignItemsForCombat(team, new ItemCatalog(availableItems), characters, random);
+    }
+
+    /**
+     * Asigna a cada miembro de un equipo un arma y una armadura al azar del catálogo. Si el catálogo no tiene
+     * armas o armaduras, el miembro recibe un ítem sin poder ni durabilidad. Los miembros sin personaje se
+     * omiten (el combate los cuenta como eliminados).
+     * @param team El equipo a asignar ítems.
+     * @param catalog El catálogo de ítems disponibles.
+     * @param characters Los personajes disponibles para asignar ítems.
+     * @param random El generador aleatorio del combate.
+     * @return Una lista de detalles sobre los ítems asignados.
+     */
+    public List<String> assignItemsForCombat(Team team, ItemCatalog catalog, List<Character> characters, SplittableRandom random) {
         List<String> assignedItemsDetails = new ArrayList<>();
-        Random random = new Random();
-        Character character = null;
+        CharacterIndex index = new CharacterIndex(characters);
 
         for (Member member : team.getTeamMembers()) {
-            for (Character c : characters) {
-                if (c.getId() == member.getMemberId()) {
-                    character = c;
-                    break;
-                }
+            Character character = index.get(member.getMemberId());
+            if (character == null) {
+                continue;
             }
 
-            // Initialize weapon and armor to null
-            Item weapon = null;
-            Item armor = null;
-
-            // Randomly assign one weapon and one armor
-            boolean weaponAssigned = false;
-            boolean armorAssigned = false;
-
-            while (!weaponAssigned || !armorAssigned || weapon == null) {
-                Item item = availableItems.get(random.nextInt(availableItems.size()));
-                if (item.isWeapon() && !weaponAssigned && character != null) { // Check if the item is a weapon
-                    weapon = item; // Assign as weapon
-                    weaponAssigned = true; // Mark weapon as assigned
-                    character.setWeapon(weapon);
-                }
-                if (item.isArmor() && !armorAssigned && character != null) { // Check if the item is armor
-                    armor = item; // Assign as armor
-                    armorAssigned = true; // Mark armor as assigned
-                    character.setArmor(armor);
-                }
+            Item weapon = catalog.randomWeapon(random);
+            if (weapon == null) {
+                weapon = new Weapon(0, "No weapon", 0, 0); // Empty pool: fight bare-handed
             }
-
-            // If no armor was assigned, create a default armor item
+            Item armor = catalog.randomArmor(random);
             if (armor == null) {
-                armor = new Item(0, "No armor", "Armor", 0, 0); // Create a default armor item with zero value
-                character.setArmor(armor);
-            }
-            if (weapon == null) {
-                weapon = new Item(0, "No weapon", "Weapon", 0, 0); // Create a default weapon item with zero value
-                character.setWeapon(weapon);
+                armor = new Armor(0, "No armor", 0, 0);
             }
+            character.setWeapon(weapon);
+            character.setArmor(armor);
 
             // Format details
             String itemDetail = "\t- " + character.getName() + "\n\t\tWeapon: " + character.getWeapon().getName() + "\n\t\tArmor: " + character.getArmor().getName() + "\n";
@@ -133,73 +176,212 @@ public class CombatManager {
 
 
     /**
-     * Ejecuta la simulación del combate entre los dos equipos.
+     * Ejecuta la simulación del combate entre los dos equipos, mostrando sus eventos por consola, y al
+     * terminar muestra el ganador y guarda el resultado en las estadísticas de los dos equipos.
+     * @param combat El objeto Combat que contiene los datos del combate.
+     * @return El resultado del combate.
+     */
+    public CombatResult executeCombat(Combat combat) {
+        CombatResult result = executeCombat(combat, createConsoleSink(combat));
+        declareWinner(combat.getTeam1(), combat.getTeam2(), result);
+        return result;
+    }
+
+    /**
+     * Ejecuta la simulación del combate entre los dos equipos y envía sus eventos al destino indicado.
+     * Las posiciones de los eventos son los índices del primer equipo seguidos de los del segundo.
+     * Los miembros cuyo personaje no existe quedan K.O. al empezar, igual que en {@link CombatSimulator}.
+     * El combate termina cuando un equipo no tiene miembros sin K.O. o, como en {@link CombatSimulator}, al
+     * llegar a {@link CombatSimulator#DEFAULT_MAX_ROUNDS} rondas, con empate.
      * @param combat El objeto Combat que contiene los datos del combate.
+     * @param events El destino de los eventos del combate.
+     * @return El resultado del combate.
      */
-    public void executeCombat(Combat combat) {
-        int round = 1;
-        while (true) {
-            System.out.println("--- ROUND " + round + " ---\n");
+    public CombatResult executeCombat(Combat combat, CombatEventSink events) {
+        List<Member> team1 = combat.getTeam1().getTeamMembers();
+        List<Member> team2 = combat.getTeam2().getTeamMembers();
+        int team1Size = team1.size();
+
+        events.combatStarted(combat.getSeed(), team1Size, team2.size());
+        prepareMembers(team1, 0, events);
+        prepareMembers(team2, team1Size, events);
+        TeamTargets targets1 = createTargets(team1, 0);
+        TeamTargets targets2 = createTargets(team2, team1Size);
+
+        int alive1 = countAlive(team1);
+        int alive2 = countAlive(team2);
+        int round = 0;
+        while (alive1 > 0 && alive2 > 0 && round < CombatSimulator.DEFAULT_MAX_ROUNDS) {
+            round++;
 
             // Execute attacks
-            for (Member attacker : combat.getTeam1().getTeamMembers()) {
-                if (!attacker.isKnockedOut()) {
-                    Member target = selectTarget(combat.getTeam2());
-                    Character c = characterManager.getCharacter(target.getMemberId());
-                    System.out.println(c.getName() + c.getWeapon().getName());
-                    executeAttack(attacker, target, combat);
+            for (int i = 0; i < team1Size; i++) {
+                if (!team1.get(i).isKnockedOut()) {
+                    int target = selectTarget(team1.get(i), targets2, combat.getRandom());
+                    if (target >= 0) {
+                        executeAttack(team1.get(i), i, team2.get(target - team1Size), target, targets2, combat, events);
+                    }
                 }
             }
 
-            for (Member attacker : combat.getTeam2().getTeamMembers()) {
-                if (!attacker.isKnockedOut()) {
-                    Member target = selectTarget(combat.getTeam1());
-                    executeAttack(attacker, target, combat);
+            for (int i = 0; i < team2.size(); i++) {
+                if (!team2.get(i).isKnockedOut()) {
+                    int target = selectTarget(team2.get(i), targets1, combat.getRandom());
+                    if (target >= 0) {
+                        executeAttack(team2.get(i), team1Size + i, team1.get(target), target, targets1, combat, events);
+                    }
                 }
             }
 
-            // Check for knocked out members and break if a team is eliminated
-            if (isTeamEliminated(combat.getTeam1()) || isTeamEliminated(combat.getTeam2())) {
-                break;
+            // A team is out when none of its members can still be targeted
+            alive1 = countAlive(team1);
+            alive2 = countAlive(team2);
+            events.roundEnded(round, alive1, alive2);
+        }
+
+        int winner;
+        if (alive1 > 0 && alive2 == 0) {
+            winner = CombatResult.TEAM1;
+        } else if (alive2 > 0 && alive1 == 0) {
+            winner = CombatResult.TEAM2;
+        } else {
+            winner = CombatResult.DRAW;
+        }
+        int kosTeam1 = countKnockedOut(team2);
+        int kosTeam2 = countKnockedOut(team1);
+        events.combatEnded(winner, round, kosTeam1, kosTeam2);
+        return new CombatResult(winner, round, kosTeam1, kosTeam2);
+    }
+
+    /**
+     * Crea el destino de consola de un combate con los nombres de los personajes y de sus ítems.
+     * @param combat El combate a mostrar.
+     * @return Un destino que imprime los eventos del combate.
+     */
+    private ConsoleEventSink createConsoleSink(Combat combat) {
+        List<Member> members = new ArrayList<>(combat.getTeam1().getTeamMembers());
+        members.addAll(combat.getTeam2().getTeamMembers());
+
+        String[] names = new String[members.size()];
+        Map<Long, String> itemNames = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            Character character = findCharacter(members.get(i).getMemberId());
+            names[i] = character != null ? character.getName() : "Unknown";
+            if (character != null && character.getWeapon() != null) {
+                itemNames.put(character.getWeapon().getId(), character.getWeapon().getName());
+            }
+            if (character != null && character.getArmor() != null) {
+                itemNames.put(character.getArmor().getId(), character.getArmor().getName());
             }
+        }
+        return new ConsoleEventSink(names, itemNames);
+    }
 
-            round++;
+    /**
+     * Prepara los miembros de un equipo al empezar el combate: deja K.O. a los que no tienen personaje, que
+     * no pueden luchar, y notifica los ítems que lleva cada uno de los demás.
+     */
+    private void prepareMembers(List<Member> members, int firstSlot, CombatEventSink events) {
+        for (int i = 0; i < members.size(); i++) {
+            Character character = findCharacter(members.get(i).getMemberId());
+            if (character == null) {
+                // Same as CombatSimulator.load, so the attack loops only have to check the K.O. flag
+                members.get(i).setKnockedOut(true);
+                events.knockedOut(firstSlot + i);
+                continue;
+            }
+            Item weapon = character.getWeapon();
+            Item armor = character.getArmor();
+            if (weapon != null) {
+                events.itemEquipped(firstSlot + i, CombatEventType.WEAPON, weapon.getId(), weapon.getPower(), weapon.getDurability());
+            }
+            if (armor != null) {
+                events.itemEquipped(firstSlot + i, CombatEventType.ARMOR, armor.getId(), armor.getPower(), armor.getDurability());
+            }
+        }
+    }
+
+    /**
+     * Crea los objetivos de un equipo con los miembros que pueden luchar.
+     */
+    private TeamTargets createTargets(List<Member> members, int firstSlot) {
+        TeamTargets targets = new TeamTargets(members.size());
+        targets.reset(firstSlot, members.size());
+        for (int i = 0; i < members.size(); i++) {
+            Character character = findCharacter(members.get(i).getMemberId());
+            if (character != null && !members.get(i).isKnockedOut()) {
+                targets.join(firstSlot + i, character.getWeight());
+                targets.damaged(firstSlot + i, character.getAccumulatedDamage());
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * Cuenta los miembros que siguen en el combate: los que no están K.O.
+     */
+    private int countAlive(List<Member> members) {
+        int alive = 0;
+        for (Member member : members) {
+            if (!member.isKnockedOut()) {
+                alive++;
+            }
         }
+        return alive;
+    }
+
+    /**
+     * Cuenta los K.O. causados en el combate. Como en {@link CombatSimulator}, no cuenta los miembros sin
+     * personaje, que quedan K.O. sin que nadie les ataque.
+     */
+    private int countKnockedOut(List<Member> members) {
+        int knockedOut = 0;
+        for (Member member : members) {
+            if (member.isKnockedOut() && findCharacter(member.getMemberId()) != null) {
+                knockedOut++;
+            }
+        }
+        return knockedOut;
+    }
+
+    /**
+     * Busca el personaje de un miembro entre los del combate o, si no está, entre los guardados.
+     * @param id El ID del personaje.
+     * @return El personaje, o null si no existe.
+     */
+    private Character findCharacter(long id) {
+        Character character = combatCharacters.get(id);
+        return character != null ? character : characterManager.getCharacter(id);
     }
 
     // Consolidated method to check if a member is knocked out
     public boolean isMemberKnockedOut(Member member) {
-        Character character = characterManager.getCharacter(member.getMemberId());
+        return isMemberKnockedOut(member, new SplittableRandom(CombatRandom.newMasterSeed()));
+    }
+
+    // Same check, drawing the knockout roll from the combat's random stream
+    public boolean isMemberKnockedOut(Member member, SplittableRandom random) {
+        Character character = findCharacter(member.getMemberId());
         if (character == null) {
             return false; // If character is not found, return false
         }
 
-        // Check if accumulated damage is 100% or more
-        if (character.getAccumulatedDamage() >= 1.0) {
+        int knockoutValue = random.nextInt(CombatRules.KNOCKOUT_ROLL_MAX) + 1; // Random value between 1 and 200
+        if (CombatRules.isKnockedOut(knockoutValue, character.getAccumulatedDamage())) {
             member.setKnockedOut(true); // Mark the member as knocked out
-            System.out.println(character.getName() + " has been knocked out! ");
             return true; // Member is knocked out
-        } else {
-            int knockoutValue = new Random().nextInt(200) + 1; // Random value between 1 and 200
-            if (knockoutValue > character.getAccumulatedDamage()) {
-                member.setKnockedOut(true); // Mark the member as knocked out
-                System.out.println(character.getName() + " has been knocked out! ");
-                return true; // Member is knocked out
-            }
         }
-        return false; // Member is not knocked out
+        return member.isKnockedOut(); // Keep the current state if this roll didn't knock it out
     }
 
-    // Update the method calls in the executeAttack method
-    private void executeAttack(Member attacker_aux, Member target_aux, Combat combat) {
-        Character attacker = characterManager.getCharacter(attacker_aux.getMemberId());
-        Character target = characterManager.getCharacter(target_aux.getMemberId());
-        //System.out.println(attacker.getName() + "fights " + target.getName() + "with " + attacker.getWeapon());
+    // Update the method calls in the executeAttack method (package-private so the benchmarks can time one attack)
+    void executeAttack(Member attacker_aux, int attackerSlot, Member target_aux, int targetSlot, TeamTargets defenders, Combat combat, CombatEventSink events) {
+        Character attacker = findCharacter(attacker_aux.getMemberId());
+        Character target = findCharacter(target_aux.getMemberId());
 
-        // Check if the attacker and target are valid
+        // Members without a character are knocked out when the combat starts, so this only guards direct calls
         if (attacker == null || target == null) {
-            System.out.println("Attacker or target not found! ");
-            return; // Exit if either is null
+            return;
         }
 
         // Calculate attack value
@@ -208,17 +390,22 @@ public class CombatManager {
         // Calculate final damage
         double finalDamage = calculateFinalDamage(attackValue, target);
 
-        // Update accumulated damage on the target
-        target.takeDamage(finalDamage); // This updates the accumulated damage as a percentage
-        System.out.println(attacker.getName() + " ATTACKS " + target.getName() + " WITH " + attacker.getWeapon().getName() + " FOR " + attackValue + " DAMAGE! ");
-        System.out.println("\t" + target.getName() + " RECEIVES " + finalDamage + " DAMAGE. ");
+        // Update accumulated damage on the target, as a fraction (1.0 = 100%) like CombatSimulator
+        target.takeDamage(CombatRules.toAccumulatedDamage(finalDamage));
+        defenders.damaged(targetSlot, target.getAccumulatedDamage());
+        events.attacked(attackerSlot, targetSlot, attackValue);
+        events.damaged(targetSlot, finalDamage, target.getAccumulatedDamage());
 
         // Update weapon and armor durability
-        updateDurability(attacker.getWeapon());
-        updateDurability(target.getArmor());
+        updateDurability(attacker.getWeapon(), attackerSlot, CombatEventType.WEAPON, events);
+        updateDurability(target.getArmor(), targetSlot, CombatEventType.ARMOR, events);
 
         // Check for knockouts after all attacks
-        isMemberKnockedOut(target_aux); // Call the consolidated method
+        boolean wasKnockedOut = target_aux.isKnockedOut();
+        if (isMemberKnockedOut(target_aux, combat.getRandom()) && !wasKnockedOut) { // Call the consolidated method
+            defenders.knockedOut(targetSlot);
+            events.knockedOut(targetSlot);
+        }
     }
 
     private double calculateAttack(Character attacker) {
@@ -228,7 +415,7 @@ public class CombatManager {
         Item weapon = attacker.getWeapon();
         double weaponAttack = weapon.getPower();
 
-        return (weightAttacker * (1 - damageAttacker) / 10) + (weaponAttack / 20) + 18;
+        return CombatRules.calculateAttack(weightAttacker, damageAttacker, weaponAttack);
     }
 
     private double calculateFinalDamage(double attack, Character defender) {
@@ -236,137 +423,78 @@ public class CombatManager {
         double weightDefender = defender.getWeight(); // Assuming you have a method to get weight
         double armorValue = defender.getArmor() != null ? defender.getArmor().getPower() : 0; // Assuming you have a method to get armor
 
-        return attack - ((200 * (1 - damageDefender) / weightDefender + (armorValue / 20)) * 1.4);
+        return CombatRules.calculateFinalDamage(attack, weightDefender, damageDefender, armorValue);
     }
 
-    private void updateDurability(Item item) {
+    private void updateDurability(Item item, int slot, int itemKind, CombatEventSink events) {
         if (item != null) {
             item.decreaseDurability(); // Assuming you have a method to decrease durability
-            if (item.getDurability() <= 0) {
-                System.out.println(item.getName() + " is destroyed!");
+            events.durabilityChanged(slot, itemKind, item.getDurability());
+            if (item.getDurability() == 0) {
+                events.itemDestroyed(slot, itemKind);
             }
         }
     }
 
-    private void checkForKnockout(Character target) {
-        int knockoutValue = new Random().nextInt(200) + 1; // Random value between 1 and 200
-        if (target.getAccumulatedDamage() >= 1.0) { // Check if accumulated damage is 100% or more
-            System.out.println(target.getName() + " has been knocked out!");
-        }
-
-        if (knockoutValue > target.getAccumulatedDamage()) {
-            System.out.println(target.getName() + " has been knocked out!");
-
-            // Additional logic to mark the character as knocked out
-        }
-    }
-
     /**
-     * Determina si un equipo ha sido eliminado del combate.
-     * @param team El equipo a verificar.
-     * @return true si el equipo ha sido eliminado, false en caso contrario.
-     */
-    private boolean isTeamEliminated(Team team) {
-        for (Member member : team.getTeamMembers()) {
-            Character character = characterManager.getCharacter(member.getMemberId());
-            if (!character.isEliminated()) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    /**
-     * Declara el equipo ganador al finalizar el combate.
+     * Declara el equipo ganador al finalizar el combate y guarda el resultado de cada equipo. Los K.O.s son
+     * los del resultado, que salen de los miembros marcados durante el combate.
      * @param team1 El primer equipo.
      * @param team2 El segundo equipo.
+     * @param result El resultado del combate.
      */
-    private void declareWinner(Team team1, Team team2) {
-        try {
-            // Mostrar resumen de ambos equipos
-            System.out.println("Team 1 Summary:");
-            List<String> team1Summary = teamManager.getTeamSummary(team1);
-            team1Summary.forEach(System.out::println);
-
-            System.out.println("\nTeam 2 Summary:");
-            List<String> team2Summary = teamManager.getTeamSummary(team2);
-            team2Summary.forEach(System.out::println);
-
-            // Determinar ganador y mostrar resultado
-            if (isTeamEliminated(team1) && isTeamEliminated(team2)) {
-                System.out.println("\nBoth teams are eliminated. It's a draw!");
-            } else if (isTeamEliminated(team1)) {
-                System.out.println("\nTeam " + team2.getTeamName() + " wins!");
-                statsManager.incrementGamesWon(statsManager.getStatsByTeamName(team2.getTeamName()));
-            } else if (isTeamEliminated(team2)) {
-                System.out.println("\nTeam " + team1.getTeamName() + " wins!");
-                statsManager.incrementGamesWon(statsManager.getStatsByTeamName(team1.getTeamName()));
-            } else {
-                System.out.println("\nIt's a draw!");
-            }
-
-            // Actualizar estadísticas
-            statsManager.incrementGamesPlayed(statsManager.getStatsByTeamName(team1.getTeamName()));
-            statsManager.incrementGamesPlayed(statsManager.getStatsByTeamName(team2.getTeamName()));
-
-            // Acumular K.O.s
-            statsManager.accumulateKOs(statsManager.getStatsByTeamName(team1.getTeamName()), calculateKOsDone(team1), calculateKOsReceived(team1));
-            statsManager.accumulateKOs(statsManager.getStatsByTeamName(team2.getTeamName()), calculateKOsDone(team2), calculateKOsReceived(team2));
-
-            // Falta añadir las nuevas estadísticas al equipo
+    private void declareWinner(Team team1, Team team2, CombatResult result) {
+        // Mostrar resumen de ambos equipos
+        System.out.println("\nTeam 1 Summary:");
+        getTeamSummary(team1).forEach(System.out::println);
+
+        System.out.println("\nTeam 2 Summary:");
+        getTeamSummary(team2).forEach(System.out::println);
+
+        // Mostrar resultado
+        switch (result.getWinner()) {
+            case CombatResult.TEAM1 -> System.out.println("\nTeam " + team1.getTeamName() + " wins!");
+            case CombatResult.TEAM2 -> System.out.println("\nTeam " + team2.getTeamName() + " wins!");
+            default -> System.out.println("\nIt's a draw!");
+        }
 
-        } catch (IOException e) {
+        try {
+            // Actualizar estadísticas: un registro por equipo, sin reescribir las de los demás
+            statsManager.recordCombat(team1.getTeamName(), result.getWinner() == CombatResult.TEAM1,
+                    result.getKOsTeam1(), result.getKOsTeam2());
+            statsManager.recordCombat(team2.getTeamName(), result.getWinner() == CombatResult.TEAM2,
+                    result.getKOsTeam2(), result.getKOsTeam1());
+        } catch (JSONException | UncheckedIOException e) {
             System.err.println("Error while updating stats: " + e.getMessage());
         }
-        Controller controller = new Controller();
-
-        controller.pressEnterKeyToContinue();
     }
 
     /**
-     * Actualiza el daño recibido por un miembro del equipo.
-     * @param member El miembro defensor.
-     * @param damage El daño recibido por el defensor.
+     * Genera el resumen de un equipo al terminar el combate, con el daño de los personajes del combate.
+     * @param team El equipo.
+     * @return Una línea por miembro con su estado.
      */
-    private void updateMemberDamage(Member member, double damage) {
-        teamManager.updateMemberDamage(member, damage);
-    }
-
-
-    /**
-     * Calcula el número de K.O.s realizados por un equipo.
-     * @param team El equipo a verificar.
-     * @return El número de K.O.s realizados.
-     */
-    private int calculateKOsDone(Team team) {
-        int kos = 0;
+    private List<String> getTeamSummary(Team team) {
+        List<String> summary = new ArrayList<>();
         for (Member member : team.getTeamMembers()) {
-            if (isMemberKnockedOut(member)) {
-                kos++;
+            Character character = findCharacter(member.getMemberId());
+            if (character == null) {
+                continue; // Unknown characters didn't fight
             }
+            String status = member.isKnockedOut() ? "K.O." : String.format("%.2f%% damage", character.getAccumulatedDamage() * 100);
+            summary.add("\t- " + character.getName() + " - " + status);
         }
-        return kos;
+        return summary;
     }
 
     /**
-     * Calcula el número de K.O.s recibidos por un equipo.
-     * @param team El equipo a verificar.
-     * @return El número de K.O.s recibidos.
+     * Elige el objetivo de un ataque según la estrategia del atacante, entre los rivales que siguen activos.
+     * @param attacker El miembro que ataca.
+     * @param defenders Los objetivos del equipo rival.
+     * @param random El generador aleatorio del combate.
+     * @return La posición del objetivo, o -1 si no queda ningún rival activo.
      */
-    private int calculateKOsReceived(Team team) {
-        int kos = 0;
-        for (Member member : team.getTeamMembers()) {
-            if (isMemberKnockedOut(member)) {
-                kos++;
-            }
-        }
-        return kos;
-    }
-
-    private Member selectTarget(Team team) {
-        List<Member> members = team.getTeamMembers();
-        Random random = new Random();
-        // Select a random member from the opposing team
-        return members.get(random.nextInt(members.size()));
+    private int selectTarget(Member attacker, TeamTargets defenders, SplittableRandom random) {
+        return TargetingStrategies.forName(attacker.getStrategy()).selectTarget(defenders, random);
     }
 }
@@ -0,0 +1,60 @@
+package Business.Combat;
+
+import java.util.SplittableRandom;
+
+/**
+ * Genera los flujos aleatorios de cada combate a partir de una única semilla maestra.
+ * <p>
+ * La semilla de un combate depende solo de la semilla maestra y del índice del combate, nunca del hilo
+ * que lo ejecuta ni del orden de ejecución, por lo que una misma semilla maestra reproduce exactamente
+ * los mismos combates con cualquier número de hilos. Cada combate usa su propio {@link SplittableRandom},
+ * que no está sincronizado y no se comparte, así que no hay contención entre combates paralelos.
+ */
+public final class CombatRandom {
+
+    /** Incremento de SplitMix64 (parte fraccionaria de la proporción áurea). */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private CombatRandom() {
+    }
+
+    /**
+     * Calcula la semilla de un combate.
+     *
+     * @param masterSeed  La semilla maestra (de una predicción, torneo, etc.).
+     * @param combatIndex El índice del combate dentro de esa ejecución.
+     * @return La semilla del combate.
+     */
+    public static long combatSeed(long masterSeed, long combatIndex) {
+        return mix64(masterSeed + (combatIndex + 1) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Crea el generador aleatorio de un combate.
+     *
+     * @param masterSeed  La semilla maestra (de una predicción, torneo, etc.).
+     * @param combatIndex El índice del combate dentro de esa ejecución.
+     * @return Un generador nuevo, exclusivo de ese combate.
+     */
+    public static SplittableRandom forCombat(long masterSeed, long combatIndex) {
+        return new SplittableRandom(combatSeed(masterSeed, combatIndex));
+    }
+
+    /**
+     * Genera una semilla maestra nueva para las ejecuciones que no piden una semilla concreta.
+     *
+     * @return Una semilla maestra.
+     */
+    public static long newMasterSeed() {
+        return mix64(System.nanoTime() + GOLDEN_GAMMA * Thread.currentThread().getId());
+    }
+
+    /**
+     * Función de mezcla de SplitMix64: semillas cercanas producen flujos sin relación entre sí.
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,402 @@
+package Business.Combat;
+
+import Business.Combat.Event.CombatEventSink;
+import Business.Combat.Event.CombatEventType;
+import Business.Combat.Event.NullEventSink;
+import Business.Team.Team;
+import Persistance.Binary.CombatEventDecoder;
+import Persistance.Binary.CombatEventEncoder;
+import Persistance.Binary.CombatEventFileReader;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Repetición de un combate ya jugado, a partir de sus eventos codificados.
+ * <p>
+ * Los eventos se obtienen volviendo a simular el combate con su semilla ({@link #fromSeed}) o de un archivo
+ * de eventos ({@link CombatEventFileReader#nextCombat()}). La repetición avanza ronda a ronda
+ * ({@link #stepRound}) o salta a cualquier ronda ({@link #jumpToRound}), y mantiene en un
+ * {@link CombatState} el daño, las durabilidades y los K.O.s de cada posición tras la ronda actual
+ * (el peso de los personajes no forma parte de los eventos y queda a cero).
+ * <p>
+ * Al crearla solo se recorren los eventos una vez para localizar las rondas y el resultado, así que es
+ * barato crear repeticiones para revisar muchos combates (ver {@link #find}).
+ */
+public class CombatReplay {
+
+    private final CombatEventDecoder decoder;
+    private final CombatState state;
+    private final StateSink stateSink = new StateSink();
+
+    private long seed;
+    private int team1Size;
+    private int team2Size;
+    private CombatResult result;
+    /** Posición donde termina cada ronda; la posición 0 es el final de la preparación del combate. */
+    private int[] roundEnds = new int[16];
+    /** Miembros activos de cada equipo al terminar cada ronda; la posición 0 es el inicio del combate. */
+    private int[] alive1 = new int[16];
+    private int[] alive2 = new int[16];
+    private int round;
+
+    /**
+     * Crea la repetición de un combate a partir de sus eventos codificados.
+     *
+     * @param combatEvents Los eventos de un único combate, desde su {@code COMBAT_START} hasta su {@code COMBAT_END}.
+     * @throws IllegalArgumentException Si los eventos no forman un combate completo.
+     */
+    public CombatReplay(ByteBuffer combatEvents) {
+        this.decoder = new CombatEventDecoder(combatEvents);
+        index();
+        this.state = new CombatState(team1Size + team2Size);
+        rewind();
+    }
+
+    /**
+     * Crea la repetición de un combate volviendo a simularlo con su semilla.
+     *
+     * @param simulator El simulador con los mismos personajes e ítems que el combate original.
+     * @param team1     El primer equipo.
+     * @param team2     El segundo equipo.
+     * @param seed      La semilla del combate.
+     * @return La repetición del combate.
+     */
+    public static CombatReplay fromSeed(CombatSimulator simulator, Team team1, Team team2, long seed) {
+        CombatEventEncoder encoder = new CombatEventEncoder();
+        simulator.simulate(team1, team2, seed, encoder);
+        return new CombatReplay(encoder.toByteBuffer());
+    }
+
+    /**
+     * Recorre los combates que quedan en un archivo de eventos y devuelve los que cumplen un patrón,
+     * por ejemplo {@code replay -> replay.getAliveTeam1(1) == 0} para los combates en los que el primer
+     * equipo cae en la primera ronda.
+     *
+     * @param reader  El archivo de eventos.
+     * @param pattern La condición que deben cumplir los combates.
+     * @return Las repeticiones de los combates que cumplen el patrón, en el orden del archivo.
+     */
+    public static List<CombatReplay> find(CombatEventFileReader reader, Predicate<CombatReplay> pattern) {
+        List<CombatReplay> matches = new ArrayList<>();
+        ByteBuffer combat;
+        while ((combat = reader.nextCombat()) != null) {
+            CombatReplay replay = new CombatReplay(combat);
+            if (pattern.test(replay)) {
+                matches.add(replay);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Vuelve al inicio del combate: aplica la preparación (ítems iniciales y miembros que no pueden luchar)
+     * y deja la repetición en la ronda 0.
+     */
+    public void rewind() {
+        decoder.position(0);
+        stateSink.target = NullEventSink.INSTANCE;
+        while (decoder.position() < roundEnds[0]) {
+            decoder.decodeNext(stateSink);
+        }
+        round = 0;
+    }
+
+    /**
+     * Avanza una ronda sin notificar sus eventos.
+     *
+     * @return true si se ha avanzado, false si el combate ya había terminado.
+     */
+    public boolean stepRound() {
+        return stepRound(NullEventSink.INSTANCE);
+    }
+
+    /**
+     * Avanza una ronda y envía sus eventos al destino indicado (por ejemplo, para mostrarla por consola).
+     * Los eventos de la última ronda incluyen el final del combate.
+     *
+     * @param sink El destino de los eventos de la ronda.
+     * @return true si se ha avanzado, false si el combate ya había terminado.
+     */
+    public boolean stepRound(CombatEventSink sink) {
+        if (round >= getRounds()) {
+            return false;
+        }
+        stateSink.target = sink;
+        int end = roundEnds[round + 1];
+        while (decoder.position() < end) {
+            decoder.decodeNext(stateSink);
+        }
+        round++;
+        return true;
+    }
+
+    /**
+     * Salta a una ronda: deja el estado tal como estaba al terminar esa ronda.
+     *
+     * @param target La ronda, entre 0 (inicio del combate) y {@link #getRounds()}.
+     * @throws IllegalArgumentException Si la ronda no existe en este combate.
+     */
+    public void jumpToRound(int target) {
+        if (target < 0 || target > getRounds()) {
+            throw new IllegalArgumentException("Round " + target + " is not between 0 and " + getRounds() + ".");
+        }
+        if (target < round) {
+            rewind();
+        }
+        while (round < target) {
+            stepRound();
+        }
+    }
+
+    /**
+     * Envía todos los eventos del combate al destino indicado y deja la repetición al final.
+     *
+     * @param sink El destino de los eventos.
+     */
+    public void play(CombatEventSink sink) {
+        decoder.position(0);
+        stateSink.target = sink;
+        decoder.decodeCombat(stateSink);
+        round = getRounds();
+    }
+
+    /**
+     * Recorre los eventos una vez para guardar dónde termina cada ronda, los miembros activos y el resultado.
+     */
+    private void index() {
+        IndexSink indexSink = new IndexSink();
+        int rounds = 0;
+        roundEnds[0] = -1;
+        while (decoder.hasRemaining()) {
+            int start = decoder.position();
+            int type = decoder.decodeNext(indexSink);
+            if (roundEnds[0] < 0 && (type == CombatEventType.ATTACK || type == CombatEventType.ROUND_END || type == CombatEventType.COMBAT_END)) {
+                roundEnds[0] = start;
+            }
+            if (type == CombatEventType.ROUND_END) {
+                rounds++;
+                ensureRounds(rounds);
+                roundEnds[rounds] = decoder.position();
+                alive1[rounds] = indexSink.alive1;
+                alive2[rounds] = indexSink.alive2;
+            } else if (type == CombatEventType.COMBAT_END) {
+                roundEnds[rounds] = decoder.position(); // the last round also closes the combat
+                break;
+            }
+        }
+        if (result == null) {
+            throw new IllegalArgumentException("Combat events end before the combat does.");
+        }
+        alive1[0] = team1Size - indexSink.knockedOutAtStart1;
+        alive2[0] = team2Size - indexSink.knockedOutAtStart2;
+    }
+
+    private void ensureRounds(int rounds) {
+        if (rounds >= roundEnds.length) {
+            roundEnds = Arrays.copyOf(roundEnds, roundEnds.length * 2);
+            alive1 = Arrays.copyOf(alive1, roundEnds.length);
+            alive2 = Arrays.copyOf(alive2, roundEnds.length);
+        }
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getTeam1Size() {
+        return team1Size;
+    }
+
+    public int getTeam2Size() {
+        return team2Size;
+    }
+
+    /**
+     * Obtiene el resultado del combate.
+     *
+     * @return El resultado guardado al final de los eventos.
+     */
+    public CombatResult getResult() {
+        return result;
+    }
+
+    /**
+     * Obtiene el número de rondas del combate.
+     *
+     * @return Las rondas jugadas.
+     */
+    public int getRounds() {
+        return result.getRounds();
+    }
+
+    /**
+     * Obtiene la ronda en la que está la repetición.
+     *
+     * @return La última ronda aplicada al estado (0 antes de la primera).
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Obtiene los miembros activos del primer equipo al terminar una ronda.
+     *
+     * @param round La ronda (0 para el inicio del combate).
+     * @return El número de miembros activos.
+     */
+    public int getAliveTeam1(int round) {
+        return alive1[round];
+    }
+
+    /**
+     * Obtiene los miembros activos del segundo equipo al terminar una ronda.
+     *
+     * @param round La ronda (0 para el inicio del combate).
+     * @return El número de miembros activos.
+     */
+    public int getAliveTeam2(int round) {
+        return alive2[round];
+    }
+
+    /**
+     * Obtiene el estado del combate tras la ronda actual. Cambia al avanzar o saltar de ronda.
+     *
+     * @return El estado de cada posición.
+     */
+    public CombatState getState() {
+        return state;
+    }
+
+    /**
+     * Recoge los datos del combate durante el recorrido inicial.
+     */
+    private class IndexSink implements CombatEventSink {
+        private int alive1;
+        private int alive2;
+        private int knockedOutAtStart1;
+        private int knockedOutAtStart2;
+        private boolean started;
+
+        @Override
+        public void combatStarted(long combatSeed, int size1, int size2) {
+            seed = combatSeed;
+            team1Size = size1;
+            team2Size = size2;
+        }
+
+        @Override
+        public void itemEquipped(int slot, int itemKind, long itemId, int power, int durability) {
+        }
+
+        @Override
+        public void attacked(int attacker, int target, double attack) {
+            started = true;
+        }
+
+        @Override
+        public void damaged(int target, double damage, double accumulatedDamage) {
+        }
+
+        @Override
+        public void durabilityChanged(int slot, int itemKind, int durability) {
+        }
+
+        @Override
+        public void itemDestroyed(int slot, int itemKind) {
+        }
+
+        @Override
+        public void knockedOut(int slot) {
+            if (!started) {
+                if (slot < team1Size) {
+                    knockedOutAtStart1++;
+                } else {
+                    knockedOutAtStart2++;
+                }
+            }
+        }
+
+        @Override
+        public void roundEnded(int round, int aliveTeam1, int aliveTeam2) {
+            started = true;
+            alive1 = aliveTeam1;
+            alive2 = aliveTeam2;
+        }
+
+        @Override
+        public void combatEnded(int winner, int rounds, int kosTeam1, int kosTeam2) {
+            result = new CombatResult(winner, rounds, kosTeam1, kosTeam2);
+        }
+    }
+
+    /**
+     * Aplica los eventos al estado de la repetición y los reenvía al destino actual.
+     */
+    private class StateSink implements CombatEventSink {
+        private CombatEventSink target = NullEventSink.INSTANCE;
+
+        @Override
+        public void combatStarted(long combatSeed, int size1, int size2) {
+            state.reset(size1, size2);
+            target.combatStarted(combatSeed, size1, size2);
+        }
+
+        @Override
+        public void itemEquipped(int slot, int itemKind, long itemId, int power, int durability) {
+            if (itemKind == CombatEventType.WEAPON) {
+                state.weaponPower[slot] = power;
+                state.weaponDurability[slot] = durability;
+            } else {
+                state.armorPower[slot] = power;
+                state.armorDurability[slot] = durability;
+            }
+            target.itemEquipped(slot, itemKind, itemId, power, durability);
+        }
+
+        @Override
+        public void attacked(int attacker, int targetSlot, double attack) {
+            target.attacked(attacker, targetSlot, attack);
+        }
+
+        @Override
+        public void damaged(int targetSlot, double damage, double accumulatedDamage) {
+            state.damage[targetSlot] = accumulatedDamage;
+            target.damaged(targetSlot, damage, accumulatedDamage);
+        }
+
+        @Override
+        public void durabilityChanged(int slot, int itemKind, int durability) {
+            if (itemKind == CombatEventType.WEAPON) {
+                state.weaponDurability[slot] = durability;
+            } else {
+                state.armorDurability[slot] = durability;
+            }
+            target.durabilityChanged(slot, itemKind, durability);
+        }
+
+        @Override
+        public void itemDestroyed(int slot, int itemKind) {
+            target.itemDestroyed(slot, itemKind);
+        }
+
+        @Override
+        public void knockedOut(int slot) {
+            state.knockedOut[slot] = true;
+            target.knockedOut(slot);
+        }
+
+        @Override
+        public void roundEnded(int round, int aliveTeam1, int aliveTeam2) {
+            target.roundEnded(round, aliveTeam1, aliveTeam2);
+        }
+
+        @Override
+        public void combatEnded(int winner, int rounds, int kosTeam1, int kosTeam2) {
+            target.combatEnded(winner, rounds, kosTeam1, kosTeam2);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package Business.Combat;
+
+/**
+ * Resultado compacto de un combate simulado: ganador, rondas jugadas y K.O.s realizados por cada equipo.
+ */
+public class CombatResult {
+
+    /** El combate terminó en empate. */
+    public static final int DRAW = 0;
+    /** Ganó el primer equipo. */
+    public static final int TEAM1 = 1;
+    /** Ganó el segundo equipo. */
+    public static final int TEAM2 = 2;
+
+    private final int winner;
+    private final int rounds;
+    private final int kosTeam1;
+    private final int kosTeam2;
+
+    /**
+     * Crea un nuevo resultado de combate.
+     *
+     * @param winner   {@link #TEAM1}, {@link #TEAM2} o {@link #DRAW}.
+     * @param rounds   Número de rondas jugadas.
+     * @param kosTeam1 K.O.s realizados por el primer equipo.
+     * @param kosTeam2 K.O.s realizados por el segundo equipo.
+     */
+    public CombatResult(int winner, int rounds, int kosTeam1, int kosTeam2) {
+        this.winner = winner;
+        this.rounds = rounds;
+        this.kosTeam1 = kosTeam1;
+        this.kosTeam2 = kosTeam2;
+    }
+
+    /**
+     * Obtiene el ganador del combate.
+     *
+     * @return {@link #TEAM1}, {@link #TEAM2} o {@link #DRAW}.
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Obtiene el número de rondas jugadas.
+     *
+     * @return El número de rondas.
+     */
+    public int getRounds() {
+        return rounds;
+    }
+
+    /**
+     * Obtiene los K.O.s realizados por el primer equipo (recibidos por el segundo).
+     *
+     * @return El número de K.O.s.
+     */
+    public int getKOsTeam1() {
+        return kosTeam1;
+    }
+
+    /**
+     * Obtiene los K.O.s realizados por el segundo equipo (recibidos por el primero).
+     *
+     * @return El número de K.O.s.
+     */
+    public int getKOsTeam2() {
+        return kosTeam2;
+    }
+
+    public String toString() {
+        String result = winner == DRAW ? "DRAW" : "TEAM" + winner;
+        return result + " in " + rounds + " rounds (KOs " + kosTeam1 + "-" + kosTeam2 + ")";
+    }
+}
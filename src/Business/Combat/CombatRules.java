@@ -0,0 +1,61 @@
+package Business.Combat;
+
+/**
+ * Reglas de combate compartidas por {@link CombatManager} y {@link CombatSimulator}.
+ * Todas las operaciones trabajan sobre primitivos para poder usarse en el bucle de rondas sin crear objetos.
+ */
+public final class CombatRules {
+
+    /** Valor máximo de la tirada de K.O. (se genera un número entre 1 y este valor). */
+    public static final int KNOCKOUT_ROLL_MAX = 200;
+
+    private CombatRules() {
+    }
+
+    /**
+     * Calcula el valor de ataque de un personaje.
+     *
+     * @param weight            Peso del atacante.
+     * @param accumulatedDamage Daño acumulado del atacante.
+     * @param weaponPower       Poder del arma del atacante.
+     * @return El valor de ataque.
+     */
+    public static double calculateAttack(double weight, double accumulatedDamage, double weaponPower) {
+        return (weight * (1 - accumulatedDamage) / 10) + (weaponPower / 20) + 18;
+    }
+
+    /**
+     * Calcula el daño final que recibe un defensor a partir de un valor de ataque.
+     *
+     * @param attack            Valor de ataque recibido.
+     * @param weight            Peso del defensor.
+     * @param accumulatedDamage Daño acumulado del defensor.
+     * @param armorPower        Poder de la armadura del defensor.
+     * @return El daño final recibido.
+     */
+    public static double calculateFinalDamage(double attack, double weight, double accumulatedDamage, double armorPower) {
+        return attack - ((200 * (1 - accumulatedDamage) / weight + (armorPower / 20)) * 1.4);
+    }
+
+    /**
+     * Convierte el daño final de un ataque al porcentaje que se suma al daño acumulado (1.0 = 100%).
+     *
+     * @param finalDamage Daño final calculado con {@link #calculateFinalDamage}.
+     * @return El daño expresado como fracción.
+     */
+    public static double toAccumulatedDamage(double finalDamage) {
+        return finalDamage / 100;
+    }
+
+    /**
+     * Determina si un miembro queda K.O. a partir de una tirada entre 1 y {@link #KNOCKOUT_ROLL_MAX}.
+     * La tirada se divide entre 100 y el miembro cae si su daño acumulado la supera.
+     *
+     * @param roll              Tirada aleatoria entre 1 y {@link #KNOCKOUT_ROLL_MAX}.
+     * @param accumulatedDamage Daño acumulado del miembro (1.0 = 100%).
+     * @return true si el miembro queda K.O., false en caso contrario.
+     */
+    public static boolean isKnockedOut(int roll, double accumulatedDamage) {
+        return accumulatedDamage > roll / 100.0;
+    }
+}
@@ -0,0 +1,259 @@
+package Business.Combat;
+
+import Business.Character.Character;
+import Business.Character.CharacterIndex;
+import Business.Combat.Event.CombatEventSink;
+import Business.Combat.Event.CombatEventType;
+import Business.Combat.Event.NullEventSink;
+import Business.Combat.Targeting.TargetingStrategies;
+import Business.Combat.Targeting.TargetingStrategy;
+import Business.Combat.Targeting.TeamTargets;
+import Business.Item.Item;
+import Business.Item.ItemCatalog;
+import Business.Team.Member;
+import Business.Team.Team;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Simulador de combates sin interfaz: aplica las mismas reglas de ataque, daño y K.O. que {@link CombatManager}
+ * ({@link CombatRules}) pero trabaja completamente en memoria, sin consola ni acceso a ficheros, y devuelve un
+ * {@link CombatResult}. A diferencia del combate interactivo, un ítem que se rompe se sustituye por otro al azar.
+ * <p>
+ * Los personajes y los ítems se resuelven una única vez al construir el simulador. Cada combate trabaja
+ * sobre un {@link CombatState} propio del hilo (daño, durabilidades, K.O.), por lo que una misma instancia
+ * puede usarse desde varios hilos a la vez siempre que cada combate tenga su propio generador aleatorio.
+ * Cada miembro elige a quién atacar con la estrategia de {@link Member#getStrategy()}, solo entre los
+ * rivales que siguen activos.
+ */
+public class CombatSimulator {
+
+    /** Número máximo de rondas por defecto antes de declarar empate. */
+    public static final int DEFAULT_MAX_ROUNDS = 1000;
+
+    private final CharacterIndex characters;
+    private final ItemCatalog items;
+    private final int maxRounds;
+
+    /** Estado reutilizable de cada hilo, para no reservar memoria en cada combate. */
+    private static final ThreadLocal<CombatState> STATES = ThreadLocal.withInitial(() -> new CombatState(16));
+
+    /**
+     * Crea un simulador con el límite de rondas por defecto.
+     *
+     * @param characters Personajes disponibles, ya cargados.
+     * @param items      Ítems disponibles para asignar en combate, ya cargados.
+     */
+    public CombatSimulator(List<Character> characters, List<Item> items) {
+        this(characters, items, DEFAULT_MAX_ROUNDS);
+    }
+
+    /**
+     * Crea un simulador.
+     *
+     * @param characters Personajes disponibles, ya cargados.
+     * @param items      Ítems disponibles para asignar en combate, ya cargados.
+     * @param maxRounds  Número máximo de rondas antes de declarar empate.
+     */
+    public CombatSimulator(List<Character> characters, List<Item> items, int maxRounds) {
+        if (maxRounds <= 0) {
+            throw new IllegalArgumentException("maxRounds must be positive.");
+        }
+        this.characters = new CharacterIndex(characters);
+        this.items = new ItemCatalog(items);
+        this.maxRounds = maxRounds;
+    }
+
+    /**
+     * Simula un combate completo con una semilla aleatoria no reproducible.
+     *
+     * @param team1 El primer equipo.
+     * @param team2 El segundo equipo.
+     * @return El resultado del combate.
+     */
+    public CombatResult simulate(Team team1, Team team2) {
+        return simulate(team1, team2, CombatRandom.newMasterSeed());
+    }
+
+    /**
+     * Simula un combate completo de forma reproducible a partir de una semilla.
+     *
+     * @param team1 El primer equipo.
+     * @param team2 El segundo equipo.
+     * @param seed  La semilla del combate (por ejemplo, una de {@link CombatRandom#combatSeed}).
+     * @return El resultado del combate.
+     */
+    public CombatResult simulate(Team team1, Team team2, long seed) {
+        return simulate(team1, team2, seed, STATES.get(), NullEventSink.INSTANCE);
+    }
+
+    /**
+     * Simula un combate completo de forma reproducible y envía sus eventos al destino indicado.
+     *
+     * @param team1  El primer equipo.
+     * @param team2  El segundo equipo.
+     * @param seed   La semilla del combate.
+     * @param events El destino de los eventos del combate.
+     * @return El resultado del combate.
+     */
+    public CombatResult simulate(Team team1, Team team2, long seed, CombatEventSink events) {
+        return simulate(team1, team2, seed, STATES.get(), events);
+    }
+
+    /**
+     * Simula un combate completo sobre un estado proporcionado por el llamador, que puede reutilizarlo
+     * en combates sucesivos. Ni el estado ni el destino de eventos deben compartirse entre hilos.
+     *
+     * @param team1  El primer equipo.
+     * @param team2  El segundo equipo.
+     * @param seed   La semilla del combate.
+     * @param state  El estado donde se desarrolla el combate; se sobrescribe.
+     * @param events El destino de los eventos del combate.
+     * @return El resultado del combate.
+     */
+    public CombatResult simulate(Team team1, Team team2, long seed, CombatState state, CombatEventSink events) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Member> members1 = team1.getTeamMembers();
+        List<Member> members2 = team2.getTeamMembers();
+        int team1Size = members1.size();
+        state.reset(team1Size, members2.size());
+        events.combatStarted(seed, team1Size, members2.size());
+        load(state, members1, 0, state.team1Targets, random, events);
+        load(state, members2, team1Size, state.team2Targets, random, events);
+
+        int size = state.size();
+        int alive1 = state.countAlive(0, team1Size);
+        int alive2 = state.countAlive(team1Size, size);
+        int kosTeam1 = 0;
+        int kosTeam2 = 0;
+
+        int round = 0;
+        while (alive1 > 0 && alive2 > 0 && round < maxRounds) {
+            round++;
+
+            int kos = attack(state, 0, team1Size, state.team2Targets, random, events);
+            kosTeam1 += kos;
+            alive2 -= kos;
+
+            kos = attack(state, team1Size, size, state.team1Targets, random, events);
+            kosTeam2 += kos;
+            alive1 -= kos;
+
+            events.roundEnded(round, alive1, alive2);
+        }
+
+        int winner;
+        if (alive1 > 0 && alive2 == 0) {
+            winner = CombatResult.TEAM1;
+        } else if (alive2 > 0 && alive1 == 0) {
+            winner = CombatResult.TEAM2;
+        } else {
+            winner = CombatResult.DRAW;
+        }
+        events.combatEnded(winner, round, kosTeam1, kosTeam2);
+        return new CombatResult(winner, round, kosTeam1, kosTeam2);
+    }
+
+    /**
+     * Ejecuta los ataques de todos los miembros activos de un bando. No crea ningún objeto.
+     *
+     * @return El número de K.O.s producidos en el bando defensor.
+     */
+    private int attack(CombatState state, int attackersFrom, int attackersTo, TeamTargets defenders,
+                       SplittableRandom random, CombatEventSink events) {
+        double[] weight = state.weight;
+        double[] damage = state.damage;
+        int[] weaponDurability = state.weaponDurability;
+        int[] armorDurability = state.armorDurability;
+        boolean[] knockedOut = state.knockedOut;
+        TargetingStrategy[] strategy = state.strategy;
+        int kos = 0;
+
+        for (int attacker = attackersFrom; attacker < attackersTo; attacker++) {
+            if (knockedOut[attacker]) {
+                continue;
+            }
+            int target = strategy[attacker].selectTarget(defenders, random);
+            if (target < 0) {
+                break; // the whole defending team is already down
+            }
+
+            double attackValue = CombatRules.calculateAttack(weight[attacker], damage[attacker], state.weaponPower[attacker]);
+            double finalDamage = CombatRules.calculateFinalDamage(attackValue, weight[target], damage[target], state.armorPower[target]);
+            damage[target] += CombatRules.toAccumulatedDamage(finalDamage);
+            defenders.damaged(target, damage[target]);
+            events.attacked(attacker, target, attackValue);
+            events.damaged(target, finalDamage, damage[target]);
+
+            // Items break after their last use and are replaced from the pool
+            if (weaponDurability[attacker] > 0) {
+                events.durabilityChanged(attacker, CombatEventType.WEAPON, --weaponDurability[attacker]);
+                if (weaponDurability[attacker] == 0) {
+                    events.itemDestroyed(attacker, CombatEventType.WEAPON);
+                    equipWeapon(state, attacker, random, events);
+                }
+            }
+            if (armorDurability[target] > 0) {
+                events.durabilityChanged(target, CombatEventType.ARMOR, --armorDurability[target]);
+                if (armorDurability[target] == 0) {
+                    events.itemDestroyed(target, CombatEventType.ARMOR);
+                    equipArmor(state, target, random, events);
+                }
+            }
+
+            if (!knockedOut[target] && CombatRules.isKnockedOut(random.nextInt(CombatRules.KNOCKOUT_ROLL_MAX) + 1, damage[target])) {
+                knockedOut[target] = true;
+                defenders.knockedOut(target);
+                events.knockedOut(target);
+                kos++;
+            }
+        }
+        return kos;
+    }
+
+    /**
+     * Carga los miembros de un equipo en el estado a partir de la posición indicada y les asigna sus ítems.
+     */
+    private void load(CombatState state, List<Member> members, int firstSlot, TeamTargets targets, SplittableRandom random, CombatEventSink events) {
+        for (int i = 0; i < members.size(); i++) {
+            int slot = firstSlot + i;
+            Character character = characters.get(members.get(i).getMemberId());
+            if (character == null) {
+                // Unknown characters can't fight, same as CombatManager skipping them
+                state.knockedOut[slot] = true;
+                events.knockedOut(slot);
+            } else {
+                state.weight[slot] = character.getWeight();
+                state.strategy[slot] = TargetingStrategies.forName(members.get(i).getStrategy());
+                targets.join(slot, character.getWeight());
+                equipWeapon(state, slot, random, events);
+                equipArmor(state, slot, random, events);
+            }
+        }
+    }
+
+    private void equipWeapon(CombatState state, int slot, SplittableRandom random, CombatEventSink events) {
+        Item weapon = items.randomWeapon(random);
+        if (weapon == null) {
+            state.weaponPower[slot] = 0;
+            state.weaponDurability[slot] = 0;
+        } else {
+            state.weaponPower[slot] = weapon.getPower();
+            state.weaponDurability[slot] = weapon.getDurability();
+            events.itemEquipped(slot, CombatEventType.WEAPON, weapon.getId(), weapon.getPower(), weapon.getDurability());
+        }
+    }
+
+    private void equipArmor(CombatState state, int slot, SplittableRandom random, CombatEventSink events) {
+        Item armor = items.randomArmor(random);
+        if (armor == null) {
+            state.armorPower[slot] = 0;
+            state.armorDurability[slot] = 0;
+        } else {
+            state.armorPower[slot] = armor.getPower();
+            state.armorDurability[slot] = armor.getDurability();
+            events.itemEquipped(slot, CombatEventType.ARMOR, armor.getId(), armor.getPower(), armor.getDurability());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package Business.Combat;
+
+import Business.Combat.Targeting.TargetingStrategies;
+import Business.Combat.Targeting.TargetingStrategy;
+import Business.Combat.Targeting.TeamTargets;
+
+/**
+ * Estado de un combate en forma de arrays primitivos (estructura de arrays), indexados por posición.
+ * <p>
+ * Las posiciones {@code [0, team1Size)} corresponden al primer equipo y {@code [team1Size, size)} al segundo.
+ * Un mismo estado se reutiliza entre combates: {@link #reset} solo reserva memoria cuando el combate
+ * tiene más miembros que cualquiera de los anteriores, de modo que el bucle de rondas no crea objetos.
+ * Cada equipo tiene además sus {@link TeamTargets}, con los miembros que todavía pueden ser objetivo.
+ * No es seguro compartir una instancia entre hilos.
+ */
+public class CombatState {
+
+    // Package-private so the simulator's round loop can index the arrays directly
+    double[] weight;
+    double[] damage;
+    int[] weaponPower;
+    int[] weaponDurability;
+    int[] armorPower;
+    int[] armorDurability;
+    boolean[] knockedOut;
+    TargetingStrategy[] strategy;
+    final TeamTargets team1Targets;
+    final TeamTargets team2Targets;
+
+    private int size;
+    private int team1Size;
+
+    /**
+     * Crea un estado con capacidad para el número de miembros indicado.
+     *
+     * @param capacity Número total de miembros (de ambos equipos) que caben sin reservar más memoria.
+     */
+    public CombatState(int capacity) {
+        allocate(Math.max(capacity, 1));
+        this.team1Targets = new TeamTargets(capacity);
+        this.team2Targets = new TeamTargets(capacity);
+    }
+
+    /**
+     * Prepara el estado para un nuevo combate, dejando todas las posiciones a cero y sin K.O.
+     *
+     * @param team1Size Número de miembros del primer equipo.
+     * @param team2Size Número de miembros del segundo equipo.
+     */
+    public void reset(int team1Size, int team2Size) {
+        int newSize = team1Size + team2Size;
+        if (newSize > weight.length) {
+            allocate(Math.max(newSize, weight.length * 2));
+        }
+        this.size = newSize;
+        this.team1Size = team1Size;
+        for (int i = 0; i < newSize; i++) {
+            weight[i] = 0;
+            damage[i] = 0;
+            weaponPower[i] = 0;
+            weaponDurability[i] = 0;
+            armorPower[i] = 0;
+            armorDurability[i] = 0;
+            knockedOut[i] = false;
+            strategy[i] = TargetingStrategies.BALANCED;
+        }
+        team1Targets.reset(0, team1Size);
+        team2Targets.reset(team1Size, team2Size);
+    }
+
+    private void allocate(int capacity) {
+        weight = new double[capacity];
+        damage = new double[capacity];
+        weaponPower = new int[capacity];
+        weaponDurability = new int[capacity];
+        armorPower = new int[capacity];
+        armorDurability = new int[capacity];
+        knockedOut = new boolean[capacity];
+        strategy = new TargetingStrategy[capacity];
+    }
+
+    /**
+     * Obtiene el número total de miembros en combate.
+     *
+     * @return El número de posiciones ocupadas.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Obtiene el número de miembros del primer equipo.
+     *
+     * @return La primera posición del segundo equipo.
+     */
+    public int getTeam1Size() {
+        return team1Size;
+    }
+
+    /**
+     * Cuenta los miembros activos (no K.O.) en un rango de posiciones.
+     *
+     * @param from Primera posición (incluida).
+     * @param to   Última posición (excluida).
+     * @return El número de miembros activos.
+     */
+    public int countAlive(int from, int to) {
+        int alive = 0;
+        for (int i = from; i < to; i++) {
+            if (!knockedOut[i]) {
+                alive++;
+            }
+        }
+        return alive;
+    }
+
+    public double getWeight(int slot) {
+        return weight[slot];
+    }
+
+    public double getDamage(int slot) {
+        return damage[slot];
+    }
+
+    public int getWeaponPower(int slot) {
+        return weaponPower[slot];
+    }
+
+    public int getWeaponDurability(int slot) {
+        return weaponDurability[slot];
+    }
+
+    public int getArmorPower(int slot) {
+        return armorPower[slot];
+    }
+
+    public int getArmorDurability(int slot) {
+        return armorDurability[slot];
+    }
+
+    public boolean isKnockedOut(int slot) {
+        return knockedOut[slot];
+    }
+
+    public TargetingStrategy getStrategy(int slot) {
+        return strategy[slot];
+    }
+}
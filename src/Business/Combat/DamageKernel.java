@@ -0,0 +1,30 @@
+package Business.Combat;
+
+/**
+ * Núcleo de cálculo por lotes: calcula el valor de ataque y el daño final de todos los ataques de un
+ * {@link AttackBatch}, con las mismas fórmulas (y los mismos resultados) que {@link CombatRules}.
+ */
+public interface DamageKernel {
+
+    /**
+     * Calcula el ataque y el daño final de cada ataque del lote y los guarda en el propio lote.
+     *
+     * @param batch El lote de ataques.
+     */
+    void compute(AttackBatch batch);
+
+    /**
+     * Obtiene el núcleo más rápido disponible: el vectorial si la JVM se ha arrancado con
+     * {@code --add-modules jdk.incubator.vector}, o el escalar en caso contrario.
+     *
+     * @return Un núcleo de cálculo.
+     */
+    static DamageKernel create() {
+        try {
+            return (DamageKernel) Class.forName("Business.Combat.VectorDamageKernel").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // The incubator module isn't in the boot layer
+            return new ScalarDamageKernel();
+        }
+    }
+}
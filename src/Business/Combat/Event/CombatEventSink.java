@@ -0,0 +1,94 @@
+package Business.Combat.Event;
+
+/**
+ * Destino de los eventos que se producen durante un combate (ataques, daño, durabilidad, K.O.s...).
+ * <p>
+ * Los eventos se notifican con valores primitivos y posiciones ({@code slot}) en lugar de objetos, para que
+ * el bucle de rondas no tenga que crear nada al emitirlos. Las posiciones siguen el mismo orden que
+ * {@link Business.Combat.CombatState}: primero los miembros del primer equipo y después los del segundo.
+ * Las rondas no se indican en cada evento: todos los eventos entre dos {@link #roundEnded} pertenecen
+ * a la misma ronda.
+ */
+public interface CombatEventSink {
+
+    /**
+     * Empieza un combate.
+     *
+     * @param seed      La semilla del combate.
+     * @param team1Size Número de miembros del primer equipo.
+     * @param team2Size Número de miembros del segundo equipo.
+     */
+    void combatStarted(long seed, int team1Size, int team2Size);
+
+    /**
+     * Un miembro recibe un arma o una armadura (al empezar o al romperse la anterior).
+     *
+     * @param slot       Posición del miembro.
+     * @param itemKind   {@link CombatEventType#WEAPON} o {@link CombatEventType#ARMOR}.
+     * @param itemId     ID del ítem.
+     * @param power      Poder del ítem.
+     * @param durability Durabilidad inicial del ítem.
+     */
+    void itemEquipped(int slot, int itemKind, long itemId, int power, int durability);
+
+    /**
+     * Un miembro ataca a otro.
+     *
+     * @param attacker Posición del atacante.
+     * @param target   Posición del objetivo.
+     * @param attack   Valor de ataque.
+     */
+    void attacked(int attacker, int target, double attack);
+
+    /**
+     * Un miembro recibe daño.
+     *
+     * @param target            Posición del miembro.
+     * @param damage            Daño final recibido.
+     * @param accumulatedDamage Daño acumulado tras recibirlo.
+     */
+    void damaged(int target, double damage, double accumulatedDamage);
+
+    /**
+     * Cambia la durabilidad de un ítem.
+     *
+     * @param slot       Posición del miembro que lo lleva.
+     * @param itemKind   {@link CombatEventType#WEAPON} o {@link CombatEventType#ARMOR}.
+     * @param durability Nueva durabilidad.
+     */
+    void durabilityChanged(int slot, int itemKind, int durability);
+
+    /**
+     * Se rompe un ítem.
+     *
+     * @param slot     Posición del miembro que lo llevaba.
+     * @param itemKind {@link CombatEventType#WEAPON} o {@link CombatEventType#ARMOR}.
+     */
+    void itemDestroyed(int slot, int itemKind);
+
+    /**
+     * Un miembro queda K.O.
+     *
+     * @param slot Posición del miembro.
+     */
+    void knockedOut(int slot);
+
+    /**
+     * Termina una ronda.
+     *
+     * @param round  Número de la ronda (empezando en 1).
+     * @param alive1 Miembros activos del primer equipo.
+     * @param alive2 Miembros activos del segundo equipo.
+     */
+    void roundEnded(int round, int alive1, int alive2);
+
+    /**
+     * Termina el combate.
+     *
+     * @param winner   Ganador, según las constantes de {@link Business.Combat.CombatResult}.
+     * @param rounds   Rondas jugadas.
+     * @param kosTeam1 K.O.s realizados por el primer equipo.
+     * @param kosTeam2 K.O.s realizados por el segundo equipo.
+     */
+    void combatEnded(int winner, int rounds, int kosTeam1, int kosTeam2);
+}
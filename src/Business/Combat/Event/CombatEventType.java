@@ -0,0 +1,25 @@
+package Business.Combat.Event;
+
+/**
+ * Códigos de los eventos de combate y de los tipos de ítem, tal como se guardan en los registros de eventos.
+ */
+public final class CombatEventType {
+
+    public static final int COMBAT_START = 1;
+    public static final int ITEM_EQUIPPED = 2;
+    public static final int ATTACK = 3;
+    public static final int DAMAGE = 4;
+    public static final int DURABILITY = 5;
+    public static final int ITEM_DESTROYED = 6;
+    public static final int KNOCK_OUT = 7;
+    public static final int ROUND_END = 8;
+    public static final int COMBAT_END = 9;
+
+    /** Tipo de ítem: arma. */
+    public static final int WEAPON = 0;
+    /** Tipo de ítem: armadura. */
+    public static final int ARMOR = 1;
+
+    private CombatEventType() {
+    }
+}
@@ -0,0 +1,49 @@
+package Business.Combat.Event;
+
+/**
+ * Destino de eventos que los descarta todos. Es el destino por defecto de las simulaciones sin registro.
+ */
+public final class NullEventSink implements CombatEventSink {
+
+    /** Única instancia. */
+    public static final NullEventSink INSTANCE = new NullEventSink();
+
+    private NullEventSink() {
+    }
+
+    @Override
+    public void combatStarted(long seed, int team1Size, int team2Size) {
+    }
+
+    @Override
+    public void itemEquipped(int slot, int itemKind, long itemId, int power, int durability) {
+    }
+
+    @Override
+    public void attacked(int attacker, int target, double attack) {
+    }
+
+    @Override
+    public void damaged(int target, double damage, double accumulatedDamage) {
+    }
+
+    @Override
+    public void durabilityChanged(int slot, int itemKind, int durability) {
+    }
+
+    @Override
+    public void itemDestroyed(int slot, int itemKind) {
+    }
+
+    @Override
+    public void knockedOut(int slot) {
+    }
+
+    @Override
+    public void roundEnded(int round, int alive1, int alive2) {
+    }
+
+    @Override
+    public void combatEnded(int winner, int rounds, int kosTeam1, int kosTeam2) {
+    }
+}
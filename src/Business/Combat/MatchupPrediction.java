@@ -0,0 +1,113 @@
+package Business.Combat;
+
+/**
+ * Resultado de una predicción de enfrentamiento entre dos equipos: probabilidades de victoria y empate,
+ * sus intervalos de confianza y la media de rondas de las simulaciones.
+ */
+public class MatchupPrediction {
+
+    /** Valor z para un intervalo de confianza del 95%. */
+    private static final double Z_95 = 1.959964;
+
+    private final long samples;
+    private final long winsTeam1;
+    private final long winsTeam2;
+    private final long draws;
+    private final long totalRounds;
+
+    /**
+     * Crea una nueva predicción a partir de los contadores de las simulaciones.
+     *
+     * @param winsTeam1   Combates ganados por el primer equipo.
+     * @param winsTeam2   Combates ganados por el segundo equipo.
+     * @param draws       Combates terminados en empate.
+     * @param totalRounds Suma de las rondas de todos los combates.
+     */
+    public MatchupPrediction(long winsTeam1, long winsTeam2, long draws, long totalRounds) {
+        this.samples = winsTeam1 + winsTeam2 + draws;
+        this.winsTeam1 = winsTeam1;
+        this.winsTeam2 = winsTeam2;
+        this.draws = draws;
+        this.totalRounds = totalRounds;
+    }
+
+    /**
+     * Obtiene el número de combates simulados.
+     *
+     * @return El número de muestras.
+     */
+    public long getSamples() {
+        return samples;
+    }
+
+    /**
+     * Obtiene la probabilidad de victoria del primer equipo.
+     *
+     * @return Un valor entre 0 y 1.
+     */
+    public double getTeam1WinProbability() {
+        return probability(winsTeam1);
+    }
+
+    /**
+     * Obtiene la probabilidad de victoria del segundo equipo.
+     *
+     * @return Un valor entre 0 y 1.
+     */
+    public double getTeam2WinProbability() {
+        return probability(winsTeam2);
+    }
+
+    /**
+     * Obtiene la probabilidad de empate.
+     *
+     * @return Un valor entre 0 y 1.
+     */
+    public double getDrawProbability() {
+        return probability(draws);
+    }
+
+    /**
+     * Obtiene la media de rondas por combate.
+     *
+     * @return La media de rondas, o 0 si no hay muestras.
+     */
+    public double getAverageRounds() {
+        return samples == 0 ? 0 : (double) totalRounds / samples;
+    }
+
+    /**
+     * Calcula el intervalo de confianza del 95% (Wilson) para la probabilidad de un resultado.
+     *
+     * @param outcome {@link CombatResult#TEAM1}, {@link CombatResult#TEAM2} o {@link CombatResult#DRAW}.
+     * @return Un array con el límite inferior y el superior.
+     */
+    public double[] getConfidenceInterval(int outcome) {
+        long count = switch (outcome) {
+            case CombatResult.TEAM1 -> winsTeam1;
+            case CombatResult.TEAM2 -> winsTeam2;
+            case CombatResult.DRAW -> draws;
+            default -> throw new IllegalArgumentException("Invalid outcome: " + outcome);
+        };
+        if (samples == 0) {
+            return new double[]{0, 1};
+        }
+
+        double p = (double) count / samples;
+        double z2 = Z_95 * Z_95;
+        double denominator = 1 + z2 / samples;
+        double center = (p + z2 / (2.0 * samples)) / denominator;
+        double margin = Z_95 * Math.sqrt(p * (1 - p) / samples + z2 / (4.0 * samples * samples)) / denominator;
+        return new double[]{Math.max(0, center - margin), Math.min(1, center + margin)};
+    }
+
+    private double probability(long count) {
+        return samples == 0 ? 0 : (double) count / samples;
+    }
+
+    public String toString() {
+        return String.format("TEAM1 %.2f%% / TEAM2 %.2f%% / DRAW %.2f%% (%d samples, %.2f rounds avg)",
+                getTeam1WinProbability() * 100, getTeam2WinProbability() * 100, getDrawProbability() * 100,
+                samples, getAverageRounds());
+    }
+}
@@ -0,0 +1,120 @@
+package Business.Combat;
+
+import Business.Team.Team;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Predice el resultado de un enfrentamiento entre dos equipos simulando muchos combates independientes
+ * en paralelo sobre un {@link ForkJoinPool}.
+ * <p>
+ * Cada muestra usa el flujo aleatorio {@link CombatRandom#combatSeed} de su índice, de modo que el resultado
+ * de una predicción es el mismo sin importar cuántos hilos la ejecuten.
+ */
+public class MatchupPredictor {
+
+    /** Número de muestras que un único subproceso simula sin dividir más el trabajo. */
+    private static final int SAMPLES_PER_TASK = 2048;
+
+    /** Posición de la suma de rondas dentro del array de contadores (tras los tres resultados posibles). */
+    private static final int ROUNDS = 3;
+
+    private final CombatSimulator simulator;
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea un predictor que usa el pool común de la JVM.
+     *
+     * @param simulator El simulador con los personajes e ítems ya cargados.
+     */
+    public MatchupPredictor(CombatSimulator simulator) {
+        this(simulator, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea un predictor que ejecuta las simulaciones en el pool indicado.
+     *
+     * @param simulator El simulador con los personajes e ítems ya cargados.
+     * @param pool      El pool donde se ejecutan las simulaciones.
+     */
+    public MatchupPredictor(CombatSimulator simulator, ForkJoinPool pool) {
+        this.simulator = simulator;
+        this.pool = pool;
+    }
+
+    /**
+     * Predice el resultado de un enfrentamiento con una semilla no reproducible.
+     *
+     * @param team1   El primer equipo.
+     * @param team2   El segundo equipo.
+     * @param samples Número de combates a simular.
+     * @return La predicción del enfrentamiento.
+     */
+    public MatchupPrediction predict(Team team1, Team team2, int samples) {
+        return predict(team1, team2, samples, CombatRandom.newMasterSeed());
+    }
+
+    /**
+     * Predice el resultado de un enfrentamiento de forma reproducible.
+     *
+     * @param team1   El primer equipo.
+     * @param team2   El segundo equipo.
+     * @param samples Número de combates a simular.
+     * @param seed    La semilla maestra de la predicción.
+     * @return La predicción del enfrentamiento.
+     */
+    public MatchupPrediction predict(Team team1, Team team2, int samples, long seed) {
+        if (samples < 0) {
+            throw new IllegalArgumentException("The number of samples can't be negative.");
+        }
+        long[] tally = pool.invoke(new SimulationTask(team1, team2, seed, 0, samples));
+        return new MatchupPrediction(tally[CombatResult.TEAM1], tally[CombatResult.TEAM2],
+                tally[CombatResult.DRAW], tally[ROUNDS]);
+    }
+
+    /**
+     * Simula las muestras [from, to) dividiendo el rango hasta llegar a {@link #SAMPLES_PER_TASK}.
+     * Devuelve los contadores indexados por resultado más la suma de rondas en {@link #ROUNDS}.
+     */
+    private class SimulationTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final Team team1;
+        private final Team team2;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        SimulationTask(Team team1, Team team2, long seed, int from, int to) {
+            this.team1 = team1;
+            this.team2 = team2;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= SAMPLES_PER_TASK) {
+                long[] tally = new long[ROUNDS + 1];
+                for (int i = from; i < to; i++) {
+                    CombatResult result = simulator.simulate(team1, team2, CombatRandom.combatSeed(seed, i));
+                    tally[result.getWinner()]++;
+                    tally[ROUNDS] += result.getRounds();
+                }
+                return tally;
+            }
+
+            int middle = (from + to) >>> 1;
+            SimulationTask left = new SimulationTask(team1, team2, seed, from, middle);
+            left.fork();
+            long[] tally = new SimulationTask(team1, team2, seed, middle, to).compute();
+            long[] leftTally = left.join();
+            for (int i = 0; i < tally.length; i++) {
+                tally[i] += leftTally[i];
+            }
+            return tally;
+        }
+    }
+}
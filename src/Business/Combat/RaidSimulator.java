@@ -0,0 +1,274 @@
+package Business.Combat;
+
+import Business.Character.Character;
+import Business.Character.CharacterIndex;
+import Business.Item.Item;
+import Business.Item.ItemCatalog;
+import Business.Team.Member;
+import Business.Team.Team;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Simulador de batallas entre equipos muy grandes (miles o decenas de miles de miembros).
+ * <p>
+ * Aplica las mismas fórmulas que {@link CombatSimulator}, pero cada turno de un bando es una descarga
+ * simultánea: todos sus miembros activos eligen objetivo y calculan el daño a partir del estado del
+ * inicio del turno. Así, los ataques se calculan en paralelo por bloques de {@link #CHUNK_SIZE} atacantes
+ * (con {@link DamageKernel}); después se aplican en orden de atacante el daño, el desgaste de las
+ * armaduras y las tiradas de K.O. Un miembro que cae durante la descarga puede seguir recibiendo
+ * golpes de esa misma descarga.
+ * <p>
+ * Los miembros activos de cada equipo se guardan en un {@link AliveSet}, con su contador actualizado en
+ * O(1) en cada K.O., así que comprobar si un equipo ha sido eliminado no recorre sus miembros. Los
+ * objetivos se eligen al azar entre los rivales activos (la estrategia {@code balanced}).
+ * <p>
+ * Cada bloque usa su propio flujo aleatorio derivado de la semilla de la batalla, de modo que el
+ * resultado es el mismo con cualquier número de hilos.
+ */
+public class RaidSimulator {
+
+    /** Número de atacantes que calcula un único subproceso. */
+    public static final int CHUNK_SIZE = 2048;
+
+    private final CharacterIndex characters;
+    private final ItemCatalog items;
+    private final int maxRounds;
+    private final ForkJoinPool pool;
+    private final DamageKernel kernel = DamageKernel.create();
+
+    /**
+     * Crea un simulador que usa el pool común de la JVM y el límite de rondas por defecto.
+     *
+     * @param characters Personajes disponibles, ya cargados.
+     * @param items      Ítems disponibles para asignar en combate, ya cargados.
+     */
+    public RaidSimulator(List<Character> characters, List<Item> items) {
+        this(characters, items, CombatSimulator.DEFAULT_MAX_ROUNDS, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea un simulador.
+     *
+     * @param characters Personajes disponibles, ya cargados.
+     * @param items      Ítems disponibles para asignar en combate, ya cargados.
+     * @param maxRounds  Número máximo de rondas antes de declarar empate.
+     * @param pool       El pool donde se calculan los ataques.
+     */
+    public RaidSimulator(List<Character> characters, List<Item> items, int maxRounds, ForkJoinPool pool) {
+        if (maxRounds <= 0) {
+            throw new IllegalArgumentException("maxRounds must be positive.");
+        }
+        this.characters = new CharacterIndex(characters);
+        this.items = new ItemCatalog(items);
+        this.maxRounds = maxRounds;
+        this.pool = pool;
+    }
+
+    /**
+     * Simula una batalla de forma reproducible.
+     *
+     * @param team1 El primer equipo.
+     * @param team2 El segundo equipo.
+     * @param seed  La semilla de la batalla.
+     * @return El resultado de la batalla.
+     */
+    public CombatResult simulate(Team team1, Team team2, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Side side1 = load(team1.getTeamMembers(), random);
+        Side side2 = load(team2.getTeamMembers(), random);
+
+        int kosTeam1 = 0;
+        int kosTeam2 = 0;
+        int round = 0;
+        while (side1.alive.count() > 0 && side2.alive.count() > 0 && round < maxRounds) {
+            round++;
+            kosTeam1 += volley(side1, side2, CombatRandom.combatSeed(seed, 2L * round), random);
+            kosTeam2 += volley(side2, side1, CombatRandom.combatSeed(seed, 2L * round + 1), random);
+        }
+
+        int winner;
+        if (side1.alive.count() > 0 && side2.alive.count() == 0) {
+            winner = CombatResult.TEAM1;
+        } else if (side2.alive.count() > 0 && side1.alive.count() == 0) {
+            winner = CombatResult.TEAM2;
+        } else {
+            winner = CombatResult.DRAW;
+        }
+        return new CombatResult(winner, round, kosTeam1, kosTeam2);
+    }
+
+    /**
+     * Turno de un bando: calcula en paralelo los ataques de todos sus miembros activos y después aplica
+     * el daño, el desgaste de las armaduras y los K.O.s en orden.
+     *
+     * @return El número de K.O.s producidos en el bando defensor.
+     */
+    private int volley(Side attackers, Side defenders, long volleySeed, SplittableRandom random) {
+        if (attackers.alive.count() == 0 || defenders.alive.count() == 0) {
+            return 0;
+        }
+        pool.invoke(new VolleyTask(attackers, defenders, volleySeed, 0, attackers.chunks()));
+
+        AliveSet alive = defenders.alive;
+        double[] damage = defenders.damage;
+        int[] armorDurability = defenders.armorDurability;
+        int kos = 0;
+        for (int attacker = 0; attacker < attackers.size; attacker++) {
+            int target = attackers.target[attacker];
+            if (target < 0) {
+                continue;
+            }
+            damage[target] += CombatRules.toAccumulatedDamage(attackers.finalDamage[attacker]);
+            if (armorDurability[target] > 0 && --armorDurability[target] == 0) {
+                equipArmor(defenders, target, random);
+            }
+            if (alive.contains(target) && CombatRules.isKnockedOut(random.nextInt(CombatRules.KNOCKOUT_ROLL_MAX) + 1, damage[target])) {
+                alive.remove(target);
+                kos++;
+            }
+        }
+        return kos;
+    }
+
+    /**
+     * Calcula los ataques de los bloques [from, to) de un bando, dividiendo hasta llegar a un bloque.
+     * Cada atacante solo escribe en su propia posición, así que los bloques no comparten nada mutable.
+     */
+    private class VolleyTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Side attackers;
+        private final Side defenders;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        VolleyTask(Side attackers, Side defenders, long seed, int from, int to) {
+            this.attackers = attackers;
+            this.defenders = defenders;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                for (int chunk = from; chunk < to; chunk++) {
+                    computeChunk(chunk);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new VolleyTask(attackers, defenders, seed, from, middle),
+                    new VolleyTask(attackers, defenders, seed, middle, to));
+        }
+
+        private void computeChunk(int chunk) {
+            SplittableRandom random = new SplittableRandom(CombatRandom.combatSeed(seed, chunk));
+            AttackBatch batch = attackers.batches[chunk];
+            batch.clear();
+            int start = chunk * CHUNK_SIZE;
+            int end = Math.min(start + CHUNK_SIZE, attackers.size);
+            for (int attacker = start; attacker < end; attacker++) {
+                if (!attackers.alive.contains(attacker)) {
+                    attackers.target[attacker] = -1;
+                    continue;
+                }
+                int target = defenders.alive.randomMember(random);
+                attackers.target[attacker] = target;
+                batch.add(attackers.weight[attacker], attackers.damage[attacker], attackers.weaponPower[attacker],
+                        defenders.weight[target], defenders.damage[target], defenders.armorPower[target]);
+
+                // The attacker's weapon only belongs to this chunk, so it can wear here
+                if (attackers.weaponDurability[attacker] > 0 && --attackers.weaponDurability[attacker] == 0) {
+                    equipWeapon(attackers, attacker, random);
+                }
+            }
+            kernel.compute(batch);
+
+            int index = 0;
+            for (int attacker = start; attacker < end; attacker++) {
+                if (attackers.target[attacker] >= 0) {
+                    attackers.finalDamage[attacker] = batch.getFinalDamage(index++);
+                }
+            }
+        }
+    }
+
+    /**
+     * Carga los miembros de un equipo y les asigna sus ítems. Los que no tienen personaje empiezan K.O.
+     */
+    private Side load(List<Member> members, SplittableRandom random) {
+        Side side = new Side(members.size());
+        for (int i = 0; i < members.size(); i++) {
+            Character character = characters.get(members.get(i).getMemberId());
+            if (character != null) {
+                side.weight[i] = character.getWeight();
+                side.alive.add(i);
+                equipWeapon(side, i, random);
+                equipArmor(side, i, random);
+            }
+        }
+        return side;
+    }
+
+    private void equipWeapon(Side side, int member, SplittableRandom random) {
+        Item weapon = items.randomWeapon(random);
+        if (weapon != null) {
+            side.weaponPower[member] = weapon.getPower();
+            side.weaponDurability[member] = weapon.getDurability();
+        }
+    }
+
+    private void equipArmor(Side side, int member, SplittableRandom random) {
+        Item armor = items.randomArmor(random);
+        if (armor != null) {
+            side.armorPower[member] = armor.getPower();
+            side.armorDurability[member] = armor.getDurability();
+        }
+    }
+
+    /**
+     * Estado de un bando en forma de arrays, indexados por la posición del miembro en su equipo.
+     */
+    private static class Side {
+        final int size;
+        final double[] weight;
+        final double[] damage;
+        final int[] weaponPower;
+        final int[] weaponDurability;
+        final int[] armorPower;
+        final int[] armorDurability;
+        final AliveSet alive;
+        /** Objetivo y daño final del ataque de cada miembro en la descarga actual (-1 si no ataca). */
+        final int[] target;
+        final double[] finalDamage;
+        final AttackBatch[] batches;
+
+        Side(int size) {
+            this.size = size;
+            this.weight = new double[size];
+            this.damage = new double[size];
+            this.weaponPower = new int[size];
+            this.weaponDurability = new int[size];
+            this.armorPower = new int[size];
+            this.armorDurability = new int[size];
+            this.alive = new AliveSet(size);
+            this.target = new int[size];
+            this.finalDamage = new double[size];
+            this.batches = new AttackBatch[(size + CHUNK_SIZE - 1) / CHUNK_SIZE];
+            for (int i = 0; i < batches.length; i++) {
+                batches[i] = new AttackBatch(CHUNK_SIZE);
+            }
+        }
+
+        int chunks() {
+            return batches.length;
+        }
+    }
+}
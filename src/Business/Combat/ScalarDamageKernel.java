@@ -0,0 +1,16 @@
+package Business.Combat;
+
+/**
+ * Núcleo de cálculo escalar: aplica {@link CombatRules} a cada ataque del lote. Funciona en cualquier JVM.
+ */
+public class ScalarDamageKernel implements DamageKernel {
+
+    @Override
+    public void compute(AttackBatch batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            double attack = CombatRules.calculateAttack(batch.attackerWeight[i], batch.attackerDamage[i], batch.weaponPower[i]);
+            batch.attack[i] = attack;
+            batch.finalDamage[i] = CombatRules.calculateFinalDamage(attack, batch.defenderWeight[i], batch.defenderDamage[i], batch.armorPower[i]);
+        }
+    }
+}
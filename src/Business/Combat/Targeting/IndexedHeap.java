@@ -0,0 +1,141 @@
+package Business.Combat.Targeting;
+
+import java.util.Arrays;
+
+/**
+ * Montículo binario indexado sobre las posiciones {@code [0, capacity)}: guarda una clave por posición,
+ * permite cambiarla o quitar la posición en O(log n) y consultar la mejor en O(1).
+ * <p>
+ * Según {@code max}, la mejor posición es la de mayor o la de menor clave; los empates se resuelven a favor
+ * de la posición más baja para que la elección sea determinista.
+ */
+class IndexedHeap {
+    private final boolean max;
+    private double[] keys;
+    private int[] heap;
+    private int[] indexOf;
+    private int size;
+
+    IndexedHeap(int capacity, boolean max) {
+        this.max = max;
+        this.keys = new double[capacity];
+        this.heap = new int[capacity];
+        this.indexOf = new int[capacity];
+        Arrays.fill(indexOf, -1);
+    }
+
+    /**
+     * Vacía el montículo y lo prepara para {@code capacity} posiciones.
+     */
+    void clear(int capacity) {
+        if (capacity > keys.length) {
+            keys = new double[capacity];
+            heap = new int[capacity];
+            indexOf = new int[capacity];
+        }
+        Arrays.fill(indexOf, 0, capacity, -1);
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int position) {
+        return indexOf[position] >= 0;
+    }
+
+    /**
+     * Obtiene la mejor posición sin quitarla.
+     *
+     * @return La posición con la mejor clave, o -1 si el montículo está vacío.
+     */
+    int peek() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    void add(int position, double key) {
+        keys[position] = key;
+        heap[size] = position;
+        indexOf[position] = size;
+        siftUp(size++);
+    }
+
+    void update(int position, double key) {
+        int index = indexOf[position];
+        if (index < 0) {
+            return;
+        }
+        double old = keys[position];
+        keys[position] = key;
+        if (better(key, position, old, position)) {
+            siftUp(index);
+        } else {
+            siftDown(index);
+        }
+    }
+
+    void remove(int position) {
+        int index = indexOf[position];
+        if (index < 0) {
+            return;
+        }
+        indexOf[position] = -1;
+        size--;
+        if (index == size) {
+            return;
+        }
+        int last = heap[size];
+        heap[index] = last;
+        indexOf[last] = index;
+        siftUp(index);
+        siftDown(indexOf[last]);
+    }
+
+    private void siftUp(int index) {
+        int position = heap[index];
+        double key = keys[position];
+        while (index > 0) {
+            int parentIndex = (index - 1) >>> 1;
+            int parent = heap[parentIndex];
+            if (!better(key, position, keys[parent], parent)) {
+                break;
+            }
+            heap[index] = parent;
+            indexOf[parent] = index;
+            index = parentIndex;
+        }
+        heap[index] = position;
+        indexOf[position] = index;
+    }
+
+    private void siftDown(int index) {
+        int position = heap[index];
+        double key = keys[position];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && better(keys[heap[child + 1]], heap[child + 1], keys[heap[child]], heap[child])) {
+                child++;
+            }
+            int childPosition = heap[child];
+            if (!better(keys[childPosition], childPosition, key, position)) {
+                break;
+            }
+            heap[index] = childPosition;
+            indexOf[childPosition] = index;
+            index = child;
+        }
+        heap[index] = position;
+        indexOf[position] = index;
+    }
+
+    private boolean better(double key, int position, double otherKey, int otherPosition) {
+        if (key != otherKey) {
+            return max ? key > otherKey : key < otherKey;
+        }
+        return position < otherPosition;
+    }
+}
@@ -0,0 +1,67 @@
+package Business.Combat.Targeting;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de las estrategias de ataque por nombre.
+ * <ul>
+ *     <li>{@code balanced}: un miembro activo al azar (la estrategia por defecto).</li>
+ *     <li>{@code focus-weakest}: el miembro activo con más daño acumulado, para rematarlo.</li>
+ *     <li>{@code spread-damage}: el miembro activo con menos daño acumulado, para repartir el daño.</li>
+ *     <li>{@code focus-heaviest}: el miembro activo más pesado.</li>
+ *     <li>{@code focus-lightest}: el miembro activo más ligero.</li>
+ * </ul>
+ * Los nombres no distinguen mayúsculas y aceptan {@code _} en lugar de {@code -}. Se pueden añadir
+ * estrategias nuevas con {@link #register}.
+ */
+public final class TargetingStrategies {
+
+    /** Estrategia por defecto, que se usa también para los nombres desconocidos. */
+    public static final TargetingStrategy BALANCED = (defenders, random) -> defenders.randomAlive(random);
+
+    private static final Map<String, TargetingStrategy> STRATEGIES = new ConcurrentHashMap<>();
+
+    static {
+        register("balanced", BALANCED);
+        register("focus-weakest", (defenders, random) -> defenders.mostDamaged());
+        register("spread-damage", (defenders, random) -> defenders.leastDamaged());
+        register("focus-heaviest", (defenders, random) -> defenders.heaviest());
+        register("focus-lightest", (defenders, random) -> defenders.lightest());
+    }
+
+    private TargetingStrategies() {
+    }
+
+    /**
+     * Registra una estrategia, sustituyendo la que tuviera el mismo nombre.
+     *
+     * @param name     El nombre de la estrategia, tal como aparece en teams.json.
+     * @param strategy La estrategia.
+     */
+    public static void register(String name, TargetingStrategy strategy) {
+        STRATEGIES.put(normalize(name), strategy);
+    }
+
+    /**
+     * Obtiene la estrategia con el nombre indicado.
+     *
+     * @param name El nombre de la estrategia (puede ser null).
+     * @return La estrategia, o {@link #BALANCED} si el nombre no corresponde a ninguna.
+     */
+    public static TargetingStrategy forName(String name) {
+        if (name == null) {
+            return BALANCED;
+        }
+        TargetingStrategy strategy = STRATEGIES.get(name); // exact names skip normalizing
+        if (strategy == null) {
+            strategy = STRATEGIES.getOrDefault(normalize(name), BALANCED);
+        }
+        return strategy;
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,21 @@
+package Business.Combat.Targeting;
+
+import java.util.SplittableRandom;
+
+/**
+ * Estrategia con la que un miembro elige a quién atacar, según la estrategia guardada en
+ * {@link Business.Team.Member#getStrategy()}. Las estrategias disponibles se obtienen de
+ * {@link TargetingStrategies}.
+ */
+public interface TargetingStrategy {
+
+    /**
+     * Elige el objetivo de un ataque entre los miembros activos del equipo rival.
+     *
+     * @param defenders Los objetivos del equipo rival.
+     * @param random    El generador aleatorio del combate; solo se debe usar si la estrategia es aleatoria,
+     *                  para no alterar el resto del combate.
+     * @return La posición del objetivo, o -1 si no queda ningún miembro activo.
+     */
+    int selectTarget(TeamTargets defenders, SplittableRandom random);
+}
@@ -0,0 +1,224 @@
+package Business.Combat.Targeting;
+
+import java.util.SplittableRandom;
+
+/**
+ * Objetivos disponibles de un equipo durante un combate: los miembros activos y sus órdenes de prioridad
+ * (más y menos dañado, más pesado, más ligero), que se actualizan a medida que reciben daño o caen K.O.
+ * <p>
+ * Los miembros se identifican por su posición en el combate ({@code slot}), igual que en los eventos.
+ * Los miembros K.O. dejan de ser objetivos. Cada orden es un montículo indexado que solo se construye
+ * cuando alguna estrategia lo pide; a partir de ahí consultarlo cuesta O(1) y actualizarlo O(log n).
+ * Elegir un miembro activo al azar también cuesta O(1). Una instancia se reutiliza entre combates con
+ * {@link #reset}. No es seguro compartir una instancia entre hilos.
+ */
+public class TeamTargets {
+
+    private int firstSlot;
+    private int size;
+    private double[] weight;
+    private double[] damage;
+    private boolean[] active;
+    /** Miembros activos, sin orden; {@code aliveIndex} guarda dónde está cada uno para quitarlo en O(1). */
+    private int[] alive;
+    private int[] aliveIndex;
+    private int aliveCount;
+
+    private static final int MOST_DAMAGED = 0;
+    private static final int LEAST_DAMAGED = 1;
+    private static final int HEAVIEST = 2;
+    private static final int LIGHTEST = 3;
+
+    /** Órdenes de prioridad; se reutilizan entre combates y solo se rellenan si {@code built} lo indica. */
+    private final IndexedHeap[] orders = new IndexedHeap[4];
+    private final boolean[] built = new boolean[4];
+
+    /**
+     * Crea los objetivos de un equipo.
+     *
+     * @param capacity Número de miembros que caben sin reservar más memoria.
+     */
+    public TeamTargets(int capacity) {
+        allocate(Math.max(capacity, 1));
+    }
+
+    /**
+     * Prepara los objetivos para un nuevo combate, sin ningún miembro activo.
+     *
+     * @param firstSlot Posición del primer miembro del equipo en el combate.
+     * @param size      Número de miembros del equipo.
+     */
+    public void reset(int firstSlot, int size) {
+        if (size > weight.length) {
+            allocate(Math.max(size, weight.length * 2));
+        }
+        this.firstSlot = firstSlot;
+        this.size = size;
+        this.aliveCount = 0;
+        for (int i = 0; i < size; i++) {
+            active[i] = false;
+        }
+        // Orders are rebuilt on demand for the new roster
+        for (int order = 0; order < built.length; order++) {
+            built[order] = false;
+        }
+    }
+
+    /**
+     * Añade un miembro activo. Se llama al preparar el combate, antes de elegir objetivos.
+     *
+     * @param slot   Posición del miembro.
+     * @param weight Peso del personaje.
+     */
+    public void join(int slot, double weight) {
+        int i = slot - firstSlot;
+        this.weight[i] = weight;
+        this.damage[i] = 0;
+        this.active[i] = true;
+        alive[aliveCount] = i;
+        aliveIndex[i] = aliveCount++;
+    }
+
+    /**
+     * Actualiza el daño acumulado de un miembro.
+     *
+     * @param slot              Posición del miembro.
+     * @param accumulatedDamage Su nuevo daño acumulado.
+     */
+    public void damaged(int slot, double accumulatedDamage) {
+        int i = slot - firstSlot;
+        damage[i] = accumulatedDamage;
+        if (active[i]) {
+            if (built[MOST_DAMAGED]) {
+                orders[MOST_DAMAGED].update(i, accumulatedDamage);
+            }
+            if (built[LEAST_DAMAGED]) {
+                orders[LEAST_DAMAGED].update(i, accumulatedDamage);
+            }
+        }
+    }
+
+    /**
+     * Quita un miembro que ha caído K.O. de los objetivos.
+     *
+     * @param slot Posición del miembro.
+     */
+    public void knockedOut(int slot) {
+        int i = slot - firstSlot;
+        if (!active[i]) {
+            return;
+        }
+        active[i] = false;
+
+        int index = aliveIndex[i];
+        int last = alive[--aliveCount];
+        alive[index] = last;
+        aliveIndex[last] = index;
+
+        for (int order = 0; order < built.length; order++) {
+            if (built[order]) {
+                orders[order].remove(i);
+            }
+        }
+    }
+
+    /**
+     * Obtiene el número de miembros activos.
+     *
+     * @return Los miembros que todavía pueden ser objetivo.
+     */
+    public int getAliveCount() {
+        return aliveCount;
+    }
+
+    /**
+     * Indica si un miembro sigue activo.
+     *
+     * @param slot Posición del miembro.
+     * @return true si puede ser objetivo.
+     */
+    public boolean isAlive(int slot) {
+        return active[slot - firstSlot];
+    }
+
+    /**
+     * Elige un miembro activo al azar, con la misma probabilidad para todos.
+     *
+     * @param random El generador aleatorio del combate.
+     * @return La posición del miembro, o -1 si no queda ninguno.
+     */
+    public int randomAlive(SplittableRandom random) {
+        if (aliveCount == 0) {
+            return -1;
+        }
+        return firstSlot + alive[random.nextInt(aliveCount)];
+    }
+
+    /**
+     * Obtiene el miembro activo con más daño acumulado.
+     *
+     * @return Su posición, o -1 si no queda ninguno.
+     */
+    public int mostDamaged() {
+        return toSlot(order(MOST_DAMAGED, true, damage).peek());
+    }
+
+    /**
+     * Obtiene el miembro activo con menos daño acumulado.
+     *
+     * @return Su posición, o -1 si no queda ninguno.
+     */
+    public int leastDamaged() {
+        return toSlot(order(LEAST_DAMAGED, false, damage).peek());
+    }
+
+    /**
+     * Obtiene el miembro activo más pesado.
+     *
+     * @return Su posición, o -1 si no queda ninguno.
+     */
+    public int heaviest() {
+        return toSlot(order(HEAVIEST, true, weight).peek());
+    }
+
+    /**
+     * Obtiene el miembro activo más ligero.
+     *
+     * @return Su posición, o -1 si no queda ninguno.
+     */
+    public int lightest() {
+        return toSlot(order(LIGHTEST, false, weight).peek());
+    }
+
+    private int toSlot(int index) {
+        return index < 0 ? -1 : firstSlot + index;
+    }
+
+    /**
+     * Obtiene un orden de prioridad, construyéndolo con los miembros activos la primera vez que se pide en el combate.
+     */
+    private IndexedHeap order(int order, boolean max, double[] keys) {
+        IndexedHeap heap = orders[order];
+        if (!built[order]) {
+            if (heap == null) {
+                heap = new IndexedHeap(weight.length, max);
+                orders[order] = heap;
+            } else {
+                heap.clear(size);
+            }
+            for (int i = 0; i < aliveCount; i++) {
+                heap.add(alive[i], keys[alive[i]]);
+            }
+            built[order] = true;
+        }
+        return heap;
+    }
+
+    private void allocate(int capacity) {
+        weight = new double[capacity];
+        damage = new double[capacity];
+        active = new boolean[capacity];
+        alive = new int[capacity];
+        aliveIndex = new int[capacity];
+    }
+}
@@ -0,0 +1,198 @@
+package Business.Combat;
+
+import Business.Stats.StatsManager;
+import Business.Team.Team;
+import org.json.JSONException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Ejecuta un torneo todos contra todos entre una lista de equipos.
+ * <p>
+ * Los enfrentamientos se reparten por filas de la tabla de emparejamientos entre los hilos de un
+ * {@link ForkJoinPool}. Cada subproceso acumula sus resultados en contadores por equipo en lugar de
+ * guardarlos, así que la memoria usada depende del número de equipos y no del número de combates.
+ * Al final se suma a las estadísticas un único resultado por equipo, a través de {@link StatsManager}.
+ */
+public class TournamentRunner {
+
+    /** Número aproximado de enfrentamientos que un único subproceso juega sin dividir más el trabajo. */
+    private static final int PAIRS_PER_TASK = 1024;
+
+    // Layout of the per-team counters, stored as consecutive rows of a flat array
+    private static final int PLAYED = 0;
+    private static final int WON = 1;
+    private static final int SERIES_WON = 2;
+    private static final int KO_DONE = 3;
+    private static final int KO_RECEIVED = 4;
+    private static final int COLUMNS = 5;
+
+    private final CombatSimulator simulator;
+    private final StatsManager statsManager;
+    private final ForkJoinPool pool;
+
+    /**
+     * Crea un torneo que usa el pool común de la JVM.
+     *
+     * @param simulator    El simulador con los personajes e ítems ya cargados.
+     * @param statsManager El gestor donde se guardan las estadísticas finales.
+     */
+    public TournamentRunner(CombatSimulator simulator, StatsManager statsManager) {
+        this(simulator, statsManager, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Crea un torneo que ejecuta los combates en el pool indicado.
+     *
+     * @param simulator    El simulador con los personajes e ítems ya cargados.
+     * @param statsManager El gestor donde se guardan las estadísticas finales.
+     * @param pool         El pool donde se ejecutan los combates.
+     */
+    public TournamentRunner(CombatSimulator simulator, StatsManager statsManager, ForkJoinPool pool) {
+        this.simulator = simulator;
+        this.statsManager = statsManager;
+        this.pool = pool;
+    }
+
+    /**
+     * Juega el torneo y guarda las estadísticas resultantes de todos los equipos.
+     *
+     * @param teams  Los equipos participantes.
+     * @param bestOf Número máximo de combates por enfrentamiento (impar).
+     * @param seed   La semilla maestra del torneo.
+     * @return La clasificación final, ordenada de mejor a peor.
+     * @throws JSONException Si hay un error en el formato JSON al guardar las estadísticas.
+     */
+    public List<TournamentStanding> run(List<Team> teams, int bestOf, long seed) throws JSONException {
+        List<TournamentStanding> standings = play(teams, bestOf, seed);
+        saveStandings(standings);
+        return standings;
+    }
+
+    /**
+     * Juega el torneo sin guardar estadísticas.
+     *
+     * @param teams  Los equipos participantes.
+     * @param bestOf Número máximo de combates por enfrentamiento (impar).
+     * @param seed   La semilla maestra del torneo.
+     * @return La clasificación final, ordenada de mejor a peor.
+     */
+    public List<TournamentStanding> play(List<Team> teams, int bestOf, long seed) {
+        if (bestOf <= 0 || bestOf % 2 == 0) {
+            throw new IllegalArgumentException("bestOf must be a positive odd number.");
+        }
+
+        Team[] participants = teams.toArray(new Team[0]);
+        int[] counters = pool.invoke(new RowsTask(participants, bestOf, seed, 0, participants.length));
+
+        List<TournamentStanding> standings = new ArrayList<>();
+        for (int i = 0; i < participants.length; i++) {
+            int row = i * COLUMNS;
+            standings.add(new TournamentStanding(participants[i].getTeamName(), counters[row + PLAYED],
+                    counters[row + WON], counters[row + SERIES_WON], counters[row + KO_DONE], counters[row + KO_RECEIVED]));
+        }
+        standings.sort(Comparator.comparingInt(TournamentStanding::getSeriesWon)
+                .thenComparingInt(TournamentStanding::getGamesWon)
+                .thenComparingInt(s -> s.getKODone() - s.getKOReceived())
+                .reversed());
+        return standings;
+    }
+
+    /**
+     * Suma la clasificación a las estadísticas existentes, con un resultado por equipo.
+     */
+    private void saveStandings(List<TournamentStanding> standings) throws JSONException {
+        for (TournamentStanding standing : standings) {
+            statsManager.addResults(standing.getTeamName(), standing.getGamesPlayed(), standing.getGamesWon(),
+                    standing.getKODone(), standing.getKOReceived());
+        }
+    }
+
+    /**
+     * Juega todos los enfrentamientos (i, j) con i en [from, to) y j > i, dividiendo las filas
+     * mientras el trabajo supere {@link #PAIRS_PER_TASK}. Devuelve los contadores de todos los equipos.
+     */
+    private class RowsTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final Team[] teams;
+        private final int bestOf;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        RowsTask(Team[] teams, int bestOf, long seed, int from, int to) {
+            this.teams = teams;
+            this.bestOf = bestOf;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            long pairs = pairsBefore(to) - pairsBefore(from);
+            if (pairs <= PAIRS_PER_TASK || to - from == 1) {
+                int[] counters = new int[teams.length * COLUMNS];
+                for (int i = from; i < to; i++) {
+                    for (int j = i + 1; j < teams.length; j++) {
+                        playSeries(i, j, counters);
+                    }
+                }
+                return counters;
+            }
+
+            int middle = (from + to) >>> 1;
+            RowsTask top = new RowsTask(teams, bestOf, seed, from, middle);
+            top.fork();
+            int[] counters = new RowsTask(teams, bestOf, seed, middle, to).compute();
+            int[] topCounters = top.join();
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] += topCounters[i];
+            }
+            return counters;
+        }
+
+        private void playSeries(int i, int j, int[] counters) {
+            int needed = bestOf / 2 + 1;
+            long pairIndex = pairsBefore(i) + (j - i - 1);
+            int row1 = i * COLUMNS;
+            int row2 = j * COLUMNS;
+            int wins1 = 0;
+            int wins2 = 0;
+
+            for (int game = 0; game < bestOf && wins1 < needed && wins2 < needed; game++) {
+                CombatResult result = simulator.simulate(teams[i], teams[j], CombatRandom.combatSeed(seed, pairIndex * bestOf + game));
+                if (result.getWinner() == CombatResult.TEAM1) {
+                    wins1++;
+                } else if (result.getWinner() == CombatResult.TEAM2) {
+                    wins2++;
+                }
+                counters[row1 + PLAYED]++;
+                counters[row2 + PLAYED]++;
+                counters[row1 + KO_DONE] += result.getKOsTeam1();
+                counters[row1 + KO_RECEIVED] += result.getKOsTeam2();
+                counters[row2 + KO_DONE] += result.getKOsTeam2();
+                counters[row2 + KO_RECEIVED] += result.getKOsTeam1();
+            }
+
+            counters[row1 + WON] += wins1;
+            counters[row2 + WON] += wins2;
+            if (wins1 > wins2) {
+                counters[row1 + SERIES_WON]++;
+            } else if (wins2 > wins1) {
+                counters[row2 + SERIES_WON]++;
+            }
+        }
+
+        /** Número de enfrentamientos de las filas anteriores a la indicada. */
+        private long pairsBefore(long row) {
+            long n = teams.length;
+            return row * n - row * (row + 1) / 2;
+        }
+    }
+}
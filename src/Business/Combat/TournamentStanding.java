@@ -0,0 +1,61 @@
+package Business.Combat;
+
+/**
+ * Clasificación final de un equipo en un torneo todos contra todos.
+ */
+public class TournamentStanding {
+    private final String teamName;
+    private final int gamesPlayed;
+    private final int gamesWon;
+    private final int seriesWon;
+    private final int KODone;
+    private final int KOReceived;
+
+    /**
+     * Crea la clasificación de un equipo.
+     *
+     * @param teamName    Nombre del equipo.
+     * @param gamesPlayed Combates jugados.
+     * @param gamesWon    Combates ganados.
+     * @param seriesWon   Enfrentamientos (al mejor de K) ganados.
+     * @param KODone      K.O.s realizados.
+     * @param KOReceived  K.O.s recibidos.
+     */
+    public TournamentStanding(String teamName, int gamesPlayed, int gamesWon, int seriesWon, int KODone, int KOReceived) {
+        this.teamName = teamName;
+        this.gamesPlayed = gamesPlayed;
+        this.gamesWon = gamesWon;
+        this.seriesWon = seriesWon;
+        this.KODone = KODone;
+        this.KOReceived = KOReceived;
+    }
+
+    public String getTeamName() {
+        return teamName;
+    }
+
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public int getGamesWon() {
+        return gamesWon;
+    }
+
+    public int getSeriesWon() {
+        return seriesWon;
+    }
+
+    public int getKODone() {
+        return KODone;
+    }
+
+    public int getKOReceived() {
+        return KOReceived;
+    }
+
+    public String toString() {
+        return teamName + " - series won: " + seriesWon + ", combats won: " + gamesWon + "/" + gamesPlayed
+                + ", KOs: " + KODone + "/" + KOReceived;
+    }
+}
@@ -0,0 +1,53 @@
+package Business.Combat;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Núcleo de cálculo vectorial (SIMD) con {@code jdk.incubator.vector}: procesa tantos ataques por
+ * instrucción como dobles caben en el registro vectorial preferido de la CPU.
+ * <p>
+ * Hace las mismas operaciones y en el mismo orden que {@link CombatRules} (sin multiplicaciones-suma
+ * fusionadas), así que los resultados son idénticos bit a bit a los del núcleo escalar. Los ataques
+ * que no llenan un vector completo al final del lote se calculan de forma escalar.
+ * <p>
+ * Necesita {@code --add-modules jdk.incubator.vector} al compilar y al ejecutar; usa
+ * {@link DamageKernel#create()} para obtenerlo solo cuando está disponible.
+ */
+public class VectorDamageKernel implements DamageKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void compute(AttackBatch batch) {
+        int size = batch.size();
+        int bound = SPECIES.loopBound(size);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector attackerWeight = DoubleVector.fromArray(SPECIES, batch.attackerWeight, i);
+            DoubleVector attackerDamage = DoubleVector.fromArray(SPECIES, batch.attackerDamage, i);
+            DoubleVector weaponPower = DoubleVector.fromArray(SPECIES, batch.weaponPower, i);
+
+            // (weight * (1 - damage) / 10) + (weaponPower / 20) + 18
+            DoubleVector attack = attackerWeight.mul(attackerDamage.neg().add(1)).div(10)
+                    .add(weaponPower.div(20))
+                    .add(18);
+            attack.intoArray(batch.attack, i);
+
+            DoubleVector defenderWeight = DoubleVector.fromArray(SPECIES, batch.defenderWeight, i);
+            DoubleVector defenderDamage = DoubleVector.fromArray(SPECIES, batch.defenderDamage, i);
+            DoubleVector armorPower = DoubleVector.fromArray(SPECIES, batch.armorPower, i);
+
+            // attack - ((200 * (1 - damage) / weight + (armorPower / 20)) * 1.4)
+            DoubleVector reduction = defenderDamage.neg().add(1).mul(200).div(defenderWeight)
+                    .add(armorPower.div(20))
+                    .mul(1.4);
+            attack.sub(reduction).intoArray(batch.finalDamage, i);
+        }
+        for (; i < size; i++) {
+            double attack = CombatRules.calculateAttack(batch.attackerWeight[i], batch.attackerDamage[i], batch.weaponPower[i]);
+            batch.attack[i] = attack;
+            batch.finalDamage[i] = CombatRules.calculateFinalDamage(attack, batch.defenderWeight[i], batch.defenderDamage[i], batch.armorPower[i]);
+        }
+    }
+}
@@ -5,7 +5,7 @@ package Business.Item;
  */
 public abstract class Item {
 
-    private int item_id;
+    private long item_id;
     private String item_name;
     private int power;
     private int durability;
@@ -18,7 +18,7 @@ public abstract class Item {
      * @param power       Poder del ítem (daño o defensa).
      * @param durability  Durabilidad del ítem.
      */
-    public Item(int item_id, String item_name, int power, int durability) {
+    public Item(long item_id, String item_name, int power, int durability) {
         this.item_id = item_id;
         this.item_name = item_name;
         this.power = power;
@@ -30,7 +30,7 @@ public abstract class Item {
      *
      * @return El ID del ítem.
      */
-    public int getId() {
+    public long getId() {
         return item_id;
     }
 
@@ -48,9 +48,7 @@ public abstract class Item {
      *
      * @return La clase del ítem.
      */
-    public String getItemClass() {
-        return item_class;
-    }
+    public abstract String getItemClass();
 
     /**
      * Obtiene el poder del ítem.
@@ -78,19 +76,19 @@ public abstract class Item {
     public String getDetails() {
         return "\tID: " + item_id +
                 "\n\tNAME: " + item_name +
-                "\n\tCLASS: " + item_class +
+                "\n\tCLASS: " + getItemClass() +
                 "\n\tPOWER: " + power +
                 "\n\tDURABILITY: " + durability;
     }
 
     // Method to check if the item is a weapon
      public boolean isWeapon() {
-        return "Weapon".equalsIgnoreCase(this.item_class);
+        return "Weapon".equalsIgnoreCase(getItemClass());
      }
 
      // Method to check if the item is armor
      public boolean isArmor() {
-        return "Armor".equalsIgnoreCase(this.item_class);
+        return "Armor".equalsIgnoreCase(getItemClass());
     }
 
     public void decreaseDurability() {
@@ -0,0 +1,113 @@
+package Business.Item;
+
+import Persistance.ItemDAO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Catálogo de ítems separado por clase: se construye en una sola pasada y guarda aparte las armas y las
+ * armaduras, de modo que sacar un arma o una armadura al azar es una sola tirada sin importar cuántos
+ * ítems de cada clase haya.
+ * <p>
+ * Un catálogo puede no tener armas o armaduras; en ese caso {@link #randomWeapon} o {@link #randomArmor}
+ * devuelven null y es el llamante quien decide qué equipar. No se modifica una vez creado.
+ */
+public class ItemCatalog {
+    private final List<Item> items;
+    private final Item[] weapons;
+    private final Item[] armors;
+
+    /**
+     * Crea el catálogo a partir de una lista de ítems. Los que no son armas ni armaduras se ignoran al
+     * sortear, pero siguen en {@link #getItems()}.
+     *
+     * @param items Los ítems del catálogo, en su orden original.
+     */
+    public ItemCatalog(List<Item> items) {
+        List<Item> weaponList = new ArrayList<>();
+        List<Item> armorList = new ArrayList<>();
+        for (Item item : items) {
+            if (item.isWeapon()) {
+                weaponList.add(item);
+            } else if (item.isArmor()) {
+                armorList.add(item);
+            }
+        }
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+        this.weapons = weaponList.toArray(new Item[0]);
+        this.armors = armorList.toArray(new Item[0]);
+    }
+
+    /**
+     * Crea el catálogo leyendo los ítems de un DAO una sola vez.
+     *
+     * @param itemDAO El DAO de ítems.
+     * @return El catálogo con todos los ítems del DAO.
+     */
+    public static ItemCatalog load(ItemDAO itemDAO) {
+        List<Item> items = new ArrayList<>();
+        if (!itemDAO.forEachItem(items::add)) {
+            items.clear();
+        }
+        return new ItemCatalog(items);
+    }
+
+    /**
+     * Obtiene todos los ítems, en su orden original.
+     *
+     * @return Una lista que no se puede modificar.
+     */
+    public List<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * Obtiene las armas del catálogo.
+     *
+     * @return Una lista que no se puede modificar.
+     */
+    public List<Item> getWeapons() {
+        return Collections.unmodifiableList(Arrays.asList(weapons));
+    }
+
+    /**
+     * Obtiene las armaduras del catálogo.
+     *
+     * @return Una lista que no se puede modificar.
+     */
+    public List<Item> getArmors() {
+        return Collections.unmodifiableList(Arrays.asList(armors));
+    }
+
+    public boolean hasWeapons() {
+        return weapons.length > 0;
+    }
+
+    public boolean hasArmors() {
+        return armors.length > 0;
+    }
+
+    /**
+     * Saca un arma al azar. Si no hay armas no consume ningún número del generador.
+     *
+     * @param random El generador aleatorio.
+     * @return Un arma, o null si el catálogo no tiene armas.
+     */
+    public Item randomWeapon(SplittableRandom random) {
+        return weapons.length == 0 ? null : weapons[random.nextInt(weapons.length)];
+    }
+
+    /**
+     * Saca una armadura al azar. Si no hay armaduras no consume ningún número del generador.
+     *
+     * @param random El generador aleatorio.
+     * @return Una armadura, o null si el catálogo no tiene armaduras.
+     */
+    public Item randomArmor(SplittableRandom random) {
+        return armors.length == 0 ? null : armors[random.nextInt(armors.length)];
+    }
+}
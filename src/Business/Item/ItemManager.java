@@ -1,6 +1,7 @@
 package Business.Item;
 
-import Persistance.JSON.ItemJSONDAO;
+import Persistance.Cache.CachingRepository;
+import Persistance.ItemDAO;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -12,13 +13,13 @@ import java.util.List;
  */
 public class ItemManager {
 
-    private final ItemJSONDAO itemDAO;
+    private final ItemDAO itemDAO;
 
     /**
      * Constructor que inicializa el DAO para manejar operaciones de persistencia de ítems.
      */
     public ItemManager() {
-        this.itemDAO = new ItemJSONDAO();
+        this.itemDAO = CachingRepository.getDefault().getItemDAO();
     }
 
     /**
@@ -28,7 +29,7 @@ public class ItemManager {
      * @throws IOException Si ocurre un error al leer o parsear el archivo JSON.
      */
     public List<Item> loadItems() throws IOException {
-        return itemDAO.readAndParseItems("Data/items.json");
+        return itemDAO.getItems();
     }
 
     /**
@@ -39,7 +40,7 @@ public class ItemManager {
      * @throws IOException Si ocurre un error al leer o parsear el archivo JSON.
      */
     public List<String> getItemNames(String filePath) throws IOException {
-        List<Item> items = itemDAO.readAndParseItems(filePath);
+        List<Item> items = itemDAO.getItems();
         List<String> itemNames = new ArrayList<>();
         for (Item item : items) {
             itemNames.add(item.getName());
@@ -57,9 +58,9 @@ public class ItemManager {
      * @throws IndexOutOfBoundsException Si el índice es inválido.
      */
     public Item getItemByIndex(int index, String filePath) throws IOException {
-        List<Item> items = itemDAO.readAndParseItems(filePath);
-        if (index >= 0 && index < items.size()) {
-            return items.get(index);
+        Item item = itemDAO.getItemByIndex(index);
+        if (item != null) {
+            return item;
         } else {
             throw new IndexOutOfBoundsException("Invalid item index.");
         }
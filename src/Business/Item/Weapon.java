@@ -9,7 +9,12 @@ public class Weapon extends Item {
      * @param power      Poder del ítem (daño o defensa).
      * @param durability Durabilidad del ítem.
      */
-    public Weapon(int item_id, String item_name, int power, int durability) {
+    public Weapon(long item_id, String item_name, int power, int durability) {
         super(item_id, item_name, power, durability);
     }
+
+    @Override
+    public String getItemClass() {
+        return "Weapon";
+    }
 }
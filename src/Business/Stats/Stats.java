@@ -101,6 +101,21 @@ public class Stats {
         games_played++;
     }
 
+    /**
+     * Suma a las estadísticas los resultados de varias partidas.
+     *
+     * @param games_played Número de partidas jugadas a sumar.
+     * @param games_won    Número de partidas ganadas a sumar.
+     * @param KO_done      Número de KOs realizados a sumar.
+     * @param KO_received  Número de KOs recibidos a sumar.
+     */
+    public void addResults(int games_played, int games_won, int KO_done, int KO_received) {
+        this.games_played += games_played;
+        this.games_won += games_won;
+        this.KO_done += KO_done;
+        this.KO_received += KO_received;
+    }
+
     /**
      * Calcula la tasa de victorias del equipo en porcentaje.
      *
@@ -1,7 +1,7 @@
 package Business.Stats;
 
+import Persistance.Cache.CachingRepository;
 import Persistance.StatsDAO;
-import Persistance.JSON.StatsJSONDAO;
 import org.json.JSONException;
 
 import java.io.IOException;
@@ -15,7 +15,7 @@ public class StatsManager {
     private StatsDAO statsDAO;
 
     public StatsManager() {
-        this.statsDAO = new StatsJSONDAO();
+        this.statsDAO = CachingRepository.getDefault().getStatsDAO();
     }
     /**
      * Carga las estadísticas desde un archivo JSON y las parsea en una lista de objetos Stats.
@@ -35,18 +35,12 @@ public class StatsManager {
      * @throws IOException Si hay un error al leer el archivo de estadísticas.
      */
     public Stats getStatsByTeamName(String team_name) throws IOException {
-        List<Stats> allStats = statsDAO.getStats();
-
-        for (Stats stats : allStats) {
-            if (stats.getTeamName().equalsIgnoreCase(team_name)) {
-                return stats;
-            }
-        }
-        return null;
+        return statsDAO.getStats(team_name);
     }
 
     /**
-     * Crea nuevas estadísticas para un equipo con valores iniciales de 0 y las guarda en el archivo.
+     * Crea nuevas estadísticas para un equipo con valores iniciales de 0 y las guarda, sin reescribir las
+     * de los demás equipos.
      *
      * @param team_name El nombre del equipo al que se le crearán las estadísticas.
      * @param statsList La lista de estadísticas existente a la que se añadirá el nuevo objeto Stats.
@@ -57,33 +51,52 @@ public class StatsManager {
     public Stats createNewStats(String team_name, List<Stats> statsList) throws IOException, JSONException {
         Stats newStats = new Stats(team_name, 0, 0, 0, 0);
         statsList.add(newStats);
-        statsDAO.saveStats(statsList);
+        statsDAO.addResults(team_name, 0, 0, 0, 0);
 
         return newStats;
     }
 
     /**
-     * Actualiza las estadísticas de un equipo incrementando las partidas jugadas, las victorias y los KOs realizados y recibidos.
+     * Actualiza las estadísticas de un equipo incrementando las partidas jugadas, las victorias y los KOs realizados y recibidos,
+     * y guarda el resultado.
      *
      * @param stats El objeto Stats que contiene las estadísticas del equipo.
      * @param isWin Indica si el equipo ganó el partido (true) o no (false).
      * @param KO_done El número de KOs realizados en el partido.
      * @param KO_received El número de KOs recibidos en el partido.
+     * @throws JSONException Si hay un error en el formato JSON al guardar las estadísticas.
      */
-    public void updateStats(Stats stats, boolean isWin, int KO_done, int KO_received) {
-        // Incrementar partidas jugadas
-        stats.addGamesPlayed();
-
-        // Incrementar victorias
-        if (isWin) {
-            stats.addVictory();
-        }
+    public void updateStats(Stats stats, boolean isWin, int KO_done, int KO_received) throws JSONException {
+        stats.addResults(1, isWin ? 1 : 0, KO_done, KO_received);
+        recordCombat(stats.getTeamName(), isWin, KO_done, KO_received);
+    }
 
-        // Incrementar KOs realizados y recibidos
-        stats.addKODone();
-        stats.addKOReceived();
+    /**
+     * Guarda el resultado de un combate en las estadísticas de un equipo, creándolas si no existen.
+     * Solo se añade el resultado; las estadísticas de los demás equipos no se vuelven a escribir.
+     *
+     * @param team_name El nombre del equipo.
+     * @param isWin Indica si el equipo ganó el partido (true) o no (false).
+     * @param KO_done El número de KOs realizados en el partido.
+     * @param KO_received El número de KOs recibidos en el partido.
+     * @throws JSONException Si hay un error en el formato JSON al guardar las estadísticas.
+     */
+    public void recordCombat(String team_name, boolean isWin, int KO_done, int KO_received) throws JSONException {
+        statsDAO.addResults(team_name, 1, isWin ? 1 : 0, KO_done, KO_received);
+    }
 
-        // TODO: Actualizar json
+    /**
+     * Suma los resultados de varias partidas a las estadísticas de un equipo y los guarda, creándolas si no existen.
+     *
+     * @param team_name El nombre del equipo.
+     * @param games_played Número de partidas jugadas a sumar.
+     * @param games_won Número de partidas ganadas a sumar.
+     * @param KO_done Número de KOs realizados a sumar.
+     * @param KO_received Número de KOs recibidos a sumar.
+     * @throws JSONException Si hay un error en el formato JSON al guardar las estadísticas.
+     */
+    public void addResults(String team_name, int games_played, int games_won, int KO_done, int KO_received) throws JSONException {
+        statsDAO.addResults(team_name, games_played, games_won, KO_done, KO_received);
     }
 
     /**
@@ -123,7 +136,6 @@ public class StatsManager {
      * @param KO_received El número de KOs recibidos en el partido.
      */
     public void accumulateKOs(Stats stats, int KO_done, int KO_received) {
-        stats.addKODone();
-        stats.addKOReceived();
+        stats.addResults(0, 0, KO_done, KO_received);
     }
 }
@@ -7,7 +7,7 @@ import Business.Item.Item;
  * daño acumulado y estado de KO.
  */
 public class Member {
-    private int member_id;            // ID del miembro
+    private long member_id;            // ID del miembro
     private String strategy;          // Estrategia del miembro
     private double accumulated_damage; // Daño acumulado
     private boolean knocked_out;      // Estado de KO
@@ -19,7 +19,7 @@ public class Member {
      * @param member_id El ID del miembro.
      * @param strategy  La estrategia del miembro.
      */
-    public Member(int member_id, String strategy) {
+    public Member(long member_id, String strategy) {
         this.member_id = member_id;
         this.strategy = strategy;
         this.accumulated_damage = 0.0;
@@ -30,9 +30,9 @@ public class Member {
     /**
      * Obtiene el ID del miembro.
      *
-     * @return El ID del miembro como un entero.
+     * @return El ID del miembro como un entero de 64 bits.
      */
-    public int getMemberId() {
+    public long getMemberId() {
         return member_id;
     }
 
@@ -2,17 +2,18 @@ package Business.Team;
 
 import Business.Character.Character;
 import Business.Character.CharacterManager;
+import Business.Combat.CombatRules;
 import Business.Stats.Stats;
 
-import Persistance.JSON.StatsJSONDAO;
+import Persistance.Cache.CachingRepository;
+import Persistance.StatsDAO;
 import Persistance.TeamDAO;
-import Persistance.JSON.TeamJSONDAO;
 import org.json.JSONException;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /**
  * Clase encargada de gestionar las operaciones relacionadas con los equipos.
@@ -22,7 +23,7 @@ public class TeamManager {
 
     private final TeamDAO teamDAO;
     private final CharacterManager characterManager;
-    private final StatsJSONDAO statsDAO;
+    private final StatsDAO statsDAO;
     private String filePath;
 
     /**
@@ -30,9 +31,9 @@ public class TeamManager {
      * Inicializa los DAOs necesarios para manejar los equipos, personajes y estadÃ­sticas.
      */
     public TeamManager() {
-        this.teamDAO = new TeamJSONDAO();
+        this.teamDAO = CachingRepository.getDefault().getTeamDAO();
         this.characterManager = new CharacterManager();
-        this.statsDAO = new StatsJSONDAO();
+        this.statsDAO = CachingRepository.getDefault().getStatsDAO();
         this.filePath = "Data/teams.json";
     }
 
@@ -87,13 +88,7 @@ public class TeamManager {
      * @return El equipo correspondiente al nombre, o null si no se encuentra.
      */
     public Team getTeamByName(String teamName) {
-        List<Team> teams = teamDAO.getTeams();
-        for (Team team : teams) {
-            if (team.getTeamName().equalsIgnoreCase(teamName)) {
-                return team;
-            }
-        }
-        return null;
+        return teamDAO.getTeam(teamName);
     }
 
     /**
@@ -103,13 +98,7 @@ public class TeamManager {
      * @return Las estadÃ­sticas del equipo, o null si no se encuentran.
      */
     public Stats getStatsByTeamName(String teamName) {
-        List<Stats> allStats = statsDAO.readAndParseStats("Data/stats.json");
-        for (Stats stats : allStats) {
-            if (stats.getTeamName().equalsIgnoreCase(teamName)) {
-                return stats;
-            }
-        }
-        return null;
+        return statsDAO.getStats(teamName);
     }
 
     /**
@@ -125,10 +114,7 @@ public class TeamManager {
         try {
             teamDAO.createTeam(newTeam);
 
-            Stats stats = new Stats(teamName, 0, 0, 0, 0);  // Inicializamos con 0 para todos los valores
-            List<Stats> statsList = new ArrayList<>();
-            statsList.add(stats);
-            statsDAO.saveStats(statsList); // Guardar la lista de estadÃ­sticas
+            statsDAO.addResults(teamName, 0, 0, 0, 0); // Inicializamos con 0 sin reescribir las de los demás equipos
             return true;
 
         } catch (JSONException e) {
@@ -145,12 +131,8 @@ public class TeamManager {
      * @throws IOException Si ocurre un error al leer el archivo.
      */
     public boolean isTeamNameValid(String teamName) throws IOException {
-        List<Team> existingTeams = new TeamJSONDAO().getTeams();
-
-        for (Team team : existingTeams) {
-            if (team.getTeamName().equalsIgnoreCase(teamName)) {
-                return false;
-            }
+        if (teamDAO.getTeam(teamName) != null) {
+            return false;
         }
         return !teamName.isBlank();  // Se evita que se ingrese un nombre vacio
     }
@@ -163,17 +145,7 @@ public class TeamManager {
      * @throws IOException Si ocurre un error al leer o escribir los archivos.
      */
     public boolean deleteTeam(String teamName) throws IOException {
-        String filePath = "Data/teams.json";
-
-        List<Team> teams = teamDAO.getTeams();
-        Team teamToDelete = null;
-
-        for (Team team : teams) {
-            if (team.getTeamName().equalsIgnoreCase(teamName)) {
-                teamToDelete = team;
-                break;
-            }
-        }
+        Team teamToDelete = teamDAO.getTeam(teamName);
 
         if (teamToDelete == null) {
             System.out.println("Error: The team '" + teamName + "' does not exist.");
@@ -210,15 +182,16 @@ public class TeamManager {
      *
      * @param member El miembro cuyo daÃ±o se actualizarÃ¡.
      * @param damage El daÃ±o que se le aplica al miembro.
+     * @param random El generador aleatorio del combate.
      */
-    public void updateMemberDamage(Member member, double damage) {
+    public void updateMemberDamage(Member member, double damage, SplittableRandom random) {
         // Actualizar el daÃ±o acumulado del miembro
         double newAccumulatedDamage = member.getAccumulatedDamage() + damage;
         member.setAccumulatedDamage(newAccumulatedDamage);
         Character character = characterManager.getCharacter(member.getMemberId());
 
         // Verificar si el miembro debe ser eliminado
-        boolean knockedOut = isMemberKnockedOut(member);
+        boolean knockedOut = isMemberKnockedOut(member, random);
         if (knockedOut) {
             System.out.println(character.getName() + " has been knocked out!");
         }
@@ -228,15 +201,13 @@ public class TeamManager {
      * Determina si un miembro ha sido eliminado (K.O.) basÃ¡ndose en el daÃ±o acumulado.
      *
      * @param member El miembro a verificar.
+     * @param random El generador aleatorio del combate.
      * @return true si el miembro fue eliminado, false si no.
      */
-    public boolean isMemberKnockedOut(Member member) {
-        Random random = new Random();
-        double knockOutValue = random.nextInt(200) + 1; // Generar nÃºmero entre 1 y 200
-        knockOutValue /= 100; // Dividir entre 100
+    public boolean isMemberKnockedOut(Member member, SplittableRandom random) {
+        int knockOutValue = random.nextInt(CombatRules.KNOCKOUT_ROLL_MAX) + 1; // Generar nÃºmero entre 1 y 200
 
-        double accumulatedDamage = member.getAccumulatedDamage();
-        if (knockOutValue > accumulatedDamage) {
+        if (CombatRules.isKnockedOut(knockOutValue, member.getAccumulatedDamage())) {
             member.setKnockedOut(true); // Marcar al miembro como eliminado
             return true; // El miembro estÃ¡ eliminado
         }
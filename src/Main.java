@@ -1,5 +1,14 @@
+import Persistance.Binary.CatalogSnapshot;
+import Persistance.JSON.DatasetGenerator;
 import Presentation.Controller;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Clase principal del programa.
  * Contiene el método main, que es el punto de entrada de la aplicación.
@@ -10,11 +19,81 @@ public class Main {
      * Método principal que inicia la ejecución del programa.
      * Crea una instancia de {@link Controller} y llama al método {@code startProgram()}
      * para iniciar el flujo del programa.
+     * <p>
+     * Con los argumentos {@code export-catalog [ruta]} no se inicia el programa: se exportan los
+     * personajes y los ítems a una instantánea binaria (por defecto, {@value CatalogSnapshot#DEFAULT_PATH}).
+     * Con {@code generate-data <directorio> [personajes] [equipos] [ítems] [semilla] [--force]} se genera un
+     * juego de datos sintético con {@link DatasetGenerator} (por defecto, 100.000 personajes, un décimo de
+     * equipos y un veinteavo de ítems). El directorio es obligatorio y, si es el {@code Data/} del programa,
+     * hace falta {@code --force}: se sustituirían los equipos y las estadísticas del usuario.
      *
-     * @param args Argumentos de línea de comandos (no se utilizan en esta aplicación).
+     * @param args Argumentos de línea de comandos.
      */
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("generate-data")) {
+            // Before creating the controller, which would open the files about to be replaced
+            generateData(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("export-catalog")) {
+            // Also before the controller: exporting only reads the JSON files, it needs no watcher or writer threads
+            Controller.exportCatalog(args.length > 1 ? args[1] : CatalogSnapshot.DEFAULT_PATH);
+            return;
+        }
         Controller controller = new Controller();
         controller.startProgram();
     }
+
+    private static void generateData(String[] args) {
+        long start = System.nanoTime();
+        List<String> values = new ArrayList<>();
+        boolean force = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--force")) {
+                force = true;
+            } else {
+                values.add(args[i]);
+            }
+        }
+        if (values.isEmpty()) {
+            System.out.println("Usage: generate-data <directory> [characters] [teams] [items] [seed] [--force]");
+            return;
+        }
+        Path directory = Paths.get(values.get(0));
+        if (!force && isLiveData(directory)) {
+            // Generating replaces teams.json and stats.json and deletes teams.records and stats.journal
+            System.out.println("Error: " + directory + " is the program's data directory; its teams and stats would be lost."
+                    + " Choose another directory or add --force.");
+            return;
+        }
+        try {
+            int characters = values.size() > 1 ? Integer.parseInt(values.get(1)) : 100_000;
+            int teams = values.size() > 2 ? Integer.parseInt(values.get(2)) : characters / 10;
+            int items = values.size() > 3 ? Integer.parseInt(values.get(3)) : Math.max(2, characters / 20);
+            long seed = values.size() > 4 ? Long.parseLong(values.get(4)) : 42;
+            long[] sizes = new DatasetGenerator(characters, items, teams, seed).generate(directory);
+            long bytes = sizes[0] + sizes[1] + sizes[2] + sizes[3];
+            System.out.println("Generated " + characters + " characters, " + items + " items and " + teams + " teams in "
+                    + directory + " (" + bytes / (1024 * 1024) + " MB) in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Error: invalid arguments. " + e.getMessage());
+        } catch (IOException e) {
+            System.out.println("Error: could not generate the data. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Indica si un directorio es el {@code Data/} que usa el programa, aunque se escriba de otra forma.
+     */
+    private static boolean isLiveData(Path directory) {
+        Path live = Paths.get("Data");
+        try {
+            if (Files.exists(directory) && Files.exists(live)) {
+                return Files.isSameFile(directory, live);
+            }
+        } catch (IOException e) {
+            // Compare the paths below
+        }
+        return directory.toAbsolutePath().normalize().equals(live.toAbsolutePath().normalize());
+    }
 }
@@ -2,12 +2,450 @@ package Persistance.API;
 
 import Business.Character.Character;
 import Persistance.CharacterDAO;
+import Persistance.JSON.CharacterJSONDAO;
+import Persistance.JSON.JsonPullReader;
+import org.json.JSONException;
 
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
-public class CharacterAPIDAO implements CharacterDAO {
+/**
+ * DAO de personajes que los pide a un servicio HTTP en lugar de leerlos de un archivo. El servicio tiene
+ * dos consultas, que devuelven un array JSON de personajes con el formato de characters.json:
+ * <ul>
+ *     <li>{@code GET <base>/characters?page=P&size=N}: la página P (desde 0) de la lista completa. Una
+ *     página con menos de N personajes es la última.</li>
+ *     <li>{@code GET <base>/characters?ids=1,2,3}: los personajes con esos IDs; los que no existen no
+ *     aparecen.</li>
+ * </ul>
+ * Todas las peticiones salen de un mismo {@link HttpClient}, que reutiliza sus conexiones. Las búsquedas
+ * por ID que no están en caché se agrupan: las que llegan en {@link #DEFAULT_BATCH_DELAY} ms (o hasta
+ * {@link #DEFAULT_MAX_BATCH} IDs) van en una sola petición, y dos búsquedas del mismo ID comparten la
+ * respuesta. La lista completa se pide por páginas, varias a la vez.
+ * <p>
+ * Los personajes (y los IDs que no existen) se guardan en una caché con caducidad y tamaño máximo. Una
+ * búsqueda que encuentra su personaje en caché nunca espera a la red: si ha caducado, lo devuelve igualmente
+ * y lo vuelve a pedir en segundo plano. Solo espera la primera búsqueda de cada ID.
+ * <p>
+ * Los errores de red se escriben en la salida de errores: la búsqueda devuelve null y la lista, vacía.
+ */
+public class CharacterAPIDAO implements CharacterDAO, Closeable {
 
+    /** Personajes por página al pedir la lista completa. */
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    /** IDs como máximo en una petición de búsqueda. */
+    public static final int DEFAULT_MAX_BATCH = 100;
+    /** Milisegundos que se espera a juntar búsquedas antes de enviar la petición. */
+    public static final long DEFAULT_BATCH_DELAY = 2;
+    /** Milisegundos que se considera vigente un personaje de la caché. */
+    public static final long DEFAULT_TTL = 5 * 60 * 1000;
+    /** Personajes como máximo en la caché. */
+    public static final int DEFAULT_MAX_ENTRIES = 100_000;
+
+    private static final int PAGES_IN_FLIGHT = 4;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ExecutorService httpExecutor;
+    private final ScheduledExecutorService batchTimer;
+    private final int pageSize;
+    private final int maxBatch;
+    private final long batchDelay;
+    private final long ttlNanos;
+    private final int maxEntries;
+
+    // ID -> entry; the eldest entries are dropped beyond maxEntries
+    private final LinkedHashMap<Long, Entry> cache;
+    // IDs waiting for the next batch request, and lookups already sent, so that no ID is asked twice at once
+    private final Map<Long, CompletableFuture<Character>> pending = new HashMap<>();
+    private final Map<Long, CompletableFuture<Character>> inFlight = new HashMap<>();
+    private ScheduledFuture<?> scheduledBatch;
+    private volatile FullList fullList;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Personaje de la caché, o null si el ID no existe, y el momento en que caduca.
+     */
+    private static final class Entry {
+        private final Character character;
+        private final long expires;
+
+        Entry(Character character, long expires) {
+            this.character = character;
+            this.expires = expires;
+        }
+    }
+
+    /**
+     * Última lista completa y el momento en que caduca.
+     */
+    private static final class FullList {
+        private final List<Character> characters;
+        private final long expires;
+
+        FullList(List<Character> characters, long expires) {
+            this.characters = characters;
+            this.expires = expires;
+        }
+    }
+
+    /**
+     * Crea el DAO con los valores por defecto.
+     *
+     * @param baseUrl La dirección del servicio, sin la barra final (por ejemplo {@code http://localhost:8080/api}).
+     */
+    public CharacterAPIDAO(String baseUrl) {
+        this(baseUrl, DEFAULT_PAGE_SIZE, DEFAULT_MAX_BATCH, DEFAULT_BATCH_DELAY, DEFAULT_TTL, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Crea el DAO.
+     *
+     * @param baseUrl    La dirección del servicio.
+     * @param pageSize   Personajes por página al pedir la lista completa.
+     * @param maxBatch   IDs como máximo por petición de búsqueda.
+     * @param batchDelay Milisegundos que se espera a juntar búsquedas.
+     * @param ttl        Milisegundos que se considera vigente un personaje de la caché.
+     * @param maxEntries Personajes como máximo en la caché.
+     */
+    public CharacterAPIDAO(String baseUrl, int pageSize, int maxBatch, long batchDelay, long ttl, int maxEntries) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.pageSize = pageSize;
+        this.maxBatch = maxBatch;
+        this.batchDelay = batchDelay;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttl);
+        this.maxEntries = maxEntries;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > CharacterAPIDAO.this.maxEntries;
+            }
+        };
+        this.httpExecutor = Executors.newFixedThreadPool(2, daemon("character-api"));
+        this.batchTimer = Executors.newSingleThreadScheduledExecutor(daemon("character-api-batch"));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1) // keep-alive connections, reused between requests
+                .connectTimeout(TIMEOUT)
+                .executor(httpExecutor)
+                .build();
+    }
+
+    @Override
     public List<Character> getCharacters() {
-        return List.of(new Character(1,"uno", 3));
+        List<Character> characters = new ArrayList<>();
+        if (!forEachCharacter(characters::add)) {
+            characters.clear();
+        }
+        return characters;
+    }
+
+    /**
+     * Entrega la lista completa. Si la última lista pedida sigue vigente, sale de memoria; si no, se piden
+     * las páginas, {@value #PAGES_IN_FLIGHT} a la vez, y se entregan en orden a medida que llegan.
+     */
+    @Override
+    public boolean forEachCharacter(Consumer<Character> consumer) {
+        FullList list = fullList;
+        if (list != null && list.expires - System.nanoTime() > 0) {
+            hits.increment();
+            list.characters.forEach(character -> consumer.accept(copy(character)));
+            return true;
+        }
+        misses.increment();
+        List<Character> loaded = new ArrayList<>();
+        try {
+            int page = 0;
+            boolean last = false;
+            while (!last) {
+                List<CompletableFuture<List<Character>>> window = new ArrayList<>(PAGES_IN_FLIGHT);
+                for (int i = 0; i < PAGES_IN_FLIGHT; i++) {
+                    window.add(fetch(baseUrl + "/characters?page=" + (page + i) + "&size=" + pageSize));
+                }
+                for (CompletableFuture<List<Character>> request : window) {
+                    if (last) {
+                        request.cancel(false); // past the end: not needed
+                        continue;
+                    }
+                    List<Character> characters = await(request);
+                    for (Character character : characters) {
+                        loaded.add(character);
+                        consumer.accept(copy(character));
+                    }
+                    last = characters.size() < pageSize;
+                }
+                page += PAGES_IN_FLIGHT;
+            }
+        } catch (IOException e) {
+            System.err.println("Error: could not fetch characters! " + e.getMessage());
+            return false;
+        }
+
+        long expires = System.nanoTime() + ttlNanos;
+        if (loaded.size() <= maxEntries) {
+            fullList = new FullList(loaded, expires);
+        }
+        synchronized (cache) {
+            for (Character character : loaded) {
+                cache.put(character.getId(), new Entry(character, expires));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Busca un personaje. Si está en caché no sale a la red; si no, espera a la petición del grupo en el
+     * que entra su ID.
+     */
+    @Override
+    public Character getCharacter(long id) {
+        Entry entry;
+        synchronized (cache) {
+            entry = cache.get(id);
+        }
+        if (entry != null) {
+            if (entry.expires - System.nanoTime() > 0) {
+                hits.increment();
+            } else {
+                staleHits.increment();
+                lookup(id); // refresh in the background, keep answering with what we have
+            }
+            return entry.character == null ? null : copy(entry.character);
+        }
+        misses.increment();
+        try {
+            Character character = await(lookup(id));
+            return character == null ? null : copy(character);
+        } catch (IOException e) {
+            System.err.println("Error: could not fetch character " + id + "! " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Pide en segundo plano los personajes que no estén en caché, para que las búsquedas posteriores no
+     * esperen a la red.
+     *
+     * @param ids Los IDs.
+     */
+    public void prefetch(Iterable<Long> ids) {
+        for (long id : ids) {
+            boolean cached;
+            synchronized (cache) {
+                cached = cache.containsKey(id);
+            }
+            if (!cached) {
+                lookup(id);
+            }
+        }
+    }
+
+    /**
+     * Obtiene los contadores de uso.
+     *
+     * @return Las peticiones hechas y las búsquedas servidas desde caché, desde caché caducada y desde la red.
+     */
+    public String describeCounters() {
+        int cached;
+        synchronized (cache) {
+            cached = cache.size();
+        }
+        return "requests=" + requests.sum() + ", hits=" + hits.sum() + ", stale hits=" + staleHits.sum()
+                + ", misses=" + misses.sum() + ", cached=" + cached;
+    }
+
+    /**
+     * Deja de enviar peticiones. Las búsquedas pendientes terminan con error.
+     */
+    @Override
+    public void close() {
+        batchTimer.shutdownNow();
+        httpExecutor.shutdownNow();
+        List<CompletableFuture<Character>> waiting;
+        synchronized (pending) {
+            waiting = new ArrayList<>(pending.values());
+            waiting.addAll(inFlight.values());
+            pending.clear();
+            inFlight.clear();
+        }
+        IOException closed = new IOException("Character API closed");
+        waiting.forEach(future -> future.completeExceptionally(closed));
+    }
+
+    /**
+     * Apunta un ID en el grupo de la próxima petición, o devuelve la búsqueda ya en marcha de ese ID.
+     */
+    private CompletableFuture<Character> lookup(long id) {
+        Map<Long, CompletableFuture<Character>> batch = null;
+        CompletableFuture<Character> future;
+        synchronized (pending) {
+            future = inFlight.get(id);
+            if (future == null) {
+                future = pending.get(id);
+            }
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(id, future);
+            if (pending.size() >= maxBatch) {
+                batch = takeBatch();
+            } else if (scheduledBatch == null) {
+                scheduledBatch = batchTimer.schedule(this::sendPending, batchDelay, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (batch != null) {
+            send(batch);
+        }
+        return future;
+    }
+
+    private void sendPending() {
+        Map<Long, CompletableFuture<Character>> batch;
+        synchronized (pending) {
+            batch = takeBatch();
+        }
+        if (!batch.isEmpty()) {
+            send(batch);
+        }
+    }
+
+    /**
+     * Se llama con el cerrojo de {@link #pending}.
+     */
+    private Map<Long, CompletableFuture<Character>> takeBatch() {
+        if (scheduledBatch != null) {
+            scheduledBatch.cancel(false);
+            scheduledBatch = null;
+        }
+        Map<Long, CompletableFuture<Character>> batch = new HashMap<>(pending);
+        pending.clear();
+        inFlight.putAll(batch);
+        return batch;
+    }
+
+    private void send(Map<Long, CompletableFuture<Character>> batch) {
+        StringJoiner ids = new StringJoiner(",");
+        batch.keySet().forEach(id -> ids.add(Long.toString(id)));
+        fetch(baseUrl + "/characters?ids=" + ids).whenComplete((characters, error) -> {
+            synchronized (pending) {
+                inFlight.keySet().removeAll(batch.keySet());
+            }
+            if (error != null) {
+                batch.values().forEach(future -> future.completeExceptionally(error));
+                return;
+            }
+            long expires = System.nanoTime() + ttlNanos;
+            Map<Long, Character> found = new HashMap<>();
+            for (Character character : characters) {
+                found.putIfAbsent(character.getId(), character);
+            }
+            synchronized (cache) {
+                for (Long id : batch.keySet()) {
+                    cache.put(id, new Entry(found.get(id), expires)); // null: remember that it does not exist
+                }
+            }
+            batch.forEach((id, future) -> future.complete(found.get(id)));
+        });
+    }
+
+    private CompletableFuture<List<Character>> fetch(String url) {
+        requests.increment();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        // The whole body is received first: parsing from a streaming body would block one of the client's
+        // few threads, which also deliver the other responses
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).thenApply(response -> {
+            try {
+                if (response.statusCode() != 200) {
+                    throw new IOException("HTTP " + response.statusCode() + " from " + url);
+                }
+                return readCharacters(new ByteArrayInputStream(response.body()));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static List<Character> readCharacters(InputStream body) throws IOException {
+        List<Character> characters = new ArrayList<>();
+        try (JsonPullReader reader = new JsonPullReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                characters.add(CharacterJSONDAO.readCharacter(reader));
+            }
+            reader.endArray();
+        } catch (JSONException e) {
+            throw new IOException("Invalid characters response: " + e.getMessage(), e);
+        }
+        return characters;
+    }
+
+    /**
+     * Espera una petición, con un límite, y convierte sus errores en {@link IOException}.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get(TIMEOUT.toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the character API", e);
+        } catch (TimeoutException e) {
+            throw new IOException("Timed out waiting for the character API", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof UncheckedIOException unchecked) {
+                cause = unchecked.getCause();
+            }
+            // Connection errors often come without a message
+            throw cause instanceof IOException io && io.getMessage() != null ? io : new IOException(cause.toString(), cause);
+        }
+    }
+
+    private static Character copy(Character character) {
+        return new Character(character.getId(), character.getName(), character.getWeight());
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
@@ -0,0 +1,190 @@
+package Persistance.Binary;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Instantánea binaria del catálogo de personajes e ítems, proyectada en memoria.
+ * <p>
+ * El archivo lo escribe {@link CatalogSnapshotWriter} a partir de los JSON y tiene estas secciones
+ * (little-endian):
+ * <ul>
+ *     <li>Cabecera de {@value #HEADER_SIZE} bytes: "SLBC", versión, número de personajes y de ítems,
+ *     capacidad del índice y posición de cada sección.</li>
+ *     <li>Personajes, en el orden del JSON: registros de {@value #CHARACTER_RECORD_SIZE} bytes con el ID,
+ *     la posición y longitud del nombre en la tabla de textos y el peso.</li>
+ *     <li>Ítems, en el orden del JSON: registros de {@value #ITEM_RECORD_SIZE} bytes con el ID, el nombre,
+ *     el poder, la durabilidad y la clase.</li>
+ *     <li>Índice de personajes por ID: una tabla hash de direccionamiento abierto con los IDs y, aparte,
+ *     el número de registro más uno de cada celda (0 es una celda libre).</li>
+ *     <li>Tabla de textos: los nombres en UTF-8, uno detrás de otro.</li>
+ * </ul>
+ * Abrir el archivo solo lee la cabecera y proyecta las secciones; nada se copia ni se convierte en objetos
+ * hasta que se consulta. Cada sección puede ocupar hasta 2 GB. Las instancias se pueden compartir entre
+ * hilos, pero no las vistas que crean.
+ */
+public class CatalogSnapshot {
+
+    /** Cabecera del archivo ("SLBC"). */
+    public static final int MAGIC = 0x534C4243;
+    /** Versión del formato. */
+    public static final int VERSION = 1;
+    /** Ruta por defecto de la instantánea. */
+    public static final String DEFAULT_PATH = "Data/catalog.bin";
+
+    static final int HEADER_SIZE = 64;
+    static final int CHARACTER_RECORD_SIZE = 24;
+    static final int ITEM_RECORD_SIZE = 32;
+
+    static final byte KIND_WEAPON = 0;
+    static final byte KIND_ARMOR = 1;
+
+    private final Path path;
+    private final int characterCount;
+    private final int itemCount;
+    private final int indexMask;
+    private final ByteBuffer characters;
+    private final ByteBuffer items;
+    private final ByteBuffer indexKeys;
+    private final ByteBuffer indexRecords;
+    private final ByteBuffer strings;
+
+    /**
+     * Abre una instantánea.
+     *
+     * @param path Ruta del archivo.
+     * @throws IOException Si no se puede leer el archivo o no es una instantánea válida.
+     */
+    public CatalogSnapshot(Path path) throws IOException {
+        this.path = path;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException(path + " is not a catalog snapshot.");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.order(ByteOrder.BIG_ENDIAN).getInt(0) != MAGIC) {
+                throw new IOException(path + " is not a catalog snapshot.");
+            }
+            if (header.get(4) != VERSION) {
+                throw new IOException("Unsupported catalog snapshot version " + header.get(4) + " in " + path + ".");
+            }
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            this.characterCount = header.getInt(8);
+            this.itemCount = header.getInt(12);
+            int indexCapacity = header.getInt(16);
+            this.indexMask = indexCapacity - 1;
+
+            this.characters = section(channel, header.getLong(24), (long) characterCount * CHARACTER_RECORD_SIZE);
+            this.items = section(channel, header.getLong(32), (long) itemCount * ITEM_RECORD_SIZE);
+            this.indexKeys = section(channel, header.getLong(40), (long) indexCapacity * Long.BYTES);
+            this.indexRecords = section(channel, header.getLong(40) + (long) indexCapacity * Long.BYTES, (long) indexCapacity * Integer.BYTES);
+            this.strings = section(channel, header.getLong(48), header.getLong(56));
+        }
+    }
+
+    /**
+     * Obtiene el número de personajes de la instantánea.
+     *
+     * @return El número de personajes.
+     */
+    public int getCharacterCount() {
+        return characterCount;
+    }
+
+    /**
+     * Obtiene el número de ítems de la instantánea.
+     *
+     * @return El número de ítems.
+     */
+    public int getItemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Busca el registro de un personaje por su ID. Si el ID se repite, devuelve el primero.
+     *
+     * @param id El ID del personaje.
+     * @return El número de registro, o -1 si no existe.
+     */
+    public int findCharacter(long id) {
+        int cell = cellOf(id, indexMask);
+        int record;
+        while ((record = indexRecords.getInt(cell * Integer.BYTES)) != 0) {
+            if (indexKeys.getLong(cell * Long.BYTES) == id) {
+                return record - 1;
+            }
+            cell = (cell + 1) & indexMask;
+        }
+        return -1;
+    }
+
+    /**
+     * Crea una vista para recorrer los personajes sin crear un objeto por registro.
+     *
+     * @return Una vista nueva, colocada en el primer registro.
+     */
+    public CharacterView characterView() {
+        return new CharacterView(this);
+    }
+
+    /**
+     * Crea una vista para recorrer los ítems sin crear un objeto por registro.
+     *
+     * @return Una vista nueva, colocada en el primer registro.
+     */
+    public ItemView itemView() {
+        return new ItemView(this);
+    }
+
+    /**
+     * Obtiene la ruta del archivo.
+     *
+     * @return La ruta de la instantánea.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    ByteBuffer characters() {
+        return characters;
+    }
+
+    ByteBuffer items() {
+        return items;
+    }
+
+    String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        strings.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Celda inicial de un ID en el índice. La comparten el escritor y el lector, así que cambiarla exige
+     * cambiar {@link #VERSION}.
+     */
+    static int cellOf(long id, int mask) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    private ByteBuffer section(FileChannel channel, long offset, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Catalog snapshot section of " + path + " is larger than 2 GB.");
+        }
+        if (offset < HEADER_SIZE || offset + size > channel.size()) {
+            throw new IOException("Catalog snapshot " + path + " is truncated.");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
@@ -0,0 +1,251 @@
+package Persistance.Binary;
+
+import Business.Character.Character;
+import Business.Item.Item;
+import Persistance.JSON.CharacterJSONDAO;
+import Persistance.JSON.ItemJSONDAO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Genera una {@link CatalogSnapshot} a partir de los archivos JSON de personajes e ítems.
+ * <p>
+ * Los JSON se leen en streaming y los registros se escriben según llegan, así que la memoria necesaria
+ * es la del índice por ID (unos 20 bytes por personaje) y no la de los datos. El archivo se escribe al
+ * lado del destino y se renombra al terminar, de modo que nunca queda una instantánea a medias.
+ */
+public class CatalogSnapshotWriter {
+
+    /** Ocupación máxima del índice, igual que en {@link Business.Character.CharacterIndex}. */
+    private static final double MAX_LOAD = 0.7;
+
+    private CatalogSnapshotWriter() {
+    }
+
+    /**
+     * Exporta los personajes y los ítems a una instantánea binaria.
+     *
+     * @param charactersJson Ruta del JSON de personajes.
+     * @param itemsJson      Ruta del JSON de ítems.
+     * @param output         Ruta de la instantánea. Si ya existe, se sustituye.
+     * @return La instantánea escrita, ya abierta.
+     * @throws IOException Si no se pueden leer los JSON o escribir la instantánea.
+     */
+    public static CatalogSnapshot export(Path charactersJson, Path itemsJson, Path output) throws IOException {
+        Path directory = output.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, output.getFileName().toString(), ".tmp");
+        Path stringsFile = Files.createTempFile(directory, output.getFileName().toString(), ".strings");
+
+        try (Output out = new Output(FileChannel.open(temporary, StandardOpenOption.WRITE));
+             Output strings = new Output(FileChannel.open(stringsFile, StandardOpenOption.READ, StandardOpenOption.WRITE))) {
+            out.skip(CatalogSnapshot.HEADER_SIZE);
+
+            // Characters, keeping their IDs for the index
+            long charactersOffset = out.position();
+            long[][] ids = {new long[1024]};
+            int[] characterCount = {0};
+            boolean complete;
+            try {
+                complete = new CharacterJSONDAO(charactersJson.toString()).forEachCharacter(character -> {
+                    if (characterCount[0] == ids[0].length) {
+                        ids[0] = Arrays.copyOf(ids[0], ids[0].length * 2);
+                    }
+                    ids[0][characterCount[0]++] = character.getId();
+                    writeCharacter(out, strings, character);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (!complete) {
+                throw new IOException("Could not read " + charactersJson + ".");
+            }
+
+            long itemsOffset = out.position();
+            int[] itemCount = {0};
+            try {
+                complete = new ItemJSONDAO(itemsJson.toString()).forEachItem(item -> {
+                    itemCount[0]++;
+                    writeItem(out, strings, item);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (!complete) {
+                throw new IOException("Could not read " + itemsJson + ".");
+            }
+
+            long indexOffset = out.position();
+            int capacity = writeIndex(out, ids[0], characterCount[0]);
+
+            long stringsOffset = out.position();
+            long stringsSize = strings.position();
+            if (stringsSize > Integer.MAX_VALUE) {
+                throw new IOException("The names of the catalog take more than 2 GB.");
+            }
+            strings.flush();
+            out.flush();
+            strings.channel.position(0);
+            long copied = 0;
+            while (copied < stringsSize) {
+                copied += out.channel.transferFrom(strings.channel, stringsOffset + copied, stringsSize - copied);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(CatalogSnapshot.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(0, Integer.reverseBytes(CatalogSnapshot.MAGIC)); // big-endian, so the file starts with "SLBC"
+            header.put(4, (byte) CatalogSnapshot.VERSION);
+            header.putInt(8, characterCount[0]);
+            header.putInt(12, itemCount[0]);
+            header.putInt(16, capacity);
+            header.putLong(24, charactersOffset);
+            header.putLong(32, itemsOffset);
+            header.putLong(40, indexOffset);
+            header.putLong(48, stringsOffset);
+            header.putLong(56, stringsSize);
+            out.channel.write(header, 0);
+            out.channel.force(false);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        } finally {
+            Files.deleteIfExists(stringsFile);
+        }
+
+        Files.move(temporary, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return new CatalogSnapshot(output);
+    }
+
+    private static void writeCharacter(Output out, Output strings, Character character) {
+        try {
+            byte[] name = character.getName().getBytes(StandardCharsets.UTF_8);
+            out.putLong(character.getId());
+            out.putInt((int) strings.position());
+            out.putInt(name.length);
+            out.putInt(character.getWeight());
+            out.putInt(0);
+            strings.put(name);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeItem(Output out, Output strings, Item item) {
+        try {
+            byte[] name = item.getName().getBytes(StandardCharsets.UTF_8);
+            out.putLong(item.getId());
+            out.putInt((int) strings.position());
+            out.putInt(name.length);
+            out.putInt(item.getPower());
+            out.putInt(item.getDurability());
+            out.putLong(item.isWeapon() ? CatalogSnapshot.KIND_WEAPON : CatalogSnapshot.KIND_ARMOR); // kind byte + padding
+            strings.put(name);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Escribe el índice por ID (primero las claves y después los registros) y devuelve su capacidad.
+     */
+    private static int writeIndex(Output out, long[] ids, int count) throws IOException {
+        long needed = (long) Math.ceil(Math.max(count, 1) / MAX_LOAD);
+        if (needed > 1 << 30) {
+            throw new IOException("Too many characters for the catalog index: " + count);
+        }
+        int capacity = needed <= 2 ? 2 : Integer.highestOneBit((int) needed - 1) << 1;
+        int mask = capacity - 1;
+        long[] keys = new long[capacity];
+        int[] records = new int[capacity];
+
+        for (int record = 0; record < count; record++) {
+            long id = ids[record];
+            int cell = CatalogSnapshot.cellOf(id, mask);
+            while (records[cell] != 0 && keys[cell] != id) {
+                cell = (cell + 1) & mask;
+            }
+            if (records[cell] == 0) {
+                keys[cell] = id;
+                records[cell] = record + 1; // 0 marks a free cell
+            }
+        }
+
+        for (long key : keys) {
+            out.putLong(key);
+        }
+        for (int record : records) {
+            out.putInt(record);
+        }
+        return capacity;
+    }
+
+    /**
+     * Escritura secuencial con buffer sobre un canal, en little-endian.
+     */
+    private static final class Output implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+        private long flushed;
+
+        Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        long position() {
+            return flushed + buffer.position();
+        }
+
+        void skip(int bytes) throws IOException {
+            ensure(bytes);
+            buffer.position(buffer.position() + bytes);
+        }
+
+        void putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+        }
+
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        void put(byte[] bytes) throws IOException {
+            int offset = 0;
+            while (offset < bytes.length) {
+                ensure(1);
+                int length = Math.min(buffer.remaining(), bytes.length - offset);
+                buffer.put(bytes, offset, length);
+                offset += length;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                flushed += channel.write(buffer, flushed);
+            }
+            buffer.clear();
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package Persistance.Binary;
+
+import Business.Character.Character;
+import Persistance.CharacterDAO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * DAO de personajes que lee una {@link CatalogSnapshot} en lugar del JSON.
+ * <p>
+ * Las búsquedas por ID usan el índice del archivo y solo crean el personaje encontrado. Para recorrer
+ * todos los personajes sin crear objetos, se puede usar {@link CatalogSnapshot#characterView()}.
+ */
+public class CharacterSnapshotDAO implements CharacterDAO {
+    private final CatalogSnapshot snapshot;
+
+    /**
+     * Crea el DAO sobre una instantánea abierta.
+     *
+     * @param snapshot La instantánea del catálogo.
+     */
+    public CharacterSnapshotDAO(CatalogSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public List<Character> getCharacters() {
+        List<Character> characters = new ArrayList<>(snapshot.getCharacterCount());
+        forEachCharacter(characters::add);
+        return characters;
+    }
+
+    @Override
+    public boolean forEachCharacter(Consumer<Character> consumer) {
+        CharacterView view = snapshot.characterView();
+        for (int record = 0; record < snapshot.getCharacterCount(); record++) {
+            consumer.accept(view.moveTo(record).toCharacter());
+        }
+        return true;
+    }
+
+    @Override
+    public Character getCharacter(long id) {
+        int record = snapshot.findCharacter(id);
+        return record < 0 ? null : snapshot.characterView().moveTo(record).toCharacter();
+    }
+}
@@ -0,0 +1,71 @@
+package Persistance.Binary;
+
+import Business.Character.Character;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Vista de un registro de personaje de una {@link CatalogSnapshot}. Lee los campos directamente del
+ * archivo proyectado; se reutiliza moviéndola de registro en registro.
+ */
+public class CharacterView {
+    private final CatalogSnapshot snapshot;
+    private final ByteBuffer records;
+    private int record;
+    private int base;
+
+    CharacterView(CatalogSnapshot snapshot) {
+        this.snapshot = snapshot;
+        this.records = snapshot.characters();
+    }
+
+    /**
+     * Coloca la vista en un registro.
+     *
+     * @param record El número de registro, entre 0 y {@link CatalogSnapshot#getCharacterCount()} - 1.
+     * @return Esta misma vista.
+     */
+    public CharacterView moveTo(int record) {
+        if (record < 0 || record >= snapshot.getCharacterCount()) {
+            throw new IndexOutOfBoundsException("Invalid character record " + record + ".");
+        }
+        this.record = record;
+        this.base = record * CatalogSnapshot.CHARACTER_RECORD_SIZE;
+        return this;
+    }
+
+    /**
+     * Obtiene el número del registro actual.
+     *
+     * @return El número de registro.
+     */
+    public int getRecord() {
+        return record;
+    }
+
+    public long getId() {
+        return records.getLong(base);
+    }
+
+    /**
+     * Obtiene el nombre del personaje. Es el único campo que crea un objeto al leerlo.
+     *
+     * @return El nombre del personaje.
+     */
+    public String getName() {
+        return snapshot.string(records.getInt(base + 8), records.getInt(base + 12));
+    }
+
+    public int getWeight() {
+        return records.getInt(base + 16);
+    }
+
+    /**
+     * Crea un personaje con los datos del registro actual.
+     *
+     * @return Un personaje nuevo.
+     */
+    public Character toCharacter() {
+        return new Character(getId(), getName(), getWeight());
+    }
+}
@@ -0,0 +1,188 @@
+package Persistance.Binary;
+
+import Business.Combat.Event.CombatEventSink;
+import Business.Combat.Event.CombatEventType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Lee eventos de combate codificados por {@link CombatEventEncoder} y los envía a un {@link CombatEventSink}.
+ * <p>
+ * Reconstruye lo que el formato no guarda: después de cada ataque notifica el daño con el daño acumulado
+ * del objetivo (sumado a partir de los daños guardados como float) y los cambios de durabilidad del arma
+ * del atacante y de la armadura del objetivo. Para ello sigue el daño y las durabilidades de cada posición
+ * desde el último {@code COMBAT_START}. No es seguro compartir una instancia entre hilos.
+ */
+public class CombatEventDecoder {
+
+    private final ByteBuffer data;
+    private double[] damage = new double[0];
+    private int[] weaponDurability = new int[0];
+    private int[] armorDurability = new int[0];
+
+    /**
+     * Crea un decodificador sobre los bytes restantes de un buffer, sin copiarlos.
+     *
+     * @param data Los eventos codificados.
+     */
+    public CombatEventDecoder(ByteBuffer data) {
+        this.data = data.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Indica si quedan eventos por leer.
+     *
+     * @return true si quedan bytes por leer.
+     */
+    public boolean hasRemaining() {
+        return data.hasRemaining();
+    }
+
+    /**
+     * Obtiene la posición de lectura, relativa al inicio de los datos.
+     *
+     * @return La posición del siguiente evento.
+     */
+    public int position() {
+        return data.position();
+    }
+
+    /**
+     * Cambia la posición de lectura. Debe ser el inicio de un evento; para que el daño acumulado y las
+     * durabilidades sean correctos, conviene volver al inicio de un combate.
+     *
+     * @param position La nueva posición, relativa al inicio de los datos.
+     */
+    public void position(int position) {
+        data.position(position);
+    }
+
+    /**
+     * Obtiene una vista (sin copia) de un rango de los datos.
+     *
+     * @param from Posición inicial (incluida).
+     * @param to   Posición final (excluida).
+     * @return Un buffer little-endian con los bytes del rango.
+     */
+    public ByteBuffer slice(int from, int to) {
+        return data.slice(from, to - from).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Lee todos los eventos de un combate, hasta su {@code COMBAT_END} incluido.
+     *
+     * @param sink El destino de los eventos.
+     * @return true si se ha leído un combate completo, false si los datos se han acabado antes.
+     */
+    public boolean decodeCombat(CombatEventSink sink) {
+        while (data.hasRemaining()) {
+            if (decodeNext(sink) == CombatEventType.COMBAT_END) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lee el siguiente evento y lo envía al destino.
+     *
+     * @param sink El destino del evento.
+     * @return El código del evento leído ({@link CombatEventType}).
+     * @throws IllegalStateException Si el evento no es válido.
+     */
+    public int decodeNext(CombatEventSink sink) {
+        int type = data.get();
+        switch (type) {
+            case CombatEventType.COMBAT_START -> {
+                long seed = data.getLong();
+                int team1Size = getVarInt();
+                int team2Size = getVarInt();
+                resetSlots(team1Size + team2Size);
+                sink.combatStarted(seed, team1Size, team2Size);
+            }
+            case CombatEventType.ITEM_EQUIPPED -> {
+                int slot = getVarInt();
+                int itemKind = data.get();
+                long itemId = data.getLong();
+                int power = getVarInt();
+                int durability = getZigZag();
+                if (itemKind == CombatEventType.WEAPON) {
+                    weaponDurability[slot] = durability;
+                } else {
+                    armorDurability[slot] = durability;
+                }
+                sink.itemEquipped(slot, itemKind, itemId, power, durability);
+            }
+            case CombatEventType.ATTACK -> {
+                int attacker = getVarInt();
+                int target = getVarInt();
+                float attack = data.getFloat();
+                float finalDamage = data.getFloat();
+                damage[target] += finalDamage / 100.0;
+                sink.attacked(attacker, target, attack);
+                sink.damaged(target, finalDamage, damage[target]);
+
+                // The attacker's weapon wears first, then the target's armor; breakages are stored after the attack
+                if (weaponDurability[attacker] > 0) {
+                    sink.durabilityChanged(attacker, CombatEventType.WEAPON, --weaponDurability[attacker]);
+                }
+                if (armorDurability[target] > 0) {
+                    sink.durabilityChanged(target, CombatEventType.ARMOR, --armorDurability[target]);
+                }
+            }
+            case CombatEventType.ITEM_DESTROYED -> {
+                int slot = getVarInt();
+                int itemKind = data.get();
+                sink.itemDestroyed(slot, itemKind);
+            }
+            case CombatEventType.KNOCK_OUT -> sink.knockedOut(getVarInt());
+            case CombatEventType.ROUND_END -> {
+                int round = getVarInt();
+                int alive1 = getVarInt();
+                int alive2 = getVarInt();
+                sink.roundEnded(round, alive1, alive2);
+            }
+            case CombatEventType.COMBAT_END -> {
+                int winner = data.get();
+                int rounds = getVarInt();
+                int kosTeam1 = getVarInt();
+                int kosTeam2 = getVarInt();
+                sink.combatEnded(winner, rounds, kosTeam1, kosTeam2);
+            }
+            default -> throw new IllegalStateException("Unknown combat event " + type + " at byte " + (data.position() - 1) + ".");
+        }
+        return type;
+    }
+
+    private void resetSlots(int size) {
+        if (damage.length < size) {
+            damage = new double[size];
+            weaponDurability = new int[size];
+            armorDurability = new int[size];
+        } else {
+            for (int i = 0; i < size; i++) {
+                damage[i] = 0;
+                weaponDurability[i] = 0;
+                armorDurability[i] = 0;
+            }
+        }
+    }
+
+    private int getVarInt() {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private int getZigZag() {
+        int value = getVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,188 @@
+package Persistance.Binary;
+
+import Business.Combat.Event.CombatEventSink;
+import Business.Combat.Event.CombatEventType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Codifica los eventos de combate en el formato binario de los registros de eventos, en memoria.
+ * <p>
+ * Cada evento es un byte con su código ({@link CombatEventType}) seguido de sus campos: los enteros no
+ * negativos (posiciones, rondas, tamaños) como varint, la durabilidad como varint zigzag, los IDs de ítem
+ * y la semilla como enteros de 8 bytes y los valores de ataque y daño como float de 4 bytes
+ * (little-endian).
+ * <p>
+ * Para que los registros ocupen poco, solo se guarda lo que no se puede deducir de lo anterior: el daño se
+ * escribe al final del registro {@code ATTACK} que lo produce (el objetivo es el mismo) sin el daño
+ * acumulado, y los cambios de durabilidad no se guardan, porque cada ataque gasta un uso del arma del
+ * atacante y de la armadura del objetivo mientras les quede durabilidad. {@link CombatEventDecoder}
+ * reconstruye ambos al leer.
+ * <p>
+ * El buffer crece según hace falta. No es seguro compartir una instancia entre hilos.
+ */
+public class CombatEventEncoder implements CombatEventSink {
+
+    /** Espacio reservado para un evento; el más largo (ITEM_EQUIPPED) ocupa 21 bytes. */
+    protected static final int MAX_EVENT_SIZE = 32;
+
+    private static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    protected byte[] buffer;
+    protected int position;
+
+    /**
+     * Crea un codificador con un buffer pequeño, suficiente para un combate corto.
+     */
+    public CombatEventEncoder() {
+        this(1024);
+    }
+
+    /**
+     * Crea un codificador.
+     *
+     * @param capacity Tamaño inicial del buffer en bytes.
+     */
+    public CombatEventEncoder(int capacity) {
+        this.buffer = new byte[Math.max(capacity, MAX_EVENT_SIZE)];
+    }
+
+    @Override
+    public void combatStarted(long seed, int team1Size, int team2Size) {
+        ensureSpace();
+        buffer[position++] = CombatEventType.COMBAT_START;
+        putFixedLong(seed);
+        putVarInt(team1Size);
+        putVarInt(team2Size);
+    }
+
+    @Override
+    public void itemEquipped(int slot, int itemKind, long itemId, int power, int durability) {
+        ensureSpace();
+        buffer[position++] = CombatEventType.ITEM_EQUIPPED;
+        putVarInt(slot);
+        buffer[position++] = (byte) itemKind;
+        putFixedLong(itemId);
+        putVarInt(power);
+        putZigZag(durability);
+    }
+
+    @Override
+    public void attacked(int attacker, int target, double attack) {
+        ensureSpace();
+        buffer[position++] = CombatEventType.ATTACK;
+        putVarInt(attacker);
+        putVarInt(target);
+        putFixedInt(Float.floatToRawIntBits((float) attack));
+    }
+
+    @Override
+    public void damaged(int target, double damage, double accumulatedDamage) {
+        // Completes the ATTACK record just written, which reserved room for it
+        putFixedInt(Float.floatToRawIntBits((float) damage));
+    }
+
+    @Override
+    public void durabilityChanged(int slot, int itemKind, int durability) {
+        // Derived from ATTACK records when reading
+    }
+
+    @Override
+    public void itemDestroyed(int slot, int itemKind) {
+        ensureSpace();
+        buffer[position++] = CombatEventType.ITEM_DESTROYED;
+        putVarInt(slot);
+        buffer[position++] = (byte) itemKind;
+    }
+
+    @Override
+    public void knockedOut(int slot) {
+        ensureSpace();
+        buffer[position++] = CombatEventType.KNOCK_OUT;
+        putVarInt(slot);
+    }
+
+    @Override
+    public void roundEnded(int round, int alive1, int alive2) {
+        ensureSpace();
+        buffer[position++] = CombatEventType.ROUND_END;
+        putVarInt(round);
+        putVarInt(alive1);
+        putVarInt(alive2);
+    }
+
+    @Override
+    public void combatEnded(int winner, int rounds, int kosTeam1, int kosTeam2) {
+        ensureSpace();
+        buffer[position++] = CombatEventType.COMBAT_END;
+        buffer[position++] = (byte) winner;
+        putVarInt(rounds);
+        putVarInt(kosTeam1);
+        putVarInt(kosTeam2);
+    }
+
+    /**
+     * Obtiene el número de bytes codificados.
+     *
+     * @return Los bytes ocupados en el buffer.
+     */
+    public int size() {
+        return position;
+    }
+
+    /**
+     * Descarta los eventos codificados, conservando el buffer.
+     */
+    public void clear() {
+        position = 0;
+    }
+
+    /**
+     * Obtiene una copia de los eventos codificados.
+     *
+     * @return Un buffer little-endian con los eventos, listo para {@link CombatEventDecoder}.
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(Arrays.copyOf(buffer, position)).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Garantiza que cabe un evento más en el buffer, ampliándolo si hace falta.
+     */
+    protected void ensureSpace() {
+        if (position > buffer.length - MAX_EVENT_SIZE) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+    }
+
+    protected void putFixedInt(int value) {
+        INT_LE.set(buffer, position, value);
+        position += 4;
+    }
+
+    protected void putFixedLong(long value) {
+        LONG_LE.set(buffer, position, value);
+        position += 8;
+    }
+
+    private void putVarInt(int value) {
+        if ((value & ~0x7F) == 0) {
+            buffer[position++] = (byte) value; // slots and alive counts almost always fit in one byte
+            return;
+        }
+        while ((value & ~0x7F) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void putZigZag(int value) {
+        putVarInt((value << 1) ^ (value >> 31));
+    }
+}
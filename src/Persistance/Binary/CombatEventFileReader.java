@@ -0,0 +1,97 @@
+package Persistance.Binary;
+
+import Business.Combat.Event.CombatEventSink;
+import Business.Combat.Event.NullEventSink;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lee un archivo de eventos escrito por {@link CombatEventFileSink}, combate a combate.
+ * <p>
+ * El archivo se proyecta en memoria (solo lectura), así que recorrerlo no copia los datos y es posible
+ * revisar miles de combates por segundo. Como una proyección solo puede cubrir 2 GB, los archivos más
+ * grandes se deben dividir. No es seguro compartir una instancia entre hilos.
+ */
+public class CombatEventFileReader {
+
+    private static final int HEADER_SIZE = 5;
+
+    private final CombatEventDecoder decoder;
+    private int combatIndex;
+
+    /**
+     * Abre un archivo de eventos.
+     *
+     * @param path Ruta del archivo.
+     * @throws IOException Si no se puede leer el archivo o no es un archivo de eventos válido.
+     */
+    public CombatEventFileReader(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Combat event file " + path + " is larger than 2 GB.");
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        if (mapped.remaining() < HEADER_SIZE || mapped.order(ByteOrder.BIG_ENDIAN).getInt(0) != CombatEventFileSink.MAGIC) {
+            throw new IOException(path + " is not a combat event file.");
+        }
+        if (mapped.get(4) != CombatEventFileSink.VERSION) {
+            throw new IOException("Unsupported combat event file version " + mapped.get(4) + " in " + path + ".");
+        }
+        this.decoder = new CombatEventDecoder(mapped.position(HEADER_SIZE));
+    }
+
+    /**
+     * Indica si quedan combates por leer.
+     *
+     * @return true si quedan eventos en el archivo.
+     */
+    public boolean hasNext() {
+        return decoder.hasRemaining();
+    }
+
+    /**
+     * Obtiene el número de combates leídos hasta ahora, que es el índice del siguiente combate.
+     *
+     * @return El índice (empezando en 0) del siguiente combate.
+     */
+    public int getCombatIndex() {
+        return combatIndex;
+    }
+
+    /**
+     * Lee el siguiente combate y envía sus eventos al destino.
+     *
+     * @param sink El destino de los eventos.
+     * @return true si se ha leído un combate, false si no quedan combates completos.
+     */
+    public boolean readCombat(CombatEventSink sink) {
+        if (!decoder.decodeCombat(sink)) {
+            return false;
+        }
+        combatIndex++;
+        return true;
+    }
+
+    /**
+     * Obtiene los eventos codificados del siguiente combate sin copiarlos, por ejemplo para crear una
+     * repetición del combate.
+     *
+     * @return Los eventos del combate, o null si no quedan combates completos.
+     */
+    public ByteBuffer nextCombat() {
+        int start = decoder.position();
+        if (!readCombat(NullEventSink.INSTANCE)) {
+            return null;
+        }
+        return decoder.slice(start, decoder.position());
+    }
+}
@@ -0,0 +1,86 @@
+package Persistance.Binary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Guarda los eventos de combate en un archivo binario compacto al que solo se añaden datos al final.
+ * <p>
+ * El archivo empieza con la cabecera {@code "SLBE"} y un byte de versión, seguidos de los eventos en el
+ * formato de {@link CombatEventEncoder}. Se pueden leer con {@link CombatEventFileReader}.
+ * <p>
+ * Los eventos se acumulan en un buffer en memoria y se escriben en bloques, así que registrar un evento
+ * solo copia unos pocos bytes. No es seguro compartir una instancia entre hilos.
+ */
+public class CombatEventFileSink extends CombatEventEncoder implements Closeable {
+
+    /** Cabecera del archivo ("SLBE"). */
+    public static final int MAGIC = 0x534C4245;
+    /** Versión del formato. */
+    public static final int VERSION = 2;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+
+    /**
+     * Abre (o crea) un archivo de eventos para añadir eventos al final.
+     *
+     * @param path Ruta del archivo.
+     * @throws IOException Si no se puede abrir o crear el archivo.
+     */
+    public CombatEventFileSink(Path path) throws IOException {
+        super(BUFFER_SIZE);
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (channel.size() == 0) {
+            putFixedInt(Integer.reverseBytes(MAGIC)); // stored big-endian so the file starts with "SLBE"
+            buffer[position++] = (byte) VERSION;
+        }
+    }
+
+    /**
+     * Escribe en el archivo los eventos pendientes.
+     *
+     * @throws IOException Si ocurre un error al escribir.
+     */
+    public void flush() throws IOException {
+        ByteBuffer pending = ByteBuffer.wrap(buffer, 0, position);
+        while (pending.hasRemaining()) {
+            channel.write(pending);
+        }
+        clear();
+    }
+
+    /**
+     * Escribe los eventos pendientes y cierra el archivo.
+     *
+     * @throws IOException Si ocurre un error al escribir o cerrar el archivo.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * En lugar de ampliar el buffer, escribe en el archivo los eventos pendientes cuando se llena.
+     */
+    @Override
+    protected void ensureSpace() {
+        if (position > buffer.length - MAX_EVENT_SIZE) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error: could not write combat events! " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package Persistance.Binary;
+
+import Business.Item.Armor;
+import Business.Item.Item;
+import Business.Item.Weapon;
+import Persistance.ItemDAO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * DAO de ítems que lee una {@link CatalogSnapshot} en lugar del JSON.
+ */
+public class ItemSnapshotDAO implements ItemDAO {
+    private final CatalogSnapshot snapshot;
+
+    /**
+     * Crea el DAO sobre una instantánea abierta.
+     *
+     * @param snapshot La instantánea del catálogo.
+     */
+    public ItemSnapshotDAO(CatalogSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public List<Item> getItems() {
+        List<Item> items = new ArrayList<>(snapshot.getItemCount());
+        forEachItem(items::add);
+        return items;
+    }
+
+    @Override
+    public List<Weapon> getWeapons() {
+        List<Weapon> weapons = new ArrayList<>();
+        ItemView view = snapshot.itemView();
+        for (int record = 0; record < snapshot.getItemCount(); record++) {
+            if (view.moveTo(record).isWeapon()) {
+                weapons.add((Weapon) view.toItem());
+            }
+        }
+        return weapons;
+    }
+
+    @Override
+    public List<Armor> getArmors() {
+        List<Armor> armors = new ArrayList<>();
+        ItemView view = snapshot.itemView();
+        for (int record = 0; record < snapshot.getItemCount(); record++) {
+            if (view.moveTo(record).isArmor()) {
+                armors.add((Armor) view.toItem());
+            }
+        }
+        return armors;
+    }
+
+    @Override
+    public boolean forEachItem(Consumer<Item> consumer) {
+        ItemView view = snapshot.itemView();
+        for (int record = 0; record < snapshot.getItemCount(); record++) {
+            consumer.accept(view.moveTo(record).toItem());
+        }
+        return true;
+    }
+
+    @Override
+    public Item getItemByIndex(int index) {
+        return index >= 0 && index < snapshot.getItemCount() ? snapshot.itemView().moveTo(index).toItem() : null;
+    }
+}
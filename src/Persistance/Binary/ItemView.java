@@ -0,0 +1,88 @@
+package Persistance.Binary;
+
+import Business.Item.Armor;
+import Business.Item.Item;
+import Business.Item.Weapon;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Vista de un registro de ítem de una {@link CatalogSnapshot}. Lee los campos directamente del archivo
+ * proyectado; se reutiliza moviéndola de registro en registro.
+ */
+public class ItemView {
+    private final CatalogSnapshot snapshot;
+    private final ByteBuffer records;
+    private int record;
+    private int base;
+
+    ItemView(CatalogSnapshot snapshot) {
+        this.snapshot = snapshot;
+        this.records = snapshot.items();
+    }
+
+    /**
+     * Coloca la vista en un registro.
+     *
+     * @param record El número de registro, entre 0 y {@link CatalogSnapshot#getItemCount()} - 1.
+     * @return Esta misma vista.
+     */
+    public ItemView moveTo(int record) {
+        if (record < 0 || record >= snapshot.getItemCount()) {
+            throw new IndexOutOfBoundsException("Invalid item record " + record + ".");
+        }
+        this.record = record;
+        this.base = record * CatalogSnapshot.ITEM_RECORD_SIZE;
+        return this;
+    }
+
+    /**
+     * Obtiene el número del registro actual.
+     *
+     * @return El número de registro.
+     */
+    public int getRecord() {
+        return record;
+    }
+
+    public long getId() {
+        return records.getLong(base);
+    }
+
+    /**
+     * Obtiene el nombre del ítem. Es el único campo que crea un objeto al leerlo.
+     *
+     * @return El nombre del ítem.
+     */
+    public String getName() {
+        return snapshot.string(records.getInt(base + 8), records.getInt(base + 12));
+    }
+
+    public int getPower() {
+        return records.getInt(base + 16);
+    }
+
+    public int getDurability() {
+        return records.getInt(base + 20);
+    }
+
+    public boolean isWeapon() {
+        return records.get(base + 24) == CatalogSnapshot.KIND_WEAPON;
+    }
+
+    public boolean isArmor() {
+        return records.get(base + 24) == CatalogSnapshot.KIND_ARMOR;
+    }
+
+    /**
+     * Crea un ítem con los datos del registro actual.
+     *
+     * @return Un arma o una armadura nueva.
+     */
+    public Item toItem() {
+        if (isWeapon()) {
+            return new Weapon(getId(), getName(), getPower(), getDurability());
+        }
+        return new Armor(getId(), getName(), getPower(), getDurability());
+    }
+}
@@ -0,0 +1,356 @@
+package Persistance.Binary;
+
+import Business.Stats.Stats;
+import Persistance.JSON.StatsJSONDAO;
+import Persistance.StatsDAO;
+import org.json.JSONException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DAO de estadísticas que guarda cada resultado como un registro al final de un {@link StatsJournal} en
+ * lugar de reescribir el JSON de estadísticas: sumar un combate cuesta una escritura de unas decenas de
+ * bytes, sin importar cuántos equipos haya.
+ * <p>
+ * El JSON sigue siendo la instantánea de referencia. Cuando el diario supera un tamaño, un hilo en segundo
+ * plano lo compacta: escribe en el JSON los totales que incluyen los registros del diario y empieza un
+ * diario vacío. Los totales actuales se guardan en memoria, así que las consultas no leen ningún archivo.
+ * <p>
+ * La compactación se puede interrumpir en cualquier punto sin perder ni duplicar resultados:
+ * <ol>
+ *     <li>El diario se renombra a {@code .compacting} y los combates nuevos van a un diario vacío.</li>
+ *     <li>Los totales de la instantánea y el diario renombrado se escriben en {@code .next}.</li>
+ *     <li>Se borra el diario renombrado. A partir de aquí, la instantánea buena es {@code .next}.</li>
+ *     <li>{@code .next} se renombra sobre el JSON.</li>
+ * </ol>
+ * Al abrir, si existe {@code .next} sin el diario renombrado se termina el paso 4; si existen los dos, se
+ * descarta {@code .next} y se vuelve a compactar.
+ */
+public class JournaledStatsDAO implements StatsDAO, Closeable {
+
+    /** Tamaño del diario a partir del cual se compacta: unos 1.500 resultados. */
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 64 * 1024;
+
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final Path compactingPath;
+    private final Path nextPath;
+    private final long compactionThreshold;
+    private final ExecutorService compactor;
+
+    // Compactions take this lock first and this object second; appends only take this object
+    private final Object compactionLock = new Object();
+
+    private List<Stats> statsList;
+    private Map<String, Stats> statsByName;
+    private StatsJournal journal;
+    private boolean compactionScheduled;
+
+    /**
+     * Crea el DAO sobre un JSON de estadísticas, con el diario a su lado (stats.json y stats.journal).
+     *
+     * @param snapshotPath La ruta del JSON de estadísticas.
+     */
+    public JournaledStatsDAO(Path snapshotPath) {
+        this(snapshotPath, journalFor(snapshotPath), DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Crea el DAO sobre un JSON de estadísticas y un diario.
+     *
+     * @param snapshotPath        La ruta del JSON de estadísticas.
+     * @param journalPath         La ruta del diario.
+     * @param compactionThreshold Tamaño en bytes del diario a partir del cual se compacta.
+     */
+    public JournaledStatsDAO(Path snapshotPath, Path journalPath, long compactionThreshold) {
+        this.snapshotPath = snapshotPath;
+        this.journalPath = journalPath;
+        this.compactingPath = journalPath.resolveSibling(journalPath.getFileName() + ".compacting");
+        this.nextPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".next");
+        this.compactionThreshold = compactionThreshold;
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stats-compactor");
+            thread.setDaemon(true); // an interrupted compaction is recovered on the next start
+            return thread;
+        });
+    }
+
+    /**
+     * Obtiene la ruta del diario que corresponde a un JSON de estadísticas.
+     *
+     * @param snapshotPath La ruta del JSON de estadísticas.
+     * @return La misma ruta con la extensión .journal en lugar de .json.
+     */
+    public static Path journalFor(Path snapshotPath) {
+        String name = snapshotPath.getFileName().toString();
+        if (name.endsWith(".json")) {
+            name = name.substring(0, name.length() - ".json".length());
+        }
+        return snapshotPath.resolveSibling(name + ".journal");
+    }
+
+    @Override
+    public synchronized List<Stats> getStats() {
+        List<Stats> copies = new ArrayList<>();
+        try {
+            open();
+        } catch (IOException e) {
+            System.err.println("Error: could not load stats! " + e.getMessage());
+            return copies;
+        }
+        for (Stats stats : statsList) {
+            copies.add(copy(stats));
+        }
+        return copies;
+    }
+
+    @Override
+    public synchronized Stats getStats(String teamName) {
+        try {
+            open();
+        } catch (IOException e) {
+            System.err.println("Error: could not load stats! " + e.getMessage());
+            return null;
+        }
+        Stats stats = teamName == null ? null : statsByName.get(key(teamName));
+        return stats == null ? null : copy(stats);
+    }
+
+    /**
+     * Suma un resultado a las estadísticas de un equipo añadiendo un registro al diario.
+     *
+     * @throws UncheckedIOException Si no se puede escribir el registro.
+     */
+    @Override
+    public synchronized void addResults(String teamName, int gamesPlayed, int gamesWon, int koDone, int koReceived) {
+        try {
+            open();
+            journal.append(teamName, gamesPlayed, gamesWon, koDone, koReceived);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        apply(teamName, gamesPlayed, gamesWon, koDone, koReceived);
+
+        if (!compactionScheduled && journal.size() >= compactionThreshold && !compactor.isShutdown()) {
+            compactionScheduled = true;
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Error while compacting stats: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Sustituye todas las estadísticas por las de la lista, descartando lo que hubiera en el diario.
+     *
+     * @param statsList Lista de objetos Stats que se van a guardar.
+     * @throws JSONException Si ocurre un error al crear el formato JSON.
+     */
+    @Override
+    public void saveStats(List<Stats> statsList) throws JSONException {
+        List<Stats> replacement = new ArrayList<>(statsList.size());
+        for (Stats stats : statsList) {
+            replacement.add(copy(stats));
+        }
+        synchronized (compactionLock) {
+            synchronized (this) {
+                try {
+                    open();
+                    rotate();
+                    commit(replacement);
+                } catch (IOException e) {
+                    reset();
+                    throw new UncheckedIOException(e);
+                }
+                load(replacement);
+            }
+        }
+    }
+
+    /**
+     * Compacta el diario en el JSON ahora mismo, en el hilo que llama. Los resultados que se añadan
+     * mientras tanto van al diario nuevo.
+     *
+     * @throws IOException Si no se pueden leer o escribir los archivos.
+     */
+    public void compact() throws IOException {
+        synchronized (compactionLock) {
+            List<Stats> totals;
+            synchronized (this) {
+                compactionScheduled = false;
+                open();
+                if (journal.isEmpty()) {
+                    return;
+                }
+                rotate();
+                totals = new ArrayList<>(statsList.size());
+                for (Stats stats : statsList) {
+                    totals.add(copy(stats));
+                }
+            }
+            try {
+                commit(totals); // appends carry on meanwhile
+            } catch (IOException | RuntimeException e) {
+                synchronized (this) {
+                    reset();
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Espera a la compactación pendiente, si la hay, y cierra el diario. El diario no se compacta: sus
+     * registros se leen al volver a abrir el DAO.
+     *
+     * @throws IOException Si no se puede cerrar el diario.
+     */
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (journal != null) {
+                journal.close();
+            }
+            journal = null;
+            statsList = null;
+            statsByName = null;
+        }
+    }
+
+    /**
+     * Obtiene el tamaño actual del diario.
+     *
+     * @return El número de bytes del diario, o 0 si todavía no se ha abierto.
+     */
+    public synchronized long getJournalSize() {
+        return journal == null ? 0 : journal.size();
+    }
+
+    /**
+     * Recupera los totales la primera vez que se usa el DAO: termina o descarta una compactación
+     * interrumpida, lee la instantánea y repasa el diario.
+     */
+    private void open() throws IOException {
+        if (journal != null) {
+            return;
+        }
+        boolean compacting = Files.exists(compactingPath);
+        if (Files.exists(nextPath)) {
+            if (compacting) {
+                Files.delete(nextPath); // interrupted before step 3: it may be incomplete
+            } else {
+                Files.move(nextPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+
+        List<Stats> snapshot = new ArrayList<>();
+        if (Files.exists(snapshotPath) && !new StatsJSONDAO(snapshotPath.toString()).forEachStats(snapshot::add)) {
+            // Compacting over an unreadable snapshot would replace it with the journal alone
+            throw new IOException("Could not read " + snapshotPath + ".");
+        }
+        load(snapshot);
+
+        if (compacting) {
+            StatsJournal.replay(compactingPath, this::apply);
+            List<Stats> totals = new ArrayList<>(statsList.size());
+            for (Stats stats : statsList) {
+                totals.add(copy(stats));
+            }
+            commit(totals);
+        }
+        journal = StatsJournal.open(journalPath, this::apply);
+    }
+
+    /**
+     * Paso 1: aparta el diario actual y empieza uno vacío.
+     */
+    private void rotate() throws IOException {
+        journal.close();
+        journal = null;
+        Files.move(journalPath, compactingPath, StandardCopyOption.ATOMIC_MOVE);
+        journal = StatsJournal.open(journalPath, (teamName, gamesPlayed, gamesWon, koDone, koReceived) -> { });
+    }
+
+    /**
+     * Pasos 2 a 4: escribe los totales y los deja como instantánea.
+     */
+    private void commit(List<Stats> totals) throws IOException {
+        try {
+            new StatsJSONDAO(nextPath.toString()).saveStats(totals);
+        } catch (JSONException e) {
+            throw new IOException(e);
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        Files.deleteIfExists(compactingPath);
+        Files.move(nextPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Olvida los totales en memoria tras un error a mitad de una compactación, para que la siguiente
+     * consulta los recupere de los archivos igual que al arrancar.
+     */
+    private void reset() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Error while closing the stats journal: " + e.getMessage());
+            }
+        }
+        journal = null;
+        statsList = null;
+        statsByName = null;
+    }
+
+    private void load(List<Stats> snapshot) {
+        statsList = snapshot;
+        statsByName = new HashMap<>();
+        for (Stats stats : snapshot) {
+            statsByName.putIfAbsent(key(stats.getTeamName()), stats);
+        }
+    }
+
+    private void apply(String teamName, int gamesPlayed, int gamesWon, int koDone, int koReceived) {
+        Stats stats = statsByName.get(key(teamName));
+        if (stats == null) {
+            stats = new Stats(teamName, 0, 0, 0, 0);
+            statsList.add(stats);
+            statsByName.put(key(teamName), stats);
+        }
+        stats.addResults(gamesPlayed, gamesWon, koDone, koReceived);
+    }
+
+    private static String key(String teamName) {
+        return teamName.toLowerCase(Locale.ROOT);
+    }
+
+    private static Stats copy(Stats stats) {
+        return new Stats(stats.getTeamName(), stats.getGamesPlayed(), stats.getGamesWon(), stats.getKODone(), stats.getKOReceived());
+    }
+}
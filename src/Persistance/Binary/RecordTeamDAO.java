@@ -0,0 +1,376 @@
+package Persistance.Binary;
+
+import Business.Team.Team;
+import Persistance.JSON.TeamJSONDAO;
+import Persistance.TeamDAO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * DAO de equipos sobre un {@link TeamRecordFile}: crear un equipo añade un registro y borrarlo añade una
+ * lápida, así que ninguna de las dos operaciones lee ni reescribe el resto de equipos. Un índice en
+ * memoria guarda, para cada nombre, dónde está su registro vigente; {@link #getTeam} lee solo ese registro.
+ * <p>
+ * Los registros de equipos borrados o sustituidos siguen ocupando sitio hasta que un hilo en segundo plano
+ * compacta el archivo: copia los registros vigentes a un archivo nuevo y lo renombra sobre el original.
+ * Mientras copia se pueden seguir creando y borrando equipos; lo que se añada entretanto se copia al final.
+ * <p>
+ * La primera vez, si el archivo de registros no existe, se crea con los equipos del JSON de equipos. A
+ * partir de entonces el JSON no se vuelve a leer ni a escribir.
+ */
+public class RecordTeamDAO implements TeamDAO, Closeable {
+
+    /** Bytes de registros muertos a partir de los cuales se puede compactar. */
+    public static final long MIN_COMPACTION_BYTES = 1 << 20;
+
+    private final Path storePath;
+    private final Path seedPath;
+    private final Path compactingPath;
+    private final ExecutorService compactor;
+
+    // Compactions take this lock first and this object second; writes only take this object
+    private final Object compactionLock = new Object();
+
+    private TeamRecordFile file;
+    // Name (lower case) -> current record, in file order
+    private Map<String, Slot> index;
+    private long liveBytes;
+    private boolean compactionScheduled;
+
+    /**
+     * Posición y tamaño del registro vigente de un equipo.
+     */
+    private static final class Slot {
+        private final long offset;
+        private final int length;
+
+        Slot(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    /**
+     * Crea el DAO sobre un archivo de registros.
+     *
+     * @param storePath La ruta del archivo de registros.
+     * @param seedPath  El JSON de equipos con el que se crea el archivo si no existe, o null para empezar
+     *                  sin equipos.
+     */
+    public RecordTeamDAO(Path storePath, Path seedPath) {
+        this.storePath = storePath;
+        this.seedPath = seedPath;
+        this.compactingPath = storePath.resolveSibling(storePath.getFileName() + ".compacting");
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "team-compactor");
+            thread.setDaemon(true); // an unfinished copy is discarded on the next start
+            return thread;
+        });
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        List<Team> teams = new ArrayList<>();
+        if (!forEachTeam(teams::add)) {
+            teams.clear();
+        }
+        return teams;
+    }
+
+    /**
+     * Recorre el archivo en orden y entrega los equipos vigentes, saltando los borrados y sustituidos.
+     */
+    @Override
+    public synchronized boolean forEachTeam(Consumer<Team> consumer) {
+        try {
+            open();
+            Map<String, Slot> current = index;
+            file.forEachRecord(TeamRecordFile.HEADER_SIZE, file.size(), (offset, length, type, name, payload) -> {
+                Slot slot = current.get(key(name));
+                if (type == TeamRecordFile.TYPE_TEAM && slot != null && slot.offset == offset) {
+                    consumer.accept(TeamRecordFile.decodeMembers(name, payload));
+                }
+            });
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error: could not read teams! " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public synchronized Team getTeam(String name) {
+        try {
+            open();
+            Slot slot = name == null ? null : index.get(key(name));
+            return slot == null ? null : file.readTeam(slot.offset);
+        } catch (IOException e) {
+            System.err.println("Error: could not read teams! " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Añade el equipo al final del archivo. Si ya existía un equipo con el mismo nombre, lo sustituye.
+     *
+     * @throws UncheckedIOException Si no se puede escribir el registro.
+     */
+    @Override
+    public synchronized void createTeam(Team team) {
+        try {
+            open();
+            long offset = file.appendTeam(team);
+            String key = key(team.getTeamName());
+            Slot previous = index.remove(key); // remove first, so the map stays in file order
+            if (previous != null) {
+                liveBytes -= previous.length;
+            }
+            Slot slot = new Slot(offset, (int) (file.size() - offset));
+            index.put(key, slot);
+            liveBytes += slot.length;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        scheduleCompaction();
+    }
+
+    /**
+     * Añade una lápida con el nombre del equipo.
+     *
+     * @return true si el equipo existía, false si no existía o no se ha podido borrar.
+     */
+    @Override
+    public synchronized boolean deleteTeam(Team team) {
+        try {
+            open();
+            String key = key(team.getTeamName());
+            Slot slot = index.get(key);
+            if (slot == null) {
+                return false;
+            }
+            file.appendTombstone(team.getTeamName());
+            index.remove(key);
+            liveBytes -= slot.length;
+        } catch (IOException e) {
+            System.err.println("Error while deleting team: " + e.getMessage());
+            return false;
+        }
+        scheduleCompaction();
+        return true;
+    }
+
+    /**
+     * Compacta el archivo ahora mismo, en el hilo que llama.
+     *
+     * @throws IOException Si no se puede leer o escribir el archivo.
+     */
+    public void compact() throws IOException {
+        compact(() -> { });
+    }
+
+    /**
+     * Compacta el archivo y ejecuta una acción después de copiar los registros vigentes, justo antes de
+     * añadir los que se hayan escrito mientras tanto.
+     *
+     * @param afterCopy La acción, que se ejecuta en el hilo que compacta y sin bloquear el DAO.
+     * @throws IOException Si no se puede leer o escribir el archivo.
+     */
+    void compact(Runnable afterCopy) throws IOException {
+        synchronized (compactionLock) {
+            TeamRecordFile source;
+            List<Map.Entry<String, Slot>> live;
+            long end;
+            synchronized (this) {
+                compactionScheduled = false;
+                open();
+                if (deadBytes() == 0) {
+                    return;
+                }
+                source = file;
+                live = new ArrayList<>(index.entrySet());
+                end = file.size();
+            }
+
+            Files.deleteIfExists(compactingPath);
+            TeamRecordFile target = TeamRecordFile.open(compactingPath, (offset, length, type, name, payload) -> { });
+            try {
+                // Live records, merging runs that are next to each other into a single read
+                Map<String, Slot> compacted = new LinkedHashMap<>();
+                int run = 0;
+                while (run < live.size()) {
+                    int last = run;
+                    long runEnd = live.get(run).getValue().offset + live.get(run).getValue().length;
+                    while (last + 1 < live.size() && live.get(last + 1).getValue().offset == runEnd) {
+                        last++;
+                        runEnd += live.get(last).getValue().length;
+                    }
+                    long shift = target.appendRaw(source.read(live.get(run).getValue().offset, runEnd)) - live.get(run).getValue().offset;
+                    for (int i = run; i <= last; i++) {
+                        Slot slot = live.get(i).getValue();
+                        compacted.put(live.get(i).getKey(), new Slot(slot.offset + shift, slot.length));
+                    }
+                    run = last + 1;
+                }
+                afterCopy.run();
+
+                synchronized (this) {
+                    // Records written while copying: copy them as they are and apply them to the new index
+                    long tail = target.size();
+                    target.appendRaw(source.read(end, file.size()));
+                    long[] bytes = {0};
+                    target.forEachRecord(tail, target.size(), (offset, length, type, name, payload) -> {
+                        compacted.remove(key(name));
+                        if (type == TeamRecordFile.TYPE_TEAM) {
+                            compacted.put(key(name), new Slot(offset, length));
+                        }
+                    });
+                    for (Slot slot : compacted.values()) {
+                        bytes[0] += slot.length;
+                    }
+                    target.force();
+                    Files.move(compactingPath, storePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    source.close();
+                    file = target; // the open channel now refers to the renamed file
+                    index = compacted;
+                    liveBytes = bytes[0];
+                }
+            } catch (IOException | RuntimeException e) {
+                target.close();
+                Files.deleteIfExists(compactingPath);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Espera a la compactación pendiente, si la hay, y cierra el archivo.
+     *
+     * @throws IOException Si no se puede cerrar el archivo.
+     */
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (file != null) {
+                file.close();
+            }
+            file = null;
+            index = null;
+        }
+    }
+
+    /**
+     * Obtiene el tamaño del archivo y cuántos de sus bytes son registros muertos.
+     *
+     * @return Una línea con los dos tamaños.
+     */
+    public synchronized String describeFile() {
+        return file == null ? "closed" : "size=" + file.size() + ", dead=" + deadBytes() + ", teams=" + index.size();
+    }
+
+    /**
+     * Abre el archivo la primera vez que se usa el DAO, creándolo a partir del JSON si no existe.
+     */
+    private void open() throws IOException {
+        if (file != null) {
+            return;
+        }
+        Files.deleteIfExists(compactingPath); // a copy that never got renamed
+        if (!Files.exists(storePath)) {
+            importSeed();
+        }
+
+        Map<String, Slot> loaded = new LinkedHashMap<>();
+        long[] bytes = {0};
+        file = TeamRecordFile.open(storePath, (offset, length, type, name, payload) -> {
+            Slot previous = loaded.remove(key(name));
+            if (previous != null) {
+                bytes[0] -= previous.length;
+            }
+            if (type == TeamRecordFile.TYPE_TEAM) {
+                loaded.put(key(name), new Slot(offset, length));
+                bytes[0] += length;
+            }
+        });
+        index = loaded;
+        liveBytes = bytes[0];
+    }
+
+    /**
+     * Escribe los equipos del JSON en un archivo de registros nuevo. Si un nombre se repite, se queda el
+     * primero, que es el que encontraba la búsqueda por nombre en el JSON.
+     */
+    private void importSeed() throws IOException {
+        Path temporary = Files.createTempFile(storePath.toAbsolutePath().getParent(), storePath.getFileName().toString(), ".tmp");
+        try {
+            Files.delete(temporary); // TeamRecordFile writes the header of new files
+            try (TeamRecordFile seeded = TeamRecordFile.open(temporary, (offset, length, type, name, payload) -> { })) {
+                if (seedPath != null && Files.exists(seedPath)) {
+                    Map<String, Boolean> names = new LinkedHashMap<>();
+                    IOException[] failure = {null};
+                    boolean complete = new TeamJSONDAO(seedPath.toString()).forEachTeam(team -> {
+                        if (failure[0] == null && names.putIfAbsent(key(team.getTeamName()), Boolean.TRUE) == null) {
+                            try {
+                                seeded.appendTeam(team);
+                            } catch (IOException e) {
+                                failure[0] = e;
+                            }
+                        }
+                    });
+                    if (failure[0] != null) {
+                        throw failure[0];
+                    }
+                    if (!complete) {
+                        throw new IOException("Could not read " + seedPath + ".");
+                    }
+                }
+                seeded.force();
+            }
+            Files.move(temporary, storePath, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private long deadBytes() {
+        return file.size() - TeamRecordFile.HEADER_SIZE - liveBytes;
+    }
+
+    private void scheduleCompaction() {
+        long dead = deadBytes();
+        if (compactionScheduled || dead < MIN_COMPACTION_BYTES || dead < liveBytes || compactor.isShutdown()) {
+            return;
+        }
+        compactionScheduled = true;
+        compactor.execute(() -> {
+            try {
+                compact();
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Error while compacting teams: " + e.getMessage());
+            }
+        });
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,239 @@
+package Persistance.Binary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Diario de estadísticas: un archivo al que solo se añaden registros con lo que cada combate suma a las
+ * estadísticas de un equipo (partidas jugadas y ganadas y KOs realizados y recibidos).
+ * <p>
+ * Formato, en little-endian: una cabecera de {@link #HEADER_SIZE} bytes ("SLBJ" y la versión) seguida de
+ * registros con la longitud de los datos, su CRC32 y los datos (longitud y bytes UTF-8 del nombre del
+ * equipo y los cuatro contadores). Si el programa se interrumpe a mitad de una escritura, el último
+ * registro queda incompleto o con un CRC que no coincide; al abrir el diario se descarta a partir de ahí.
+ * <p>
+ * Cada registro se escribe con una sola llamada al sistema y sin forzarlo a disco: sobrevive a que el
+ * programa termine, pero no necesariamente a que lo haga el sistema operativo.
+ */
+public class StatsJournal implements Closeable {
+
+    /** "SLBJ" en ASCII. */
+    static final int MAGIC = 0x534C424A;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+    // Name length (short) and the four counters
+    private static final int FIXED_PAYLOAD = Short.BYTES + 4 * Integer.BYTES;
+    // Room for the largest record, so a record never has to be read in pieces
+    private static final int READ_BUFFER = 2 * Integer.BYTES + FIXED_PAYLOAD + MAX_NAME_BYTES;
+
+    private final FileChannel channel;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+    private long size;
+
+    /**
+     * Recibe los registros de un diario al repasarlo.
+     */
+    @FunctionalInterface
+    public interface DeltaConsumer {
+        void accept(String teamName, int gamesPlayed, int gamesWon, int koDone, int koReceived);
+    }
+
+    private StatsJournal(FileChannel channel, long size) {
+        this.channel = channel;
+        this.size = size;
+    }
+
+    /**
+     * Abre un diario para añadir registros, creándolo si no existe. Antes entrega todos sus registros
+     * válidos y recorta el registro incompleto del final, si lo hay.
+     *
+     * @param path   La ruta del diario.
+     * @param replay Recibe los registros que ya había en el diario.
+     * @return El diario abierto, colocado al final.
+     * @throws IOException Si no se puede leer o escribir el archivo, o si no es un diario de estadísticas.
+     */
+    public static StatsJournal open(Path path, DeltaConsumer replay) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long valid;
+            if (channel.size() < HEADER_SIZE) {
+                // New file, or the header itself was cut short: nothing can have been recorded yet
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(0, Integer.reverseBytes(MAGIC)); // big-endian, so the file starts with "SLBJ"
+                header.put(4, (byte) VERSION);
+                channel.truncate(0);
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                valid = HEADER_SIZE;
+            } else {
+                valid = read(channel, path, replay);
+            }
+            if (channel.size() > valid) {
+                channel.truncate(valid);
+            }
+            return new StatsJournal(channel, valid);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Entrega los registros válidos de un diario sin modificarlo.
+     *
+     * @param path     La ruta del diario.
+     * @param consumer Recibe cada registro, en el orden en que se escribieron.
+     * @throws IOException Si no se puede leer el archivo o no es un diario de estadísticas.
+     */
+    public static void replay(Path path, DeltaConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() >= HEADER_SIZE) {
+                read(channel, path, consumer);
+            }
+        }
+    }
+
+    /**
+     * Añade un registro al final del diario.
+     *
+     * @param teamName    El nombre del equipo.
+     * @param gamesPlayed Partidas jugadas a sumar.
+     * @param gamesWon    Partidas ganadas a sumar.
+     * @param koDone      KOs realizados a sumar.
+     * @param koReceived  KOs recibidos a sumar.
+     * @throws IOException Si no se puede escribir el registro.
+     */
+    public void append(String teamName, int gamesPlayed, int gamesWon, int koDone, int koReceived) throws IOException {
+        byte[] name = teamName.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Team name too long for the stats journal: " + teamName.length() + " characters.");
+        }
+        int payload = FIXED_PAYLOAD + name.length;
+        int length = 2 * Integer.BYTES + payload;
+        if (buffer.capacity() < length) {
+            buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        buffer.clear();
+        buffer.putInt(payload).putInt(0);
+        buffer.putShort((short) name.length).put(name);
+        buffer.putInt(gamesPlayed).putInt(gamesWon).putInt(koDone).putInt(koReceived);
+        buffer.flip();
+
+        crc.reset();
+        crc.update(buffer.array(), 2 * Integer.BYTES, payload);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+
+        long position = size;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        size = position;
+    }
+
+    /**
+     * Obtiene el tamaño del diario, cabecera incluida.
+     *
+     * @return El número de bytes escritos.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Indica si el diario no tiene ningún registro.
+     *
+     * @return true si solo tiene la cabecera.
+     */
+    public boolean isEmpty() {
+        return size == HEADER_SIZE;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Entrega los registros válidos y devuelve dónde termina el último. El archivo se lee por bloques con
+     * {@link FileChannel#read(ByteBuffer, long)}, sin proyectarlo en memoria, para que al abrir se pueda
+     * recortar justo después.
+     */
+    private static long read(FileChannel channel, Path path, DeltaConsumer consumer) throws IOException {
+        ByteBuffer data = ByteBuffer.allocate(READ_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+        data.limit(0);
+        if (!fill(channel, data, 0, HEADER_SIZE)) {
+            throw new IOException("Not a stats journal: " + path);
+        }
+        if (Integer.reverseBytes(data.getInt(0)) != MAGIC) {
+            throw new IOException("Not a stats journal: " + path);
+        }
+        if (data.get(4) != VERSION) {
+            throw new IOException("Unsupported stats journal version " + data.get(4) + ": " + path);
+        }
+        data.position(HEADER_SIZE);
+
+        CRC32 crc = new CRC32();
+        long position = HEADER_SIZE;
+        while (fill(channel, data, position, 2 * Integer.BYTES)) {
+            int record = data.position();
+            int payload = data.getInt(record);
+            if (payload < FIXED_PAYLOAD || payload > FIXED_PAYLOAD + MAX_NAME_BYTES
+                    || !fill(channel, data, position, 2 * Integer.BYTES + payload)) {
+                break;
+            }
+            record = data.position(); // fill may have moved the record to the start of the buffer
+            int start = record + 2 * Integer.BYTES;
+            crc.reset();
+            crc.update(data.slice(start, payload));
+            if ((int) crc.getValue() != data.getInt(record + Integer.BYTES)) {
+                break;
+            }
+            int nameLength = Short.toUnsignedInt(data.getShort(start));
+            if (FIXED_PAYLOAD + nameLength != payload) {
+                break;
+            }
+            byte[] name = new byte[nameLength];
+            data.get(start + Short.BYTES, name);
+            int counters = start + Short.BYTES + nameLength;
+            consumer.accept(new String(name, StandardCharsets.UTF_8), data.getInt(counters), data.getInt(counters + 4),
+                    data.getInt(counters + 8), data.getInt(counters + 12));
+            data.position(start + payload);
+            position += 2 * Integer.BYTES + payload;
+        }
+        return position;
+    }
+
+    /**
+     * Deja en el búfer, a partir de su posición, al menos {@code needed} bytes del archivo a partir de
+     * {@code offset}, que es la posición del archivo que corresponde a la del búfer.
+     *
+     * @return false si el archivo termina antes.
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer data, long offset, int needed) throws IOException {
+        if (data.remaining() >= needed) {
+            return true;
+        }
+        data.compact();
+        long next = offset + data.position();
+        while (data.position() < needed) {
+            int read = channel.read(data, next);
+            if (read < 0) {
+                break;
+            }
+            next += read;
+        }
+        data.flip();
+        return data.remaining() >= needed;
+    }
+}
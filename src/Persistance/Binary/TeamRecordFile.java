@@ -0,0 +1,374 @@
+package Persistance.Binary;
+
+import Business.Team.Member;
+import Business.Team.Team;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Archivo de registros de equipos: cada alta añade un registro con el equipo entero y cada baja un
+ * registro de borrado (lápida) con el nombre, sin modificar lo que ya estaba escrito.
+ * <p>
+ * Formato, en little-endian: una cabecera de {@link #HEADER_SIZE} bytes ("SLBT" y la versión) seguida de
+ * registros con la longitud de los datos, su CRC32 y los datos: el tipo, el nombre del equipo (longitud y
+ * bytes UTF-8) y, en las altas, el número de miembros y el ID y la estrategia de cada uno. Igual que en
+ * {@link StatsJournal}, un registro a medio escribir se descarta al abrir el archivo.
+ */
+public class TeamRecordFile implements Closeable {
+
+    /** "SLBT" en ASCII. */
+    static final int MAGIC = 0x534C4254;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+
+    static final byte TYPE_TEAM = 1;
+    static final byte TYPE_TOMBSTONE = 2;
+
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+    // Records larger than this are read into a buffer of their own size
+    private static final int READ_BUFFER = 1 << 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final CRC32 crc = new CRC32();
+    private long size;
+
+    /**
+     * Recibe los registros de un archivo al recorrerlo.
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+        /**
+         * @param offset  Posición del registro en el archivo.
+         * @param length  Bytes que ocupa el registro, cabecera incluida.
+         * @param type    {@link #TYPE_TEAM} o {@link #TYPE_TOMBSTONE}.
+         * @param name    El nombre del equipo.
+         * @param payload Los datos del registro, colocados después del nombre.
+         */
+        void accept(long offset, int length, byte type, String name, ByteBuffer payload);
+    }
+
+    private TeamRecordFile(Path path, FileChannel channel, long size) {
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+    }
+
+    /**
+     * Abre un archivo de registros, creándolo si no existe. Antes entrega todos sus registros válidos y
+     * recorta el registro incompleto del final, si lo hay.
+     *
+     * @param path     La ruta del archivo.
+     * @param consumer Recibe los registros que ya había en el archivo.
+     * @return El archivo abierto, colocado al final.
+     * @throws IOException Si no se puede leer o escribir el archivo, o si no es un archivo de equipos.
+     */
+    public static TeamRecordFile open(Path path, RecordConsumer consumer) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long valid;
+            if (channel.size() < HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(0, Integer.reverseBytes(MAGIC)); // big-endian, so the file starts with "SLBT"
+                header.put(4, (byte) VERSION);
+                channel.truncate(0);
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                valid = HEADER_SIZE;
+            } else {
+                valid = scan(channel, path, HEADER_SIZE, channel.size(), consumer);
+            }
+            if (channel.size() > valid) {
+                channel.truncate(valid);
+            }
+            return new TeamRecordFile(path, channel, valid);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Añade el registro de alta de un equipo.
+     *
+     * @param team El equipo.
+     * @return La posición del registro en el archivo.
+     * @throws IOException Si no se puede escribir el registro.
+     */
+    public long appendTeam(Team team) throws IOException {
+        return append(encodeTeam(team));
+    }
+
+    /**
+     * Añade el registro de borrado de un equipo.
+     *
+     * @param name El nombre del equipo.
+     * @return La posición del registro en el archivo.
+     * @throws IOException Si no se puede escribir el registro.
+     */
+    public long appendTombstone(String name) throws IOException {
+        byte[] nameBytes = bytes(name);
+        ByteBuffer record = newRecord(1 + Short.BYTES + nameBytes.length);
+        record.put(TYPE_TOMBSTONE).putShort((short) nameBytes.length).put(nameBytes);
+        return append(record);
+    }
+
+    /**
+     * Copia tal cual registros ya codificados, por ejemplo los de otro archivo.
+     *
+     * @param records Registros completos, con su cabecera.
+     * @return La posición en la que empieza el primero.
+     * @throws IOException Si no se pueden escribir.
+     */
+    long appendRaw(ByteBuffer records) throws IOException {
+        long start = size;
+        long position = size;
+        while (records.hasRemaining()) {
+            position += channel.write(records, position);
+        }
+        size = position;
+        return start;
+    }
+
+    /**
+     * Lee el equipo de un registro de alta.
+     *
+     * @param offset La posición del registro.
+     * @return El equipo.
+     * @throws IOException Si no se puede leer el registro o no es un alta válida.
+     */
+    public Team readTeam(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(header, offset);
+        int payload = header.getInt(0);
+        if (payload <= 0 || offset + RECORD_HEADER_SIZE + payload > size) {
+            throw new IOException("Invalid team record at " + offset + " in " + path);
+        }
+        ByteBuffer data = ByteBuffer.allocate(payload).order(ByteOrder.LITTLE_ENDIAN);
+        readFully(data, offset + RECORD_HEADER_SIZE);
+        data.flip();
+        if (data.get(0) != TYPE_TEAM) {
+            throw new IOException("Not a team record at " + offset + " in " + path);
+        }
+        data.position(1);
+        String name = readString(data);
+        return decodeMembers(name, data);
+    }
+
+    /**
+     * Recorre los registros entre dos posiciones.
+     *
+     * @param from     Posición del primer registro.
+     * @param to       Posición en la que termina el último.
+     * @param consumer Recibe cada registro.
+     * @throws IOException Si no se puede leer el archivo.
+     */
+    public void forEachRecord(long from, long to, RecordConsumer consumer) throws IOException {
+        scan(channel, path, from, to, consumer);
+    }
+
+    /**
+     * Lee los bytes de un tramo del archivo.
+     *
+     * @param from Posición inicial.
+     * @param to   Posición final.
+     * @return Los bytes del tramo, listos para leer.
+     * @throws IOException Si no se puede leer el archivo.
+     */
+    ByteBuffer read(long from, long to) throws IOException {
+        ByteBuffer data = ByteBuffer.allocate(Math.toIntExact(to - from));
+        readFully(data, from);
+        return data.flip();
+    }
+
+    /**
+     * Escribe en disco lo que se ha añadido.
+     *
+     * @throws IOException Si no se puede escribir.
+     */
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Obtiene el tamaño del archivo, cabecera incluida.
+     *
+     * @return El número de bytes escritos.
+     */
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Crea los miembros de un registro de alta, leyendo desde la posición actual de los datos.
+     *
+     * @param name    El nombre del equipo, ya leído.
+     * @param payload Los datos del registro, colocados después del nombre.
+     * @return El equipo.
+     */
+    static Team decodeMembers(String name, ByteBuffer payload) {
+        int count = payload.getInt();
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = payload.getLong();
+            members.add(new Member(id, readString(payload)));
+        }
+        return new Team(name, members);
+    }
+
+    private long append(ByteBuffer record) throws IOException {
+        record.flip();
+        int payload = record.limit() - RECORD_HEADER_SIZE;
+        record.putInt(0, payload);
+        crc.reset();
+        crc.update(record.array(), RECORD_HEADER_SIZE, payload);
+        record.putInt(Integer.BYTES, (int) crc.getValue());
+        return appendRaw(record);
+    }
+
+    private static ByteBuffer encodeTeam(Team team) {
+        byte[] name = bytes(team.getTeamName());
+        List<Member> members = team.getTeamMembers();
+        byte[][] strategies = new byte[members.size()][];
+        int length = 1 + Short.BYTES + name.length + Integer.BYTES;
+        for (int i = 0; i < strategies.length; i++) {
+            String strategy = members.get(i).getStrategy();
+            strategies[i] = bytes(strategy == null ? "" : strategy);
+            length += Long.BYTES + Short.BYTES + strategies[i].length;
+        }
+
+        ByteBuffer record = newRecord(length);
+        record.put(TYPE_TEAM).putShort((short) name.length).put(name);
+        record.putInt(members.size());
+        for (int i = 0; i < strategies.length; i++) {
+            record.putLong(members.get(i).getMemberId());
+            record.putShort((short) strategies[i].length).put(strategies[i]);
+        }
+        return record;
+    }
+
+    private static ByteBuffer newRecord(int payload) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload).order(ByteOrder.LITTLE_ENDIAN);
+        record.position(RECORD_HEADER_SIZE);
+        return record;
+    }
+
+    private static byte[] bytes(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("Text too long for the team store: " + value.length() + " characters.");
+        }
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer data) {
+        int length = Short.toUnsignedInt(data.getShort());
+        byte[] bytes = new byte[length];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of " + path);
+            }
+        }
+    }
+
+    /**
+     * Entrega los registros válidos de un tramo y devuelve dónde termina el último. El archivo se lee por
+     * bloques con {@link FileChannel#read(ByteBuffer, long)}, sin proyectarlo en memoria, para que al abrir
+     * se pueda recortar justo después.
+     */
+    private static long scan(FileChannel channel, Path path, long from, long to, RecordConsumer consumer) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.limit(0);
+        if (!fill(channel, header, 0, HEADER_SIZE, to)) {
+            throw new IOException("Not a team store: " + path);
+        }
+        if (Integer.reverseBytes(header.getInt(0)) != MAGIC) {
+            throw new IOException("Not a team store: " + path);
+        }
+        if (header.get(4) != VERSION) {
+            throw new IOException("Unsupported team store version " + header.get(4) + ": " + path);
+        }
+
+        ByteBuffer data = ByteBuffer.allocate(READ_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+        data.limit(0);
+        CRC32 crc = new CRC32();
+        long position = from;
+        while (fill(channel, data, position, RECORD_HEADER_SIZE, to)) {
+            int payload = data.getInt(data.position());
+            if (payload < 1 + Short.BYTES || payload > to - position - RECORD_HEADER_SIZE) {
+                break;
+            }
+            if (RECORD_HEADER_SIZE + payload > data.capacity()) {
+                data = ByteBuffer.allocate(RECORD_HEADER_SIZE + payload).order(ByteOrder.LITTLE_ENDIAN).put(data).flip();
+            }
+            if (!fill(channel, data, position, RECORD_HEADER_SIZE + payload, to)) {
+                break;
+            }
+            int record = data.position(); // fill may have moved the record to the start of the buffer
+            int start = record + RECORD_HEADER_SIZE;
+            crc.reset();
+            crc.update(data.slice(start, payload));
+            if ((int) crc.getValue() != data.getInt(record + Integer.BYTES)) {
+                break;
+            }
+            ByteBuffer body = data.slice(start, payload).order(ByteOrder.LITTLE_ENDIAN);
+            byte type = body.get();
+            if (type != TYPE_TEAM && type != TYPE_TOMBSTONE) {
+                break;
+            }
+            String name = readString(body);
+            consumer.accept(position, RECORD_HEADER_SIZE + payload, type, name, body);
+            data.position(start + payload);
+            position += RECORD_HEADER_SIZE + payload;
+        }
+        return position;
+    }
+
+    /**
+     * Deja en el búfer, a partir de su posición, al menos {@code needed} bytes del archivo a partir de
+     * {@code offset}, que es la posición del archivo que corresponde a la del búfer. No lee más allá de
+     * {@code to}.
+     *
+     * @return false si el tramo termina antes.
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer data, long offset, int needed, long to) throws IOException {
+        if (data.remaining() >= needed) {
+            return true;
+        }
+        data.compact();
+        data.limit((int) Math.min(data.capacity(), to - offset));
+        long next = offset + data.position();
+        while (data.position() < needed && data.hasRemaining()) {
+            int read = channel.read(data, next);
+            if (read < 0) {
+                break;
+            }
+            next += read;
+        }
+        data.flip();
+        return data.remaining() >= needed;
+    }
+}
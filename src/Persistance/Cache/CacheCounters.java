@@ -0,0 +1,51 @@
+package Persistance.Cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de uso de la caché de un archivo: aciertos (se sirve de memoria), fallos (primera lectura),
+ * recargas (el archivo ha cambiado desde la última lectura) y registros que han cambiado en las recargas.
+ */
+public class CacheCounters {
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder changed = new LongAdder();
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void reload() {
+        reloads.increment();
+    }
+
+    void changed(int records) {
+        changed.add(records);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getReloads() {
+        return reloads.sum();
+    }
+
+    public long getChangedRecords() {
+        return changed.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + getHits() + ", misses=" + getMisses() + ", reloads=" + getReloads() + ", changed records=" + getChangedRecords();
+    }
+}
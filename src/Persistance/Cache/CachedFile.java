@@ -0,0 +1,419 @@
+package Persistance.Cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Contenido en memoria de un archivo de datos: los registros leídos por un DAO y un índice construido a
+ * partir de ellos.
+ * <p>
+ * En cada consulta solo se leen los atributos del archivo; los registros se vuelven a leer únicamente si
+ * su fecha de modificación o su tamaño han cambiado, o si se ha llamado a {@link #invalidate()} (después
+ * de escribir el archivo a través de la caché). Si el archivo está vigilado ({@link #watch}), ni siquiera
+ * se leen los atributos: el {@link DataDirectoryWatcher} llama a {@link #reload()} cuando cambia. Si el
+ * vigilante para, se vuelven a leer los atributos en cada consulta.
+ * <p>
+ * Al recargar, los registros se comparan por clave con los anteriores: los que no han cambiado se
+ * reutilizan y el índice se corrige con los cambios en lugar de construirse de nuevo. Los índices que solo
+ * se pueden corregir si las claves no se han movido ({@link #inOrder}) comparan los registros por posición,
+ * sin mapas de claves, y se vuelven a indexar en cuanto una clave cambia de sitio. Si el archivo no se
+ * puede leer entero (por ejemplo, porque se está guardando en ese momento), se siguen sirviendo los
+ * registros anteriores.
+ * <p>
+ * Las consultas que aciertan no toman ningún cerrojo, así que varios hilos pueden leer a la vez; solo la
+ * recarga del archivo se hace de una en una, y los lectores pasan a la versión nueva de golpe.
+ *
+ * @param <I> Tipo del índice.
+ * @param <T> Tipo de los registros.
+ */
+class CachedFile<I, T> {
+    private final Path path;
+    private final Loader<T> loader;
+    private final Function<List<T>, I> indexer;
+    private final Function<T, Object> key;
+    private final BiPredicate<T, T> sameKey;
+    private final BiPredicate<T, T> sameRecord;
+    private final IndexPatcher<I, T> patcher;
+    private final CacheCounters counters = new CacheCounters();
+
+    // Bumped by invalidate(); a snapshot loaded before the last bump is stale
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot<I, T> snapshot;
+    private volatile boolean watched;
+    private volatile boolean lastLoadComplete = true;
+
+    /**
+     * Lee los registros de un archivo y los entrega uno a uno.
+     */
+    @FunctionalInterface
+    interface Loader<T> {
+        /**
+         * @return true si se ha leído el archivo entero, false si ha habido un error.
+         */
+        boolean load(Consumer<T> consumer);
+    }
+
+    /**
+     * Corrige el índice de la versión anterior con los cambios de una recarga.
+     */
+    @FunctionalInterface
+    interface IndexPatcher<I, T> {
+        I patch(I previous, List<T> records, Changes<T> changes);
+    }
+
+    /**
+     * Diferencias entre los registros de dos versiones de un archivo, por clave.
+     */
+    static final class Changes<T> {
+        final List<T> removed = new ArrayList<>();
+        final List<T> changed = new ArrayList<>();
+        final List<T> added = new ArrayList<>();
+        /** Si las claves son las mismas y están en las mismas posiciones. */
+        boolean sameOrder = true;
+
+        int size() {
+            return removed.size() + changed.size() + added.size();
+        }
+    }
+
+    /**
+     * Registros leídos del archivo, su índice y los atributos que tenía el archivo al leerlos.
+     */
+    private static final class Snapshot<I, T> {
+        private final List<T> records;
+        private final I index;
+        private final FileTime modified;
+        private final long size;
+        private final long generation;
+
+        Snapshot(List<T> records, I index, FileTime modified, long size, long generation) {
+            this.records = records;
+            this.index = index;
+            this.modified = modified;
+            this.size = size;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Crea la caché de un archivo que se vuelve a indexar entero en cada recarga.
+     */
+    CachedFile(Path path, Loader<T> loader, Function<List<T>, I> indexer) {
+        this(path, loader, indexer, null, null, null);
+    }
+
+    /**
+     * Crea la caché de un archivo cuyo índice se corrige con los cambios de cada recarga.
+     *
+     * @param key        La clave de un registro, la misma con la que se indexa.
+     * @param sameRecord Si dos registros con la misma clave tienen el mismo contenido.
+     * @param patcher    Corrige el índice anterior; null para volver a indexar siempre.
+     */
+    CachedFile(Path path, Loader<T> loader, Function<List<T>, I> indexer,
+               Function<T, Object> key, BiPredicate<T, T> sameRecord, IndexPatcher<I, T> patcher) {
+        this(path, loader, indexer, key, null, sameRecord, patcher);
+    }
+
+    private CachedFile(Path path, Loader<T> loader, Function<List<T>, I> indexer, Function<T, Object> key,
+                       BiPredicate<T, T> sameKey, BiPredicate<T, T> sameRecord, IndexPatcher<I, T> patcher) {
+        this.path = path;
+        this.loader = loader;
+        this.indexer = indexer;
+        this.key = key;
+        this.sameKey = sameKey;
+        this.sameRecord = sameRecord;
+        this.patcher = patcher;
+    }
+
+    /**
+     * Crea la caché de un archivo cuyo índice solo se corrige si la recarga trae las mismas claves en las
+     * mismas posiciones (el corrector recibe siempre {@code sameOrder}); si no, se vuelve a indexar entero.
+     * Los registros se comparan por posición, sin crear un objeto por clave, así que sirve para claves
+     * primitivas como el ID de los personajes.
+     *
+     * @param sameKey    Si dos registros tienen la misma clave.
+     * @param sameRecord Si dos registros con la misma clave tienen el mismo contenido.
+     * @param patcher    Corrige el índice anterior con los registros cambiados.
+     */
+    static <I, T> CachedFile<I, T> inOrder(Path path, Loader<T> loader, Function<List<T>, I> indexer,
+                                           BiPredicate<T, T> sameKey, BiPredicate<T, T> sameRecord,
+                                           IndexPatcher<I, T> patcher) {
+        return new CachedFile<>(path, loader, indexer, null, sameKey, sameRecord, patcher);
+    }
+
+    /**
+     * Crea el constructor de un índice por clave en un mapa. Si una clave se repite se queda el primer
+     * registro, igual que una búsqueda lineal.
+     *
+     * @param key La función que obtiene la clave de un registro.
+     * @return La función que indexa una lista de registros.
+     */
+    static <K, T> Function<List<T>, Map<K, T>> byKey(Function<T, K> key) {
+        return records -> {
+            Map<K, T> index = new HashMap<>();
+            for (T record : records) {
+                index.putIfAbsent(key.apply(record), record);
+            }
+            return index;
+        };
+    }
+
+    /**
+     * Crea el corrector de un índice construido con {@link #byKey}: copia el mapa y cambia solo las
+     * entradas de los registros borrados, cambiados y añadidos.
+     *
+     * @param key La función que obtiene la clave de un registro.
+     * @return El corrector del índice.
+     */
+    static <K, T> IndexPatcher<Map<K, T>, T> patchByKey(Function<T, K> key) {
+        return (previous, records, changes) -> {
+            Map<K, T> index = new HashMap<>(previous);
+            for (T record : changes.removed) {
+                index.remove(key.apply(record));
+            }
+            for (T record : changes.changed) {
+                index.put(key.apply(record), record);
+            }
+            for (T record : changes.added) {
+                index.put(key.apply(record), record);
+            }
+            return index;
+        };
+    }
+
+    /**
+     * Obtiene los registros, leyendo el archivo solo si ha cambiado.
+     *
+     * @return Los registros, en una lista que no se puede modificar.
+     */
+    List<T> records() {
+        return refresh().records;
+    }
+
+    /**
+     * Obtiene el índice de los registros, leyendo el archivo solo si ha cambiado.
+     *
+     * @return El índice, que corresponde a la lista devuelta por {@link #records()} en ese momento.
+     */
+    I index() {
+        return refresh().index;
+    }
+
+    /**
+     * Lee el archivo, si no estaba ya en memoria, y construye su índice.
+     *
+     * @return El número de registros, o -1 si la última lectura del archivo ha fallado.
+     */
+    long preload() {
+        int records = records().size();
+        return lastLoadComplete ? records : -1;
+    }
+
+    /**
+     * Obliga a volver a leer el archivo en la próxima consulta.
+     */
+    void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Deja de comprobar el archivo en cada consulta y lo vuelve a leer solo cuando el vigilante avisa de
+     * que ha cambiado, hasta que el vigilante pare.
+     *
+     * @param watcher El vigilante del directorio del archivo.
+     */
+    void watch(DataDirectoryWatcher watcher) {
+        watcher.register(path, this::reload);
+        watched = true;
+        // Changes made while nobody watches are caught by the modification time and size checks
+        watcher.onStop(() -> watched = false);
+    }
+
+    /**
+     * Vuelve a leer el archivo ahora, si ya se había leído; si no, se leerá en la primera consulta.
+     */
+    void reload() {
+        if (snapshot == null) {
+            return;
+        }
+        synchronized (this) {
+            FileTime currentModified = null;
+            long currentSize = -1;
+            try {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                currentModified = attributes.lastModifiedTime();
+                currentSize = attributes.size();
+            } catch (IOException e) {
+                // Missing file, as in refresh()
+            }
+            load(snapshot, currentModified, currentSize);
+        }
+    }
+
+    CacheCounters getCounters() {
+        return counters;
+    }
+
+    private Snapshot<I, T> refresh() {
+        Snapshot<I, T> current = snapshot;
+        if (watched && current != null && current.generation == generation.get()) {
+            counters.hit();
+            return current;
+        }
+        FileTime currentModified = null;
+        long currentSize = -1;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            currentModified = attributes.lastModifiedTime();
+            currentSize = attributes.size();
+        } catch (IOException e) {
+            // Missing file: the DAO reports it when loading, and we keep serving that (empty) result
+        }
+        if (isCurrent(current, currentModified, currentSize)) {
+            counters.hit();
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (isCurrent(current, currentModified, currentSize)) {
+                counters.hit(); // another thread reloaded it while we waited
+                return current;
+            }
+            return load(current, currentModified, currentSize);
+        }
+    }
+
+    private boolean isCurrent(Snapshot<I, T> current, FileTime currentModified, long currentSize) {
+        return current != null && current.generation == generation.get()
+                && Objects.equals(currentModified, current.modified) && currentSize == current.size;
+    }
+
+    /**
+     * Lee el archivo y publica la versión nueva. Se llama con el cerrojo de este objeto.
+     */
+    private Snapshot<I, T> load(Snapshot<I, T> current, FileTime currentModified, long currentSize) {
+        if (current == null) {
+            counters.miss();
+        } else {
+            counters.reload();
+        }
+        long loadedGeneration = generation.get(); // read first: an invalidate during the load forces another one
+        List<T> loaded = new ArrayList<>();
+        boolean complete = loader.load(loaded::add);
+        lastLoadComplete = complete;
+
+        Snapshot<I, T> next;
+        if (!complete && current != null) {
+            // Keep serving the last good version until the file changes again
+            next = new Snapshot<>(current.records, current.index, currentModified, currentSize, loadedGeneration);
+        } else {
+            if (!complete) {
+                loaded.clear(); // a broken file reads as empty, as the DAOs do
+            }
+            if (current == null || patcher == null) {
+                next = index(loaded, currentModified, currentSize, loadedGeneration);
+            } else if (sameKey != null) {
+                next = patchInOrder(current, loaded, currentModified, currentSize, loadedGeneration);
+            } else {
+                next = patch(current, loaded, currentModified, currentSize, loadedGeneration);
+            }
+        }
+        snapshot = next;
+        return next;
+    }
+
+    private Snapshot<I, T> index(List<T> loaded, FileTime modified, long size, long loadedGeneration) {
+        List<T> records = Collections.unmodifiableList(loaded);
+        return new Snapshot<>(records, indexer.apply(records), modified, size, loadedGeneration);
+    }
+
+    /**
+     * Compara los registros leídos con los anteriores, reutiliza los que no han cambiado y corrige el
+     * índice. Si alguna clave está repetida, vuelve a indexar: el índice solo guarda el primero.
+     */
+    private Snapshot<I, T> patch(Snapshot<I, T> current, List<T> loaded, FileTime modified, long size, long loadedGeneration) {
+        Map<Object, T> previous = new HashMap<>(current.records.size() * 2);
+        for (T record : current.records) {
+            if (previous.putIfAbsent(key.apply(record), record) != null) {
+                return index(loaded, modified, size, loadedGeneration);
+            }
+        }
+
+        Changes<T> changes = new Changes<>();
+        changes.sameOrder = loaded.size() == current.records.size();
+        Map<Object, T> seen = new HashMap<>(loaded.size() * 2);
+        for (int i = 0; i < loaded.size(); i++) {
+            T record = loaded.get(i);
+            Object recordKey = key.apply(record);
+            if (seen.putIfAbsent(recordKey, record) != null) {
+                return index(loaded, modified, size, loadedGeneration);
+            }
+            T old = previous.get(recordKey);
+            if (old == null) {
+                changes.added.add(record);
+            } else if (sameRecord.test(old, record)) {
+                loaded.set(i, old);
+            } else {
+                changes.changed.add(record);
+            }
+            if (changes.sameOrder && !recordKey.equals(key.apply(current.records.get(i)))) {
+                changes.sameOrder = false;
+            }
+        }
+        for (Map.Entry<Object, T> entry : previous.entrySet()) {
+            if (!seen.containsKey(entry.getKey())) {
+                changes.removed.add(entry.getValue());
+            }
+        }
+        return patched(current, loaded, changes, modified, size, loadedGeneration);
+    }
+
+    /**
+     * Compara los registros leídos con los anteriores posición a posición. Si todas las claves siguen en su
+     * sitio, reutiliza los registros que no han cambiado y corrige el índice; si no, vuelve a indexar.
+     */
+    private Snapshot<I, T> patchInOrder(Snapshot<I, T> current, List<T> loaded, FileTime modified, long size, long loadedGeneration) {
+        List<T> previous = current.records;
+        if (loaded.size() != previous.size()) {
+            return index(loaded, modified, size, loadedGeneration);
+        }
+        Changes<T> changes = new Changes<>();
+        for (int i = 0; i < loaded.size(); i++) {
+            T old = previous.get(i);
+            T record = loaded.get(i);
+            if (!sameKey.test(old, record)) {
+                return index(loaded, modified, size, loadedGeneration);
+            }
+            if (sameRecord.test(old, record)) {
+                loaded.set(i, old);
+            } else {
+                changes.changed.add(record);
+            }
+        }
+        return patched(current, loaded, changes, modified, size, loadedGeneration);
+    }
+
+    private Snapshot<I, T> patched(Snapshot<I, T> current, List<T> loaded, Changes<T> changes,
+                                   FileTime modified, long size, long loadedGeneration) {
+        if (changes.size() == 0 && changes.sameOrder) {
+            return new Snapshot<>(current.records, current.index, modified, size, loadedGeneration);
+        }
+        counters.changed(changes.size());
+        List<T> records = Collections.unmodifiableList(loaded);
+        return new Snapshot<>(records, patcher.patch(current.index, records, changes), modified, size, loadedGeneration);
+    }
+}
@@ -0,0 +1,85 @@
+package Persistance.Cache;
+
+import Business.Character.Character;
+import Business.Character.CharacterIndex;
+import Persistance.CharacterDAO;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DAO de personajes que lee el archivo una sola vez y sirve las consultas desde memoria mientras el
+ * archivo no cambie.
+ * <p>
+ * Devuelve copias de los personajes, porque el combate les cambia el daño y los ítems; así cada lectura
+ * empieza con personajes limpios, igual que al leer el archivo.
+ */
+public class CachingCharacterDAO implements CharacterDAO {
+    private final CachedFile<CharacterIndex, Character> file;
+
+    /**
+     * Crea la caché sobre un DAO de personajes.
+     *
+     * @param delegate El DAO que lee el archivo.
+     * @param path     La ruta del archivo que lee el DAO, para detectar sus cambios.
+     */
+    public CachingCharacterDAO(CharacterDAO delegate, Path path) {
+        this.file = CachedFile.inOrder(path, delegate::forEachCharacter, CharacterIndex::new,
+                (a, b) -> a.getId() == b.getId(), CachingCharacterDAO::sameCharacter,
+                (previous, characters, changes) -> previous.withCharacters(characters));
+    }
+
+    @Override
+    public List<Character> getCharacters() {
+        List<Character> cached = file.records();
+        List<Character> characters = new ArrayList<>(cached.size());
+        for (Character character : cached) {
+            characters.add(copy(character));
+        }
+        return characters;
+    }
+
+    @Override
+    public Character getCharacter(long id) {
+        Character character = file.index().get(id);
+        return character == null ? null : copy(character);
+    }
+
+    /**
+     * Recarga los personajes cuando el vigilante avisa de que el archivo ha cambiado, en lugar de comprobarlo
+     * en cada consulta.
+     *
+     * @param watcher El vigilante del directorio del archivo.
+     */
+    public void watch(DataDirectoryWatcher watcher) {
+        file.watch(watcher);
+    }
+
+    /**
+     * Lee los personajes, si no estaban ya en memoria, para que la primera
+     * consulta no tenga que esperar al archivo.
+     *
+     * @return El número de registros, o -1 si no se ha podido leer el archivo.
+     */
+    public long preload() {
+        return file.preload();
+    }
+
+    /**
+     * Obtiene los contadores de uso de la caché.
+     *
+     * @return Los aciertos, fallos y recargas.
+     */
+    public CacheCounters getCounters() {
+        return file.getCounters();
+    }
+
+    private static boolean sameCharacter(Character a, Character b) {
+        return a.getName().equals(b.getName()) && a.getWeight() == b.getWeight();
+    }
+
+    private static Character copy(Character character) {
+        return new Character(character.getId(), character.getName(), character.getWeight());
+    }
+}
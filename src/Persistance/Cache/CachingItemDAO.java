@@ -0,0 +1,111 @@
+package Persistance.Cache;
+
+import Business.Item.Armor;
+import Business.Item.Item;
+import Business.Item.Weapon;
+import Persistance.ItemDAO;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DAO de ítems que lee el archivo una sola vez y sirve las consultas desde memoria mientras el archivo
+ * no cambie.
+ * <p>
+ * Devuelve copias de los ítems, porque el combate les gasta la durabilidad.
+ */
+public class CachingItemDAO implements ItemDAO {
+    private final CachedFile<Map<Long, Item>, Item> file;
+
+    /**
+     * Crea la caché sobre un DAO de ítems.
+     *
+     * @param delegate El DAO que lee el archivo.
+     * @param path     La ruta del archivo que lee el DAO, para detectar sus cambios.
+     */
+    public CachingItemDAO(ItemDAO delegate, Path path) {
+        this.file = new CachedFile<>(path, delegate::forEachItem, CachedFile.byKey(Item::getId), Item::getId,
+                CachingItemDAO::sameItem, CachedFile.patchByKey(Item::getId));
+    }
+
+    @Override
+    public List<Item> getItems() {
+        List<Item> cached = file.records();
+        List<Item> items = new ArrayList<>(cached.size());
+        for (Item item : cached) {
+            items.add(copy(item));
+        }
+        return items;
+    }
+
+    @Override
+    public List<Weapon> getWeapons() {
+        List<Weapon> weapons = new ArrayList<>();
+        for (Item item : file.records()) {
+            if (item instanceof Weapon) {
+                weapons.add((Weapon) copy(item));
+            }
+        }
+        return weapons;
+    }
+
+    @Override
+    public List<Armor> getArmors() {
+        List<Armor> armors = new ArrayList<>();
+        for (Item item : file.records()) {
+            if (item instanceof Armor) {
+                armors.add((Armor) copy(item));
+            }
+        }
+        return armors;
+    }
+
+    @Override
+    public Item getItemByIndex(int index) {
+        List<Item> cached = file.records();
+        return index >= 0 && index < cached.size() ? copy(cached.get(index)) : null;
+    }
+
+    /**
+     * Recarga los ítems cuando el vigilante avisa de que el archivo ha cambiado, en lugar de comprobarlo
+     * en cada consulta.
+     *
+     * @param watcher El vigilante del directorio del archivo.
+     */
+    public void watch(DataDirectoryWatcher watcher) {
+        file.watch(watcher);
+    }
+
+    /**
+     * Lee los ítems, si no estaban ya en memoria, para que la primera
+     * consulta no tenga que esperar al archivo.
+     *
+     * @return El número de registros, o -1 si no se ha podido leer el archivo.
+     */
+    public long preload() {
+        return file.preload();
+    }
+
+    /**
+     * Obtiene los contadores de uso de la caché.
+     *
+     * @return Los aciertos, fallos y recargas.
+     */
+    public CacheCounters getCounters() {
+        return file.getCounters();
+    }
+
+    private static boolean sameItem(Item a, Item b) {
+        return a.getClass() == b.getClass() && a.getName().equals(b.getName())
+                && a.getPower() == b.getPower() && a.getDurability() == b.getDurability();
+    }
+
+    private static Item copy(Item item) {
+        if (item instanceof Weapon) {
+            return new Weapon(item.getId(), item.getName(), item.getPower(), item.getDurability());
+        }
+        return new Armor(item.getId(), item.getName(), item.getPower(), item.getDurability());
+    }
+}
@@ -0,0 +1,421 @@
+package Persistance.Cache;
+
+import Persistance.API.CharacterAPIDAO;
+import Persistance.Binary.CatalogSnapshot;
+import Persistance.Binary.CatalogSnapshotWriter;
+import Persistance.Binary.CharacterSnapshotDAO;
+import Persistance.Binary.ItemSnapshotDAO;
+import Persistance.Binary.JournaledStatsDAO;
+import Persistance.Binary.RecordTeamDAO;
+import Persistance.CharacterDAO;
+import Persistance.Concurrent.LockingStatsDAO;
+import Persistance.Concurrent.LockingTeamDAO;
+import Persistance.Concurrent.StripedLocks;
+import Persistance.ItemDAO;
+import Persistance.JSON.CharacterJSONDAO;
+import Persistance.JSON.ItemJSONDAO;
+import Persistance.JSON.StatsJSONDAO;
+import Persistance.JSON.TeamJSONDAO;
+import Persistance.Paged.PagedCharacterDAO;
+import Persistance.Paged.PagedItemDAO;
+import Persistance.Paged.PagedStatsDAO;
+import Persistance.Paged.PagedStore;
+import Persistance.Paged.PagedTeamDAO;
+import Persistance.PersistenceConfig;
+import Persistance.StatsDAO;
+import Persistance.TeamDAO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Repositorio con los cuatro DAOs (personajes, ítems, equipos y estadísticas) que comparten todos los
+ * gestores ({@link #getDefault()}). El formato de cada tipo de datos sale de la {@link PersistenceConfig}
+ * del directorio de datos:
+ * <ul>
+ *     <li>{@code json}: los JSON de {@code Data/} en caché, de modo que cada archivo se lee una vez por
+ *     programa y solo se vuelve a leer cuando cambia en disco. Los equipos se guardan en un
+ *     {@link RecordTeamDAO} (teams.records, creado a partir de teams.json) y las estadísticas en un
+ *     {@link JournaledStatsDAO}, con su diario en stats.journal.</li>
+ *     <li>{@code paged}: un {@link PagedStore} por tipo de datos ({@code *.pages}), creado a partir de los
+ *     datos anteriores la primera vez. No se guarda nada entero en memoria.</li>
+ *     <li>{@code snapshot} (personajes e ítems): una {@link CatalogSnapshot} proyectada en memoria
+ *     ({@code catalog.bin}), que se vuelve a exportar al arrancar si alguno de los dos JSON es más reciente.
+ *     Es de solo lectura: los cambios en los JSON se ven al reiniciar.</li>
+ * </ul>
+ * En los dos casos las estadísticas se guardan en segundo plano ({@link WriteBehindStatsDAO}). Con
+ * {@code json}, un {@link DataDirectoryWatcher} recarga los personajes y los ítems en cuanto se edita su JSON;
+ * los equipos y las estadísticas se escriben desde el programa y se siguen comprobando en cada consulta.
+ * Al arrancar, {@link #preload()} lee todos los archivos a la vez.
+ * <p>
+ * Los DAOs se pueden usar desde varios hilos. Los de equipos y estadísticas toman el cerrojo de su archivo
+ * ({@link StripedLocks}): las lecturas no se bloquean entre sí y cada escritura va de una en una.
+ */
+public class CachingRepository {
+
+    // Created by the first getDefault(), not when the class loads: it opens files and starts threads
+    private static CachingRepository defaultRepository;
+
+    private final StripedLocks locks = new StripedLocks();
+    private final CharacterDAO characterDAO;
+    private final ItemDAO itemDAO;
+    private final TeamDAO teamDAO;
+    private final StatsDAO statsDAO;
+    private final WriteBehindStatsDAO statsWriter;
+    // Closed in reverse order of creation
+    private final List<Closeable> resources = new ArrayList<>();
+    private final Map<String, Supplier<String>> counters = new LinkedHashMap<>();
+    // Source name -> full load, returning the record count or -1
+    private final Map<String, LongSupplier> loaders = new LinkedHashMap<>();
+
+    /**
+     * Crea un repositorio sobre un directorio de datos, con la configuración de su persistence.properties.
+     *
+     * @param dataDirectory El directorio con characters.json, items.json, teams.json (o teams.records) y stats.json.
+     */
+    public CachingRepository(Path dataDirectory) {
+        this(dataDirectory, PersistenceConfig.load(dataDirectory));
+    }
+
+    /**
+     * Crea un repositorio sobre un directorio de datos.
+     *
+     * @param dataDirectory El directorio de datos.
+     * @param config        El formato de cada tipo de datos.
+     * @throws IllegalArgumentException Si la configuración tiene un formato que no existe o le falta un valor;
+     *                                  se comprueba antes de abrir nada.
+     * @throws UncheckedIOException     Si no se puede abrir o crear un almacén paginado o la instantánea.
+     */
+    public CachingRepository(Path dataDirectory, PersistenceConfig config) {
+        String characterBackend = config.getBackend("characters");
+        String itemBackend = config.getBackend("items");
+        String teamBackend = config.getBackend("teams");
+        String statsBackend = config.getBackend("stats");
+        String apiUrl = characterBackend.equals(PersistenceConfig.API) ? config.getApiUrl() : null;
+
+        Path characters = dataDirectory.resolve("characters.json");
+        Path items = dataDirectory.resolve("items.json");
+        Path teams = dataDirectory.resolve("teams.json");
+        Path teamRecords = dataDirectory.resolve("teams.records");
+        Path stats = dataDirectory.resolve("stats.json");
+        int cachePages = config.getCachePages(PagedStore.DEFAULT_CACHE_PAGES);
+        DataDirectoryWatcher watcher = config.isWatchEnabled() && (characterBackend.equals(PersistenceConfig.JSON)
+                || itemBackend.equals(PersistenceConfig.JSON)) ? openWatcher(dataDirectory) : null;
+        if (watcher != null) {
+            resources.add(watcher);
+        }
+
+        // Characters and items share one snapshot
+        CatalogSnapshot snapshot = characterBackend.equals(PersistenceConfig.SNAPSHOT) || itemBackend.equals(PersistenceConfig.SNAPSHOT)
+                ? openSnapshot(dataDirectory.resolve("catalog.bin"), characters, items) : null;
+
+        if (characterBackend.equals(PersistenceConfig.PAGED)) {
+            PagedCharacterDAO paged = new PagedCharacterDAO(openStore(dataDirectory.resolve("characters.pages"), cachePages, characters,
+                    store -> new PagedCharacterDAO(store).importFrom(new CharacterJSONDAO(characters.toString()))));
+            resources.add(paged);
+            counters.put("characters", paged::describe);
+            loaders.put("characters.pages", paged::size);
+            this.characterDAO = paged;
+        } else if (characterBackend.equals(PersistenceConfig.SNAPSHOT)) {
+            counters.put("characters", () -> "snapshot records=" + snapshot.getCharacterCount());
+            loaders.put("catalog.bin characters", snapshot::getCharacterCount);
+            this.characterDAO = new CharacterSnapshotDAO(snapshot);
+        } else if (characterBackend.equals(PersistenceConfig.API)) {
+            CharacterAPIDAO api = new CharacterAPIDAO(apiUrl);
+            resources.add(api);
+            counters.put("characters", api::describeCounters);
+            loaders.put(apiUrl, () -> {
+                long[] count = {0};
+                return api.forEachCharacter(character -> count[0]++) ? count[0] : -1;
+            });
+            this.characterDAO = api;
+        } else {
+            CachingCharacterDAO cached = new CachingCharacterDAO(new CharacterJSONDAO(characters.toString()), characters);
+            if (watcher != null) {
+                cached.watch(watcher);
+            }
+            counters.put("characters", () -> cached.getCounters().toString());
+            loaders.put(characters.getFileName().toString(), cached::preload);
+            this.characterDAO = cached;
+        }
+
+        if (itemBackend.equals(PersistenceConfig.PAGED)) {
+            PagedItemDAO paged = new PagedItemDAO(openStore(dataDirectory.resolve("items.pages"), cachePages, items,
+                    store -> new PagedItemDAO(store).importFrom(new ItemJSONDAO(items.toString()))));
+            resources.add(paged);
+            counters.put("items", paged::describe);
+            loaders.put("items.pages", paged::size);
+            this.itemDAO = paged;
+        } else if (itemBackend.equals(PersistenceConfig.SNAPSHOT)) {
+            counters.put("items", () -> "snapshot records=" + snapshot.getItemCount());
+            loaders.put("catalog.bin items", snapshot::getItemCount);
+            this.itemDAO = new ItemSnapshotDAO(snapshot);
+        } else {
+            CachingItemDAO cached = new CachingItemDAO(new ItemJSONDAO(items.toString()), items);
+            if (watcher != null) {
+                cached.watch(watcher);
+            }
+            counters.put("items", () -> cached.getCounters().toString());
+            loaders.put(items.getFileName().toString(), cached::preload);
+            this.itemDAO = cached;
+        }
+
+        if (teamBackend.equals(PersistenceConfig.PAGED)) {
+            Path pages = dataDirectory.resolve("teams.pages");
+            // Teams created with the json backend live in teams.records; teams.json only has the original ones
+            Path seed = Files.exists(teamRecords) ? teamRecords : teams;
+            PagedTeamDAO paged = new PagedTeamDAO(openStore(pages, cachePages, seed, store -> {
+                if (!seed.equals(teamRecords)) {
+                    return new PagedTeamDAO(store).importFrom(new TeamJSONDAO(teams.toString()));
+                }
+                try (RecordTeamDAO records = new RecordTeamDAO(teamRecords, null)) {
+                    return new PagedTeamDAO(store).importFrom(records);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            resources.add(paged);
+            counters.put("teams", paged::describe);
+            loaders.put(pages.getFileName().toString(), paged::size);
+            this.teamDAO = new LockingTeamDAO(paged, locks.forFile(pages));
+        } else {
+            RecordTeamDAO teamStore = new RecordTeamDAO(teamRecords, teams);
+            resources.add(teamStore);
+            CachingTeamDAO cached = new CachingTeamDAO(teamStore, teamRecords);
+            counters.put("teams", () -> cached.getCounters().toString());
+            loaders.put(teamRecords.getFileName().toString(), cached::preload);
+            this.teamDAO = new LockingTeamDAO(cached, locks.forFile(teamRecords));
+        }
+
+        if (statsBackend.equals(PersistenceConfig.PAGED)) {
+            Path pages = dataDirectory.resolve("stats.pages");
+            // Results recorded with the json backend may still be in the journal
+            Path journal = JournaledStatsDAO.journalFor(stats);
+            PagedStatsDAO paged = new PagedStatsDAO(openStore(pages, cachePages, stats, store -> {
+                if (!Files.exists(journal)) {
+                    return new PagedStatsDAO(store).importFrom(new StatsJSONDAO(stats.toString()));
+                }
+                try (JournaledStatsDAO journaled = new JournaledStatsDAO(stats)) {
+                    return new PagedStatsDAO(store).importFrom(journaled);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }));
+            this.statsWriter = new WriteBehindStatsDAO(paged);
+            resources.add(statsWriter); // closes the store too
+            counters.put("stats", paged::describe);
+            loaders.put(pages.getFileName().toString(), paged::size);
+            this.statsDAO = new LockingStatsDAO(statsWriter, locks.forFile(pages));
+        } else {
+            this.statsWriter = new WriteBehindStatsDAO(new JournaledStatsDAO(stats));
+            resources.add(statsWriter); // closes the journal too
+            CachingStatsDAO cached = new CachingStatsDAO(statsWriter, stats);
+            counters.put("stats", () -> cached.getCounters().toString());
+            loaders.put(stats.getFileName().toString(), cached::preload);
+            this.statsDAO = new LockingStatsDAO(cached, locks.forFile(stats));
+        }
+        counters.put("stats writer", statsWriter::describeCounters);
+        if (watcher != null) {
+            counters.put("watcher", () -> "notifications=" + watcher.getNotifications());
+        }
+    }
+
+    /**
+     * Obtiene el repositorio compartido sobre {@code Data/}, y lo crea la primera vez. Si su configuración no
+     * es válida (por ejemplo, un {@code -Dpersistence.backend} que no existe), lo indica y usa la persistencia
+     * por defecto.
+     *
+     * @return El repositorio por defecto.
+     * @throws UncheckedIOException Si no se pueden abrir los archivos de datos.
+     */
+    public static synchronized CachingRepository getDefault() {
+        if (defaultRepository == null) {
+            Path dataDirectory = Paths.get("Data");
+            CachingRepository repository;
+            try {
+                repository = new CachingRepository(dataDirectory, PersistenceConfig.load(dataDirectory));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Error: invalid persistence configuration, using the default persistence! " + e.getMessage());
+                repository = new CachingRepository(dataDirectory, PersistenceConfig.of(PersistenceConfig.JSON));
+            }
+            // The menu leaves with System.exit: write the pending stats on the way out
+            Runtime.getRuntime().addShutdownHook(new Thread(repository::close, "repository-shutdown"));
+            defaultRepository = repository;
+        }
+        return defaultRepository;
+    }
+
+    public CharacterDAO getCharacterDAO() {
+        return characterDAO;
+    }
+
+    public ItemDAO getItemDAO() {
+        return itemDAO;
+    }
+
+    public TeamDAO getTeamDAO() {
+        return teamDAO;
+    }
+
+    public StatsDAO getStatsDAO() {
+        return statsDAO;
+    }
+
+    /**
+     * Carga a la vez, cada uno en su hilo, los personajes, los ítems, los equipos y las estadísticas, de
+     * modo que la primera consulta de cada gestor ya los encuentre en memoria. Arrancar tarda lo que el
+     * archivo más lento, no la suma de todos. Con el formato {@code paged} no hay nada que cargar: solo se
+     * cuentan los registros.
+     *
+     * @return Un informe por archivo, en el orden personajes, ítems, equipos y estadísticas.
+     */
+    public List<LoadReport> preload() {
+        return preload(loaders.size());
+    }
+
+    /**
+     * Carga los datos como {@link #preload()}, pero con un número de hilos concreto (1 para cargarlos uno
+     * detrás de otro).
+     *
+     * @param threads El número de hilos.
+     * @return Un informe por archivo.
+     */
+    public List<LoadReport> preload(int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "data-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<LoadReport>> loading = new ArrayList<>();
+            for (Map.Entry<String, LongSupplier> loader : loaders.entrySet()) {
+                loading.add(executor.submit(() -> load(loader.getKey(), loader.getValue())));
+            }
+            List<LoadReport> reports = new ArrayList<>();
+            for (Future<LoadReport> report : loading) {
+                reports.add(report.get());
+            }
+            return reports;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading the data files", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not load the data files", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Escribe las estadísticas pendientes y cierra los archivos abiertos (el diario de estadísticas, el
+     * archivo de equipos y los almacenes paginados). Lo que se guarde después se escribe sin pasar por la cola.
+     */
+    public void close() {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            try {
+                resources.get(i).close();
+            } catch (IOException e) {
+                System.err.println("Error while closing " + resources.get(i).getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Obtiene un resumen de los contadores de uso de cada tipo de datos.
+     *
+     * @return Una línea por tipo de datos: aciertos, fallos y recargas de su caché, o el estado del almacén paginado.
+     */
+    public String describeCounters() {
+        StringBuilder description = new StringBuilder();
+        for (Map.Entry<String, Supplier<String>> entry : counters.entrySet()) {
+            if (description.length() > 0) {
+                description.append('\n');
+            }
+            description.append(entry.getKey()).append(": ").append(entry.getValue().get());
+        }
+        return description.toString();
+    }
+
+    private static LoadReport load(String source, LongSupplier loader) {
+        long start = System.nanoTime();
+        long records;
+        try {
+            records = loader.getAsLong();
+        } catch (RuntimeException e) {
+            System.err.println("Error: could not load " + source + "! " + e.getMessage());
+            records = -1;
+        }
+        return new LoadReport(source, records, System.nanoTime() - start);
+    }
+
+    /**
+     * Empieza a vigilar el directorio de datos. Si el sistema no lo permite, devuelve null y las cachés
+     * siguen comprobando sus archivos en cada consulta.
+     */
+    private static DataDirectoryWatcher openWatcher(Path dataDirectory) {
+        try {
+            return new DataDirectoryWatcher(dataDirectory);
+        } catch (IOException e) {
+            System.err.println("Error: could not watch " + dataDirectory + ", checking its files on every read! " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Abre la instantánea del catálogo. Si no existe o alguno de los JSON se ha modificado después, la exporta
+     * antes a partir de ellos.
+     */
+    private static CatalogSnapshot openSnapshot(Path path, Path charactersJson, Path itemsJson) {
+        try {
+            if (isOutdated(path, charactersJson) || isOutdated(path, itemsJson)) {
+                return CatalogSnapshotWriter.export(charactersJson, itemsJson, path);
+            }
+            return new CatalogSnapshot(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isOutdated(Path derived, Path source) throws IOException {
+        return !Files.exists(derived)
+                || Files.exists(source) && Files.getLastModifiedTime(source).compareTo(Files.getLastModifiedTime(derived)) > 0;
+    }
+
+    /**
+     * Abre un almacén paginado. Si todavía no existe, lo crea con los datos del formato anterior: primero en
+     * un archivo aparte, que solo se renombra cuando la copia ha terminado.
+     */
+    private static PagedStore openStore(Path path, int cachePages, Path seed, ToLongFunction<PagedStore> importer) {
+        try {
+            if (!Files.exists(path)) {
+                Path importing = path.resolveSibling(path.getFileName() + ".importing");
+                Files.deleteIfExists(importing);
+                try (PagedStore store = new PagedStore(importing, cachePages)) {
+                    if (Files.exists(seed) && importer.applyAsLong(store) < 0) {
+                        throw new IOException("Could not read " + seed + " to create " + path);
+                    }
+                }
+                Files.move(importing, path, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new PagedStore(path, cachePages);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package Persistance.Cache;
+
+import Business.Stats.Stats;
+import Persistance.StatsDAO;
+import org.json.JSONException;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * DAO de estadísticas que lee el archivo una sola vez y sirve las consultas desde memoria mientras el
+ * archivo no cambie. Al guardar, escribe con el DAO original y obliga a releer el archivo en la siguiente
+ * consulta.
+ * <p>
+ * Devuelve copias de las estadísticas: los cambios solo se conservan si se guardan, igual que al leer el archivo.
+ */
+public class CachingStatsDAO implements StatsDAO {
+    private final StatsDAO delegate;
+    private final CachedFile<Map<String, Stats>, Stats> file;
+
+    /**
+     * Crea la caché sobre un DAO de estadísticas.
+     *
+     * @param delegate El DAO que lee y escribe el archivo.
+     * @param path     La ruta del archivo del DAO, para detectar sus cambios.
+     */
+    public CachingStatsDAO(StatsDAO delegate, Path path) {
+        this.delegate = delegate;
+        this.file = new CachedFile<>(path, delegate::forEachStats, CachedFile.byKey(stats -> key(stats.getTeamName())));
+    }
+
+    @Override
+    public List<Stats> getStats() {
+        List<Stats> cached = file.records();
+        List<Stats> statsList = new ArrayList<>(cached.size());
+        for (Stats stats : cached) {
+            statsList.add(copy(stats));
+        }
+        return statsList;
+    }
+
+    @Override
+    public Stats getStats(String teamName) {
+        Stats stats = teamName == null ? null : file.index().get(key(teamName));
+        return stats == null ? null : copy(stats);
+    }
+
+    @Override
+    public void saveStats(List<Stats> statsList) throws JSONException {
+        try {
+            delegate.saveStats(statsList);
+        } finally {
+            file.invalidate();
+        }
+    }
+
+    @Override
+    public void addResults(String teamName, int gamesPlayed, int gamesWon, int koDone, int koReceived) throws JSONException {
+        try {
+            delegate.addResults(teamName, gamesPlayed, gamesWon, koDone, koReceived);
+        } finally {
+            file.invalidate();
+        }
+    }
+
+    /**
+     * Lee las estadísticas, si no estaban ya en memoria, para que la primera
+     * consulta no tenga que esperar al archivo.
+     *
+     * @return El número de registros, o -1 si no se ha podido leer el archivo.
+     */
+    public long preload() {
+        return file.preload();
+    }
+
+    /**
+     * Obtiene los contadores de uso de la caché.
+     *
+     * @return Los aciertos, fallos y recargas.
+     */
+    public CacheCounters getCounters() {
+        return file.getCounters();
+    }
+
+    private static String key(String teamName) {
+        return teamName.toLowerCase(Locale.ROOT);
+    }
+
+    private static Stats copy(Stats stats) {
+        return new Stats(stats.getTeamName(), stats.getGamesPlayed(), stats.getGamesWon(), stats.getKODone(), stats.getKOReceived());
+    }
+}
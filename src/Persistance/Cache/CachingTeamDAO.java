@@ -0,0 +1,98 @@
+package Persistance.Cache;
+
+import Business.Team.Member;
+import Business.Team.Team;
+import Persistance.TeamDAO;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Locale;
+
+/**
+ * DAO de equipos que lee el archivo una sola vez y sirve las consultas desde memoria mientras el archivo
+ * no cambie. Las escrituras pasan al DAO original y obligan a releer el archivo en la siguiente consulta.
+ * <p>
+ * Devuelve copias de los equipos, porque el combate cambia el estado de sus miembros.
+ */
+public class CachingTeamDAO implements TeamDAO {
+    private final TeamDAO delegate;
+    private final CachedFile<Map<String, Team>, Team> file;
+
+    /**
+     * Crea la caché sobre un DAO de equipos.
+     *
+     * @param delegate El DAO que lee y escribe el archivo.
+     * @param path     La ruta del archivo del DAO, para detectar sus cambios.
+     */
+    public CachingTeamDAO(TeamDAO delegate, Path path) {
+        this.delegate = delegate;
+        this.file = new CachedFile<>(path, delegate::forEachTeam, CachedFile.byKey(team -> key(team.getTeamName())));
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        List<Team> cached = file.records();
+        List<Team> teams = new ArrayList<>(cached.size());
+        for (Team team : cached) {
+            teams.add(copy(team));
+        }
+        return teams;
+    }
+
+    @Override
+    public Team getTeam(String name) {
+        Team team = name == null ? null : file.index().get(key(name));
+        return team == null ? null : copy(team);
+    }
+
+    @Override
+    public void createTeam(Team team) {
+        try {
+            delegate.createTeam(team);
+        } finally {
+            file.invalidate();
+        }
+    }
+
+    @Override
+    public boolean deleteTeam(Team team) {
+        try {
+            return delegate.deleteTeam(team);
+        } finally {
+            file.invalidate();
+        }
+    }
+
+    /**
+     * Lee los equipos, si no estaban ya en memoria, para que la primera
+     * consulta no tenga que esperar al archivo.
+     *
+     * @return El número de registros, o -1 si no se ha podido leer el archivo.
+     */
+    public long preload() {
+        return file.preload();
+    }
+
+    /**
+     * Obtiene los contadores de uso de la caché.
+     *
+     * @return Los aciertos, fallos y recargas.
+     */
+    public CacheCounters getCounters() {
+        return file.getCounters();
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    private static Team copy(Team team) {
+        List<Member> members = new ArrayList<>(team.getTeamMembers().size());
+        for (Member member : team.getTeamMembers()) {
+            members.add(new Member(member.getMemberId(), member.getStrategy()));
+        }
+        return new Team(team.getTeamName(), members);
+    }
+}
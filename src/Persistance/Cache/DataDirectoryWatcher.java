@@ -0,0 +1,214 @@
+package Persistance.Cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Vigila un directorio de datos con un {@link WatchService} y avisa a quien se haya registrado para un
+ * archivo cuando ese archivo cambia, se crea o se sustituye.
+ * <p>
+ * Los editores suelen guardar un archivo en varias escrituras seguidas, así que los avisos se agrupan:
+ * después del primer evento se espera a que pase {@link #DEFAULT_QUIET_PERIOD} ms sin eventos nuevos (como
+ * mucho {@link #MAX_DELAY} ms) y se avisa una sola vez por archivo. Los avisos se hacen en el hilo del
+ * vigilante, de uno en uno.
+ * <p>
+ * Si el vigilante se cierra o el directorio deja de poder vigilarse (por ejemplo, porque se ha borrado o
+ * desmontado), avisa a quien se haya registrado con {@link #onStop} para que vuelva a comprobar sus archivos
+ * por su cuenta.
+ */
+public class DataDirectoryWatcher implements Closeable {
+
+    /** Milisegundos sin eventos tras los que se considera que un archivo ha terminado de guardarse. */
+    public static final long DEFAULT_QUIET_PERIOD = 100;
+    /** Milisegundos que se puede retrasar un aviso aunque sigan llegando eventos. */
+    private static final long MAX_DELAY = 1000;
+
+    private final Path directory;
+    private final WatchService service;
+    private final long quietPeriod;
+    private final Map<Path, List<Runnable>> listeners = new ConcurrentHashMap<>();
+    private final List<Runnable> stopListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean stopped;
+    private final Thread thread;
+    private final LongAdder notifications = new LongAdder();
+
+    /**
+     * Empieza a vigilar un directorio.
+     *
+     * @param directory El directorio de datos.
+     * @throws IOException Si el sistema no permite vigilar el directorio.
+     */
+    public DataDirectoryWatcher(Path directory) throws IOException {
+        this(directory, DEFAULT_QUIET_PERIOD);
+    }
+
+    /**
+     * Empieza a vigilar un directorio.
+     *
+     * @param directory   El directorio de datos.
+     * @param quietPeriod Milisegundos sin eventos antes de avisar.
+     * @throws IOException Si el sistema no permite vigilar el directorio.
+     */
+    public DataDirectoryWatcher(Path directory, long quietPeriod) throws IOException {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.quietPeriod = quietPeriod;
+        this.service = FileSystems.getDefault().newWatchService();
+        try {
+            this.directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | RuntimeException e) {
+            service.close();
+            throw e;
+        }
+        this.thread = new Thread(this::run, "data-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Registra una acción que se ejecuta cada vez que cambia un archivo del directorio.
+     *
+     * @param file     El archivo.
+     * @param listener La acción.
+     */
+    public void register(Path file, Runnable listener) {
+        listeners.computeIfAbsent(file.getFileName(), name -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Registra una acción que se ejecuta una vez cuando el vigilante deja de vigilar el directorio. Si ya ha
+     * parado, se ejecuta ahora, en el hilo que llama.
+     *
+     * @param listener La acción.
+     */
+    public void onStop(Runnable listener) {
+        stopListeners.add(listener);
+        if (stopped) {
+            runStopListeners();
+        }
+    }
+
+    /**
+     * Indica si el vigilante sigue vigilando el directorio.
+     *
+     * @return false si se ha cerrado o el directorio ha dejado de poder vigilarse.
+     */
+    public boolean isWatching() {
+        return !stopped;
+    }
+
+    /**
+     * Obtiene el número de avisos hechos desde que se creó el vigilante.
+     *
+     * @return Los avisos, uno por archivo y grupo de eventos.
+     */
+    public long getNotifications() {
+        return notifications.sum();
+    }
+
+    /**
+     * Deja de vigilar el directorio y espera a que termine el aviso en curso, si lo hay.
+     *
+     * @throws IOException Si no se puede cerrar el servicio de vigilancia.
+     */
+    @Override
+    public void close() throws IOException {
+        service.close();
+        if (Thread.currentThread() != thread) {
+            try {
+                thread.join(MAX_DELAY);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            boolean watching = true;
+            while (watching) {
+                Set<Path> changed = new LinkedHashSet<>();
+                watching = collect(service.take(), changed);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(MAX_DELAY);
+                WatchKey key;
+                while (watching && System.nanoTime() < deadline && (key = service.poll(quietPeriod, TimeUnit.MILLISECONDS)) != null) {
+                    watching = collect(key, changed);
+                }
+                for (Path file : changed) {
+                    notify(file);
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // closed: stop watching
+        } finally {
+            stopped = true;
+            runStopListeners();
+        }
+    }
+
+    /**
+     * Añade a changed los archivos de los eventos de una clave.
+     *
+     * @return false si la clave ya no es válida y no llegarán más eventos.
+     */
+    private boolean collect(WatchKey key, Set<Path> changed) {
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed.addAll(listeners.keySet()); // events were lost: check every file
+            } else {
+                changed.add(((Path) event.context()).getFileName());
+            }
+        }
+        if (!key.reset()) {
+            System.err.println("Error: stopped watching " + directory + ", it is no longer accessible. Checking its files on every read.");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Ejecuta las acciones de parada pendientes. Cada una se quita de la lista antes de ejecutarla, así que
+     * se ejecuta una sola vez aunque se registre mientras el vigilante para.
+     */
+    private void runStopListeners() {
+        for (Runnable action : stopListeners) {
+            if (stopListeners.remove(action)) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Error while stopping the watcher of " + directory + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void notify(Path file) {
+        List<Runnable> actions = listeners.get(file);
+        if (actions == null) {
+            return;
+        }
+        for (Runnable action : actions) {
+            notifications.increment();
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                System.err.println("Error while reloading " + directory.resolve(file) + ": " + e.getMessage());
+            }
+        }
+    }
+}
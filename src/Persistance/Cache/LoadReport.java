@@ -0,0 +1,50 @@
+package Persistance.Cache;
+
+/**
+ * Resultado de cargar un archivo de datos al arrancar: cuántos registros tiene y cuánto ha tardado.
+ */
+public class LoadReport {
+    private final String source;
+    private final long records;
+    private final long nanos;
+
+    /**
+     * @param source  El archivo (o servicio) cargado.
+     * @param records El número de registros, o -1 si no se ha podido cargar.
+     * @param nanos   El tiempo de carga en nanosegundos.
+     */
+    public LoadReport(String source, long records, long nanos) {
+        this.source = source;
+        this.records = records;
+        this.nanos = nanos;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Indica si el archivo se ha cargado entero.
+     *
+     * @return false si ha habido un error al leerlo.
+     */
+    public boolean isLoaded() {
+        return records >= 0;
+    }
+
+    @Override
+    public String toString() {
+        if (!isLoaded()) {
+            return source + ": could not be loaded (" + nanos / 1_000_000 + " ms)";
+        }
+        return source + ": " + records + " records in " + nanos / 1_000_000 + " ms";
+    }
+}
@@ -0,0 +1,313 @@
+package Persistance.Cache;
+
+import Business.Stats.Stats;
+import Persistance.StatsDAO;
+import org.json.JSONException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * DAO de estadísticas que guarda los resultados en segundo plano. {@link #addResults} solo deja el
+ * resultado en una cola acotada; un hilo escritor suma los resultados de cada equipo y los pasa al DAO
+ * original cada {@code batchSize} resultados o cada {@code flushInterval} milisegundos, lo que ocurra
+ * antes. Así, los hilos que juegan combates no esperan a ninguna escritura mientras la cola tenga sitio.
+ * <p>
+ * Antes de leer o de sustituir las estadísticas se escriben los resultados pendientes, de modo que las
+ * consultas siempre incluyen todo lo que se ha sumado. {@link #close()} también los escribe antes de
+ * cerrar el DAO original.
+ * <p>
+ * Si el DAO original falla, los resultados no escritos se conservan y se vuelven a intentar más tarde:
+ * {@link #flush()} devuelve false y {@link #close()}, tras varios intentos, lanza una excepción en lugar de
+ * perderlos en silencio.
+ */
+public class WriteBehindStatsDAO implements StatsDAO, Closeable {
+
+    /** Resultados que se acumulan como máximo antes de escribirlos. */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    /** Tiempo máximo, en milisegundos, que un resultado espera a ser escrito. */
+    public static final long DEFAULT_FLUSH_INTERVAL = 200;
+    /** Resultados que caben en la cola; si se llena, {@link #addResults} espera al escritor. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+    /** Veces que se intenta escribir lo pendiente al cerrar, con {@code flushInterval} entre intentos. */
+    private static final int CLOSE_ATTEMPTS = 3;
+
+    private final StatsDAO delegate;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BlockingQueue<Object> queue;
+    private final Thread writer;
+    private final LongAdder results = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+
+    // Held to queue anything, and exclusively to close, so nothing is queued after the writer stops
+    private final ReadWriteLock lifecycle = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    /**
+     * Crea el DAO con el tamaño de lote, el intervalo y la cola por defecto.
+     *
+     * @param delegate El DAO en el que se escriben los resultados.
+     */
+    public WriteBehindStatsDAO(StatsDAO delegate) {
+        this(delegate, DEFAULT_BATCH_SIZE, DEFAULT_FLUSH_INTERVAL, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Crea el DAO y arranca su hilo escritor.
+     *
+     * @param delegate      El DAO en el que se escriben los resultados.
+     * @param batchSize     Resultados que se acumulan como máximo antes de escribirlos.
+     * @param flushInterval Tiempo máximo, en milisegundos, que un resultado espera a ser escrito.
+     * @param queueCapacity Resultados que caben en la cola.
+     */
+    public WriteBehindStatsDAO(StatsDAO delegate, int batchSize, long flushInterval, int queueCapacity) {
+        this.delegate = delegate;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushInterval);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::run, "stats-writer");
+        this.writer.setDaemon(true); // close() or the repository's shutdown hook flush what is pending
+        this.writer.start();
+    }
+
+    @Override
+    public List<Stats> getStats() {
+        flush();
+        return delegate.getStats();
+    }
+
+    @Override
+    public boolean forEachStats(Consumer<Stats> consumer) {
+        flush();
+        return delegate.forEachStats(consumer);
+    }
+
+    @Override
+    public Stats getStats(String teamName) {
+        flush();
+        return delegate.getStats(teamName);
+    }
+
+    /**
+     * Deja el resultado en la cola para que lo escriba el hilo escritor. Solo espera si la cola está
+     * llena. Una vez cerrado el DAO, escribe directamente en el DAO original.
+     */
+    @Override
+    public void addResults(String teamName, int gamesPlayed, int gamesWon, int koDone, int koReceived) throws JSONException {
+        lifecycle.readLock().lock();
+        try {
+            if (!closed) {
+                queue.put(new Result(teamName, gamesPlayed, gamesWon, koDone, koReceived));
+                results.increment();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // not queued: write it here rather than lose it
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+        delegate.addResults(teamName, gamesPlayed, gamesWon, koDone, koReceived);
+    }
+
+    /**
+     * Escribe los resultados pendientes y después sustituye las estadísticas.
+     */
+    @Override
+    public void saveStats(List<Stats> statsList) throws JSONException {
+        flush();
+        delegate.saveStats(statsList);
+    }
+
+    /**
+     * Espera a que se escriban todos los resultados añadidos hasta ahora.
+     *
+     * @return true si se han escrito; false si el DAO original ha fallado, en cuyo caso el hilo escritor
+     *         los conserva y los vuelve a intentar más tarde.
+     */
+    public boolean flush() {
+        lifecycle.readLock().lock();
+        try {
+            return closed || await(new Flush(false)).written;
+        } finally {
+            lifecycle.readLock().unlock();
+        }
+    }
+
+    /**
+     * Escribe los resultados pendientes, para el hilo escritor y cierra el DAO original si se puede cerrar.
+     * Los resultados que se añadan después se escriben directamente en el DAO original.
+     *
+     * @throws IOException Si no se puede cerrar el DAO original o si, después de varios intentos, no se han
+     *                     podido escribir los resultados pendientes.
+     */
+    @Override
+    public void close() throws IOException {
+        lifecycle.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lifecycle.writeLock().unlock();
+        }
+        Flush last = await(new Flush(true));
+        if (delegate instanceof Closeable closeable) {
+            closeable.close();
+        }
+        if (!last.written) {
+            throw new IOException("Could not save the pending results of " + last.unwritten + " teams.");
+        }
+    }
+
+    /**
+     * Obtiene cuántos resultados se han recibido y cuántas escrituras se han hecho en el DAO original.
+     *
+     * @return Una línea con los dos contadores.
+     */
+    public String describeCounters() {
+        return "results=" + results.sum() + ", writes=" + writes.sum();
+    }
+
+    /**
+     * Pone la petición en la cola y espera a que el escritor la atienda, aunque se interrumpa el hilo.
+     */
+    private Flush await(Flush flush) {
+        boolean interrupted = false;
+        boolean queued = false;
+        while (true) {
+            try {
+                if (!queued) {
+                    queue.put(flush);
+                    queued = true;
+                }
+                flush.done.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        return flush;
+    }
+
+    private void run() {
+        Map<String, Result> pending = new LinkedHashMap<>();
+        int batched = 0;
+        long deadline = 0;
+        while (true) {
+            Object message;
+            try {
+                message = batched == 0 ? queue.take() : queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                continue; // only close() stops the writer
+            }
+
+            if (message instanceof Result result) {
+                pending.merge(result.teamName.toLowerCase(Locale.ROOT), result, Result::plus);
+                if (batched++ == 0) {
+                    deadline = System.nanoTime() + flushIntervalNanos;
+                }
+                if (batched < batchSize) {
+                    continue;
+                }
+            }
+            boolean written = write(pending);
+            if (message instanceof Flush flush && flush.last) {
+                // The writer stops after this: retry here rather than drop the results
+                for (int attempt = 1; !written && attempt < CLOSE_ATTEMPTS; attempt++) {
+                    LockSupport.parkNanos(flushIntervalNanos);
+                    written = write(pending);
+                }
+            }
+            if (written) {
+                batched = 0;
+            } else {
+                deadline = System.nanoTime() + flushIntervalNanos; // retry the same updates later
+            }
+            if (message instanceof Flush flush) {
+                flush.written = written;
+                flush.unwritten = pending.size();
+                flush.done.countDown();
+                if (flush.last) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Pasa al DAO original la suma de cada equipo. Si falla, conserva las que no se han podido escribir.
+     */
+    private boolean write(Map<String, Result> pending) {
+        Iterator<Result> iterator = pending.values().iterator();
+        while (iterator.hasNext()) {
+            Result result = iterator.next();
+            try {
+                delegate.addResults(result.teamName, result.gamesPlayed, result.gamesWon, result.koDone, result.koReceived);
+            } catch (JSONException | RuntimeException e) {
+                System.err.println("Error while saving stats: " + e.getMessage());
+                return false;
+            }
+            writes.increment();
+            iterator.remove();
+        }
+        return true;
+    }
+
+    /**
+     * Resultado de uno o varios combates de un equipo.
+     */
+    private static final class Result {
+        private final String teamName;
+        private final int gamesPlayed;
+        private final int gamesWon;
+        private final int koDone;
+        private final int koReceived;
+
+        Result(String teamName, int gamesPlayed, int gamesWon, int koDone, int koReceived) {
+            this.teamName = teamName;
+            this.gamesPlayed = gamesPlayed;
+            this.gamesWon = gamesWon;
+            this.koDone = koDone;
+            this.koReceived = koReceived;
+        }
+
+        Result plus(Result other) {
+            return new Result(teamName, gamesPlayed + other.gamesPlayed, gamesWon + other.gamesWon,
+                    koDone + other.koDone, koReceived + other.koReceived);
+        }
+    }
+
+    /**
+     * Petición de escribir lo pendiente; con {@code last}, además, de parar el hilo escritor. El escritor
+     * deja el resultado antes de abrir {@code done}.
+     */
+    private static final class Flush {
+        private final boolean last;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private boolean written;
+        private int unwritten;
+
+        Flush(boolean last) {
+            this.last = last;
+        }
+    }
+}
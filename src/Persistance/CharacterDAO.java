@@ -3,8 +3,28 @@ package Persistance;
 import Business.Character.Character;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface CharacterDAO {
     public List<Character> getCharacters();
 
+    /**
+     * Entrega los personajes uno a uno, a medida que se leen.
+     *
+     * @param consumer Recibe cada personaje.
+     * @return true si se han leído todos, false si la lectura se ha interrumpido por un error.
+     */
+    public default boolean forEachCharacter(Consumer<Character> consumer) {
+        getCharacters().forEach(consumer);
+        return true;
+    }
+
+    public default Character getCharacter(long id) {
+        for (Character character : getCharacters()) {
+            if (character.getId() == id) {
+                return character;
+            }
+        }
+        return null;
+    }
 }
@@ -35,7 +35,7 @@ public class CharacterJSONDAO implements CharacterDAO {
             for (int i = 0; i < jsonArray.length(); i++) {
                 JSONObject jsonObject = jsonArray.getJSONObject(i);
 
-                int id = jsonObject.getInt("id");
+                long id = jsonObject.getLong("id");
                 String name = jsonObject.getString("name");
                 int weight = jsonObject.getInt("weight");
 
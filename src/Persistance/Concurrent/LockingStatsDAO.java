@@ -0,0 +1,90 @@
+package Persistance.Concurrent;
+
+import Business.Stats.Stats;
+import Persistance.StatsDAO;
+import org.json.JSONException;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * DAO de estadísticas que se puede usar desde varios hilos: las lecturas toman el cerrojo de lectura y
+ * no se bloquean entre sí; {@link #saveStats} y {@link #addResults} toman el de escritura, así que la
+ * lectura y la escritura de un {@code addResults} no se mezclan con las de otro y no se pierde ningún
+ * resultado.
+ * <p>
+ * {@link #forEachStats} mantiene el cerrojo de lectura durante todo el recorrido: el consumidor no debe
+ * guardar estadísticas, porque esperaría a que terminase su propio recorrido.
+ */
+public class LockingStatsDAO implements StatsDAO {
+    private final StatsDAO delegate;
+    private final ReadWriteLock lock;
+
+    /**
+     * Crea el DAO sobre otro DAO de estadísticas.
+     *
+     * @param delegate El DAO que lee y escribe las estadísticas.
+     * @param lock     El cerrojo del archivo de estadísticas, compartido con cualquier otro DAO sobre el mismo archivo.
+     */
+    public LockingStatsDAO(StatsDAO delegate, ReadWriteLock lock) {
+        this.delegate = delegate;
+        this.lock = lock;
+    }
+
+    @Override
+    public List<Stats> getStats() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return delegate.getStats();
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public boolean forEachStats(Consumer<Stats> consumer) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return delegate.forEachStats(consumer);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Stats getStats(String teamName) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return delegate.getStats(teamName);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public void saveStats(List<Stats> statsList) throws JSONException {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            delegate.saveStats(statsList);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    @Override
+    public void addResults(String teamName, int gamesPlayed, int gamesWon, int koDone, int koReceived) throws JSONException {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            delegate.addResults(teamName, gamesPlayed, gamesWon, koDone, koReceived);
+        } finally {
+            write.unlock();
+        }
+    }
+}
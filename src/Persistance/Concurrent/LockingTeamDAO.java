@@ -0,0 +1,88 @@
+package Persistance.Concurrent;
+
+import Business.Team.Team;
+import Persistance.TeamDAO;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * DAO de equipos que se puede usar desde varios hilos: las lecturas toman el cerrojo de lectura, así que
+ * no se bloquean entre sí, y las escrituras el de escritura, así que no se mezclan con otras escrituras
+ * ni con lecturas a medias del mismo archivo.
+ * <p>
+ * {@link #forEachTeam} mantiene el cerrojo de lectura durante todo el recorrido: el consumidor no debe
+ * crear ni borrar equipos, porque esperaría a que terminase su propio recorrido.
+ */
+public class LockingTeamDAO implements TeamDAO {
+    private final TeamDAO delegate;
+    private final ReadWriteLock lock;
+
+    /**
+     * Crea el DAO sobre otro DAO de equipos.
+     *
+     * @param delegate El DAO que lee y escribe los equipos.
+     * @param lock     El cerrojo del archivo de equipos, compartido con cualquier otro DAO sobre el mismo archivo.
+     */
+    public LockingTeamDAO(TeamDAO delegate, ReadWriteLock lock) {
+        this.delegate = delegate;
+        this.lock = lock;
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return delegate.getTeams();
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public boolean forEachTeam(Consumer<Team> consumer) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return delegate.forEachTeam(consumer);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public Team getTeam(String name) {
+        Lock read = lock.readLock();
+        read.lock();
+        try {
+            return delegate.getTeam(name);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    @Override
+    public void createTeam(Team team) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            delegate.createTeam(team);
+        } finally {
+            write.unlock();
+        }
+    }
+
+    @Override
+    public boolean deleteTeam(Team team) {
+        Lock write = lock.writeLock();
+        write.lock();
+        try {
+            return delegate.deleteTeam(team);
+        } finally {
+            write.unlock();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package Persistance.Concurrent;
+
+import java.nio.file.Path;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Conjunto fijo de cerrojos de lectura y escritura repartidos por clave: cada archivo (o cada entidad)
+ * usa siempre el mismo cerrojo, y dos claves distintas solo comparten cerrojo si caen en la misma franja.
+ * <p>
+ * Los lectores de una franja no se bloquean entre sí; un escritor espera a que terminen y bloquea a los
+ * demás lectores y escritores de su franja mientras escribe.
+ */
+public class StripedLocks {
+
+    /** Número de franjas por defecto. Con pocos archivos por proceso, casi nunca comparten franja. */
+    public static final int DEFAULT_STRIPES = 64;
+
+    private final ReadWriteLock[] stripes;
+
+    /**
+     * Crea las franjas.
+     *
+     * @param stripes Número de franjas; se redondea a la potencia de dos siguiente.
+     */
+    public StripedLocks(int stripes) {
+        int count = Integer.highestOneBit(Math.max(stripes - 1, 1)) << 1;
+        this.stripes = new ReadWriteLock[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    public StripedLocks() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Obtiene el cerrojo de un archivo. Dos rutas al mismo archivo obtienen el mismo cerrojo.
+     *
+     * @param path La ruta del archivo.
+     * @return El cerrojo de su franja.
+     */
+    public ReadWriteLock forFile(Path path) {
+        return forKey(path.toAbsolutePath().normalize().toString());
+    }
+
+    /**
+     * Obtiene el cerrojo de una clave cualquiera, por ejemplo el nombre de un equipo.
+     *
+     * @param key La clave.
+     * @return El cerrojo de su franja.
+     */
+    public ReadWriteLock forKey(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16; // spread the high bits, as HashMap does
+        return stripes[hash & (stripes.length - 1)];
+    }
+}
@@ -5,9 +5,26 @@ import Business.Item.Item;
 import Business.Item.Weapon;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ItemDAO {
     public List<Item> getItems();
     public List<Weapon> getWeapons();
     public List<Armor> getArmors();
+
+    /**
+     * Entrega los ítems uno a uno, a medida que se leen.
+     *
+     * @param consumer Recibe cada ítem.
+     * @return true si se han leído todos, false si la lectura se ha interrumpido por un error.
+     */
+    public default boolean forEachItem(Consumer<Item> consumer) {
+        getItems().forEach(consumer);
+        return true;
+    }
+
+    public default Item getItemByIndex(int index) {
+        List<Item> items = getItems();
+        return index >= 0 && index < items.size() ? items.get(index) : null;
+    }
 }
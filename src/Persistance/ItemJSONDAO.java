@@ -1,6 +1,8 @@
 package Persistance;
 
+import Business.Item.Armor;
 import Business.Item.Item;
+import Business.Item.Weapon;
 
 import java.io.FileWriter;
 import java.io.IOException;
@@ -38,14 +40,18 @@ public class ItemJSONDAO {
                 JSONObject jsonObject = jsonArray.getJSONObject(i);
 
                 // Extraemos los valores directamente, asumiendo que las claves existen
-                int id = jsonObject.getInt("id");
+                long id = jsonObject.getLong("id");
                 String name = jsonObject.getString("name");
                 int power = jsonObject.getInt("power");
                 int durability = jsonObject.getInt("durability");
                 String itemClass = jsonObject.getString("class");
 
                 // Agregamos el ítem a la lista
-                items.add(new Item(id, name, itemClass, power, durability));
+                if (itemClass.equals("Weapon")) {
+                    items.add(new Weapon(id, name, power, durability));
+                } else if (itemClass.equals("Armor")) {
+                    items.add(new Armor(id, name, power, durability));
+                }
             }
         } catch (JSONException | IOException e) {
             System.err.println("Error: could not parse file! " + e.getMessage());
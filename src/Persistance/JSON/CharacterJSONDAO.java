@@ -1,15 +1,15 @@
 package Persistance.JSON;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import Persistance.CharacterDAO;
-import org.json.JSONArray;
 import org.json.JSONException;
-import org.json.JSONObject;
 
 import Business.Character.Character;
 
@@ -19,6 +19,19 @@ import Business.Character.Character;
 public class CharacterJSONDAO implements CharacterDAO {
 
     private String filePath = "Data/characters.json";
+
+    public CharacterJSONDAO() {
+    }
+
+    /**
+     * Crea un DAO que lee los personajes de otro archivo.
+     *
+     * @param filePath Ruta del archivo JSON de personajes.
+     */
+    public CharacterJSONDAO(String filePath) {
+        this.filePath = filePath;
+    }
+
     /**
      * Lee y analiza el archivo JSON de personajes para crear una lista de objetos Character.
      *
@@ -26,29 +39,60 @@ public class CharacterJSONDAO implements CharacterDAO {
      */
     public List<Character> getCharacters() {
         List<Character> characters = new ArrayList<>();
+        if (!forEachCharacter(characters::add)) {
+            characters.clear(); // a broken file reads as empty, as when it was parsed in one go
+        }
+        return characters;
+    }
 
-        try {
-            // Leemos todo el contenido del archivo
-            String allFileContent = new String(Files.readAllBytes(Paths.get(filePath)));
-            // Convertimos el contenido en un JSONArray
-            JSONArray jsonArray = new JSONArray(allFileContent);
-
-            // Iteramos sobre el JSONArray y creamos los objetos Character
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject jsonObject = jsonArray.getJSONObject(i);
-
-                int id = jsonObject.getInt("id");
-                String name = jsonObject.getString("name");
-                int weight = jsonObject.getInt("weight");
-
-                // Agregamos el personaje a la lista
-                characters.add(new Character(id, name, weight));
+    /**
+     * Lee el archivo JSON de personajes de forma incremental y entrega cada personaje en cuanto se ha
+     * leído, sin cargar el archivo entero en memoria.
+     *
+     * @param consumer Recibe cada personaje.
+     * @return true si se ha leído el archivo entero, false si ha habido un error.
+     */
+    @Override
+    public boolean forEachCharacter(Consumer<Character> consumer) {
+        try (JsonPullReader reader = new JsonPullReader(Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                consumer.accept(readCharacter(reader));
             }
-
+            reader.endArray();
+            return true;
         } catch (JSONException | IOException e) {
             System.err.println("Error: could not parse file! " + e.getMessage());
+            return false;
         }
+    }
 
-        return characters;
+    /**
+     * Lee un personaje con el formato del archivo de personajes: un objeto con id, name y weight.
+     *
+     * @param reader El lector, colocado al principio del objeto.
+     * @return El personaje.
+     * @throws IOException   Si no se puede leer.
+     * @throws JSONException Si el objeto no es un personaje.
+     */
+    public static Character readCharacter(JsonPullReader reader) throws IOException, JSONException {
+        long id = 0;
+        String name = null;
+        int weight = 0;
+        int found = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id" -> { id = reader.nextLong(); found |= 1; }
+                case "name" -> { name = reader.nextString(); found |= 2; }
+                case "weight" -> { weight = reader.nextInt(); found |= 4; }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        JsonPullReader.requireFields(found, "id", "name", "weight");
+
+        return new Character(id, name, weight);
     }
 }
@@ -0,0 +1,262 @@
+package Persistance.JSON;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Genera un juego de datos sintético con el formato de {@code Data/}: {@code characters.json},
+ * {@code items.json}, {@code teams.json} y {@code stats.json}, del tamaño que se pida.
+ * <p>
+ * Los registros se escriben con un {@link JsonStreamWriter} según se generan y nada se guarda en memoria: los
+ * miembros de cada equipo se eligen por su posición y su ID se calcula de ella, y los nombres de los equipos
+ * de las estadísticas se recalculan igual. Así se pueden generar archivos mayores que el heap (10 millones de
+ * personajes ocupan unos 740 MB) y las referencias son siempre válidas: cada miembro es un personaje que existe
+ * y hay una entrada de estadísticas por equipo.
+ * <p>
+ * Las distribuciones imitan los datos reales: pesos normales alrededor de 95, poder log-normal (las armaduras
+ * algo más fuertes que las armas) y durabilidad geométrica, casi siempre entre 1 y 5. Con la misma semilla se
+ * generan los mismos archivos.
+ */
+public class DatasetGenerator {
+
+    /** Miembros de cada equipo, como en los equipos que crea el programa. */
+    public static final int TEAM_SIZE = 4;
+
+    private static final String[] STRATEGIES = {"focus-weakest", "spread-damage", "focus-heaviest", "focus-lightest"};
+    private static final String[] FIRST_NAMES = {"Iron", "Silent", "Crimson", "Lucky", "Grumpy", "Swift", "Rusty", "Golden",
+            "Shadow", "Mighty", "Tiny", "Wild", "Frozen", "Electric", "Sleepy", "Brave"};
+    private static final String[] LAST_NAMES = {"Panda", "Delegate", "Engineer", "Badger", "Welder", "Rector", "Falcon",
+            "Professor", "Goblin", "Student", "Knight", "Hacker", "Janitor", "Wizard", "Titan", "Otter"};
+    private static final String[] MATERIALS = {"Stale", "Rusty", "Wooden", "Plastic", "Steel", "Cardboard", "Golden",
+            "Broken", "Heavy", "Electric", "Ancient", "Cursed"};
+    private static final String[] WEAPONS = {"Welder", "Pudding", "Stapler", "Keyboard", "Umbrella", "Baguette", "Ruler",
+            "Soldering Iron", "Frying Pan", "Broom"};
+    private static final String[] ARMORS = {"Motherboard", "Helmet", "Lab Coat", "Backpack", "Shield", "Raincoat",
+            "Binder", "Server Rack", "Traffic Cone", "Apron"};
+    private static final String[] TEAM_WORDS = {"Salle", "Fest", "Bois", "Junta", "Night", "Owls", "Lab", "Rats",
+            "Campus", "Kings", "Debug", "Squad", "Byte", "Club", "Coffee", "Crew"};
+
+    private final int characters;
+    private final int items;
+    private final int teams;
+    private final long seed;
+
+    /**
+     * Crea un generador.
+     *
+     * @param characters Número de personajes, con IDs de 1 a {@code characters}. Como mínimo {@value #TEAM_SIZE}
+     *                   si hay equipos, porque los miembros de un equipo son distintos.
+     * @param items      Número de ítems, la mitad armas y la mitad armaduras.
+     * @param teams      Número de equipos, y de entradas de estadísticas.
+     * @param seed       Semilla de los valores aleatorios.
+     * @throws IllegalArgumentException Si algún número es negativo o no hay personajes para formar los equipos.
+     */
+    public DatasetGenerator(int characters, int items, int teams, long seed) {
+        if (characters < 0 || items < 0 || teams < 0) {
+            throw new IllegalArgumentException("Record counts must not be negative");
+        }
+        if (teams > 0 && characters < TEAM_SIZE) {
+            throw new IllegalArgumentException("Teams need at least " + TEAM_SIZE + " characters");
+        }
+        this.characters = characters;
+        this.items = items;
+        this.teams = teams;
+        this.seed = seed;
+    }
+
+    /**
+     * Escribe los cuatro archivos en un directorio, que se crea si no existe, y borra los archivos que el
+     * programa deriva de ellos ({@code teams.records}, {@code stats.journal}, {@code *.pages}, {@code catalog.bin}),
+     * que ya no les corresponderían. Cada archivo se escribe al lado del destino y se renombra al terminar.
+     *
+     * @param directory El directorio de datos.
+     * @return El tamaño en bytes de cada archivo, en el orden de {@code characters}, {@code items}, {@code teams}
+     * y {@code stats}.
+     * @throws IOException Si no se puede escribir algún archivo.
+     */
+    public long[] generate(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        deleteDerivedFiles(directory);
+        return new long[]{
+                write(directory.resolve("characters.json"), this::writeCharacters),
+                write(directory.resolve("items.json"), this::writeItems),
+                write(directory.resolve("teams.json"), this::writeTeams),
+                write(directory.resolve("stats.json"), this::writeStats)
+        };
+    }
+
+    public void writeCharacters(JsonStreamWriter json) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed);
+        json.beginArray();
+        for (int i = 0; i < characters; i++) {
+            long mix = mix(seed, i);
+            json.beginObject()
+                    .name("id").value(characterId(i))
+                    .name("name").value(FIRST_NAMES[(int) (mix & 15)] + " " + LAST_NAMES[(int) (mix >>> 4 & 15)])
+                    .name("weight").value(clamp(Math.round(95 + 20 * random.nextGaussian()), 40, 160))
+                    .endObject();
+        }
+        json.endArray();
+    }
+
+    public void writeItems(JsonStreamWriter json) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        json.beginArray();
+        for (int i = 0; i < items; i++) {
+            boolean weapon = i % 2 == 0;
+            long mix = mix(seed + 1, i);
+            String[] nouns = weapon ? WEAPONS : ARMORS;
+            // Log-normal power: most items are average, a few are very strong
+            double median = weapon ? 40 : 50;
+            long power = clamp(Math.round(median * Math.exp(0.45 * random.nextGaussian())), 1, 100);
+            json.beginObject()
+                    .name("id").value(itemId(i))
+                    .name("name").value(MATERIALS[(int) ((mix >>> 1) % MATERIALS.length)] + " " + nouns[(int) ((mix >>> 8) % nouns.length)])
+                    .name("power").value(power)
+                    .name("durability").value(durability(random))
+                    .name("class").value(weapon ? "Weapon" : "Armor")
+                    .endObject();
+        }
+        json.endArray();
+    }
+
+    public void writeTeams(JsonStreamWriter json) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed + 2);
+        int[] members = new int[TEAM_SIZE];
+        json.beginArray();
+        for (int t = 0; t < teams; t++) {
+            json.beginObject().name("name").value(teamName(t)).name("members").beginArray();
+            for (int m = 0; m < TEAM_SIZE; m++) {
+                members[m] = distinctMember(random, members, m);
+                // Most players keep the default strategy
+                String strategy = random.nextInt(10) < 6 ? "balanced" : STRATEGIES[random.nextInt(STRATEGIES.length)];
+                json.beginObject().name("id").value(characterId(members[m])).name("strategy").value(strategy).endObject();
+            }
+            json.endArray().endObject();
+        }
+        json.endArray();
+    }
+
+    public void writeStats(JsonStreamWriter json) throws IOException {
+        SplittableRandom random = new SplittableRandom(seed + 3);
+        json.beginArray();
+        for (int t = 0; t < teams; t++) {
+            // Many teams have barely played; skill decides wins and KOs, bounded by the games played
+            int played = (int) Math.min(500, Math.floor(-20 * Math.log(1 - random.nextDouble())));
+            double skill = random.nextDouble();
+            json.beginObject()
+                    .name("team_name").value(teamName(t))
+                    .name("games_played").value(played)
+                    .name("games_won").value(binomial(random, played, 0.1 + 0.8 * skill))
+                    .name("ko_done").value(binomial(random, TEAM_SIZE * played, 0.3 + 0.4 * skill))
+                    .name("ko_received").value(binomial(random, TEAM_SIZE * played, 0.7 - 0.4 * skill))
+                    .endObject();
+        }
+        json.endArray();
+    }
+
+    /**
+     * ID del personaje en la posición {@code index}: los IDs van de 1 en adelante, como en {@code Data/}.
+     */
+    public static long characterId(int index) {
+        return index + 1L;
+    }
+
+    /**
+     * ID del ítem en la posición {@code index}: un número entre 1 y 2^31-1 sin orden aparente, como los de
+     * {@code Data/}. Multiplicar por un impar es una biyección módulo 2^31, así que los IDs no se repiten.
+     */
+    public static long itemId(int index) {
+        return (index + 1L) * 0x9E3779B1L & 0x7FFFFFFFL;
+    }
+
+    /**
+     * Nombre del equipo en la posición {@code index}; el número final lo hace único.
+     */
+    public static String teamName(int index) {
+        long mix = mix(0, index);
+        return TEAM_WORDS[(int) (mix & 15)] + " " + TEAM_WORDS[(int) (mix >>> 4 & 15)] + " " + (index + 1);
+    }
+
+    private interface Content {
+        void write(JsonStreamWriter json) throws IOException;
+    }
+
+    private static long write(Path path, Content content) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (JsonStreamWriter json = new JsonStreamWriter(new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(temporary), StandardCharsets.UTF_8), 1 << 16), 2)) {
+            content.write(json);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return Files.size(path);
+    }
+
+    private static void deleteDerivedFiles(Path directory) throws IOException {
+        List<Path> derived = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                "{teams.records*,stats.journal*,stats.json.next,*.pages,*.pages.importing,catalog.bin}")) {
+            files.forEach(derived::add);
+        }
+        for (Path path : derived) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private int distinctMember(SplittableRandom random, int[] members, int count) {
+        while (true) {
+            int candidate = random.nextInt(characters);
+            boolean repeated = false;
+            for (int i = 0; i < count && !repeated; i++) {
+                repeated = members[i] == candidate;
+            }
+            if (!repeated) {
+                return candidate;
+            }
+        }
+    }
+
+    private static long durability(SplittableRandom random) {
+        long durability = 1;
+        while (durability < 10 && random.nextDouble() < 0.45) {
+            durability++;
+        }
+        return durability;
+    }
+
+    private static long binomial(SplittableRandom random, int trials, double probability) {
+        long successes = 0;
+        for (int i = 0; i < trials; i++) {
+            if (random.nextDouble() < probability) {
+                successes++;
+            }
+        }
+        return successes;
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    /**
+     * Mezcla de bits de SplitMix64: un valor pseudoaleatorio que depende solo de la semilla y la posición.
+     */
+    private static long mix(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+        return z ^ z >>> 31;
+    }
+}
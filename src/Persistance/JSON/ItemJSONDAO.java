@@ -5,16 +5,16 @@ import Business.Item.Item;
 
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import Business.Item.Weapon;
 import Persistance.ItemDAO;
-import org.json.JSONArray;
 import org.json.JSONException;
-import org.json.JSONObject;
 
 /**
  * Clase para manejar la lectura, el análisis y el guardado de ítems desde y hacia archivos JSON.
@@ -26,6 +26,15 @@ public class ItemJSONDAO implements ItemDAO {
         this.filepath = "Data/items.json";
     }
 
+    /**
+     * Crea un DAO que lee los ítems de otro archivo.
+     *
+     * @param filepath Ruta del archivo JSON de ítems.
+     */
+    public ItemJSONDAO(String filepath) {
+        this.filepath = filepath;
+    }
+
     /**
      * Lee y analiza un archivo JSON para crear una lista de objetos Item.
      *
@@ -33,112 +42,103 @@ public class ItemJSONDAO implements ItemDAO {
      */
     public List<Item> getItems() {
         List<Item> items = new ArrayList<>();
-
-        try {
-            // Leemos todo el contenido del archivo
-            String allFileContent = new String(Files.readAllBytes(Paths.get(this.filepath)));
-            // Convertimos el contenido en un JSONArray
-            JSONArray jsonArray = new JSONArray(allFileContent);
-
-            // Iteramos sobre el JSONArray y creamos los objetos Item
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject jsonObject = jsonArray.getJSONObject(i);
-
-                // Extraemos los valores directamente, asumiendo que las claves existen
-                int id = jsonObject.getInt("id");
-                String name = jsonObject.getString("name");
-                int power = jsonObject.getInt("power");
-                int durability = jsonObject.getInt("durability");
-                String itemClass = jsonObject.getString("class");
-
-                // Agregamos el ítem a la lista
-                if (itemClass.equals("Weapon")) {
-                    items.add(new Weapon(id, name, power, durability));
-                } else if (itemClass.equals("Armor")) {
-                    items.add(new Armor(id, name, power, durability));
-                } else {
-                    System.err.println("Item class invalid " + itemClass);
-                }
-            }
-        } catch (JSONException | IOException e) {
-            System.err.println("Error: could not parse file! " + e.getMessage());
+        if (!forEachItem(items::add)) {
+            items.clear(); // a broken file reads as empty, as when it was parsed in one go
         }
-
         return items;
     }
 
     /**
+     * Obtiene solo las armas del archivo.
      *
-     * @return
+     * @return Una lista con las armas leídas desde el archivo.
      */
     public List<Weapon> getWeapons() {
         List<Weapon> weapons = new ArrayList<>();
-
-        try {
-            // Leemos todo el contenido del archivo
-            String allFileContent = new String(Files.readAllBytes(Paths.get(this.filepath)));
-            // Convertimos el contenido en un JSONArray
-            JSONArray jsonArray = new JSONArray(allFileContent);
-
-            // Iteramos sobre el JSONArray y creamos los objetos Item
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject jsonObject = jsonArray.getJSONObject(i);
-
-                // Extraemos los valores directamente, asumiendo que las claves existen
-                int id = jsonObject.getInt("id");
-                String name = jsonObject.getString("name");
-                int power = jsonObject.getInt("power");
-                int durability = jsonObject.getInt("durability");
-                String itemClass = jsonObject.getString("class");
-
-                // Agregamos el ítem a la lista
-                if (itemClass.equals("Weapon")) {
-                    weapons.add(new Weapon(id, name, power, durability));
-                }
+        boolean complete = forEachItem(item -> {
+            if (item instanceof Weapon weapon) {
+                weapons.add(weapon);
             }
-        } catch (JSONException | IOException e) {
-            System.err.println("Error: could not parse file! " + e.getMessage());
+        });
+        if (!complete) {
+            weapons.clear();
         }
-
         return weapons;
     }
 
     /**
+     * Obtiene solo las armaduras del archivo.
      *
-     * @return
+     * @return Una lista con las armaduras leídas desde el archivo.
      */
     public List<Armor> getArmors() {
         List<Armor> armors = new ArrayList<>();
+        boolean complete = forEachItem(item -> {
+            if (item instanceof Armor armor) {
+                armors.add(armor);
+            }
+        });
+        if (!complete) {
+            armors.clear();
+        }
+        return armors;
+    }
 
-        try {
-            // Leemos todo el contenido del archivo
-            String allFileContent = new String(Files.readAllBytes(Paths.get(this.filepath)));
-            // Convertimos el contenido en un JSONArray
-            JSONArray jsonArray = new JSONArray(allFileContent);
-
-            // Iteramos sobre el JSONArray y creamos los objetos Item
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject jsonObject = jsonArray.getJSONObject(i);
-
-                // Extraemos los valores directamente, asumiendo que las claves existen
-                int id = jsonObject.getInt("id");
-                String name = jsonObject.getString("name");
-                int power = jsonObject.getInt("power");
-                int durability = jsonObject.getInt("durability");
-                String itemClass = jsonObject.getString("class");
-
-                // Agregamos el ítem a la lista
-                if (itemClass.equals("Armor")) {
-                    armors.add(new Armor(id, name, power, durability));
+    /**
+     * Lee el archivo JSON de ítems de forma incremental y entrega cada ítem en cuanto se ha leído, sin
+     * cargar el archivo entero en memoria. Los ítems de una clase desconocida se descartan con un aviso.
+     *
+     * @param consumer Recibe cada ítem.
+     * @return true si se ha leído el archivo entero, false si ha habido un error.
+     */
+    @Override
+    public boolean forEachItem(Consumer<Item> consumer) {
+        try (JsonPullReader reader = new JsonPullReader(Files.newBufferedReader(Paths.get(this.filepath), StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                Item item = readItem(reader);
+                if (item != null) {
+                    consumer.accept(item);
                 }
             }
+            reader.endArray();
+            return true;
         } catch (JSONException | IOException e) {
             System.err.println("Error: could not parse file! " + e.getMessage());
+            return false;
         }
-
-        return armors;
     }
 
+    private static Item readItem(JsonPullReader reader) throws IOException, JSONException {
+        long id = 0;
+        String name = null;
+        int power = 0;
+        int durability = 0;
+        String itemClass = null;
+        int found = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id" -> { id = reader.nextLong(); found |= 1; }
+                case "name" -> { name = reader.nextString(); found |= 2; }
+                case "power" -> { power = reader.nextInt(); found |= 4; }
+                case "durability" -> { durability = reader.nextInt(); found |= 8; }
+                case "class" -> { itemClass = reader.nextString(); found |= 16; }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        JsonPullReader.requireFields(found, "id", "name", "power", "durability", "class");
+
+        if (itemClass.equals("Weapon")) {
+            return new Weapon(id, name, power, durability);
+        } else if (itemClass.equals("Armor")) {
+            return new Armor(id, name, power, durability);
+        }
+        System.err.println("Item class invalid " + itemClass);
+        return null;
+    }
 
 //    /**
 //     * Guarda la lista de ítems en un archivo JSON.
@@ -0,0 +1,491 @@
+package Persistance.JSON;
+
+import org.json.JSONException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Lector JSON por demanda: recorre el texto token a token sin construir el documento entero, de modo que
+ * la memoria necesaria depende del tamaño de un registro y no del archivo.
+ * <p>
+ * El llamante pide lo que espera encontrar ({@link #beginArray()}, {@link #nextName()}, {@link #nextLong()},
+ * ...) y el lector lanza {@link JSONException} si el texto no coincide, igual que {@code JSONArray} y
+ * {@code JSONObject} con un archivo mal formado. Las comas y los dos puntos se comprueban al pedir el
+ * siguiente elemento.
+ */
+public class JsonPullReader implements Closeable {
+
+    /** Tipos de token que puede devolver {@link #peek()}. */
+    public enum Token { BEGIN_ARRAY, END_ARRAY, BEGIN_OBJECT, END_OBJECT, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT }
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final int IN_ARRAY_START = 1;
+    private static final int IN_ARRAY = 2;
+    private static final int IN_OBJECT_START = 3;
+    private static final int IN_OBJECT_NAME = 4;   // a name was read, a value follows
+    private static final int IN_OBJECT = 5;        // a value was read, ',' or '}' follows
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private long consumed;
+
+    private int[] stack = new int[32];
+    private int depth;
+    private Token peeked;
+
+    private final StringBuilder text = new StringBuilder();
+    private final String[] names = new String[16];
+    private int nextName;
+
+    /**
+     * Crea un lector sobre un flujo de caracteres. El lector ya usa su propio buffer.
+     *
+     * @param reader El flujo a leer.
+     */
+    public JsonPullReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Mira el tipo del siguiente token sin consumirlo.
+     *
+     * @return El tipo del siguiente token.
+     * @throws IOException   Si falla la lectura.
+     * @throws JSONException Si el texto no es JSON válido en este punto.
+     */
+    public Token peek() throws IOException, JSONException {
+        if (peeked != null) {
+            return peeked;
+        }
+        int context = depth == 0 ? 0 : stack[depth - 1];
+        int c = nextNonWhitespace();
+
+        switch (context) {
+            case IN_ARRAY_START -> {
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                stack[depth - 1] = IN_ARRAY;
+            }
+            case IN_ARRAY -> {
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                expect(c, ',');
+                c = nextNonWhitespace();
+            }
+            case IN_OBJECT_START, IN_OBJECT -> {
+                if (c == '}') {
+                    return peeked = Token.END_OBJECT;
+                }
+                if (context == IN_OBJECT) {
+                    expect(c, ',');
+                    c = nextNonWhitespace();
+                }
+                expect(c, '"');
+                stack[depth - 1] = IN_OBJECT_NAME;
+                return peeked = Token.NAME;
+            }
+            case IN_OBJECT_NAME -> {
+                expect(c, ':');
+                stack[depth - 1] = IN_OBJECT;
+                c = nextNonWhitespace();
+            }
+            default -> {
+                if (c == -1) {
+                    return peeked = Token.END_DOCUMENT;
+                }
+            }
+        }
+        return peeked = valueToken(c);
+    }
+
+    /**
+     * Consume el inicio de un array.
+     */
+    public void beginArray() throws IOException, JSONException {
+        consume(Token.BEGIN_ARRAY);
+        push(IN_ARRAY_START);
+    }
+
+    /**
+     * Consume el final de un array.
+     */
+    public void endArray() throws IOException, JSONException {
+        consume(Token.END_ARRAY);
+        depth--;
+    }
+
+    /**
+     * Consume el inicio de un objeto.
+     */
+    public void beginObject() throws IOException, JSONException {
+        consume(Token.BEGIN_OBJECT);
+        push(IN_OBJECT_START);
+    }
+
+    /**
+     * Consume el final de un objeto.
+     */
+    public void endObject() throws IOException, JSONException {
+        consume(Token.END_OBJECT);
+        depth--;
+    }
+
+    /**
+     * Indica si el array u objeto actual tiene más elementos.
+     *
+     * @return true si el siguiente token no cierra el array u objeto actual.
+     */
+    public boolean hasNext() throws IOException, JSONException {
+        Token token = peek();
+        return token != Token.END_ARRAY && token != Token.END_OBJECT && token != Token.END_DOCUMENT;
+    }
+
+    /**
+     * Lee el nombre de la siguiente propiedad del objeto actual.
+     *
+     * @return El nombre de la propiedad.
+     */
+    public String nextName() throws IOException, JSONException {
+        consume(Token.NAME);
+        readString();
+        return cachedName();
+    }
+
+    /**
+     * Lee un texto. Como {@code JSONObject#getString}, no acepta otros tipos de valor.
+     *
+     * @return El texto.
+     */
+    public String nextString() throws IOException, JSONException {
+        consume(Token.STRING);
+        readString();
+        return text.toString();
+    }
+
+    /**
+     * Lee un número entero de 64 bits. Acepta también números con decimales (se truncan) y textos con un
+     * número, igual que {@code JSONObject#getLong}.
+     *
+     * @return El número.
+     */
+    public long nextLong() throws IOException, JSONException {
+        Token token = peek();
+        if (token == Token.STRING) {
+            consume(Token.STRING);
+            readString();
+        } else {
+            consume(Token.NUMBER);
+            readNumber();
+        }
+        return parseLong();
+    }
+
+    /**
+     * Lee un número entero de 32 bits, con las mismas reglas que {@link #nextLong()}.
+     *
+     * @return El número.
+     */
+    public int nextInt() throws IOException, JSONException {
+        return (int) nextLong();
+    }
+
+    /**
+     * Lee un número real.
+     *
+     * @return El número.
+     */
+    public double nextDouble() throws IOException, JSONException {
+        Token token = peek();
+        if (token == Token.STRING) {
+            consume(Token.STRING);
+            readString();
+        } else {
+            consume(Token.NUMBER);
+            readNumber();
+        }
+        String value = text.toString();
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Value is not a number: " + value);
+        }
+    }
+
+    /**
+     * Lee un valor booleano.
+     *
+     * @return El valor.
+     */
+    public boolean nextBoolean() throws IOException, JSONException {
+        consume(Token.BOOLEAN);
+        return readLiteral().equals("true");
+    }
+
+    /**
+     * Salta el siguiente valor completo (incluidos los arrays y objetos que contenga), o la siguiente
+     * propiedad si el siguiente token es un nombre.
+     */
+    public void skipValue() throws IOException, JSONException {
+        if (peek() == Token.NAME) {
+            nextName();
+        }
+        int level = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_ARRAY -> { beginArray(); level++; }
+                case BEGIN_OBJECT -> { beginObject(); level++; }
+                case END_ARRAY -> { endArray(); level--; }
+                case END_OBJECT -> { endObject(); level--; }
+                case NAME -> nextName();
+                case STRING -> { consume(Token.STRING); readString(); }
+                case NUMBER -> { consume(Token.NUMBER); readNumber(); }
+                case BOOLEAN, NULL -> { peeked = null; readLiteral(); }
+                case END_DOCUMENT -> throw syntaxError("Unexpected end of document");
+            }
+        } while (level > 0);
+    }
+
+    /**
+     * Comprueba que un registro tiene todas sus propiedades obligatorias, con el mismo error que
+     * {@code JSONObject} al pedir una que no existe.
+     *
+     * @param found Máscara de las propiedades leídas: el bit i corresponde a {@code names[i]}.
+     * @param names Los nombres de las propiedades obligatorias.
+     * @throws JSONException Si falta alguna.
+     */
+    public static void requireFields(int found, String... names) throws JSONException {
+        for (int i = 0; i < names.length; i++) {
+            if ((found & (1 << i)) == 0) {
+                throw new JSONException("JSONObject[\"" + names[i] + "\"] not found.");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private Token valueToken(int c) throws JSONException {
+        switch (c) {
+            case '[': return Token.BEGIN_ARRAY;
+            case '{': return Token.BEGIN_OBJECT;
+            case '"': return Token.STRING;
+            case 't': case 'f': position--; return Token.BOOLEAN;
+            case 'n': position--; return Token.NULL;
+            case -1: throw syntaxError("Unexpected end of document");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    position--;
+                    return Token.NUMBER;
+                }
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private void consume(Token expected) throws IOException, JSONException {
+        Token token = peek();
+        if (token != expected) {
+            throw syntaxError("Expected " + expected + " but found " + token);
+        }
+        peeked = null;
+    }
+
+    private void push(int context) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = context;
+    }
+
+    /** Lee en {@link #text} el resto de un texto cuya comilla inicial ya se ha consumido. */
+    private void readString() throws IOException, JSONException {
+        text.setLength(0);
+        while (true) {
+            char[] chars = buffer;
+            int start = position;
+            int p = position;
+            int end = limit;
+            while (p < end) {
+                char c = chars[p++];
+                if (c == '"') {
+                    text.append(chars, start, p - 1 - start);
+                    position = p;
+                    return;
+                }
+                if (c == '\\') {
+                    text.append(chars, start, p - 1 - start);
+                    position = p;
+                    text.append(readEscape());
+                    p = position;
+                    end = limit;
+                    start = p;
+                }
+            }
+            text.append(chars, start, p - start);
+            position = p;
+            if (!fill()) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    private char readEscape() throws IOException, JSONException {
+        int c = read();
+        switch (c) {
+            case '"': case '\\': case '/': return (char) c;
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Illegal escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            default:
+                throw syntaxError("Illegal escape");
+        }
+    }
+
+    /** Lee en {@link #text} los caracteres de un número. */
+    private void readNumber() throws IOException {
+        text.setLength(0);
+        while (true) {
+            while (position < limit) {
+                char c = buffer[position];
+                if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+                    text.append(c);
+                    position++;
+                } else {
+                    return;
+                }
+            }
+            if (!fill()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Devuelve el nombre leído en {@link #text}. Los registros repiten siempre los mismos nombres, así que
+     * se reutilizan los últimos en lugar de crear un String por propiedad.
+     */
+    private String cachedName() {
+        int length = text.length();
+        for (String name : names) {
+            if (name == null) {
+                break;
+            }
+            if (name.length() == length && name.contentEquals(text)) {
+                return name;
+            }
+        }
+        String name = text.toString();
+        names[nextName] = name;
+        nextName = (nextName + 1) % names.length;
+        return name;
+    }
+
+    private String readLiteral() throws IOException, JSONException {
+        text.setLength(0);
+        while (true) {
+            while (position < limit) {
+                char c = buffer[position];
+                if (c >= 'a' && c <= 'z') {
+                    text.append(c);
+                    position++;
+                } else {
+                    return checkLiteral(text.toString());
+                }
+            }
+            if (!fill()) {
+                return checkLiteral(text.toString());
+            }
+        }
+    }
+
+    private String checkLiteral(String literal) throws JSONException {
+        if (!literal.equals("true") && !literal.equals("false") && !literal.equals("null")) {
+            throw syntaxError("Unexpected value '" + literal + "'");
+        }
+        return literal;
+    }
+
+    /** Convierte el número de {@link #text}, sin crear un String si es un entero. */
+    private long parseLong() throws JSONException {
+        try {
+            return Long.parseLong(text, 0, text.length(), 10);
+        } catch (NumberFormatException e) {
+            String value = text.toString();
+            try {
+                return (long) Double.parseDouble(value);
+            } catch (NumberFormatException notDouble) {
+                throw syntaxError("Value is not a number: " + value);
+            }
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            // Local copies: the loop runs over every indentation character of pretty-printed files
+            char[] chars = buffer;
+            int p = position;
+            int end = limit;
+            while (p < end) {
+                char c = chars[p++];
+                if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                    position = p;
+                    return c;
+                }
+            }
+            position = p;
+            if (!fill()) {
+                return -1;
+            }
+        }
+    }
+
+    private void expect(int c, char expected) throws JSONException {
+        if (c != expected) {
+            throw syntaxError(c == -1 ? "Unexpected end of document" : "Expected '" + expected + "' but found '" + (char) c + "'");
+        }
+    }
+
+    private int read() throws IOException, JSONException {
+        if (position == limit && !fill()) {
+            throw syntaxError("Unexpected end of document");
+        }
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        consumed += limit;
+        position = 0;
+        limit = 0;
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+
+    private JSONException syntaxError(String message) {
+        return new JSONException(message + " at character " + (consumed + position));
+    }
+}
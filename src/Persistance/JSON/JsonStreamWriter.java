@@ -0,0 +1,207 @@
+package Persistance.JSON;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Escritor JSON por flujo, la contrapartida de {@link JsonPullReader}: escribe cada valor en cuanto se le
+ * pasa, sin construir el documento en memoria, de modo que puede generar archivos mayores que el heap.
+ * <p>
+ * El llamante abre y cierra arrays y objetos ({@link #beginArray()}, {@link #name(String)}, {@link #value(long)},
+ * ...) y el escritor pone las comas, los dos puntos y el sangrado. Usarlo en un orden imposible (un valor
+ * sin nombre dentro de un objeto, cerrar lo que no está abierto) es un error del programa y lanza
+ * {@link IllegalStateException}.
+ */
+public class JsonStreamWriter implements Closeable {
+
+    private static final int EMPTY_ARRAY = 1;
+    private static final int ARRAY = 2;
+    private static final int EMPTY_OBJECT = 3;
+    private static final int OBJECT = 4;
+    private static final int NAME = 5;   // a name was written, its value follows
+
+    private final Writer writer;
+    private final String indent;
+    private int[] stack = new int[32];
+    private int depth;
+    private boolean started;
+
+    /**
+     * Crea un escritor sobre un flujo de caracteres. Conviene que el flujo tenga buffer.
+     *
+     * @param writer El flujo donde se escribe.
+     * @param indent Espacios de sangrado por nivel; 0 para escribirlo todo en una línea.
+     */
+    public JsonStreamWriter(Writer writer, int indent) {
+        this.writer = writer;
+        this.indent = " ".repeat(indent);
+    }
+
+    public JsonStreamWriter beginArray() throws IOException {
+        beforeValue();
+        push(EMPTY_ARRAY);
+        writer.write('[');
+        return this;
+    }
+
+    public JsonStreamWriter endArray() throws IOException {
+        return end(EMPTY_ARRAY, ARRAY, ']');
+    }
+
+    public JsonStreamWriter beginObject() throws IOException {
+        beforeValue();
+        push(EMPTY_OBJECT);
+        writer.write('{');
+        return this;
+    }
+
+    public JsonStreamWriter endObject() throws IOException {
+        return end(EMPTY_OBJECT, OBJECT, '}');
+    }
+
+    /**
+     * Escribe el nombre del siguiente valor de un objeto.
+     *
+     * @param name El nombre.
+     * @return Este escritor.
+     * @throws IOException Si falla la escritura.
+     */
+    public JsonStreamWriter name(String name) throws IOException {
+        int context = depth == 0 ? 0 : stack[depth - 1];
+        if (context != EMPTY_OBJECT && context != OBJECT) {
+            throw new IllegalStateException("A name must be inside an object: " + name);
+        }
+        if (context == OBJECT) {
+            writer.write(',');
+        }
+        newline();
+        string(name);
+        writer.write(indent.isEmpty() ? ":" : ": ");
+        stack[depth - 1] = NAME;
+        return this;
+    }
+
+    public JsonStreamWriter value(String value) throws IOException {
+        beforeValue();
+        if (value == null) {
+            writer.write("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    public JsonStreamWriter value(long value) throws IOException {
+        beforeValue();
+        writer.write(Long.toString(value));
+        return this;
+    }
+
+    public JsonStreamWriter value(boolean value) throws IOException {
+        beforeValue();
+        writer.write(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Termina el documento con un salto de línea y cierra el flujo.
+     *
+     * @throws IOException           Si falla la escritura.
+     * @throws IllegalStateException Si queda algún array u objeto abierto.
+     */
+    @Override
+    public void close() throws IOException {
+        if (depth != 0) {
+            writer.close();
+            throw new IllegalStateException("Unclosed JSON array or object");
+        }
+        if (started) {
+            writer.write('\n');
+        }
+        writer.close();
+    }
+
+    private void beforeValue() throws IOException {
+        if (depth == 0) {
+            if (started) {
+                throw new IllegalStateException("A JSON document has a single top-level value");
+            }
+            started = true;
+            return;
+        }
+        switch (stack[depth - 1]) {
+            case EMPTY_ARRAY -> {
+                stack[depth - 1] = ARRAY;
+                newline();
+            }
+            case ARRAY -> {
+                writer.write(',');
+                newline();
+            }
+            case NAME -> stack[depth - 1] = OBJECT;
+            default -> throw new IllegalStateException("A value inside an object needs a name first");
+        }
+    }
+
+    private JsonStreamWriter end(int empty, int nonEmpty, char close) throws IOException {
+        int context = depth == 0 ? 0 : stack[depth - 1];
+        if (context != empty && context != nonEmpty) {
+            throw new IllegalStateException("Nothing to close with '" + close + "'");
+        }
+        depth--;
+        if (context == nonEmpty) {
+            newline();
+        }
+        writer.write(close);
+        return this;
+    }
+
+    private void push(int context) {
+        if (depth == stack.length) {
+            int[] grown = new int[depth * 2];
+            System.arraycopy(stack, 0, grown, 0, depth);
+            stack = grown;
+        }
+        stack[depth++] = context;
+    }
+
+    private void newline() throws IOException {
+        if (indent.isEmpty()) {
+            return;
+        }
+        writer.write('\n');
+        for (int i = 0; i < depth; i++) {
+            writer.write(indent);
+        }
+    }
+
+    private void string(String value) throws IOException {
+        writer.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String escaped;
+            if (c == '"') {
+                escaped = "\\\"";
+            } else if (c == '\\') {
+                escaped = "\\\\";
+            } else if (c == '\n') {
+                escaped = "\\n";
+            } else if (c == '\r') {
+                escaped = "\\r";
+            } else if (c == '\t') {
+                escaped = "\\t";
+            } else if (c < 0x20) {
+                escaped = String.format("\\u%04x", (int) c);
+            } else {
+                continue;
+            }
+            writer.write(value, start, i - start);
+            writer.write(escaped);
+            start = i + 1;
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+}
@@ -2,12 +2,18 @@ package Persistance.JSON;
 
 import Business.Stats.Stats;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import Persistance.StatsDAO;
 import org.json.JSONArray;
@@ -23,6 +29,16 @@ public class StatsJSONDAO implements StatsDAO {
     public StatsJSONDAO() {
         this.filepath = "Data/stats.json";
     }
+
+    /**
+     * Crea un DAO que lee y escribe las estadísticas en otro archivo.
+     *
+     * @param filepath Ruta del archivo JSON de estadísticas.
+     */
+    public StatsJSONDAO(String filepath) {
+        this.filepath = filepath;
+    }
+
     /**
      * Lee y analiza un archivo JSON para crear una lista de objetos Stats.
      *
@@ -30,34 +46,62 @@ public class StatsJSONDAO implements StatsDAO {
      */
     public List<Stats> getStats() {
         List<Stats> statsList = new ArrayList<>();
+        if (!forEachStats(statsList::add)) {
+            statsList.clear(); // a broken file reads as empty, as when it was parsed in one go
+        }
+        return statsList;
+    }
 
-        try {
-            // Leemos todo el contenido del archivo
-            String allFileContent = new String(Files.readAllBytes(Paths.get(this.filepath)));
-            // Convertimos el contenido en un JSONArray
-            JSONArray jsonArray = new JSONArray(allFileContent);
-
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject jsonObject = jsonArray.getJSONObject(i);
-
-                String teamName = jsonObject.getString("team_name");
-                int gamesPlayed = jsonObject.getInt("games_played");
-                int gamesWon = jsonObject.getInt("games_won");
-                int koDone = jsonObject.getInt("ko_done");
-                int koReceived = jsonObject.getInt("ko_received");
-
-                // Agregamos la estadística a la lista
-                statsList.add(new Stats(teamName, gamesPlayed, gamesWon, koDone, koReceived));
+    /**
+     * Lee el archivo JSON de estadísticas de forma incremental y entrega las de cada equipo en cuanto se
+     * han leído, sin cargar el archivo entero en memoria.
+     *
+     * @param consumer Recibe las estadísticas de cada equipo.
+     * @return true si se ha leído el archivo entero, false si ha habido un error.
+     */
+    @Override
+    public boolean forEachStats(Consumer<Stats> consumer) {
+        try (JsonPullReader reader = new JsonPullReader(Files.newBufferedReader(Paths.get(this.filepath), StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                consumer.accept(readStats(reader));
             }
+            reader.endArray();
+            return true;
         } catch (JSONException | IOException e) {
             System.err.println("Error: could not parse file! " + e.getMessage());
+            return false;
         }
+    }
 
-        return statsList;
+    private static Stats readStats(JsonPullReader reader) throws IOException, JSONException {
+        String teamName = null;
+        int gamesPlayed = 0;
+        int gamesWon = 0;
+        int koDone = 0;
+        int koReceived = 0;
+        int found = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "team_name" -> { teamName = reader.nextString(); found |= 1; }
+                case "games_played" -> { gamesPlayed = reader.nextInt(); found |= 2; }
+                case "games_won" -> { gamesWon = reader.nextInt(); found |= 4; }
+                case "ko_done" -> { koDone = reader.nextInt(); found |= 8; }
+                case "ko_received" -> { koReceived = reader.nextInt(); found |= 16; }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        JsonPullReader.requireFields(found, "team_name", "games_played", "games_won", "ko_done", "ko_received");
+
+        return new Stats(teamName, gamesPlayed, gamesWon, koDone, koReceived);
     }
 
     /**
-     * Guarda la lista de estadísticas en un archivo JSON.
+     * Guarda la lista de estadísticas en un archivo JSON. El archivo se escribe al lado del destino y se
+     * renombra al terminar, de modo que si el programa se interrumpe queda el archivo anterior entero.
      *
      * @param statsList Lista de objetos Stats que se van a guardar.
      * @throws JSONException Si ocurre un error al crear el formato JSON.
@@ -76,19 +120,29 @@ public class StatsJSONDAO implements StatsDAO {
             jsonArray.put(statsObject);
         }
 
-        // Guardamos el JSON en el archivo
-        FileWriter file = null;
-        try  {
-            file = new FileWriter(this.filepath);
-            file.write(jsonArray.toString(4)); // Escribimos el JSON con formato indentado
-        } catch (JSONException | IOException e) {
-            throw new RuntimeException(e);
-        } finally {
-            try {
-                file.close();
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+        // Escribimos el JSON con formato indentado en un archivo temporal y lo renombramos
+        byte[] bytes = jsonArray.toString(4).getBytes(StandardCharsets.UTF_8);
+        Path target = Paths.get(this.filepath).toAbsolutePath();
+        Path temporary = null;
+        try {
+            temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (IOException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
             }
+            throw new RuntimeException(e);
         }
     }
 }
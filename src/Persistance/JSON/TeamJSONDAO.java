@@ -3,12 +3,15 @@ package Persistance.JSON;
 import Business.Team.Member;
 import Business.Team.Team;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import Persistance.TeamDAO;
 import org.json.JSONArray;
@@ -21,6 +24,19 @@ import org.json.JSONObject;
 public class TeamJSONDAO implements TeamDAO {
 
     private String filePath = "Data/teams.json";
+
+    public TeamJSONDAO() {
+    }
+
+    /**
+     * Crea un DAO que lee y escribe los equipos en otro archivo.
+     *
+     * @param filePath Ruta del archivo JSON de equipos.
+     */
+    public TeamJSONDAO(String filePath) {
+        this.filePath = filePath;
+    }
+
     /**
      * Lee y analiza un archivo JSON para crear una lista de objetos Team.
      *
@@ -28,36 +44,77 @@ public class TeamJSONDAO implements TeamDAO {
      */
     public List<Team> getTeams() {
         List<Team> teams = new ArrayList<>();
+        if (!forEachTeam(teams::add)) {
+            teams.clear(); // a broken file reads as empty, as when it was parsed in one go
+        }
+        return teams;
+    }
 
-        try {
-            // Leemos todo el contenido del archivo
-            String allFileContent = new String(Files.readAllBytes(Paths.get(filePath)));
-            // Convertimos el contenido en un JSONArray
-            JSONArray jsonArray = new JSONArray(allFileContent);
-
-            // Iteramos sobre el JSONArray y creamos los objetos Team
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject jsonObject = jsonArray.getJSONObject(i);
-
-                String name = jsonObject.getString("name");
-                JSONArray membersArray = jsonObject.getJSONArray("members");
-
-                // Crear la lista de miembros
-                List<Member> members = new ArrayList<>();
-                for (int j = 0; j < membersArray.length(); j++) {
-                    JSONObject memberObject = membersArray.getJSONObject(j);
-                    int id = memberObject.getInt("id");
-                    String strategy = memberObject.getString("strategy");
-                    members.add(new Member(id, strategy));
-                }
-
-                teams.add(new Team(name, members));
+    /**
+     * Lee el archivo JSON de equipos de forma incremental y entrega cada equipo en cuanto se ha leído,
+     * sin cargar el archivo entero en memoria.
+     *
+     * @param consumer Recibe cada equipo.
+     * @return true si se ha leído el archivo entero, false si ha habido un error.
+     */
+    @Override
+    public boolean forEachTeam(Consumer<Team> consumer) {
+        try (JsonPullReader reader = new JsonPullReader(Files.newBufferedReader(Paths.get(filePath), StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                consumer.accept(readTeam(reader));
             }
+            reader.endArray();
+            return true;
         } catch (JSONException | IOException e) {
             System.err.println("Error: could not parse file! " + e.getMessage());
+            return false;
         }
+    }
 
-        return teams;
+    private static Team readTeam(JsonPullReader reader) throws IOException, JSONException {
+        String name = null;
+        List<Member> members = new ArrayList<>();
+        int found = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name" -> { name = reader.nextString(); found |= 1; }
+                case "members" -> {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        members.add(readMember(reader));
+                    }
+                    reader.endArray();
+                    found |= 2;
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        JsonPullReader.requireFields(found, "name", "members");
+
+        return new Team(name, members);
+    }
+
+    private static Member readMember(JsonPullReader reader) throws IOException, JSONException {
+        long id = 0;
+        String strategy = null;
+        int found = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id" -> { id = reader.nextLong(); found |= 1; }
+                case "strategy" -> { strategy = reader.nextString(); found |= 2; }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        JsonPullReader.requireFields(found, "id", "strategy");
+
+        return new Member(id, strategy);
     }
 
     /**
@@ -66,48 +123,26 @@ public class TeamJSONDAO implements TeamDAO {
      * @param team El equipo que se va a crear y guardar.
      */
     public void createTeam(Team team) {
-        JSONArray jsonArray = new JSONArray();
-
-        try {
-            List<Team> existingTeams = this.getTeams(); // Leer los equipos existentes
-            existingTeams.add(team);
-
-            for (Team existingTeam : existingTeams) {
-                JSONObject teamObject = new JSONObject();
-                teamObject.put("name: ", existingTeam.getTeamName());
-
-                JSONArray membersArray = new JSONArray();
-                for (Member member : existingTeam.getTeamMembers()) {
-                    JSONObject memberObject = new JSONObject();
-                    memberObject.put("id: ", member.getMemberId());
-                    memberObject.put("strategy: ", member.getStrategy());
-                    membersArray.put(memberObject);
-                }
-
-                teamObject.put("members: ", membersArray);
-                jsonArray.put(teamObject);
-            }
-        } catch (Exception e) {
-            System.out.println(e);
-        }
-
-        // Guardar el archivo JSON con formato indentado
-        FileWriter file = null;
-        try {
-            file = new FileWriter(this.filePath);
-            file.write(jsonArray.toString(4));
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        } finally {
-            try {
-                file.close();
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
+        List<Team> teams = new ArrayList<>();
+        if (Files.exists(Paths.get(filePath)) && !forEachTeam(teams::add)) {
+            throw new RuntimeException("Could not read " + filePath + "."); // don't replace a file we can't read
         }
+        teams.add(team);
+        writeTeams(teams);
     }
 
+    /**
+     * Busca un equipo por su nombre, sin distinguir mayúsculas.
+     *
+     * @param name El nombre del equipo.
+     * @return El equipo, o null si no existe.
+     */
     public Team getTeam(String name) {
+        for (Team team : getTeams()) {
+            if (team.getTeamName().equalsIgnoreCase(name)) {
+                return team;
+            }
+        }
         return null;
     }
 
@@ -116,38 +151,61 @@ public class TeamJSONDAO implements TeamDAO {
      *
      * @param team El nombre del equipo que se desea eliminar.
      * @return true si el equipo fue eliminado correctamente, false si no se encontró.
-     * @throws IOException Si ocurre un error al leer o escribir en el archivo.
      */
     public boolean deleteTeam(Team team) {
+        List<Team> teams = new ArrayList<>();
+        if (!forEachTeam(teams::add)) {
+            return false;
+        }
+        boolean teamFound = teams.removeIf(existing -> existing.getTeamName().equalsIgnoreCase(team.getTeamName()));
+        if (!teamFound) {
+            return false; // El equipo no se encontró
+        }
+
         try {
-            // Leer el contenido del archivo JSON
-            String allFileContent = new String(Files.readAllBytes(Paths.get(filePath)));
-            JSONArray jsonArray = new JSONArray(allFileContent);
-
-            // Buscar y eliminar el equipo del JSON
-            boolean teamFound = false;
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject teamObject = jsonArray.getJSONObject(i);
-                if (teamObject.getString("name").equalsIgnoreCase(team.getTeamName())) {
-                    jsonArray.remove(i);
-                    teamFound = true;
+            writeTeams(teams);
+            return true;
+        } catch (RuntimeException e) {
+            System.err.println("Error while saving teams: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Guarda los equipos en el archivo JSON, con las mismas claves que se leen. El archivo se escribe al
+     * lado del destino y se renombra al terminar.
+     */
+    private void writeTeams(List<Team> teams) {
+        JSONArray jsonArray = new JSONArray();
+        try {
+            for (Team team : teams) {
+                JSONObject teamObject = new JSONObject();
+                teamObject.put("name", team.getTeamName());
+
+                JSONArray membersArray = new JSONArray();
+                for (Member member : team.getTeamMembers()) {
+                    JSONObject memberObject = new JSONObject();
+                    memberObject.put("id", member.getMemberId());
+                    memberObject.put("strategy", member.getStrategy());
+                    membersArray.put(memberObject);
                 }
-            }
 
-            if (!teamFound) {
-                return false; // El equipo no se encontró
+                teamObject.put("members", membersArray);
+                jsonArray.put(teamObject);
             }
 
-            // Guardar el JSON actualizado en el archivo
-            try (FileWriter file = new FileWriter(filePath)) {
-                file.write(jsonArray.toString(4));
+            // Guardar el archivo JSON con formato indentado
+            byte[] bytes = jsonArray.toString(4).getBytes(StandardCharsets.UTF_8);
+            Path target = Paths.get(filePath).toAbsolutePath();
+            Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temporary, bytes);
+                Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporary);
             }
-
-            return true;
-
-        } catch (Exception e) {
-            System.err.println("Error parsing JSON: " + e.getMessage());
-            return false;
+        } catch (JSONException | IOException e) {
+            throw new RuntimeException(e);
         }
     }
 }
@@ -0,0 +1,208 @@
+package Persistance.Paged;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Árbol B+ sobre las páginas de un {@link PageFile}, con claves y valores de bytes. Las claves se ordenan
+ * comparando sus bytes sin signo; los valores solo están en las hojas, que forman una lista enlazada en
+ * orden de clave.
+ * <p>
+ * Los nodos se parten cuando dejan de caber en su página. Al borrar no se fusionan: una hoja puede quedar
+ * medio vacía o vacía, y se aprovecha cuando vuelven a entrar claves de su rango.
+ */
+final class BPlusTree {
+
+    /** Tamaño máximo de una clave, para que cualquier nodo interno tenga sitio para varias. */
+    static final int MAX_KEY_BYTES = 255;
+    /** Tamaño máximo de un valor, para que al partir una hoja las dos mitades quepan en su página. */
+    static final int MAX_VALUE_BYTES = 1500;
+
+    private final PageFile file;
+    private final PageCache cache;
+
+    /**
+     * Clave que sube al padre al partir un nodo y página del nodo nuevo, a su derecha.
+     */
+    private static final class Split {
+        private final byte[] key;
+        private final int right;
+
+        Split(byte[] key, int right) {
+            this.key = key;
+            this.right = right;
+        }
+    }
+
+    /**
+     * Recibe las entradas del árbol en orden de clave y decide si se sigue recorriendo.
+     */
+    @FunctionalInterface
+    interface EntryVisitor {
+        boolean visit(byte[] key, byte[] value);
+    }
+
+    BPlusTree(PageFile file, PageCache cache) {
+        this.file = file;
+        this.cache = cache;
+    }
+
+    byte[] get(byte[] key) throws IOException {
+        PageNode node = cache.get(file.getRoot());
+        while (!node.leaf) {
+            node = cache.get(node.children.get(node.childIndex(key)));
+        }
+        int index = node.search(key);
+        byte[] value = index >= 0 ? node.values.get(index) : null;
+        cache.trim();
+        return value;
+    }
+
+    /**
+     * Guarda un valor, sustituyendo el que hubiera con la misma clave.
+     *
+     * @return true si la clave no estaba.
+     */
+    boolean put(byte[] key, byte[] value) throws IOException {
+        if (key.length > MAX_KEY_BYTES || value.length > MAX_VALUE_BYTES) {
+            throw new IllegalArgumentException("Entry too large for a page: key " + key.length + " bytes, value " + value.length + " bytes.");
+        }
+        long sizeBefore = file.getSize();
+        int root = file.getRoot();
+        Split split = insert(root, key, value);
+        if (split != null) {
+            PageNode newRoot = cache.allocate(false);
+            newRoot.children.add(root);
+            newRoot.addChild(0, split.key, split.right);
+            file.setRoot(newRoot.page);
+        }
+        cache.trim();
+        return file.getSize() > sizeBefore;
+    }
+
+    /**
+     * Borra una clave.
+     *
+     * @return true si estaba.
+     */
+    boolean remove(byte[] key) throws IOException {
+        PageNode node = cache.get(file.getRoot());
+        while (!node.leaf) {
+            node = cache.get(node.children.get(node.childIndex(key)));
+        }
+        int index = node.search(key);
+        if (index >= 0) {
+            node.removeEntry(index);
+            node.dirty = true;
+            file.setSize(file.getSize() - 1);
+        }
+        cache.trim();
+        return index >= 0;
+    }
+
+    /**
+     * Recorre las entradas en orden de clave, hoja a hoja, hasta que el visitante devuelve false. La caché
+     * no crece con el recorrido.
+     */
+    void scan(EntryVisitor visitor) throws IOException {
+        PageNode node = cache.get(file.getRoot());
+        while (!node.leaf) {
+            node = cache.get(node.children.get(0));
+        }
+        while (true) {
+            boolean more = true;
+            for (int i = 0; more && i < node.keys.size(); i++) {
+                more = visitor.visit(node.keys.get(i), node.values.get(i));
+            }
+            if (!more || node.next == 0) {
+                break;
+            }
+            int next = node.next;
+            cache.trim();
+            node = cache.get(next);
+        }
+        cache.trim();
+    }
+
+    long size() {
+        return file.getSize();
+    }
+
+    private Split insert(int page, byte[] key, byte[] value) throws IOException {
+        PageNode node = cache.get(page);
+        if (node.leaf) {
+            int index = node.search(key);
+            if (index >= 0) {
+                node.setValue(index, value);
+            } else {
+                node.addEntry(-index - 1, key, value);
+                file.setSize(file.getSize() + 1);
+            }
+            node.dirty = true;
+            return node.overflows() ? splitLeaf(node) : null;
+        }
+
+        int child = node.childIndex(key);
+        Split split = insert(node.children.get(child), key, value);
+        if (split == null) {
+            return null;
+        }
+        node.addChild(child, split.key, split.right);
+        node.dirty = true;
+        return node.overflows() ? splitInternal(node) : null;
+    }
+
+    private Split splitLeaf(PageNode node) {
+        int middle = middle(node);
+        PageNode right = cache.allocate(true);
+        moveTail(node.keys, right.keys, middle);
+        moveTail(node.values, right.values, middle);
+        node.recomputeSize();
+        right.recomputeSize();
+        right.next = node.next;
+        node.next = right.page;
+        return new Split(right.keys.get(0), right.page);
+    }
+
+    private Split splitInternal(PageNode node) {
+        int middle = middle(node);
+        byte[] separator = node.keys.get(middle);
+        PageNode right = cache.allocate(false);
+        moveTail(node.children, right.children, middle + 1);
+        moveTail(node.keys, right.keys, middle + 1);
+        node.keys.remove(middle);
+        node.recomputeSize();
+        right.recomputeSize();
+        return new Split(separator, right.page);
+    }
+
+    /**
+     * Número de entradas que se quedan en la mitad izquierda al partir un nodo: se corta junto a la
+     * entrada que cruza la mitad de los bytes, a un lado o al otro según cuál deje las dos mitades dentro
+     * de su página.
+     */
+    private static int middle(PageNode node) {
+        int count = node.keys.size();
+        int total = node.encodedSize() - PageNode.HEADER_SIZE;
+        int limit = PageFile.PAGE_SIZE - PageNode.HEADER_SIZE;
+        int prefix = 0;
+        for (int i = 0; i < count; i++) {
+            int next = prefix + node.entrySize(i);
+            if (2 * next >= total) {
+                if (next <= limit && i + 1 < count) {
+                    return i + 1;
+                }
+                return Math.max(i, 1);
+            }
+            prefix = next;
+        }
+        return count / 2;
+    }
+
+    private static <T> void moveTail(List<T> from, List<T> to, int start) {
+        List<T> tail = from.subList(start, from.size());
+        to.addAll(new ArrayList<>(tail));
+        tail.clear();
+    }
+}
@@ -0,0 +1,93 @@
+package Persistance.Paged;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché de nodos con expulsión LRU: guarda como máximo {@code capacity} páginas decodificadas y, al
+ * expulsar una página modificada, la escribe antes en el archivo.
+ * <p>
+ * Solo se expulsa en {@link #trim()}, que el árbol llama al terminar cada operación; durante una operación
+ * la caché puede pasarse de la capacidad en los pocos nodos del camino, que así no se pierden a medias.
+ */
+final class PageCache {
+    private final PageFile file;
+    private final int capacity;
+    private final LinkedHashMap<Integer, PageNode> nodes = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long writes;
+
+    PageCache(PageFile file, int capacity) {
+        this.file = file;
+        this.capacity = capacity;
+    }
+
+    PageNode get(int page) throws IOException {
+        PageNode node = nodes.get(page);
+        if (node != null) {
+            hits++;
+            return node;
+        }
+        misses++;
+        node = PageNode.decode(page, file.read(page));
+        nodes.put(page, node);
+        return node;
+    }
+
+    /**
+     * Crea un nodo en una página nueva.
+     */
+    PageNode allocate(boolean leaf) {
+        PageNode node = new PageNode(file.allocate(), leaf);
+        node.dirty = true;
+        nodes.put(node.page, node);
+        return node;
+    }
+
+    /**
+     * Expulsa las páginas menos usadas hasta volver a la capacidad.
+     */
+    void trim() throws IOException {
+        Iterator<Map.Entry<Integer, PageNode>> iterator = nodes.entrySet().iterator();
+        while (nodes.size() > capacity && iterator.hasNext()) {
+            PageNode node = iterator.next().getValue();
+            if (node.dirty) {
+                write(node);
+            }
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Escribe todas las páginas modificadas, sin expulsarlas.
+     */
+    void flush() throws IOException {
+        for (PageNode node : nodes.values()) {
+            if (node.dirty) {
+                write(node);
+            }
+        }
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    @Override
+    public String toString() {
+        return "pages=" + nodes.size() + "/" + capacity + ", hits=" + hits + ", misses=" + misses
+                + ", evictions=" + evictions + ", writes=" + writes;
+    }
+
+    private void write(PageNode node) throws IOException {
+        file.write(node.page, node.encode());
+        node.dirty = false;
+        writes++;
+    }
+}
@@ -0,0 +1,154 @@
+package Persistance.Paged;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Archivo dividido en páginas de {@link #PAGE_SIZE} bytes. La página 0 es la cabecera (el número de
+ * páginas, la raíz del árbol y el número de registros); el resto son nodos de un {@link BPlusTree}.
+ * <p>
+ * Las páginas se escriben en su sitio. La cabecera se escribe después de las páginas, así que tras un
+ * {@link #force()} el archivo es coherente; si el programa se interrumpe entre dos, el árbol puede quedar
+ * a medias.
+ */
+final class PageFile implements Closeable {
+
+    static final int PAGE_SIZE = 4096;
+
+    /** "SLBP" en ASCII. */
+    private static final int MAGIC = 0x534C4250;
+    private static final int VERSION = 1;
+
+    private final Path path;
+    private final FileChannel channel;
+    private int pageCount;
+    private int root;
+    private long size;
+
+    private PageFile(Path path, FileChannel channel) {
+        this.path = path;
+        this.channel = channel;
+    }
+
+    /**
+     * Abre un archivo de páginas, creándolo con un árbol vacío si no existe.
+     *
+     * @param path La ruta del archivo.
+     * @return El archivo abierto.
+     * @throws IOException Si no se puede abrir o no es un archivo de páginas.
+     */
+    static PageFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        PageFile file = new PageFile(path, channel);
+        try {
+            if (channel.size() == 0) {
+                file.pageCount = 2;
+                file.root = 1;
+                file.write(1, new PageNode(1, true).encode());
+                file.writeHeader();
+            } else {
+                file.readHeader();
+            }
+            return file;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    ByteBuffer read(int page) throws IOException {
+        if (page <= 0 || page >= pageCount) {
+            throw new IOException("Invalid page " + page + " in " + path);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(PAGE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        long position = (long) page * PAGE_SIZE;
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of " + path + " at page " + page);
+            }
+        }
+        return buffer.flip();
+    }
+
+    void write(int page, ByteBuffer buffer) throws IOException {
+        long position = (long) page * PAGE_SIZE;
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Reserva una página nueva al final del archivo. No se escribe hasta que se guarda su nodo.
+     *
+     * @return El número de la página.
+     */
+    int allocate() {
+        if (pageCount == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Page file full: " + path);
+        }
+        return pageCount++;
+    }
+
+    int getRoot() {
+        return root;
+    }
+
+    void setRoot(int root) {
+        this.root = root;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    void setSize(long size) {
+        this.size = size;
+    }
+
+    int getPageCount() {
+        return pageCount;
+    }
+
+    void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(PAGE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(0, Integer.reverseBytes(MAGIC)); // big-endian, so the file starts with "SLBP"
+        header.put(4, (byte) VERSION);
+        header.putInt(8, PAGE_SIZE);
+        header.putInt(12, pageCount);
+        header.putInt(16, root);
+        header.putLong(24, size);
+        write(0, header);
+    }
+
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void readHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(PAGE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("Truncated header in " + path);
+            }
+        }
+        if (Integer.reverseBytes(header.getInt(0)) != MAGIC) {
+            throw new IOException("Not a page file: " + path);
+        }
+        if (header.get(4) != VERSION || header.getInt(8) != PAGE_SIZE) {
+            throw new IOException("Unsupported page file version or page size: " + path);
+        }
+        pageCount = header.getInt(12);
+        root = header.getInt(16);
+        size = header.getLong(24);
+    }
+}
@@ -0,0 +1,172 @@
+package Persistance.Paged;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Nodo de un {@link BPlusTree} ya decodificado de su página.
+ * <p>
+ * Las hojas guardan claves y valores ordenados por clave y el número de la hoja siguiente. Los nodos
+ * internos guardan n claves y n + 1 hijos: el hijo i contiene las claves entre la clave i - 1 (incluida)
+ * y la clave i (excluida).
+ * <p>
+ * Formato de la página: tipo (1 byte), número de claves (2 bytes), hoja siguiente o primer hijo (4 bytes)
+ * y, por cada clave, su longitud y sus bytes seguidos de la longitud y los bytes del valor (hojas) o del
+ * hijo de su derecha (nodos internos).
+ */
+final class PageNode {
+
+    static final int HEADER_SIZE = 7;
+    private static final byte LEAF = 1;
+    private static final byte INTERNAL = 2;
+
+    final int page;
+    final boolean leaf;
+    final List<byte[]> keys = new ArrayList<>();
+    final List<byte[]> values;
+    final List<Integer> children;
+    int next;
+    boolean dirty;
+    private int encodedSize = HEADER_SIZE;
+
+    PageNode(int page, boolean leaf) {
+        this.page = page;
+        this.leaf = leaf;
+        this.values = leaf ? new ArrayList<>() : null;
+        this.children = leaf ? null : new ArrayList<>();
+    }
+
+    static PageNode decode(int page, ByteBuffer buffer) {
+        byte type = buffer.get(0);
+        if (type != LEAF && type != INTERNAL) {
+            throw new IllegalStateException("Corrupt page " + page + ": unknown type " + type);
+        }
+        PageNode node = new PageNode(page, type == LEAF);
+        int count = Short.toUnsignedInt(buffer.getShort(1));
+        buffer.position(HEADER_SIZE);
+        if (node.leaf) {
+            node.next = buffer.getInt(3);
+            for (int i = 0; i < count; i++) {
+                node.addEntry(node.keys.size(), bytes(buffer), bytes(buffer));
+            }
+        } else {
+            node.children.add(buffer.getInt(3));
+            for (int i = 0; i < count; i++) {
+                node.addChild(node.keys.size(), bytes(buffer), buffer.getInt());
+            }
+        }
+        return node;
+    }
+
+    ByteBuffer encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(PageFile.PAGE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(leaf ? LEAF : INTERNAL);
+        buffer.putShort((short) keys.size());
+        buffer.putInt(leaf ? next : children.get(0));
+        for (int i = 0; i < keys.size(); i++) {
+            put(buffer, keys.get(i));
+            if (leaf) {
+                put(buffer, values.get(i));
+            } else {
+                buffer.putInt(children.get(i + 1));
+            }
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Busca una clave.
+     *
+     * @return Su posición, o -(posición en la que se insertaría) - 1 si no está.
+     */
+    int search(byte[] key) {
+        int low = 0;
+        int high = keys.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = Arrays.compareUnsigned(keys.get(middle), key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Obtiene la posición del hijo que puede contener una clave.
+     */
+    int childIndex(byte[] key) {
+        int index = search(key);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    int encodedSize() {
+        return encodedSize;
+    }
+
+    boolean overflows() {
+        return encodedSize > PageFile.PAGE_SIZE;
+    }
+
+    void addEntry(int index, byte[] key, byte[] value) {
+        keys.add(index, key);
+        values.add(index, value);
+        encodedSize += entrySize(index);
+    }
+
+    void setValue(int index, byte[] value) {
+        encodedSize += value.length - values.get(index).length;
+        values.set(index, value);
+    }
+
+    void removeEntry(int index) {
+        encodedSize -= entrySize(index);
+        keys.remove(index);
+        values.remove(index);
+    }
+
+    /**
+     * Añade una clave y el hijo que va a su derecha.
+     */
+    void addChild(int index, byte[] key, int child) {
+        keys.add(index, key);
+        children.add(index + 1, child);
+        encodedSize += entrySize(index);
+    }
+
+    /**
+     * Tamaño que ocupa en la página la entrada de una posición.
+     */
+    int entrySize(int index) {
+        return Short.BYTES + keys.get(index).length + (leaf ? Short.BYTES + values.get(index).length : Integer.BYTES);
+    }
+
+    /**
+     * Recalcula el tamaño después de mover entradas en bloque.
+     */
+    void recomputeSize() {
+        encodedSize = HEADER_SIZE;
+        for (int i = 0; i < keys.size(); i++) {
+            encodedSize += entrySize(i);
+        }
+    }
+
+    private static byte[] bytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static void put(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+}
@@ -0,0 +1,141 @@
+package Persistance.Paged;
+
+import Business.Character.Character;
+import Persistance.CharacterDAO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * DAO de personajes sobre un {@link PagedStore}, con el ID como clave. Buscar un personaje lee solo las
+ * páginas del camino hasta su hoja, y recorrerlos todos no guarda en memoria más páginas que las de la
+ * caché, así que el número de personajes no está limitado por la memoria.
+ * <p>
+ * Los personajes se entregan en orden de ID.
+ */
+public class PagedCharacterDAO implements CharacterDAO, Closeable {
+    private final PagedStore store;
+
+    /**
+     * Crea el DAO sobre un almacén abierto, que pasa a ser suyo.
+     *
+     * @param store El almacén de personajes.
+     */
+    public PagedCharacterDAO(PagedStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Character> getCharacters() {
+        List<Character> characters = new ArrayList<>();
+        if (!forEachCharacter(characters::add)) {
+            characters.clear();
+        }
+        return characters;
+    }
+
+    @Override
+    public boolean forEachCharacter(Consumer<Character> consumer) {
+        try {
+            store.forEach((key, value) -> consumer.accept(PagedValues.decodeCharacter(PagedValues.id(key), value)));
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error: could not read characters! " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public Character getCharacter(long id) {
+        try {
+            byte[] value = store.get(PagedStore.idKey(id));
+            return value == null ? null : PagedValues.decodeCharacter(id, value);
+        } catch (IOException e) {
+            System.err.println("Error: could not read characters! " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Guarda un personaje, sustituyendo el que tenga el mismo ID.
+     *
+     * @param character El personaje.
+     * @throws UncheckedIOException Si no se puede escribir.
+     */
+    public void putCharacter(Character character) {
+        try {
+            store.put(PagedStore.idKey(character.getId()), PagedValues.encode(character));
+            store.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Borra un personaje.
+     *
+     * @param id El ID del personaje.
+     * @return true si existía.
+     * @throws UncheckedIOException Si no se puede escribir.
+     */
+    public boolean deleteCharacter(long id) {
+        try {
+            boolean removed = store.remove(PagedStore.idKey(id));
+            store.flush();
+            return removed;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copia los personajes de otro DAO, por ejemplo el JSON, escribiendo las páginas una sola vez al final.
+     * Si un ID se repite, se queda el primero.
+     *
+     * @param source El DAO de origen.
+     * @return El número de personajes copiados, o -1 si no se ha podido leer el origen.
+     * @throws UncheckedIOException Si no se puede escribir.
+     */
+    public long importFrom(CharacterDAO source) {
+        long[] imported = {0};
+        boolean complete = source.forEachCharacter(character -> {
+            try {
+                byte[] key = PagedStore.idKey(character.getId());
+                if (store.get(key) == null) {
+                    store.put(key, PagedValues.encode(character));
+                    imported[0]++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        try {
+            store.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return complete ? imported[0] : -1;
+    }
+
+    /**
+     * Obtiene el número de personajes guardados, sin leerlos.
+     *
+     * @return El número de registros del almacén.
+     */
+    public long size() {
+        return store.size();
+    }
+
+    public String describe() {
+        return store.describe();
+    }
+
+    @Override
+    public void close() throws IOException {
+        store.close();
+    }
+}
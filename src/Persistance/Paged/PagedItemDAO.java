@@ -0,0 +1,202 @@
+package Persistance.Paged;
+
+import Business.Item.Armor;
+import Business.Item.Item;
+import Business.Item.Weapon;
+import Persistance.ItemDAO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * DAO de ítems sobre un {@link PagedStore}, con el ID como clave. El valor empieza por la clase del ítem,
+ * así que {@link #getWeapons()} y {@link #getArmors()} solo decodifican los ítems de su clase.
+ * <p>
+ * Los ítems se entregan en orden de ID. {@link #getItemByIndex(int)} recorre las hojas hasta la posición
+ * pedida, así que cuesta lo mismo que recorrer ese número de ítems; para elegir ítems al azar con muchos
+ * ítems es mejor {@link #getItem(long)}.
+ */
+public class PagedItemDAO implements ItemDAO, Closeable {
+    private final PagedStore store;
+
+    /**
+     * Crea el DAO sobre un almacén abierto, que pasa a ser suyo.
+     *
+     * @param store El almacén de ítems.
+     */
+    public PagedItemDAO(PagedStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Item> getItems() {
+        List<Item> items = new ArrayList<>();
+        if (!forEachItem(items::add)) {
+            items.clear();
+        }
+        return items;
+    }
+
+    @Override
+    public List<Weapon> getWeapons() {
+        List<Weapon> weapons = new ArrayList<>();
+        try {
+            store.forEach((key, value) -> {
+                if (PagedValues.isWeapon(value)) {
+                    weapons.add((Weapon) PagedValues.decodeItem(PagedValues.id(key), value));
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Error: could not read items! " + e.getMessage());
+            weapons.clear();
+        }
+        return weapons;
+    }
+
+    @Override
+    public List<Armor> getArmors() {
+        List<Armor> armors = new ArrayList<>();
+        try {
+            store.forEach((key, value) -> {
+                if (!PagedValues.isWeapon(value)) {
+                    armors.add((Armor) PagedValues.decodeItem(PagedValues.id(key), value));
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Error: could not read items! " + e.getMessage());
+            armors.clear();
+        }
+        return armors;
+    }
+
+    @Override
+    public boolean forEachItem(Consumer<Item> consumer) {
+        try {
+            store.forEach((key, value) -> consumer.accept(PagedValues.decodeItem(PagedValues.id(key), value)));
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error: could not read items! " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public Item getItemByIndex(int index) {
+        if (index < 0) {
+            return null;
+        }
+        Item[] found = {null};
+        int[] position = {0};
+        try {
+            store.scan((key, value) -> {
+                if (position[0]++ < index) {
+                    return true;
+                }
+                found[0] = PagedValues.decodeItem(PagedValues.id(key), value);
+                return false;
+            });
+        } catch (IOException e) {
+            System.err.println("Error: could not read items! " + e.getMessage());
+        }
+        return found[0];
+    }
+
+    /**
+     * Busca un ítem por su ID.
+     *
+     * @param id El ID del ítem.
+     * @return El ítem, o null si no existe o no se puede leer.
+     */
+    public Item getItem(long id) {
+        try {
+            byte[] value = store.get(PagedStore.idKey(id));
+            return value == null ? null : PagedValues.decodeItem(id, value);
+        } catch (IOException e) {
+            System.err.println("Error: could not read items! " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Guarda un ítem, sustituyendo el que tenga el mismo ID.
+     *
+     * @param item El ítem.
+     * @throws UncheckedIOException Si no se puede escribir.
+     */
+    public void putItem(Item item) {
+        try {
+            store.put(PagedStore.idKey(item.getId()), PagedValues.encode(item));
+            store.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Borra un ítem.
+     *
+     * @param id El ID del ítem.
+     * @return true si existía.
+     * @throws UncheckedIOException Si no se puede escribir.
+     */
+    public boolean deleteItem(long id) {
+        try {
+            boolean removed = store.remove(PagedStore.idKey(id));
+            store.flush();
+            return removed;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copia los ítems de otro DAO, escribiendo las páginas una sola vez al final. Si un ID se repite, se
+     * queda el primero.
+     *
+     * @param source El DAO de origen.
+     * @return El número de ítems copiados, o -1 si no se ha podido leer el origen.
+     * @throws UncheckedIOException Si no se puede escribir.
+     */
+    public long importFrom(ItemDAO source) {
+        long[] imported = {0};
+        boolean complete = source.forEachItem(item -> {
+            try {
+                byte[] key = PagedStore.idKey(item.getId());
+                if (store.get(key) == null) {
+                    store.put(key, PagedValues.encode(item));
+                    imported[0]++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        try {
+            store.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return complete ? imported[0] : -1;
+    }
+
+    /**
+     * Obtiene el número de ítems guardados, sin leerlos.
+     *
+     * @return El número de registros del almacén.
+     */
+    public long size() {
+        return store.size();
+    }
+
+    public String describe() {
+        return store.describe();
+    }
+
+    @Override
+    public void close() throws IOException {
+        store.close();
+    }
+}
@@ -0,0 +1,164 @@
+package Persistance.Paged;
+
+import Business.Stats.Stats;
+import Persistance.StatsDAO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * DAO de estadísticas sobre un {@link PagedStore}, con el nombre del equipo en minúsculas como clave.
+ * {@link #addResults} lee y reescribe solo las estadísticas del equipo, en lugar de todas.
+ * <p>
+ * Las estadísticas se entregan en orden de nombre de equipo.
+ */
+public class PagedStatsDAO implements StatsDAO, Closeable {
+    private final PagedStore store;
+
+    /**
+     * Crea el DAO sobre un almacén abierto, que pasa a ser suyo.
+     *
+     * @param store El almacén de estadísticas.
+     */
+    public PagedStatsDAO(PagedStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Stats> getStats() {
+        List<Stats> statsList = new ArrayList<>();
+        if (!forEachStats(statsList::add)) {
+            statsList.clear();
+        }
+        return statsList;
+    }
+
+    @Override
+    public boolean forEachStats(Consumer<Stats> consumer) {
+        try {
+            store.forEach((key, value) -> consumer.accept(PagedValues.decodeStats(value)));
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error: could not read stats! " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public Stats getStats(String teamName) {
+        try {
+            byte[] value = store.get(PagedStore.nameKey(teamName));
+            return value == null ? null : PagedValues.decodeStats(value);
+        } catch (IOException e) {
+            System.err.println("Error: could not read stats! " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Sustituye todas las estadísticas: borra las de los equipos que no están en la lista y guarda el resto.
+     *
+     * @throws UncheckedIOException Si no se puede escribir.
+     */
+    @Override
+    public void saveStats(List<Stats> statsList) {
+        Set<String> kept = new HashSet<>();
+        for (Stats stats : statsList) {
+            kept.add(new String(PagedStore.nameKey(stats.getTeamName()), StandardCharsets.UTF_8));
+        }
+        try {
+            synchronized (store) {
+                List<byte[]> removed = new ArrayList<>();
+                store.forEach((key, value) -> {
+                    if (!kept.contains(new String(key, StandardCharsets.UTF_8))) {
+                        removed.add(key);
+                    }
+                });
+                for (byte[] key : removed) {
+                    store.remove(key);
+                }
+                for (Stats stats : statsList) {
+                    store.put(PagedStore.nameKey(stats.getTeamName()), PagedValues.encode(stats));
+                }
+                store.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Suma los resultados a las estadísticas del equipo, leyendo y reescribiendo solo su entrada.
+     *
+     * @throws UncheckedIOException Si no se puede escribir.
+     */
+    @Override
+    public void addResults(String teamName, int gamesPlayed, int gamesWon, int koDone, int koReceived) {
+        byte[] key = PagedStore.nameKey(teamName);
+        try {
+            synchronized (store) {
+                byte[] value = store.get(key);
+                Stats stats = value == null ? new Stats(teamName, 0, 0, 0, 0) : PagedValues.decodeStats(value);
+                stats.addResults(gamesPlayed, gamesWon, koDone, koReceived);
+                store.put(key, PagedValues.encode(stats));
+                store.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Copia las estadísticas de otro DAO, escribiendo las páginas una sola vez al final. Si un equipo se
+     * repite, se queda el primero.
+     *
+     * @param source El DAO de origen.
+     * @return El número de equipos copiados, o -1 si no se ha podido leer el origen.
+     * @throws UncheckedIOException Si no se puede escribir.
+     */
+    public long importFrom(StatsDAO source) {
+        long[] imported = {0};
+        boolean complete = source.forEachStats(stats -> {
+            try {
+                byte[] key = PagedStore.nameKey(stats.getTeamName());
+                if (store.get(key) == null) {
+                    store.put(key, PagedValues.encode(stats));
+                    imported[0]++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        try {
+            store.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return complete ? imported[0] : -1;
+    }
+
+    /**
+     * Obtiene el número de estadísticas de equipo guardados, sin leerlos.
+     *
+     * @return El número de registros del almacén.
+     */
+    public long size() {
+        return store.size();
+    }
+
+    public String describe() {
+        return store.describe();
+    }
+
+    @Override
+    public void close() throws IOException {
+        store.close();
+    }
+}
@@ -0,0 +1,170 @@
+package Persistance.Paged;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Almacén clave-valor embebido en un archivo: un {@link BPlusTree} sobre páginas de 4 KB con una
+ * {@link PageCache} LRU delante. La memoria usada depende de la capacidad de la caché y no del número de
+ * registros, así que el archivo puede ser mucho mayor que la memoria.
+ * <p>
+ * Cada operación de escritura deja sus páginas en la caché; {@link #flush()} las escribe en el archivo y
+ * {@link #sync()} además las fuerza a disco. Los DAOs paginados llaman a {@code flush()} después de cada
+ * cambio. Todos los métodos están sincronizados.
+ */
+public class PagedStore implements Closeable {
+
+    /** Páginas que guarda la caché por defecto: 16 MB de páginas. */
+    public static final int DEFAULT_CACHE_PAGES = 4096;
+    /** Mínimo de páginas en caché, para que el camino de una operación quepa entero. */
+    private static final int MIN_CACHE_PAGES = 64;
+
+    private final PageFile file;
+    private final PageCache cache;
+    private final BPlusTree tree;
+
+    /**
+     * Recibe las entradas de un almacén en orden de clave.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(byte[] key, byte[] value);
+    }
+
+    /**
+     * Recibe las entradas de un almacén en orden de clave y decide si se sigue recorriendo.
+     */
+    @FunctionalInterface
+    public interface EntryVisitor {
+        boolean visit(byte[] key, byte[] value);
+    }
+
+    /**
+     * Abre un almacén, creándolo vacío si el archivo no existe.
+     *
+     * @param path       La ruta del archivo.
+     * @param cachePages Número de páginas que puede guardar la caché.
+     * @throws IOException Si no se puede abrir el archivo o no es un almacén.
+     */
+    public PagedStore(Path path, int cachePages) throws IOException {
+        this.file = PageFile.open(path);
+        this.cache = new PageCache(file, Math.max(cachePages, MIN_CACHE_PAGES));
+        this.tree = new BPlusTree(file, cache);
+    }
+
+    /**
+     * Construye la clave de un registro con ID numérico, de modo que el orden de las claves sea el de los IDs.
+     *
+     * @param id El ID.
+     * @return La clave de 8 bytes.
+     */
+    public static byte[] idKey(long id) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(id ^ Long.MIN_VALUE).array(); // sign flip: unsigned order
+    }
+
+    /**
+     * Construye la clave de un registro identificado por su nombre, sin distinguir mayúsculas.
+     *
+     * @param name El nombre.
+     * @return La clave.
+     */
+    public static byte[] nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8);
+    }
+
+    public synchronized byte[] get(byte[] key) throws IOException {
+        return tree.get(key);
+    }
+
+    /**
+     * Guarda un valor, sustituyendo el que hubiera con la misma clave.
+     *
+     * @param key   La clave, de hasta 255 bytes.
+     * @param value El valor, de hasta 1.500 bytes.
+     * @return true si la clave no estaba.
+     * @throws IOException Si no se puede leer o escribir una página.
+     */
+    public synchronized boolean put(byte[] key, byte[] value) throws IOException {
+        return tree.put(key, value);
+    }
+
+    /**
+     * Borra una clave.
+     *
+     * @param key La clave.
+     * @return true si estaba.
+     * @throws IOException Si no se puede leer o escribir una página.
+     */
+    public synchronized boolean remove(byte[] key) throws IOException {
+        return tree.remove(key);
+    }
+
+    /**
+     * Recorre todas las entradas en orden de clave. El consumidor no debe modificar el almacén.
+     *
+     * @param consumer Recibe cada entrada.
+     * @throws IOException Si no se puede leer una página.
+     */
+    public synchronized void forEach(EntryConsumer consumer) throws IOException {
+        tree.scan((key, value) -> {
+            consumer.accept(key, value);
+            return true;
+        });
+    }
+
+    /**
+     * Recorre las entradas en orden de clave hasta que el visitante devuelve false.
+     *
+     * @param visitor Recibe cada entrada y devuelve si hay que seguir.
+     * @throws IOException Si no se puede leer una página.
+     */
+    public synchronized void scan(EntryVisitor visitor) throws IOException {
+        tree.scan(visitor::visit);
+    }
+
+    public synchronized long size() {
+        return tree.size();
+    }
+
+    /**
+     * Escribe en el archivo las páginas modificadas y la cabecera.
+     *
+     * @throws IOException Si no se puede escribir.
+     */
+    public synchronized void flush() throws IOException {
+        cache.flush();
+        file.writeHeader();
+    }
+
+    /**
+     * Escribe las páginas modificadas y las fuerza a disco.
+     *
+     * @throws IOException Si no se puede escribir.
+     */
+    public synchronized void sync() throws IOException {
+        flush();
+        file.force();
+    }
+
+    /**
+     * Obtiene el estado de la caché y el tamaño del archivo.
+     *
+     * @return Una línea con las páginas en caché, aciertos, fallos, expulsiones y escrituras.
+     */
+    public synchronized String describe() {
+        return "records=" + tree.size() + ", file pages=" + file.getPageCount() + ", cache: " + cache;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            file.close();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package Persistance.Paged;
+
+import Business.Team.Team;
+import Persistance.TeamDAO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * DAO de equipos sobre un {@link PagedStore}, con el nombre en minúsculas como clave. Crear, buscar y
+ * borrar un equipo solo tocan las páginas del camino hasta su hoja.
+ * <p>
+ * Los equipos se entregan en orden de nombre, no en el orden en que se crearon.
+ */
+public class PagedTeamDAO implements TeamDAO, Closeable {
+    private final PagedStore store;
+
+    /**
+     * Crea el DAO sobre un almacén abierto, que pasa a ser suyo.
+     *
+     * @param store El almacén de equipos.
+     */
+    public PagedTeamDAO(PagedStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public List<Team> getTeams() {
+        List<Team> teams = new ArrayList<>();
+        if (!forEachTeam(teams::add)) {
+            teams.clear();
+        }
+        return teams;
+    }
+
+    @Override
+    public boolean forEachTeam(Consumer<Team> consumer) {
+        try {
+            store.forEach((key, value) -> consumer.accept(PagedValues.decodeTeam(value)));
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error: could not read teams! " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public Team getTeam(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            byte[] value = store.get(PagedStore.nameKey(name));
+            return value == null ? null : PagedValues.decodeTeam(value);
+        } catch (IOException e) {
+            System.err.println("Error: could not read teams! " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Guarda el equipo. Si ya existía un equipo con el mismo nombre, lo sustituye.
+     *
+     * @throws UncheckedIOException Si no se puede escribir.
+     */
+    @Override
+    public void createTeam(Team team) {
+        try {
+            store.put(PagedStore.nameKey(team.getTeamName()), PagedValues.encode(team));
+            store.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return true si el equipo existía, false si no existía o no se ha podido borrar.
+     */
+    @Override
+    public boolean deleteTeam(Team team) {
+        try {
+            boolean removed = store.remove(PagedStore.nameKey(team.getTeamName()));
+            store.flush();
+            return removed;
+        } catch (IOException e) {
+            System.err.println("Error while deleting team: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Copia los equipos de otro DAO, escribiendo las páginas una sola vez al final. Si un nombre se repite,
+     * se queda el primero.
+     *
+     * @param source El DAO de origen.
+     * @return El número de equipos copiados, o -1 si no se ha podido leer el origen.
+     * @throws UncheckedIOException Si no se puede escribir.
+     */
+    public long importFrom(TeamDAO source) {
+        long[] imported = {0};
+        boolean complete = source.forEachTeam(team -> {
+            try {
+                byte[] key = PagedStore.nameKey(team.getTeamName());
+                if (store.get(key) == null) {
+                    store.put(key, PagedValues.encode(team));
+                    imported[0]++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        try {
+            store.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return complete ? imported[0] : -1;
+    }
+
+    /**
+     * Obtiene el número de equipos guardados, sin leerlos.
+     *
+     * @return El número de registros del almacén.
+     */
+    public long size() {
+        return store.size();
+    }
+
+    public String describe() {
+        return store.describe();
+    }
+
+    @Override
+    public void close() throws IOException {
+        store.close();
+    }
+}
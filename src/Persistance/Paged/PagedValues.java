@@ -0,0 +1,139 @@
+package Persistance.Paged;
+
+import Business.Character.Character;
+import Business.Item.Armor;
+import Business.Item.Item;
+import Business.Item.Weapon;
+import Business.Stats.Stats;
+import Business.Team.Member;
+import Business.Team.Team;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Codificación de las entidades como valores de un {@link PagedStore}. Los textos se guardan con su
+ * longitud (2 bytes) seguida de sus bytes en UTF-8; los números, en little-endian.
+ */
+final class PagedValues {
+    private static final byte WEAPON = 1;
+    private static final byte ARMOR = 2;
+
+    private PagedValues() {
+    }
+
+    static byte[] encode(Character character) {
+        byte[] name = utf8(character.getName());
+        return buffer(Short.BYTES + name.length + Integer.BYTES)
+                .putShort((short) name.length).put(name)
+                .putInt(character.getWeight())
+                .array();
+    }
+
+    static Character decodeCharacter(long id, byte[] value) {
+        ByteBuffer buffer = wrap(value);
+        return new Character(id, string(buffer), buffer.getInt());
+    }
+
+    static byte[] encode(Item item) {
+        byte[] name = utf8(item.getName());
+        return buffer(1 + Short.BYTES + name.length + 2 * Integer.BYTES)
+                .put(item.isWeapon() ? WEAPON : ARMOR)
+                .putShort((short) name.length).put(name)
+                .putInt(item.getPower())
+                .putInt(item.getDurability())
+                .array();
+    }
+
+    static Item decodeItem(long id, byte[] value) {
+        ByteBuffer buffer = wrap(value);
+        byte kind = buffer.get();
+        String name = string(buffer);
+        int power = buffer.getInt();
+        int durability = buffer.getInt();
+        return kind == WEAPON ? new Weapon(id, name, power, durability) : new Armor(id, name, power, durability);
+    }
+
+    /**
+     * Indica si un valor codificado es un arma, sin decodificar el resto.
+     */
+    static boolean isWeapon(byte[] value) {
+        return value[0] == WEAPON;
+    }
+
+    static byte[] encode(Team team) {
+        byte[] name = utf8(team.getTeamName());
+        List<Member> members = team.getTeamMembers();
+        byte[][] strategies = new byte[members.size()][];
+        int length = Short.BYTES + name.length + Integer.BYTES;
+        for (int i = 0; i < strategies.length; i++) {
+            strategies[i] = utf8(members.get(i).getStrategy());
+            length += Long.BYTES + Short.BYTES + strategies[i].length;
+        }
+        ByteBuffer buffer = buffer(length).putShort((short) name.length).put(name).putInt(strategies.length);
+        for (int i = 0; i < strategies.length; i++) {
+            buffer.putLong(members.get(i).getMemberId()).putShort((short) strategies[i].length).put(strategies[i]);
+        }
+        return buffer.array();
+    }
+
+    static Team decodeTeam(byte[] value) {
+        ByteBuffer buffer = wrap(value);
+        String name = string(buffer);
+        int count = buffer.getInt();
+        List<Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = buffer.getLong();
+            members.add(new Member(id, string(buffer)));
+        }
+        return new Team(name, members);
+    }
+
+    static byte[] encode(Stats stats) {
+        byte[] name = utf8(stats.getTeamName());
+        return buffer(Short.BYTES + name.length + 4 * Integer.BYTES)
+                .putShort((short) name.length).put(name)
+                .putInt(stats.getGamesPlayed())
+                .putInt(stats.getGamesWon())
+                .putInt(stats.getKODone())
+                .putInt(stats.getKOReceived())
+                .array();
+    }
+
+    static Stats decodeStats(byte[] value) {
+        ByteBuffer buffer = wrap(value);
+        return new Stats(string(buffer), buffer.getInt(), buffer.getInt(), buffer.getInt(), buffer.getInt());
+    }
+
+    /**
+     * Recupera el ID de una clave construida con {@link PagedStore#idKey(long)}.
+     */
+    static long id(byte[] key) {
+        return ByteBuffer.wrap(key).getLong() ^ Long.MIN_VALUE;
+    }
+
+    private static byte[] utf8(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Text too long to store: " + bytes.length + " bytes.");
+        }
+        return bytes;
+    }
+
+    private static String string(ByteBuffer buffer) {
+        byte[] bytes = new byte[Short.toUnsignedInt(buffer.getShort())];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ByteBuffer buffer(int length) {
+        return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer wrap(byte[] value) {
+        return ByteBuffer.wrap(value).order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
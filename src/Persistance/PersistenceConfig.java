@@ -0,0 +1,156 @@
+package Persistance;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Configuración de la persistencia: qué formato guarda cada tipo de datos y cuánta memoria puede usar.
+ * <p>
+ * Se lee de {@code persistence.properties} en el directorio de datos, si existe, y cada valor se puede
+ * sustituir con una propiedad del sistema con el prefijo {@code persistence.} (por ejemplo
+ * {@code -Dpersistence.backend=paged}). Claves:
+ * <ul>
+ *     <li>{@code backend}: formato de todos los datos, {@value #JSON} (por defecto) o {@value #PAGED}.</li>
+ *     <li>{@code characters.backend}, {@code items.backend}, {@code teams.backend}, {@code stats.backend}:
+ *     formato de un tipo de datos concreto, en lugar del general. Los personajes y los ítems también admiten
+ *     {@value #SNAPSHOT}, y los personajes, {@value #API}.</li>
+ *     <li>{@code api.url}: dirección del servicio de personajes (por ejemplo {@code http://localhost:8080/api}).</li>
+ *     <li>{@code paged.cachePages}: páginas de 4 KB en la caché de cada almacén paginado.</li>
+ *     <li>{@code watch}: si se vigila el directorio de datos para recargar personajes e ítems en cuanto
+ *     cambian sus JSON ({@code true} por defecto).</li>
+ * </ul>
+ */
+public class PersistenceConfig {
+
+    /** Archivos JSON, con los equipos en registros y las estadísticas en un diario. */
+    public static final String JSON = "json";
+    /** Almacenes paginados ({@code *.pages}), creados a partir de los JSON la primera vez. */
+    public static final String PAGED = "paged";
+    /** Servicio HTTP en {@code api.url}; solo para los personajes. */
+    public static final String API = "api";
+    /** Instantánea binaria de solo lectura ({@code catalog.bin}), exportada de los JSON; solo para personajes e ítems. */
+    public static final String SNAPSHOT = "snapshot";
+
+    public static final String FILE_NAME = "persistence.properties";
+    private static final String SYSTEM_PREFIX = "persistence.";
+
+    private final Properties properties;
+
+    private PersistenceConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Lee la configuración de un directorio de datos. Si el archivo no existe o no se puede leer, se usan
+     * los valores por defecto y las propiedades del sistema.
+     *
+     * @param dataDirectory El directorio de datos.
+     * @return La configuración.
+     */
+    public static PersistenceConfig load(Path dataDirectory) {
+        Properties properties = new Properties();
+        Path file = dataDirectory.resolve(FILE_NAME);
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            } catch (IOException e) {
+                System.err.println("Error: could not read " + file + ", using the default persistence! " + e.getMessage());
+                properties.clear();
+            }
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(SYSTEM_PREFIX)) {
+                properties.setProperty(name.substring(SYSTEM_PREFIX.length()), System.getProperty(name));
+            }
+        }
+        return new PersistenceConfig(properties);
+    }
+
+    /**
+     * Crea una configuración con un único formato para todos los datos.
+     *
+     * @param backend {@value #JSON} o {@value #PAGED}.
+     * @return La configuración.
+     */
+    public static PersistenceConfig of(String backend) {
+        Properties properties = new Properties();
+        properties.setProperty("backend", backend);
+        return new PersistenceConfig(properties);
+    }
+
+    /**
+     * Crea una copia de la configuración con un valor cambiado.
+     *
+     * @param key   La clave, sin el prefijo {@code persistence.}.
+     * @param value El valor.
+     * @return La configuración nueva.
+     */
+    public PersistenceConfig with(String key, String value) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        copy.setProperty(key, value);
+        return new PersistenceConfig(copy);
+    }
+
+    /**
+     * Obtiene el formato de un tipo de datos.
+     *
+     * @param data "characters", "items", "teams" o "stats".
+     * @return {@value #JSON}, {@value #PAGED}, para los personajes y los ítems {@value #SNAPSHOT} y, para los
+     * personajes, {@value #API}.
+     * @throws IllegalArgumentException Si el formato configurado no existe para ese tipo de datos.
+     */
+    public String getBackend(String data) {
+        String backend = properties.getProperty(data + ".backend", properties.getProperty("backend", JSON)).trim().toLowerCase(Locale.ROOT);
+        boolean catalog = data.equals("characters") || data.equals("items");
+        if (!backend.equals(JSON) && !backend.equals(PAGED) && !(backend.equals(SNAPSHOT) && catalog)
+                && !(backend.equals(API) && data.equals("characters"))) {
+            throw new IllegalArgumentException("Unknown persistence backend for " + data + ": " + backend);
+        }
+        return backend;
+    }
+
+    /**
+     * Obtiene la dirección del servicio de personajes.
+     *
+     * @return El valor de {@code api.url}.
+     * @throws IllegalArgumentException Si no está configurada.
+     */
+    public String getApiUrl() {
+        String url = properties.getProperty("api.url");
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("The " + API + " backend needs api.url");
+        }
+        return url.trim();
+    }
+
+    /**
+     * Indica si hay que vigilar el directorio de datos.
+     *
+     * @return false solo si {@code watch} es {@code false}.
+     */
+    public boolean isWatchEnabled() {
+        return !properties.getProperty("watch", "true").trim().equalsIgnoreCase("false");
+    }
+
+    /**
+     * Obtiene las páginas de caché de cada almacén paginado.
+     *
+     * @param defaultPages El valor si no está configurado o no es un número.
+     * @return El número de páginas.
+     */
+    public int getCachePages(int defaultPages) {
+        String value = properties.getProperty("paged.cachePages");
+        try {
+            return value == null ? defaultPages : Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            System.err.println("Error: invalid paged.cachePages '" + value + "', using " + defaultPages);
+            return defaultPages;
+        }
+    }
+}
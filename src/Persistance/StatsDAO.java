@@ -4,8 +4,57 @@ import Business.Stats.Stats;
 import org.json.JSONException;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface StatsDAO {
     List<Stats> getStats();
     void saveStats(List<Stats> statsList) throws JSONException;
+
+    /**
+     * Entrega las estadísticas una a una, a medida que se leen.
+     *
+     * @param consumer Recibe las estadísticas de cada equipo.
+     * @return true si se han leído todas, false si la lectura se ha interrumpido por un error.
+     */
+    default boolean forEachStats(Consumer<Stats> consumer) {
+        getStats().forEach(consumer);
+        return true;
+    }
+
+    /**
+     * Suma el resultado de uno o varios combates a las estadísticas de un equipo, creándolas si no
+     * existen. Por defecto lee todas las estadísticas y las vuelve a guardar.
+     *
+     * @param teamName    El nombre del equipo.
+     * @param gamesPlayed Partidas jugadas a sumar.
+     * @param gamesWon    Partidas ganadas a sumar.
+     * @param koDone      KOs realizados a sumar.
+     * @param koReceived  KOs recibidos a sumar.
+     * @throws JSONException Si ocurre un error al crear el formato JSON.
+     */
+    default void addResults(String teamName, int gamesPlayed, int gamesWon, int koDone, int koReceived) throws JSONException {
+        List<Stats> statsList = getStats();
+        Stats stats = null;
+        for (Stats candidate : statsList) {
+            if (candidate.getTeamName().equalsIgnoreCase(teamName)) {
+                stats = candidate;
+                break;
+            }
+        }
+        if (stats == null) {
+            stats = new Stats(teamName, 0, 0, 0, 0);
+            statsList.add(stats);
+        }
+        stats.addResults(gamesPlayed, gamesWon, koDone, koReceived);
+        saveStats(statsList);
+    }
+
+    default Stats getStats(String teamName) {
+        for (Stats stats : getStats()) {
+            if (stats.getTeamName().equalsIgnoreCase(teamName)) {
+                return stats;
+            }
+        }
+        return null;
+    }
 }
@@ -3,10 +3,22 @@ package Persistance;
 import Business.Team.Team;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface TeamDAO {
     public List<Team> getTeams();
     public void createTeam(Team team);
     public Team getTeam(String name);
     public boolean deleteTeam(Team team);
+
+    /**
+     * Entrega los equipos uno a uno, a medida que se leen.
+     *
+     * @param consumer Recibe cada equipo.
+     * @return true si se han leído todos, false si la lectura se ha interrumpido por un error.
+     */
+    public default boolean forEachTeam(Consumer<Team> consumer) {
+        getTeams().forEach(consumer);
+        return true;
+    }
 }
@@ -45,7 +45,7 @@ public class TeamJSONDAO implements TeamDAO {
                 List<Member> members = new ArrayList<>();
                 for (int j = 0; j < membersArray.length(); j++) {
                     JSONObject memberObject = membersArray.getJSONObject(j);
-                    int id = memberObject.getInt("id");
+                    long id = memberObject.getLong("id");
                     String strategy = memberObject.getString("strategy");
                     members.add(new Member(id, strategy));
                 }
@@ -73,17 +73,17 @@ public class TeamJSONDAO implements TeamDAO {
 
             for (Team existingTeam : existingTeams) {
                 JSONObject teamObject = new JSONObject();
-                teamObject.put("name: ", existingTeam.getTeamName());
+                teamObject.put("name", existingTeam.getTeamName());
 
                 JSONArray membersArray = new JSONArray();
                 for (Member member : existingTeam.getTeamMembers()) {
                     JSONObject memberObject = new JSONObject();
-                    memberObject.put("id: ", member.getMemberId());
-                    memberObject.put("strategy: ", member.getStrategy());
+                    memberObject.put("id", member.getMemberId());
+                    memberObject.put("strategy", member.getStrategy());
                     membersArray.put(memberObject);
                 }
 
-                teamObject.put("members: ", membersArray);
+                teamObject.put("members", membersArray);
                 jsonArray.put(teamObject);
             }
         } catch (Exception e) {
@@ -0,0 +1,89 @@
+package Presentation;
+
+import Business.Combat.Event.CombatEventSink;
+import Business.Combat.Event.CombatEventType;
+
+import java.util.Map;
+
+/**
+ * Muestra por consola los eventos de un combate, con los mismos mensajes que se imprimían durante el combate.
+ */
+public class ConsoleEventSink implements CombatEventSink {
+    private final String[] names;
+    private final Map<Long, String> itemNames;
+    private final long[] weaponIds;
+    private final long[] armorIds;
+    private int round;
+    private boolean roundPrinted;
+
+    /**
+     * Crea un destino de consola.
+     *
+     * @param names     Nombre del personaje de cada posición.
+     * @param itemNames Nombre de cada ítem según su ID.
+     */
+    public ConsoleEventSink(String[] names, Map<Long, String> itemNames) {
+        this.names = names;
+        this.itemNames = itemNames;
+        this.weaponIds = new long[names.length];
+        this.armorIds = new long[names.length];
+    }
+
+    @Override
+    public void combatStarted(long seed, int team1Size, int team2Size) {
+        round = 1;
+        roundPrinted = false;
+    }
+
+    @Override
+    public void itemEquipped(int slot, int itemKind, long itemId, int power, int durability) {
+        if (itemKind == CombatEventType.WEAPON) {
+            weaponIds[slot] = itemId;
+        } else {
+            armorIds[slot] = itemId;
+        }
+    }
+
+    @Override
+    public void attacked(int attacker, int target, double attack) {
+        if (!roundPrinted) {
+            System.out.println("--- ROUND " + round + " ---\n");
+            roundPrinted = true;
+        }
+        System.out.println(names[attacker] + " ATTACKS " + names[target] + " WITH " + itemName(weaponIds[attacker]) + " FOR " + attack + " DAMAGE! ");
+    }
+
+    @Override
+    public void damaged(int target, double damage, double accumulatedDamage) {
+        System.out.println("\t" + names[target] + " RECEIVES " + damage + " DAMAGE. ");
+    }
+
+    @Override
+    public void durabilityChanged(int slot, int itemKind, int durability) {
+    }
+
+    @Override
+    public void itemDestroyed(int slot, int itemKind) {
+        long itemId = itemKind == CombatEventType.WEAPON ? weaponIds[slot] : armorIds[slot];
+        System.out.println(itemName(itemId) + " is destroyed!");
+    }
+
+    @Override
+    public void knockedOut(int slot) {
+        System.out.println(names[slot] + " has been knocked out! ");
+    }
+
+    @Override
+    public void roundEnded(int round, int alive1, int alive2) {
+        this.round = round + 1;
+        this.roundPrinted = false;
+    }
+
+    @Override
+    public void combatEnded(int winner, int rounds, int kosTeam1, int kosTeam2) {
+    }
+
+    private String itemName(long itemId) {
+        return itemNames.getOrDefault(itemId, "nothing");
+    }
+}
@@ -3,6 +3,10 @@ package Presentation;
 import Business.Character.Character;
 import Business.Character.CharacterManager;
 import Business.Combat.CombatManager;
+import Business.Combat.CombatRandom;
+import Business.Combat.CombatSimulator;
+import Business.Combat.TournamentRunner;
+import Business.Combat.TournamentStanding;
 import Business.Item.Item;
 import Business.Item.ItemManager;
 import Business.Stats.Stats;
@@ -10,10 +14,15 @@ import Business.Stats.StatsManager;
 import Business.Team.Member;
 import Business.Team.Team;
 import Business.Team.TeamManager;
+import Persistance.Binary.CatalogSnapshot;
+import Persistance.Binary.CatalogSnapshotWriter;
+import Persistance.Cache.CachingRepository;
+import Persistance.Cache.LoadReport;
 import org.json.JSONException;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
@@ -49,9 +58,28 @@ public class Controller {
     }
 
     /**
-     * Valida que los archivos de persistencia estén accesibles.
+     * Exporta los personajes y los ítems a una instantánea binaria que se puede leer sin analizar JSON.
+     * Lee los JSON de {@code Data/} directamente, sin crear el controlador ni abrir el repositorio.
      *
-     * @return true si todos los archivos son accesibles, false si algún archivo no lo es.
+     * @param output Ruta del archivo a generar.
+     */
+    public static void exportCatalog(String output) {
+        long start = System.nanoTime();
+        try {
+            CatalogSnapshot snapshot = CatalogSnapshotWriter.export(Paths.get("Data/characters.json"),
+                    Paths.get("Data/items.json"), Paths.get(output));
+            System.out.println("Exported " + snapshot.getCharacterCount() + " characters and " + snapshot.getItemCount()
+                    + " items to " + output + " in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
+        } catch (IOException e) {
+            System.out.println("Error: could not export the catalog. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Valida que los archivos de persistencia estén accesibles y los carga todos a la vez, de modo que los
+     * menús ya los encuentren en memoria. Muestra lo que ha tardado cada archivo y cuántos registros tiene.
+     *
+     * @return true si todos los archivos son accesibles y se han podido leer, false si alguno no.
      */
     public boolean validatePersistence() {
         boolean okFiles = true;
@@ -69,6 +97,18 @@ public class Controller {
                 okFiles = false;
             }
         }
+        if (!okFiles) {
+            return false;
+        }
+
+        long start = System.nanoTime();
+        for (LoadReport report : CachingRepository.getDefault().preload()) {
+            System.out.println("\t" + report);
+            if (!report.isLoaded()) {
+                okFiles = false;
+            }
+        }
+        System.out.println("Loaded in " + (System.nanoTime() - start) / 1_000_000 + " ms.");
 
         return okFiles;
     }
@@ -149,13 +189,20 @@ public class Controller {
                 Team team2 = teams.get(team2Index);
 
                 combatManager.initializeTeams(team1, team2, items, characters);
+                pressEnterKeyToContinue();
             }
 
             case 5 -> {
+                int bestOf = uiManager.promptBestOf();
+                uiManager.displayTournamentStandings(runTournament(bestOf));
+                pressEnterKeyToContinue();
+            }
+
+            case 6 -> {
                 System.out.println("\nWe hope to see you again!");
                 System.exit(0);
             }
-            default -> System.out.println("Please enter a valid option [1-5]");
+            default -> System.out.println("Please enter a valid option [1-6]");
         }
     }
 
@@ -175,6 +222,26 @@ public class Controller {
         }
     }
 
+    /**
+     * Juega un torneo todos contra todos entre todos los equipos y guarda las estadísticas resultantes.
+     *
+     * @param bestOf Número máximo de combates por enfrentamiento (impar).
+     * @return Una lista con la clasificación final, de mejor a peor.
+     * @throws IOException Si ocurre un error al acceder a los archivos.
+     * @throws JSONException Si ocurre un error al guardar las estadísticas.
+     */
+    public List<String> runTournament(int bestOf) throws IOException, JSONException {
+        CombatSimulator simulator = new CombatSimulator(characterManager.loadCharacters(), itemManager.loadItems());
+        TournamentRunner tournamentRunner = new TournamentRunner(simulator, statsManager);
+        List<TournamentStanding> standings = tournamentRunner.run(teamManager.loadTeams(), bestOf, CombatRandom.newMasterSeed());
+
+        List<String> details = new ArrayList<>();
+        for (TournamentStanding standing : standings) {
+            details.add(standing.toString());
+        }
+        return details;
+    }
+
     /*************************************TEAMS***************************************************/
 
     /**
@@ -314,16 +381,18 @@ public class Controller {
 	}
 
     /**
+     * Busca un personaje por su ID (de 64 bits) o, si el texto no es un número, por su nombre.
      *
-     * @param info
-     * @return
+     * @param info El ID o el nombre del personaje.
+     * @return El personaje, o null si no existe.
      */
     public Character findCharacter(String info) {
+        long idNumerico;
         try {
-            int idNumerico = Integer.parseInt(info);
-            return this.characterManager.getCharacter(idNumerico);
-        } catch (Exception ignored) {
+            idNumerico = Long.parseLong(info.trim());
+        } catch (NumberFormatException ignored) {
             return this.characterManager.getCharacter(info);
         }
+        return this.characterManager.getCharacter(idNumerico);
     }
 }
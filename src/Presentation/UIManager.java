@@ -66,8 +66,9 @@ public class UIManager {
                 \t2) Manage Teams
                 \t3) List Items
                 \t4) Simulate Combat
+                \t5) Run Tournament
                 
-                \t5) Exit""");
+                \t6) Exit""");
 
         System.out.print("\nChoose an option: ");
         try {
@@ -75,7 +76,7 @@ public class UIManager {
             scanner.nextLine();
             controller.mainMenuOption(option, controller);
         } catch (InputMismatchException e) {
-            System.out.println("Please enter a valid number [1-5]");
+            System.out.println("Please enter a valid number [1-6]");
             scanner.nextLine();
             displayMainMenu(controller);
         } catch (IOException | JSONException e) {
@@ -385,6 +386,35 @@ public class UIManager {
         System.out.println(roundDetails);
     }
 
+    /**
+     * Solicita al usuario el número de combates por enfrentamiento de un torneo.
+     * La entrada se valida hasta obtener un número impar positivo.
+     *
+     * @return El número máximo de combates por enfrentamiento.
+     */
+    public int promptBestOf() {
+        System.out.print("Best of how many combats? (odd number): ");
+        int bestOf = scanner.nextInt();
+        while (bestOf <= 0 || bestOf % 2 == 0) {
+            System.out.println("Invalid choice. Try again.");
+            System.out.print("Best of how many combats? (odd number): ");
+            bestOf = scanner.nextInt();
+        }
+        return bestOf;
+    }
+
+    /**
+     * Muestra la clasificación final de un torneo.
+     *
+     * @param standings Una lista con la clasificación de cada equipo, de mejor a peor.
+     */
+    public void displayTournamentStandings(List<String> standings) {
+        System.out.println("\nFinal standings:");
+        for (int i = 0; i < standings.size(); i++) {
+            System.out.println("\t" + (i + 1) + ") " + standings.get(i));
+        }
+    }
+
     /**
      * Muestra el mensaje final del combate, indicando qué equipo ha ganado o si ha sido un empate.
      *
@@ -0,0 +1,79 @@
+package Business.Combat;
+
+import Business.Character.Character;
+import Business.Item.Armor;
+import Business.Item.Item;
+import Business.Item.Weapon;
+import Business.Team.Member;
+import Business.Team.Team;
+import Persistance.Binary.CombatEventFileReader;
+import Persistance.Binary.CombatEventFileSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que un combate repetido desde el archivo de eventos coincide, ronda a ronda, con el mismo combate
+ * repetido desde su semilla.
+ */
+class CombatReplayTest {
+    private static final int MEMBERS = 4;
+    private static final int COMBATS = 500;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void fileReplayMatchesSeedReplay() throws IOException {
+        List<Character> characters = new ArrayList<>();
+        List<Member> members1 = new ArrayList<>();
+        List<Member> members2 = new ArrayList<>();
+        for (int i = 0; i < MEMBERS * 2; i++) {
+            characters.add(new Character(1000 + i, "Character " + i, 70 + i * 5));
+            (i < MEMBERS ? members1 : members2).add(new Member(1000 + i, "balanced"));
+        }
+        List<Item> items = List.of(new Weapon(1, "Sword", 60, 5), new Weapon(2, "Stick", 10, 20),
+                new Armor(3, "Shield", 40, 5), new Armor(4, "Cloth", 5, 30));
+        CombatSimulator simulator = new CombatSimulator(characters, items);
+        Team team1 = new Team("A", members1);
+        Team team2 = new Team("B", members2);
+
+        Path file = directory.resolve("combat-events.bin");
+        List<CombatResult> results = new ArrayList<>();
+        try (CombatEventFileSink sink = new CombatEventFileSink(file)) {
+            for (int seed = 0; seed < COMBATS; seed++) {
+                results.add(simulator.simulate(team1, team2, seed, sink));
+            }
+        }
+
+        CombatEventFileReader reader = new CombatEventFileReader(file);
+        for (int seed = 0; seed < COMBATS; seed++) {
+            assertTrue(reader.hasNext());
+            CombatReplay fromFile = new CombatReplay(reader.nextCombat());
+            CombatReplay fromSeed = CombatReplay.fromSeed(simulator, team1, team2, seed);
+            assertEquals(seed, fromFile.getSeed());
+            assertEquals(results.get(seed).toString(), fromFile.getResult().toString());
+            assertEquals(fromSeed.getRounds(), fromFile.getRounds(), "combat " + seed);
+            // Backwards, so every jump rewinds and replays from the start
+            for (int round = fromFile.getRounds(); round >= 0; round--) {
+                fromFile.jumpToRound(round);
+                fromSeed.jumpToRound(round);
+                for (int slot = 0; slot < MEMBERS * 2; slot++) {
+                    String where = "combat " + seed + ", round " + round + ", slot " + slot;
+                    assertEquals(fromSeed.getState().getDamage(slot), fromFile.getState().getDamage(slot), where);
+                    assertEquals(fromSeed.getState().isKnockedOut(slot), fromFile.getState().isKnockedOut(slot), where);
+                    assertEquals(fromSeed.getState().getArmorDurability(slot), fromFile.getState().getArmorDurability(slot), where);
+                }
+            }
+        }
+        assertFalse(reader.hasNext());
+    }
+}
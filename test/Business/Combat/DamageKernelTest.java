@@ -0,0 +1,65 @@
+package Business.Combat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Comprueba que el núcleo vectorial da exactamente los mismos resultados que el escalar y que {@link CombatRules},
+ * también con lotes que no son múltiplo del ancho del vector.
+ */
+class DamageKernelTest {
+
+    @Test
+    void createPicksTheVectorKernelWhenTheModuleIsLoaded() {
+        assertInstanceOf(VectorDamageKernel.class, DamageKernel.create());
+    }
+
+    @Test
+    void vectorKernelMatchesScalarKernel() {
+        DamageKernel scalar = new ScalarDamageKernel();
+        DamageKernel vector = new VectorDamageKernel();
+        for (int size : new int[]{1, 3, 7, 8, 63, 64, 1027, 16_384}) {
+            AttackBatch expected = randomBatch(size);
+            AttackBatch actual = randomBatch(size);
+            scalar.compute(expected);
+            vector.compute(actual);
+            for (int i = 0; i < size; i++) {
+                assertEquals(expected.getAttack(i), actual.getAttack(i), "attack " + i + " of " + size);
+                assertEquals(expected.getFinalDamage(i), actual.getFinalDamage(i), "damage " + i + " of " + size);
+            }
+        }
+    }
+
+    @Test
+    void scalarKernelMatchesCombatRules() {
+        SplittableRandom random = new SplittableRandom(11);
+        AttackBatch batch = new AttackBatch(1000);
+        double[][] inputs = new double[1000][];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new double[]{50 + random.nextInt(100), random.nextDouble(), random.nextInt(100),
+                    50 + random.nextInt(100), random.nextDouble(), random.nextInt(100)};
+            batch.add(inputs[i][0], inputs[i][1], inputs[i][2], inputs[i][3], inputs[i][4], inputs[i][5]);
+        }
+        new ScalarDamageKernel().compute(batch);
+        for (int i = 0; i < inputs.length; i++) {
+            double[] in = inputs[i];
+            double attack = CombatRules.calculateAttack(in[0], in[1], in[2]);
+            assertEquals(attack, batch.getAttack(i));
+            assertEquals(CombatRules.calculateFinalDamage(attack, in[3], in[4], in[5]), batch.getFinalDamage(i));
+        }
+    }
+
+    private static AttackBatch randomBatch(int size) {
+        SplittableRandom random = new SplittableRandom(7); // same data for both kernels
+        AttackBatch batch = new AttackBatch(size);
+        for (int i = 0; i < size; i++) {
+            batch.add(50 + random.nextInt(100), random.nextDouble(), random.nextInt(100),
+                    50 + random.nextInt(100), random.nextDouble(), random.nextInt(100));
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,51 @@
+package Business.Combat;
+
+import Business.Character.Character;
+import Business.Item.Armor;
+import Business.Item.Item;
+import Business.Item.Weapon;
+import Business.Team.Member;
+import Business.Team.Team;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Comprueba que el resultado de una batalla grande depende solo de la semilla, no del número de hilos.
+ */
+class RaidSimulatorTest {
+
+    @Test
+    void resultDoesNotDependOnThreadCount() {
+        int size = 3 * RaidSimulator.CHUNK_SIZE + 17; // several chunks, the last one partial
+        List<Item> items = List.of(new Weapon(1, "Sword", 60, 5), new Weapon(2, "Stick", 10, 20),
+                new Armor(3, "Shield", 40, 5), new Armor(4, "Cloth", 5, 30));
+        List<Character> characters = new ArrayList<>();
+        List<Member> members1 = new ArrayList<>();
+        List<Member> members2 = new ArrayList<>();
+        for (int i = 0; i < size * 2; i++) {
+            characters.add(new Character(i, "Character " + i, 50 + (i * 37) % 100));
+            (i < size ? members1 : members2).add(new Member(i, "balanced"));
+        }
+        Team team1 = new Team("A", members1);
+        Team team2 = new Team("B", members2);
+
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool several = new ForkJoinPool(4);
+        try {
+            RaidSimulator serial = new RaidSimulator(characters, items, CombatSimulator.DEFAULT_MAX_ROUNDS, single);
+            RaidSimulator parallel = new RaidSimulator(characters, items, CombatSimulator.DEFAULT_MAX_ROUNDS, several);
+            for (long seed = 0; seed < 5; seed++) {
+                assertEquals(serial.simulate(team1, team2, seed).toString(), parallel.simulate(team1, team2, seed).toString(),
+                        "seed " + seed);
+            }
+        } finally {
+            single.shutdown();
+            several.shutdown();
+        }
+    }
+}
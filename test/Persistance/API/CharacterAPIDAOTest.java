@@ -0,0 +1,328 @@
+package Persistance.API;
+
+import Business.Character.Character;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Comprueba {@link CharacterAPIDAO} contra un servicio de prueba en local: las páginas de la lista completa,
+ * la agrupación de búsquedas, la caché (caducidad, IDs que no existen y tamaño máximo) y las respuestas con
+ * error o mal formadas.
+ */
+class CharacterAPIDAOTest {
+    private static final long LONG_TTL = 60_000;
+
+    private HttpServer server;
+    private String baseUrl;
+    // ID -> "name:weight" of the characters the service knows
+    private final Map<Long, String> characters = new ConcurrentSkipListMap<>();
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+    private volatile int status = 200;
+    private volatile String body;
+    private volatile CountDownLatch received;
+    private volatile CountDownLatch release;
+    private final List<CharacterAPIDAO> daos = new ArrayList<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/api/characters", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort() + "/api/";
+    }
+
+    @AfterEach
+    void stopServer() {
+        daos.forEach(CharacterAPIDAO::close);
+        if (release != null) {
+            release.countDown();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void fullListIsPagedUntilAShortPage() {
+        for (long id = 1; id <= 25; id++) {
+            characters.put(id, "Character " + id + ":" + (50 + id));
+        }
+        CharacterAPIDAO dao = dao(10, 100, 2, LONG_TTL, 1000);
+
+        List<Character> loaded = dao.getCharacters();
+        assertEquals(25, loaded.size());
+        for (int i = 0; i < loaded.size(); i++) {
+            assertEquals(i + 1, loaded.get(i).getId());
+            assertEquals("Character " + (i + 1), loaded.get(i).getName());
+        }
+        assertTrue(pageQueries().containsAll(List.of("page=0&size=10", "page=1&size=10", "page=2&size=10")));
+
+        // A page that ends exactly on the last character is followed by an empty one
+        characters.clear();
+        for (long id = 1; id <= 20; id++) {
+            characters.put(id, "Character " + id + ":60");
+        }
+        assertEquals(20, dao(10, 100, 2, LONG_TTL, 1000).getCharacters().size());
+
+        // The list stays in memory while it is fresh
+        queries.clear();
+        assertEquals(25, dao.getCharacters().size());
+        assertTrue(queries.isEmpty());
+        assertEquals(7, dao.getCharacter(7).getId());
+        assertTrue(queries.isEmpty());
+    }
+
+    @Test
+    void concurrentLookupsShareOneBatchRequest() throws Exception {
+        for (long id = 1; id <= 8; id++) {
+            characters.put(id, "Character " + id + ":60");
+        }
+        CharacterAPIDAO dao = dao(10, 100, 500, LONG_TTL, 1000);
+
+        List<Character> found = inParallel(8, index -> dao.getCharacter(index + 1));
+        for (int i = 0; i < found.size(); i++) {
+            assertEquals(i + 1, found.get(i).getId());
+        }
+        List<Set<Long>> batches = idQueries();
+        assertEquals(1, batches.size(), "queries: " + queries);
+        assertEquals(Set.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), batches.get(0));
+    }
+
+    @Test
+    void batchesAreSplitAtMaxBatch() throws Exception {
+        for (long id = 1; id <= 10; id++) {
+            characters.put(id, "Character " + id + ":60");
+        }
+        CharacterAPIDAO dao = dao(10, 4, 500, LONG_TTL, 1000);
+
+        List<Character> found = inParallel(10, index -> dao.getCharacter(index + 1));
+        for (int i = 0; i < found.size(); i++) {
+            assertEquals(i + 1, found.get(i).getId());
+        }
+        Set<Long> asked = new HashSet<>();
+        for (Set<Long> batch : idQueries()) {
+            assertTrue(batch.size() <= 4, "batch " + batch);
+            assertTrue(asked.addAll(batch), "ID asked twice: " + batch);
+        }
+        assertEquals(10, asked.size());
+    }
+
+    @Test
+    void lookupOfAnIdInFlightSharesItsRequest() throws Exception {
+        characters.put(7L, "Seven:77");
+        CharacterAPIDAO dao = dao(10, 100, 1, LONG_TTL, 1000);
+        received = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Character> first = callers.submit(() -> dao.getCharacter(7));
+            assertTrue(received.await(10, TimeUnit.SECONDS));
+            // The request for 7 is on the wire; a second lookup must wait for it instead of asking again
+            Future<Character> second = callers.submit(() -> dao.getCharacter(7));
+            Thread.sleep(100);
+            release.countDown();
+            assertEquals("Seven", first.get(10, TimeUnit.SECONDS).getName());
+            assertEquals("Seven", second.get(10, TimeUnit.SECONDS).getName());
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, idQueries().size(), "queries: " + queries);
+    }
+
+    @Test
+    void missingIdsAreCachedToo() {
+        characters.put(1L, "One:60");
+        CharacterAPIDAO dao = dao(10, 100, 1, LONG_TTL, 1000);
+
+        assertNull(dao.getCharacter(404));
+        assertNull(dao.getCharacter(404));
+        assertNotNull(dao.getCharacter(1));
+        assertEquals(2, idQueries().size(), "queries: " + queries);
+    }
+
+    @Test
+    void staleHitAnswersAtOnceAndRefreshesInTheBackground() throws Exception {
+        characters.put(1L, "Old:60");
+        CharacterAPIDAO dao = dao(10, 100, 1, 100, 1000);
+        assertEquals("Old", dao.getCharacter(1).getName());
+
+        characters.put(1L, "New:61");
+        Thread.sleep(200);
+        // Past its TTL: the cached character comes back while the new one is fetched
+        assertEquals("Old", dao.getCharacter(1).getName());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!dao.getCharacter(1).getName().equals("New")) {
+            if (System.nanoTime() > deadline) {
+                fail("The stale character was never refreshed");
+            }
+            Thread.sleep(5);
+        }
+        assertEquals(61, dao.getCharacter(1).getWeight());
+    }
+
+    @Test
+    void cacheKeepsTheMostRecentlyUsedEntries() {
+        for (long id = 1; id <= 4; id++) {
+            characters.put(id, "Character " + id + ":60");
+        }
+        CharacterAPIDAO dao = dao(10, 100, 1, LONG_TTL, 3);
+        dao.getCharacter(1);
+        dao.getCharacter(2);
+        dao.getCharacter(3);
+        dao.getCharacter(1); // 2 is now the least recently used
+        dao.getCharacter(4);
+        assertTrue(dao.describeCounters().endsWith("cached=3"), dao.describeCounters());
+
+        queries.clear();
+        dao.getCharacter(1);
+        dao.getCharacter(3);
+        dao.getCharacter(4);
+        assertTrue(queries.isEmpty(), "queries: " + queries);
+        dao.getCharacter(2);
+        assertEquals(List.of(Set.of(2L)), idQueries());
+        assertTrue(dao.describeCounters().endsWith("cached=3"), dao.describeCounters());
+    }
+
+    @Test
+    void serverErrorsGiveNullOrEmpty() {
+        characters.put(1L, "One:60");
+        status = 500;
+        CharacterAPIDAO dao = dao(10, 100, 1, LONG_TTL, 1000);
+
+        assertNull(dao.getCharacter(1));
+        assertTrue(dao.getCharacters().isEmpty());
+        // Errors are not cached: the next lookup asks again
+        status = 200;
+        assertEquals("One", dao.getCharacter(1).getName());
+        assertEquals(1, dao.getCharacters().size());
+    }
+
+    @Test
+    void malformedBodiesGiveNullOrEmpty() {
+        CharacterAPIDAO dao = dao(10, 100, 1, LONG_TTL, 1000);
+        long id = 1;
+        for (String malformed : new String[]{"[{\"id\": 1, \"name\": ", "{\"id\": 1}", "not json", "",
+                "[{\"id\": \"one\", \"name\": \"One\", \"weight\": 60}]", "[1, 2]"}) {
+            body = malformed;
+            assertNull(dao.getCharacter(id++), malformed);
+            assertTrue(dao.getCharacters().isEmpty(), malformed);
+        }
+    }
+
+    private CharacterAPIDAO dao(int pageSize, int maxBatch, long batchDelay, long ttl, int maxEntries) {
+        CharacterAPIDAO dao = new CharacterAPIDAO(baseUrl, pageSize, maxBatch, batchDelay, ttl, maxEntries);
+        daos.add(dao);
+        return dao;
+    }
+
+    private interface Lookup {
+        Character find(int index);
+    }
+
+    /**
+     * Lanza las búsquedas a la vez, cada una en su hilo, y devuelve sus resultados en orden.
+     */
+    private static List<Character> inParallel(int count, Lookup lookup) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(count);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Character>> results = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                int index = i;
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return lookup.find(index);
+                }));
+            }
+            start.countDown();
+            List<Character> found = new ArrayList<>();
+            for (Future<Character> result : results) {
+                found.add(result.get(10, TimeUnit.SECONDS));
+            }
+            return found;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private List<String> pageQueries() {
+        return queries.stream().filter(query -> query.startsWith("page=")).toList();
+    }
+
+    private List<Set<Long>> idQueries() {
+        return queries.stream().filter(query -> query.startsWith("ids="))
+                .map(query -> Arrays.stream(query.substring(4).split(",")).map(Long::valueOf).collect(Collectors.toSet()))
+                .toList();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String query = exchange.getRequestURI().getRawQuery();
+        queries.add(query);
+        if (query.startsWith("ids=") && received != null) {
+            received.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        String response = body != null ? body : respond(query);
+        byte[] bytes = response.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private String respond(String query) {
+        List<Long> ids = new ArrayList<>();
+        if (query.startsWith("ids=")) {
+            for (String id : query.substring(4).split(",")) {
+                if (characters.containsKey(Long.valueOf(id))) {
+                    ids.add(Long.valueOf(id));
+                }
+            }
+        } else {
+            String[] parameters = query.split("&");
+            int page = Integer.parseInt(parameters[0].substring("page=".length()));
+            int size = Integer.parseInt(parameters[1].substring("size=".length()));
+            ids = characters.keySet().stream().skip((long) page * size).limit(size).toList();
+        }
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (long id : ids) {
+            String[] character = characters.get(id).split(":");
+            json.add("{\"id\": " + id + ", \"name\": \"" + character[0] + "\", \"weight\": " + character[1] + "}");
+        }
+        return json.toString();
+    }
+}
@@ -0,0 +1,171 @@
+package Persistance.Binary;
+
+import Business.Character.Character;
+import Business.Item.Item;
+import Persistance.JSON.CharacterJSONDAO;
+import Persistance.JSON.DatasetGenerator;
+import Persistance.JSON.ItemJSONDAO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que la instantánea binaria del catálogo devuelve los mismos personajes e ítems que los JSON de
+ * los que se genera, también con IDs repetidos y nombres fuera de ASCII.
+ */
+class CatalogSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void snapshotMatchesTheJson() throws IOException {
+        new DatasetGenerator(5_000, 300, 0, 42).generate(directory);
+        Path characters = directory.resolve("characters.json");
+        Path items = directory.resolve("items.json");
+        CatalogSnapshot snapshot = CatalogSnapshotWriter.export(characters, items, directory.resolve("catalog.bin"));
+
+        List<Character> expectedCharacters = new CharacterJSONDAO(characters.toString()).getCharacters();
+        assertEquals(expectedCharacters.size(), snapshot.getCharacterCount());
+        CharacterView characterView = snapshot.characterView();
+        Set<Long> ids = new HashSet<>();
+        for (int record = 0; record < expectedCharacters.size(); record++) {
+            Character expected = expectedCharacters.get(record);
+            characterView.moveTo(record);
+            assertEquals(expected.getId(), characterView.getId());
+            assertEquals(expected.getName(), characterView.getName());
+            assertEquals(expected.getWeight(), characterView.getWeight());
+            ids.add(expected.getId());
+            assertEquals(expected.getId(), characterView.moveTo(snapshot.findCharacter(expected.getId())).getId());
+        }
+        long missing = 0;
+        while (ids.contains(missing)) {
+            missing++;
+        }
+        assertEquals(-1, snapshot.findCharacter(missing));
+        assertEquals(-1, snapshot.findCharacter(Long.MIN_VALUE));
+
+        List<Item> expectedItems = new ItemJSONDAO(items.toString()).getItems();
+        assertEquals(expectedItems.size(), snapshot.getItemCount());
+        ItemView itemView = snapshot.itemView();
+        for (int record = 0; record < expectedItems.size(); record++) {
+            Item expected = expectedItems.get(record);
+            Item actual = itemView.moveTo(record).toItem();
+            assertEquals(expected.getClass(), actual.getClass());
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getName(), actual.getName());
+            assertEquals(expected.getPower(), actual.getPower());
+            assertEquals(expected.getDurability(), actual.getDurability());
+            assertEquals(expected.isWeapon(), itemView.isWeapon());
+            assertEquals(!expected.isWeapon(), itemView.isArmor());
+        }
+    }
+
+    @Test
+    void duplicateIdsFindTheFirstRecordAndNamesKeepTheirBytes() throws IOException {
+        Path characters = directory.resolve("characters.json");
+        Path items = directory.resolve("items.json");
+        Files.writeString(characters, """
+                [
+                  {"id": 5, "name": "Ñandú", "weight": 40},
+                  {"id": 7, "name": "日本語の名前", "weight": 50},
+                  {"id": 5, "name": "Emoji \\ud83d\\ude00 😀", "weight": 60},
+                  {"id": -3, "name": "", "weight": 70},
+                  {"id": 7, "name": "Zoë", "weight": 80}
+                ]
+                """);
+        Files.writeString(items, """
+                [
+                  {"id": 1, "name": "Épée", "class": "Weapon", "power": 12, "durability": 30},
+                  {"id": 1, "name": "Armadura de acero", "class": "Armor", "power": 4, "durability": 90}
+                ]
+                """);
+        CatalogSnapshot snapshot = CatalogSnapshotWriter.export(characters, items, directory.resolve("catalog.bin"));
+
+        // Every record is kept, in the order of the JSON
+        assertEquals(5, snapshot.getCharacterCount());
+        CharacterView view = snapshot.characterView();
+        String[] names = new String[5];
+        for (int record = 0; record < 5; record++) {
+            names[record] = view.moveTo(record).getName();
+        }
+        assertArrayEquals(new String[] {"Ñandú", "日本語の名前", "Emoji 😀 😀", "", "Zoë"}, names);
+        assertEquals(60, view.moveTo(2).getWeight());
+
+        // The index finds the first record with each ID, like the search in the JSON
+        assertEquals(0, snapshot.findCharacter(5));
+        assertEquals(1, snapshot.findCharacter(7));
+        assertEquals(3, snapshot.findCharacter(-3));
+        assertEquals(-1, snapshot.findCharacter(6));
+        Character found = view.moveTo(snapshot.findCharacter(7)).toCharacter();
+        assertEquals("日本語の名前", found.getName());
+        assertEquals(50, found.getWeight());
+        assertEquals("Ñandú", new CharacterSnapshotDAO(snapshot).getCharacter(5).getName());
+
+        ItemView itemView = snapshot.itemView();
+        assertEquals("Épée", itemView.moveTo(0).getName());
+        assertTrue(itemView.isWeapon());
+        assertEquals("Armadura de acero", itemView.moveTo(1).getName());
+        assertTrue(itemView.isArmor());
+
+        // The snapshot reads the same when opened again
+        CatalogSnapshot reopened = new CatalogSnapshot(snapshot.getPath());
+        assertEquals("Emoji 😀 😀", reopened.characterView().moveTo(2).getName());
+        assertEquals(0, reopened.findCharacter(5));
+    }
+
+    @Test
+    void emptyCatalogHasNoRecords() throws IOException {
+        Path characters = directory.resolve("characters.json");
+        Path items = directory.resolve("items.json");
+        Files.writeString(characters, "[]");
+        Files.writeString(items, "[]");
+        CatalogSnapshot snapshot = CatalogSnapshotWriter.export(characters, items, directory.resolve("catalog.bin"));
+
+        assertEquals(0, snapshot.getCharacterCount());
+        assertEquals(0, snapshot.getItemCount());
+        assertEquals(-1, snapshot.findCharacter(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.characterView().moveTo(0));
+    }
+
+    @Test
+    void brokenJsonLeavesThePreviousSnapshot() throws IOException {
+        Path characters = directory.resolve("characters.json");
+        Path items = directory.resolve("items.json");
+        Path output = directory.resolve("catalog.bin");
+        Files.writeString(characters, "[{\"id\": 1, \"name\": \"One\", \"weight\": 10}]");
+        Files.writeString(items, "[]");
+        CatalogSnapshotWriter.export(characters, items, output);
+        byte[] previous = Files.readAllBytes(output);
+
+        Files.writeString(characters, "[{\"id\": 1, \"name\": \"One\", \"weight\": 10}, {\"id\": 2, \"na");
+        assertThrows(IOException.class, () -> CatalogSnapshotWriter.export(characters, items, output));
+        assertArrayEquals(previous, Files.readAllBytes(output));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(Set.of("characters.json", "items.json", "catalog.bin"),
+                    files.map(path -> path.getFileName().toString()).collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path path = directory.resolve("catalog.bin");
+        Files.writeString(path, "[{\"id\": 1, \"name\": \"One\", \"weight\": 10}] and more text to pass the header size");
+        assertThrows(IOException.class, () -> new CatalogSnapshot(path));
+        Files.writeString(path, "SLBC");
+        assertThrows(IOException.class, () -> new CatalogSnapshot(path));
+    }
+}
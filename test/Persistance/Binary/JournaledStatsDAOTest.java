@@ -0,0 +1,258 @@
+package Persistance.Binary;
+
+import Business.Stats.Stats;
+import Persistance.JSON.StatsJSONDAO;
+import org.json.JSONException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que las estadísticas con diario se recuperan igual después de cualquier interrupción: un registro
+ * a medias al final del diario, un registro dañado y cada punto en que se puede cortar una compactación.
+ */
+class JournaledStatsDAOTest {
+    private static final long NEVER = Long.MAX_VALUE;
+
+    @TempDir
+    Path directory;
+
+    private Path snapshot;
+    private Path journal;
+    private Path compacting;
+    private Path next;
+
+    @BeforeEach
+    void paths() {
+        snapshot = directory.resolve("stats.json");
+        journal = JournaledStatsDAO.journalFor(snapshot);
+        compacting = directory.resolve("stats.journal.compacting");
+        next = directory.resolve("stats.json.next");
+    }
+
+    @Test
+    void resultsSurviveReopen() throws Exception {
+        writeSnapshot(new Stats("Alpha", 10, 5, 20, 10));
+        JournaledStatsDAO dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        dao.addResults("ALPHA", 1, 1, 3, 0);
+        dao.addResults("Beta", 1, 0, 0, 3);
+        assertTotals(dao, "alpha 11 6 23 10", "Beta 1 0 0 3");
+        dao.close();
+
+        // stats.json was not rewritten: the results are only in the journal
+        assertEquals(List.of("Alpha 10 5 20 10"), readSnapshot(snapshot));
+        dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        assertTotals(dao, "Alpha 11 6 23 10", "Beta 1 0 0 3");
+        dao.close();
+    }
+
+    @Test
+    void tornTailLosesOnlyTheLastResult() throws Exception {
+        writeSnapshot(new Stats("Alpha", 10, 5, 20, 10));
+        writeJournal(journal, 3);
+        Files.write(journal, Arrays.copyOf(Files.readAllBytes(journal), (int) Files.size(journal) - 5));
+
+        JournaledStatsDAO dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        assertTotals(dao, "Alpha 12 6 22 12");
+        dao.addResults("Alpha", 1, 0, 0, 0);
+        dao.close();
+        dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        assertTotals(dao, "Alpha 13 6 22 12");
+        dao.close();
+    }
+
+    @Test
+    void corruptRecordDropsItAndTheRecordsAfterIt() throws Exception {
+        writeSnapshot(new Stats("Alpha", 10, 5, 20, 10));
+        writeJournal(journal, 4);
+        byte[] bytes = Files.readAllBytes(journal);
+        int recordSize = (bytes.length - StatsJournal.HEADER_SIZE) / 4;
+        bytes[StatsJournal.HEADER_SIZE + 3 * recordSize - 1] ^= 0x01; // last byte of the third record
+        Files.write(journal, bytes);
+
+        JournaledStatsDAO dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        assertTotals(dao, "Alpha 12 6 22 12");
+        dao.close();
+    }
+
+    @Test
+    void leftoverCompactingJournalIsCompactedOnOpen() throws Exception {
+        // Stopped after step 1: the journal was set aside, nothing was written yet
+        writeSnapshot(new Stats("Alpha", 10, 5, 20, 10));
+        writeJournal(compacting, 2);
+        writeJournal(journal, 1);
+
+        JournaledStatsDAO dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        assertTotals(dao, "Alpha 13 6 23 13");
+        assertFalse(Files.exists(compacting));
+        assertFalse(Files.exists(next));
+        // The set-aside records are now in stats.json; the current journal is still pending
+        assertEquals(List.of("Alpha 12 6 22 12"), readSnapshot(snapshot));
+        dao.close();
+        dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        assertTotals(dao, "Alpha 13 6 23 13");
+        dao.close();
+    }
+
+    @Test
+    void compactingJournalWithoutANewJournalIsRecovered() throws Exception {
+        // Stopped between renaming the journal and creating the new one
+        writeSnapshot(new Stats("Alpha", 10, 5, 20, 10));
+        writeJournal(compacting, 2);
+
+        JournaledStatsDAO dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        assertTotals(dao, "Alpha 12 6 22 12");
+        assertTrue(Files.exists(journal));
+        dao.close();
+    }
+
+    @Test
+    void partialNextSnapshotIsDiscardedWhileCompacting() throws Exception {
+        // Stopped during step 2: stats.json.next may be cut anywhere
+        writeSnapshot(new Stats("Alpha", 10, 5, 20, 10));
+        writeJournal(compacting, 2);
+        writeJournal(journal, 1);
+        Files.writeString(next, "[{\"team_name\": \"Alpha\", \"games_pl");
+
+        JournaledStatsDAO dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        assertTotals(dao, "Alpha 13 6 23 13");
+        assertFalse(Files.exists(next));
+        assertFalse(Files.exists(compacting));
+        dao.close();
+    }
+
+    @Test
+    void nextSnapshotIsInstalledAfterTheCommitPoint() throws Exception {
+        // Stopped after step 3: the set-aside journal is gone, so stats.json.next holds the good totals
+        writeSnapshot(new Stats("Alpha", 10, 5, 20, 10));
+        new StatsJSONDAO(next.toString()).saveStats(List.of(new Stats("Alpha", 12, 6, 22, 12)));
+        writeJournal(journal, 1);
+
+        JournaledStatsDAO dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        assertTotals(dao, "Alpha 13 6 23 13");
+        assertFalse(Files.exists(next));
+        assertEquals(List.of("Alpha 12 6 22 12"), readSnapshot(snapshot));
+        dao.close();
+    }
+
+    @Test
+    void completedCompactionNeedsNoRecovery() throws Exception {
+        // Stopped right after step 4: only stats.json and the new journal are left
+        writeSnapshot(new Stats("Alpha", 10, 5, 20, 10));
+        JournaledStatsDAO dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        dao.addResults("Alpha", 1, 0, 1, 1);
+        dao.compact();
+        dao.addResults("Alpha", 1, 1, 1, 1);
+        assertEquals(List.of("Alpha 11 5 21 11"), readSnapshot(snapshot));
+        assertFalse(Files.exists(compacting));
+        assertFalse(Files.exists(next));
+        dao.close();
+
+        dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        assertTotals(dao, "Alpha 12 6 22 12");
+        dao.close();
+    }
+
+    @Test
+    void backgroundCompactionsLoseNoConcurrentResults() throws Exception {
+        writeSnapshot();
+        JournaledStatsDAO dao = new JournaledStatsDAO(snapshot, journal, 4 * 1024);
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        List<Future<?>> results = new ArrayList<>();
+        for (int w = 0; w < 4; w++) {
+            results.add(writers.submit(() -> {
+                for (int i = 0; i < 4_800; i++) {
+                    dao.addResults("Team " + i % 16, 1, i % 2, 2, 1);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        writers.shutdown();
+        // Compactions ran while the writers appended: the journal never grew past a few thresholds
+        assertTrue(dao.getJournalSize() < 64 * 1024, "journal of " + dao.getJournalSize() + " bytes");
+        dao.close();
+
+        JournaledStatsDAO reopened = new JournaledStatsDAO(snapshot, journal, NEVER);
+        List<Stats> totals = reopened.getStats();
+        assertEquals(16, totals.size());
+        for (Stats stats : totals) {
+            assertEquals(4 * 4_800 / 16, stats.getGamesPlayed(), stats.getDetails());
+            assertEquals(2 * stats.getGamesPlayed(), stats.getKODone(), stats.getDetails());
+        }
+        reopened.close();
+        assertFalse(Files.exists(compacting));
+        assertFalse(Files.exists(next));
+    }
+
+    @Test
+    void saveStatsReplacesSnapshotAndJournal() throws Exception {
+        writeSnapshot(new Stats("Alpha", 10, 5, 20, 10));
+        JournaledStatsDAO dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        dao.addResults("Alpha", 1, 1, 1, 1);
+        dao.saveStats(List.of(new Stats("Gamma", 1, 1, 1, 1)));
+        dao.close();
+
+        assertEquals(List.of("Gamma 1 1 1 1"), readSnapshot(snapshot));
+        dao = new JournaledStatsDAO(snapshot, journal, NEVER);
+        assertTotals(dao, "Gamma 1 1 1 1");
+        dao.close();
+    }
+
+    private void writeSnapshot(Stats... stats) throws JSONException {
+        new StatsJSONDAO(snapshot.toString()).saveStats(List.of(stats));
+    }
+
+    /**
+     * Escribe {@code count} resultados de Alpha: jugado, ganado en los impares y un KO realizado y otro recibido.
+     */
+    private static void writeJournal(Path path, int count) throws IOException {
+        try (StatsJournal records = StatsJournal.open(path, (teamName, played, won, koDone, koReceived) -> { })) {
+            for (int i = 0; i < count; i++) {
+                records.append("Alpha", 1, i % 2, 1, 1);
+            }
+        }
+    }
+
+    private static List<String> readSnapshot(Path path) {
+        List<String> stats = new ArrayList<>();
+        assertTrue(new StatsJSONDAO(path.toString()).forEachStats(entry -> stats.add(describe(entry))));
+        return stats;
+    }
+
+    private static void assertTotals(JournaledStatsDAO dao, String... expected) {
+        List<String> totals = new ArrayList<>();
+        for (Stats stats : dao.getStats()) {
+            totals.add(describe(stats));
+        }
+        List<String> wanted = new ArrayList<>();
+        for (String line : expected) {
+            String[] parts = line.split(" ");
+            // Lookups ignore case; the stored name keeps the case it was created with
+            Stats stats = dao.getStats(parts[0]);
+            wanted.add(stats.getTeamName() + line.substring(parts[0].length()));
+        }
+        assertEquals(wanted, totals);
+    }
+
+    private static String describe(Stats stats) {
+        return stats.getTeamName() + " " + stats.getGamesPlayed() + " " + stats.getGamesWon() + " "
+                + stats.getKODone() + " " + stats.getKOReceived();
+    }
+}
@@ -0,0 +1,322 @@
+package Persistance.Binary;
+
+import Business.Team.Member;
+import Business.Team.Team;
+import Persistance.JSON.DatasetGenerator;
+import Persistance.JSON.TeamJSONDAO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static Persistance.Binary.TeamRecordFileTest.describe;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba el DAO de equipos sobre registros: altas, sustituciones y lápidas, la recuperación de un
+ * registro a medio escribir y la compactación, también con escrituras mientras copia.
+ */
+class RecordTeamDAOTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void storeIsSeededFromTheJsonOnce() throws IOException {
+        new DatasetGenerator(40, 0, 20, 42).generate(directory);
+        Path seed = directory.resolve("teams.json");
+        Path store = directory.resolve("teams.records");
+        List<String> expected = describeAll(new TeamJSONDAO(seed.toString()).getTeams());
+
+        RecordTeamDAO dao = new RecordTeamDAO(store, seed);
+        try {
+            assertEquals(expected, describeAll(dao.getTeams()));
+        } finally {
+            dao.close();
+        }
+        Files.delete(seed);
+        dao = new RecordTeamDAO(store, seed);
+        try {
+            assertEquals(expected, describeAll(dao.getTeams()));
+        } finally {
+            dao.close();
+        }
+    }
+
+    @Test
+    void tombstonesHideTeamsAcrossReopens() throws IOException {
+        Path store = directory.resolve("teams.records");
+        RecordTeamDAO dao = new RecordTeamDAO(store, null);
+        try {
+            dao.createTeam(team("Alpha", 1));
+            dao.createTeam(team("Beta", 2, 3));
+            assertTrue(dao.deleteTeam(team("ALPHA"))); // names are matched case-insensitively
+            assertFalse(dao.deleteTeam(team("Alpha")));
+            assertFalse(dao.deleteTeam(team("Gamma")));
+            assertNull(dao.getTeam("Alpha"));
+            assertEquals(List.of("Beta 2/balanced,3/balanced"), describeAll(dao.getTeams()));
+        } finally {
+            dao.close();
+        }
+
+        dao = new RecordTeamDAO(store, null);
+        try {
+            assertNull(dao.getTeam("alpha"));
+            assertEquals(List.of("Beta 2/balanced,3/balanced"), describeAll(dao.getTeams()));
+            // A deleted name can be used again
+            dao.createTeam(team("Alpha", 5));
+            assertEquals("Alpha 5/balanced", describe(dao.getTeam("alpha")));
+            assertEquals(List.of("Beta 2/balanced,3/balanced", "Alpha 5/balanced"), describeAll(dao.getTeams()));
+        } finally {
+            dao.close();
+        }
+    }
+
+    @Test
+    void createReplacesTheTeamWithTheSameName() throws IOException {
+        Path store = directory.resolve("teams.records");
+        RecordTeamDAO dao = new RecordTeamDAO(store, null);
+        try {
+            dao.createTeam(team("Alpha", 1));
+            dao.createTeam(team("Beta", 2, 3));
+            dao.createTeam(team("alpha", 7));
+            assertEquals("alpha 7/balanced", describe(dao.getTeam("ALPHA")));
+            // The replacement takes the place of its record, at the end of the file
+            assertEquals(List.of("Beta 2/balanced,3/balanced", "alpha 7/balanced"), describeAll(dao.getTeams()));
+        } finally {
+            dao.close();
+        }
+
+        dao = new RecordTeamDAO(store, null);
+        try {
+            assertEquals(List.of("Beta 2/balanced,3/balanced", "alpha 7/balanced"), describeAll(dao.getTeams()));
+        } finally {
+            dao.close();
+        }
+    }
+
+    @Test
+    void tornLastRecordIsDroppedOnOpen() throws IOException {
+        Path store = directory.resolve("teams.records");
+        RecordTeamDAO dao = new RecordTeamDAO(store, null);
+        long beforeLast;
+        try {
+            dao.createTeam(team("Alpha", 1));
+            dao.createTeam(team("Beta", 2, 3));
+            beforeLast = Files.size(store);
+            dao.deleteTeam(team("Alpha"));
+        } finally {
+            dao.close();
+        }
+        // Cut the tombstone in the middle, as if the program stopped during the write
+        try (FileChannel channel = FileChannel.open(store, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(store) - 2);
+        }
+
+        dao = new RecordTeamDAO(store, null);
+        try {
+            assertEquals(List.of("Alpha 1/balanced", "Beta 2/balanced,3/balanced"), describeAll(dao.getTeams()));
+            assertEquals(beforeLast, Files.size(store));
+            dao.createTeam(team("Gamma", 3, 4, 5));
+        } finally {
+            dao.close();
+        }
+        dao = new RecordTeamDAO(store, null);
+        try {
+            assertEquals(3, dao.getTeams().size());
+            assertEquals("Gamma 3/balanced,4/balanced,5/balanced", describe(dao.getTeam("Gamma")));
+        } finally {
+            dao.close();
+        }
+    }
+
+    @Test
+    void appendsKeepThePrefixAndCompactionKeepsTheLiveTeams() throws IOException {
+        Path store = directory.resolve("teams.records");
+        RecordTeamDAO dao = new RecordTeamDAO(store, null);
+        try {
+            for (int i = 0; i < 200; i++) {
+                dao.createTeam(team("Team " + i, 1, 2, 3));
+            }
+            byte[] before = Files.readAllBytes(store);
+            dao.createTeam(team("Team 200", 1, 2, 3));
+            byte[] after = Files.readAllBytes(store);
+            assertArrayEquals(before, Arrays.copyOf(after, before.length)); // nothing already written changes
+        } finally {
+            dao.close();
+        }
+
+        dao = new RecordTeamDAO(store, null);
+        List<String> expected = new ArrayList<>();
+        try {
+            for (int i = 0; i <= 200; i++) {
+                if (i % 2 == 0) {
+                    assertTrue(dao.deleteTeam(team("Team " + i)));
+                } else {
+                    expected.add("Team " + i + " 1/balanced,2/balanced,3/balanced");
+                }
+            }
+            long size = Files.size(store);
+            dao.compact();
+            assertTrue(Files.size(store) < size / 2, dao.describeFile());
+            assertTrue(dao.describeFile().contains("dead=0"), dao.describeFile());
+            assertEquals(expected, describeAll(dao.getTeams()));
+            assertEquals("Team 7 1/balanced,2/balanced,3/balanced", describe(dao.getTeam("team 7")));
+            assertNull(dao.getTeam("Team 8"));
+            dao.createTeam(team("After", 1)); // appends go to the compacted file
+        } finally {
+            dao.close();
+        }
+        assertFalse(Files.exists(directory.resolve("teams.records.compacting")));
+
+        expected.add("After 1/balanced");
+        dao = new RecordTeamDAO(store, null);
+        try {
+            assertEquals(expected, describeAll(dao.getTeams()));
+        } finally {
+            dao.close();
+        }
+    }
+
+    @Test
+    void recordsWrittenWhileCopyingAreSplicedIn() throws IOException {
+        Path store = directory.resolve("teams.records");
+        RecordTeamDAO dao = new RecordTeamDAO(store, null);
+        try {
+            for (int i = 0; i < 10; i++) {
+                dao.createTeam(team("Team " + i, 1));
+            }
+            for (int i = 0; i < 5; i++) {
+                dao.deleteTeam(team("Team " + i));
+            }
+            dao.compact(() -> {
+                // The live records are already in the new file, the index still points to the old one
+                dao.createTeam(team("New", 2, 3));
+                dao.createTeam(team("Team 5", 9)); // replaces a team that was copied
+                dao.deleteTeam(team("Team 6")); // deletes a team that was copied
+                dao.createTeam(team("Gone", 1));
+                dao.deleteTeam(team("Gone")); // created and deleted during the copy
+                dao.createTeam(team("Team 0", 4)); // a name deleted before the compaction
+            });
+            List<String> expected = List.of("Team 7 1/balanced", "Team 8 1/balanced", "Team 9 1/balanced",
+                    "New 2/balanced,3/balanced", "Team 5 9/balanced", "Team 0 4/balanced");
+            assertEquals(expected, describeAll(dao.getTeams()));
+            assertEquals("Team 5 9/balanced", describe(dao.getTeam("Team 5")));
+            assertNull(dao.getTeam("Team 6"));
+            assertNull(dao.getTeam("Gone"));
+            // The copied records of Team 5 and Team 6, and the spliced Gone and tombstones, are dead
+            assertFalse(dao.describeFile().contains("dead=0"), dao.describeFile());
+            dao.compact();
+            assertTrue(dao.describeFile().contains("dead=0"), dao.describeFile());
+            assertEquals(expected, describeAll(dao.getTeams()));
+            dao.close();
+
+            RecordTeamDAO reopened = new RecordTeamDAO(store, null);
+            try {
+                assertEquals(expected, describeAll(reopened.getTeams()));
+            } finally {
+                reopened.close();
+            }
+        } finally {
+            dao.close();
+        }
+    }
+
+    @Test
+    void backgroundCompactionsLoseNoConcurrentWrites() throws Exception {
+        Path store = directory.resolve("teams.records");
+        int writers = 4;
+        int operations = 3_000;
+        String strategy = "s".repeat(200); // large records, so dead bytes pass the threshold many times
+        RecordTeamDAO dao = new RecordTeamDAO(store, null);
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        List<Future<Map<String, String>>> results = new ArrayList<>();
+        try {
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                results.add(pool.submit(() -> {
+                    // The last operation on each name decides whether, and with which members, it survives
+                    Map<String, String> expected = new HashMap<>();
+                    for (int i = 0; i < operations; i++) {
+                        String name = "Writer " + writer + " team " + i % 50;
+                        if (i % 7 == 3) {
+                            dao.deleteTeam(new Team(name, List.of()));
+                            expected.remove(name);
+                        } else {
+                            Team team = new Team(name, List.of(new Member(i, strategy)));
+                            dao.createTeam(team);
+                            expected.put(name, describe(team));
+                        }
+                        if (i % 100 == 0) {
+                            Team read = dao.getTeam(name);
+                            assertEquals(expected.get(name), read == null ? null : describe(read));
+                        }
+                    }
+                    return expected;
+                }));
+            }
+            Map<String, String> expected = new HashMap<>();
+            for (Future<Map<String, String>> result : results) {
+                expected.putAll(result.get());
+            }
+            pool.shutdown();
+
+            assertEquals(expected, byName(dao.getTeams()));
+            long written = (long) writers * operations * (strategy.length() + 40);
+            dao.close(); // waits for the compaction in progress
+            assertTrue(Files.size(store) < written / 2, "size=" + Files.size(store) + ", written=" + written);
+            assertFalse(Files.exists(directory.resolve("teams.records.compacting")));
+
+            RecordTeamDAO reopened = new RecordTeamDAO(store, null);
+            try {
+                assertEquals(expected, byName(reopened.getTeams()));
+            } finally {
+                reopened.close();
+            }
+        } finally {
+            pool.shutdownNow();
+            dao.close();
+        }
+    }
+
+    private static Team team(String name, long... memberIds) {
+        List<Member> members = new ArrayList<>();
+        for (long id : memberIds) {
+            members.add(new Member(id, "balanced"));
+        }
+        return new Team(name, members);
+    }
+
+    private static List<String> describeAll(List<Team> teams) {
+        List<String> described = new ArrayList<>();
+        for (Team team : teams) {
+            described.add(describe(team));
+        }
+        return described;
+    }
+
+    private static Map<String, String> byName(List<Team> teams) {
+        Map<String, String> described = new LinkedHashMap<>();
+        for (Team team : teams) {
+            described.put(team.getTeamName(), describe(team));
+        }
+        return described;
+    }
+}
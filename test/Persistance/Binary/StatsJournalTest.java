@@ -0,0 +1,162 @@
+package Persistance.Binary;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que el diario de estadísticas entrega sus registros al abrirlo y descarta, recortando el archivo,
+ * un registro incompleto o dañado y todo lo que le sigue.
+ */
+class StatsJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsAreReplayedInOrder() throws IOException {
+        Path path = directory.resolve("stats.journal");
+        try (StatsJournal journal = StatsJournal.open(path, (teamName, played, won, koDone, koReceived) -> { })) {
+            assertTrue(journal.isEmpty());
+            journal.append("Team A", 1, 1, 3, 0);
+            journal.append("Équipe ñ", 2, 0, 1, 4); // UTF-8 names
+            journal.append("x".repeat(0xFFFF), 0, 0, 0, 0); // the longest name a record holds
+        }
+        List<String> replayed = replay(path);
+        assertEquals(List.of("Team A 1 1 3 0", "Équipe ñ 2 0 1 4", "x".repeat(0xFFFF) + " 0 0 0 0"), replayed);
+        assertThrows(IllegalArgumentException.class, () -> {
+            try (StatsJournal journal = StatsJournal.open(path, (teamName, played, won, koDone, koReceived) -> { })) {
+                journal.append("x".repeat(0x10000), 0, 0, 0, 0);
+            }
+        });
+    }
+
+    @Test
+    void tornTailIsTruncatedAndAppendsCarryOn() throws IOException {
+        Path path = directory.resolve("stats.journal");
+        long[] ends = write(path, 5);
+        // Cut the last record in the middle, as if the program stopped during the write
+        truncate(path, ends[4] - 3);
+
+        List<String> replayed = new ArrayList<>();
+        try (StatsJournal journal = StatsJournal.open(path, collect(replayed))) {
+            assertEquals(ends[3], journal.size());
+            assertEquals(ends[3], Files.size(path));
+            journal.append("Team 9", 9, 9, 9, 9);
+        }
+        assertEquals(List.of("Team 0 1 0 0 0", "Team 1 1 1 1 1", "Team 2 1 0 2 2", "Team 3 1 1 3 3", "Team 9 9 9 9 9"), replay(path));
+    }
+
+    @Test
+    void tornLengthPrefixIsTruncated() throws IOException {
+        Path path = directory.resolve("stats.journal");
+        long[] ends = write(path, 3);
+        truncate(path, ends[2] + 3); // a few bytes of a fourth record's length
+        try (StatsJournal journal = StatsJournal.open(path, (teamName, played, won, koDone, koReceived) -> { })) {
+            assertEquals(ends[2], journal.size());
+        }
+        assertEquals(3, replay(path).size());
+    }
+
+    @Test
+    void crcMismatchDropsTheRecordAndEverythingAfterIt() throws IOException {
+        Path path = directory.resolve("stats.journal");
+        long[] ends = write(path, 6);
+        // Flip one counter byte of the third record: its length is fine, its CRC no longer matches
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[(int) ends[2] - 1] ^= 0x40;
+        Files.write(path, bytes);
+
+        // Replaying alone does not modify the file
+        assertEquals(List.of("Team 0 1 0 0 0", "Team 1 1 1 1 1"), replay(path));
+        assertEquals(bytes.length, Files.size(path));
+
+        try (StatsJournal journal = StatsJournal.open(path, (teamName, played, won, koDone, koReceived) -> { })) {
+            assertEquals(ends[1], journal.size());
+        }
+        assertEquals(ends[1], Files.size(path));
+    }
+
+    @Test
+    void implausibleLengthStopsTheScan() throws IOException {
+        Path path = directory.resolve("stats.journal");
+        long[] ends = write(path, 3);
+        byte[] bytes = Files.readAllBytes(path);
+        int second = (int) ends[0];
+        bytes[second + 3] = 0x7F; // little-endian length of about 2 GB
+        Files.write(path, bytes);
+        assertEquals(List.of("Team 0 1 0 0 0"), replay(path));
+    }
+
+    @Test
+    void manyRecordsAcrossReadBlocks() throws IOException {
+        Path path = directory.resolve("stats.journal");
+        try (StatsJournal journal = StatsJournal.open(path, (teamName, played, won, koDone, koReceived) -> { })) {
+            for (int i = 0; i < 20_000; i++) {
+                journal.append("Team " + i + "-".repeat(i % 300), 1, i % 2, i, 1);
+            }
+        }
+        List<String> replayed = replay(path);
+        assertEquals(20_000, replayed.size());
+        for (int i = 0; i < 20_000; i += 997) {
+            assertEquals("Team " + i + "-".repeat(i % 300) + " 1 " + i % 2 + " " + i + " 1", replayed.get(i));
+        }
+    }
+
+    @Test
+    void cutHeaderStartsAnEmptyJournal() throws IOException {
+        Path path = directory.resolve("stats.journal");
+        Files.write(path, new byte[]{'S', 'L'});
+        try (StatsJournal journal = StatsJournal.open(path, (teamName, played, won, koDone, koReceived) -> { })) {
+            assertTrue(journal.isEmpty());
+            assertEquals(StatsJournal.HEADER_SIZE, Files.size(path));
+        }
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path path = directory.resolve("stats.journal");
+        Files.writeString(path, "[{\"team_name\": \"A\"}]");
+        assertThrows(IOException.class, () -> StatsJournal.open(path, (teamName, played, won, koDone, koReceived) -> { }));
+        assertEquals("[{\"team_name\": \"A\"}]", Files.readString(path));
+    }
+
+    /**
+     * Escribe registros "Team i" y devuelve dónde termina cada uno.
+     */
+    private static long[] write(Path path, int count) throws IOException {
+        long[] ends = new long[count];
+        try (StatsJournal journal = StatsJournal.open(path, (teamName, played, won, koDone, koReceived) -> { })) {
+            for (int i = 0; i < count; i++) {
+                journal.append("Team " + i, 1, i % 2, i, i);
+                ends[i] = journal.size();
+            }
+        }
+        return ends;
+    }
+
+    private static void truncate(Path path, long size) throws IOException {
+        Files.write(path, Arrays.copyOf(Files.readAllBytes(path), (int) size));
+    }
+
+    private static List<String> replay(Path path) throws IOException {
+        List<String> replayed = new ArrayList<>();
+        StatsJournal.replay(path, collect(replayed));
+        return replayed;
+    }
+
+    private static StatsJournal.DeltaConsumer collect(List<String> replayed) {
+        return (teamName, played, won, koDone, koReceived) ->
+                replayed.add(teamName + " " + played + " " + won + " " + koDone + " " + koReceived);
+    }
+}
@@ -0,0 +1,191 @@
+package Persistance.Binary;
+
+import Business.Team.Member;
+import Business.Team.Team;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Comprueba que el archivo de registros de equipos entrega sus altas y lápidas al abrirlo y descarta,
+ * recortando el archivo, un registro incompleto o dañado y todo lo que le sigue.
+ */
+class TeamRecordFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsAreReplayedInOrder() throws IOException {
+        Path path = directory.resolve("teams.bin");
+        long second;
+        try (TeamRecordFile file = TeamRecordFile.open(path, (offset, length, type, name, payload) -> { })) {
+            assertEquals(TeamRecordFile.HEADER_SIZE, file.size());
+            file.appendTeam(team("Team A", 2));
+            second = file.appendTeam(new Team("Équipe ñ", List.of(new Member(7, "défensive")))); // UTF-8 names
+            file.appendTombstone("Team A");
+        }
+
+        assertEquals(List.of("team Team A 1/balanced,2/balanced", "team Équipe ñ 7/défensive", "tombstone Team A"), replay(path));
+        try (TeamRecordFile file = TeamRecordFile.open(path, (offset, length, type, name, payload) -> { })) {
+            assertEquals("Équipe ñ 7/défensive", describe(file.readTeam(second)));
+            assertThrows(IOException.class, () -> file.readTeam(file.size() - 4));
+        }
+    }
+
+    @Test
+    void tornTailIsTruncatedAndAppendsCarryOn() throws IOException {
+        Path path = directory.resolve("teams.bin");
+        long[] ends = write(path, 5);
+        // Cut the last record in the middle, as if the program stopped during the write
+        truncate(path, ends[4] - 3);
+
+        try (TeamRecordFile file = TeamRecordFile.open(path, (offset, length, type, name, payload) -> { })) {
+            assertEquals(ends[3], file.size());
+            assertEquals(ends[3], Files.size(path));
+            file.appendTeam(team("Team 9", 1));
+        }
+        List<String> replayed = replay(path);
+        assertEquals(5, replayed.size());
+        assertEquals("team Team 3 1/balanced,2/balanced,3/balanced,4/balanced", replayed.get(3));
+        assertEquals("team Team 9 1/balanced", replayed.get(4));
+    }
+
+    @Test
+    void tornLengthPrefixIsTruncated() throws IOException {
+        Path path = directory.resolve("teams.bin");
+        long[] ends = write(path, 3);
+        truncate(path, ends[2] + 2); // two bytes of a fourth record's length
+
+        try (TeamRecordFile file = TeamRecordFile.open(path, (offset, length, type, name, payload) -> { })) {
+            assertEquals(ends[2], file.size());
+        }
+        assertEquals(ends[2], Files.size(path));
+        assertEquals(3, replay(path).size());
+    }
+
+    @Test
+    void corruptRecordDropsEverythingAfterIt() throws IOException {
+        Path path = directory.resolve("teams.bin");
+        long[] ends = write(path, 5);
+        // One bit of the third record's data: its CRC no longer matches
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            channel.read(one, ends[2] - 1);
+            one.put(0, (byte) (one.get(0) ^ 1)).rewind();
+            channel.write(one, ends[2] - 1);
+        }
+
+        assertEquals(2, replay(path).size());
+        assertEquals(ends[1], Files.size(path));
+    }
+
+    @Test
+    void implausibleLengthEndsTheScan() throws IOException {
+        Path path = directory.resolve("teams.bin");
+        long[] ends = write(path, 3);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, Integer.MAX_VALUE);
+            channel.write(length, ends[1]);
+        }
+        assertEquals(2, replay(path).size());
+        assertEquals(ends[1], Files.size(path));
+    }
+
+    @Test
+    void foreignFilesAreRejected() throws IOException {
+        Path path = directory.resolve("teams.json");
+        Files.writeString(path, "[{\"name\": \"Team A\", \"members\": []}]");
+        assertThrows(IOException.class, () -> TeamRecordFile.open(path, (offset, length, type, name, payload) -> { }));
+        assertEquals("[{\"name\": \"Team A\", \"members\": []}]", Files.readString(path));
+    }
+
+    @Test
+    void recordsLargerThanTheReadBufferAreReplayed() throws IOException {
+        Path path = directory.resolve("teams.bin");
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            members.add(new Member(i, "s".repeat(0xFFFF))); // about 1.3 MB in one record
+        }
+        try (TeamRecordFile file = TeamRecordFile.open(path, (offset, length, type, name, payload) -> { })) {
+            for (int i = 0; i < 2_000; i++) {
+                file.appendTeam(team("Team " + i, i % 5));
+            }
+            file.appendTeam(new Team("Huge", members));
+            file.appendTombstone("Team 0");
+        }
+
+        List<Team> teams = new ArrayList<>();
+        List<String> replayed = new ArrayList<>();
+        try (TeamRecordFile file = TeamRecordFile.open(path, (offset, length, type, name, payload) -> {
+            replayed.add(name);
+            if (type == TeamRecordFile.TYPE_TEAM) {
+                teams.add(TeamRecordFile.decodeMembers(name, payload));
+            }
+        })) {
+            assertEquals(Files.size(path), file.size());
+        }
+        assertEquals(2_002, replayed.size());
+        assertEquals("Team 0", replayed.get(2_001));
+        Team huge = teams.get(2_000);
+        assertEquals("Huge", huge.getTeamName());
+        assertEquals(20, huge.getTeamMembers().size());
+        assertEquals("s".repeat(0xFFFF), huge.getTeamMembers().get(19).getStrategy());
+    }
+
+    private static Team team(String name, int members) {
+        List<Member> list = new ArrayList<>();
+        for (int i = 1; i <= members; i++) {
+            list.add(new Member(i, "balanced"));
+        }
+        return new Team(name, list);
+    }
+
+    /**
+     * Escribe equipos "Team i" con i + 1 miembros y devuelve dónde termina cada registro.
+     */
+    private static long[] write(Path path, int count) throws IOException {
+        long[] ends = new long[count];
+        try (TeamRecordFile file = TeamRecordFile.open(path, (offset, length, type, name, payload) -> { })) {
+            for (int i = 0; i < count; i++) {
+                file.appendTeam(team("Team " + i, i + 1));
+                ends[i] = file.size();
+            }
+        }
+        return ends;
+    }
+
+    private static void truncate(Path path, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static List<String> replay(Path path) throws IOException {
+        List<String> replayed = new ArrayList<>();
+        TeamRecordFile.open(path, (offset, length, type, name, payload) -> replayed.add(type == TeamRecordFile.TYPE_TEAM
+                ? "team " + describe(TeamRecordFile.decodeMembers(name, payload)) : "tombstone " + name)).close();
+        return replayed;
+    }
+
+    static String describe(Team team) {
+        StringJoiner members = new StringJoiner(",");
+        for (Member member : team.getTeamMembers()) {
+            members.add(member.getMemberId() + "/" + member.getStrategy());
+        }
+        return team.getTeamName() + " " + members;
+    }
+}
@@ -0,0 +1,222 @@
+package Persistance.Cache;
+
+import Business.Character.Character;
+import Business.Stats.Stats;
+import Business.Team.Member;
+import Business.Team.Team;
+import Persistance.CharacterDAO;
+import Persistance.JSON.DatasetGenerator;
+import Persistance.PersistenceConfig;
+import Persistance.StatsDAO;
+import Persistance.TeamDAO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Comprueba el repositorio compartido desde varios hilos con cada formato, la carga en paralelo al arrancar
+ * y la recarga de personajes cuando cambia el archivo.
+ */
+class CachingRepositoryTest {
+    private static final int TEAMS = 8;
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int RESULTS_PER_WRITER = 2_000;
+    private static final int TEAMS_PER_WRITER = 40;
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest
+    @ValueSource(strings = {PersistenceConfig.JSON, PersistenceConfig.PAGED})
+    void concurrentReadersAndWritersLoseNoResults(String backend) throws Exception {
+        new DatasetGenerator(100, 40, 20, 42).generate(directory);
+        CachingRepository repository = new CachingRepository(directory, PersistenceConfig.of(backend).with("watch", "false"));
+        TeamDAO teams = repository.getTeamDAO();
+        StatsDAO stats = repository.getStatsDAO();
+        int initialTeams = teams.getTeams().size();
+        for (int t = 0; t < TEAMS; t++) {
+            stats.addResults("Shared " + t, 0, 0, 0, 0);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(READERS + WRITERS);
+        List<Future<?>> writes = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writes.add(pool.submit(() -> {
+                for (int i = 0; i < RESULTS_PER_WRITER; i++) {
+                    stats.addResults("SHARED " + (i % TEAMS), 1, i % 2, 2, 1);
+                    int step = RESULTS_PER_WRITER / TEAMS_PER_WRITER;
+                    if (i % step == 0) {
+                        // Every other team is deleted right after being created
+                        Team team = new Team("Writer " + writer + " team " + i, List.of(new Member(i, "balanced")));
+                        teams.createTeam(team);
+                        if (i / step % 2 == 0) {
+                            teams.deleteTeam(team);
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+        List<Future<?>> reads = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            int reader = r;
+            reads.add(pool.submit(() -> {
+                while (!writes.stream().allMatch(Future::isDone)) {
+                    // Names are matched case-insensitively, and a result is never seen half applied
+                    Stats shared = stats.getStats("shared " + reader % TEAMS);
+                    assertNotNull(shared);
+                    assertEquals(2 * shared.getGamesPlayed(), shared.getKODone(), shared.getDetails());
+                    teams.getTeams();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : writes) {
+            future.get();
+        }
+        for (Future<?> future : reads) {
+            future.get();
+        }
+        pool.shutdown();
+
+        assertNoLostUpdates(stats, teams, initialTeams);
+        repository.close();
+        repository = new CachingRepository(directory, PersistenceConfig.of(backend).with("watch", "false"));
+        try {
+            assertNoLostUpdates(repository.getStatsDAO(), repository.getTeamDAO(), initialTeams);
+        } finally {
+            repository.close();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void preloadLoadsEveryFile(int threads) throws IOException {
+        new DatasetGenerator(1_000, 300, 100, 42).generate(directory);
+        CachingRepository repository = new CachingRepository(directory, PersistenceConfig.of(PersistenceConfig.JSON).with("watch", "false"));
+        try {
+            List<LoadReport> reports = repository.preload(threads);
+            assertEquals(4, reports.size());
+            long[] expected = {1_000, 300, 100, 100};
+            for (int i = 0; i < reports.size(); i++) {
+                assertTrue(reports.get(i).isLoaded(), reports.get(i).toString());
+                assertEquals(expected[i], reports.get(i).getRecords(), reports.get(i).toString());
+            }
+        } finally {
+            repository.close();
+        }
+    }
+
+    @Test
+    void watchedCharactersReloadWithCompleteVersionsOnly() throws Exception {
+        int count = 10_000;
+        new DatasetGenerator(0, 40, 0, 42).generate(directory);
+        Path characters = directory.resolve("characters.json");
+        writeCharacters(characters, count, 50);
+        CachingRepository repository = new CachingRepository(directory, PersistenceConfig.of(PersistenceConfig.JSON));
+        try {
+            CharacterDAO dao = repository.getCharacterDAO();
+            assertEquals(50, dao.getCharacter(0).getWeight());
+
+            AtomicBoolean running = new AtomicBoolean(true);
+            AtomicReference<String> torn = new AtomicReference<>();
+            Thread reader = new Thread(() -> {
+                while (running.get()) {
+                    Character first = dao.getCharacter(0);
+                    Character last = dao.getCharacter(count - 1);
+                    // Every version raises the weight at both ends, so the second read can come from a newer
+                    // version than the first, but never from an older one
+                    if (first == null || last == null || last.getWeight() < first.getWeight()) {
+                        torn.compareAndSet(null, "first=" + first + ", last=" + last);
+                    }
+                }
+            });
+            reader.start();
+            try {
+                for (int weight = 51; weight <= 55; weight++) {
+                    writeCharacters(characters, count, weight);
+                    awaitWeight(dao, weight);
+                }
+
+                // A file cut in half, as while an editor is still saving it: the last good version stays
+                Files.writeString(characters, Files.readString(characters).substring(0, 1000));
+                Thread.sleep(500);
+                assertNotNull(dao.getCharacter(count - 1));
+                assertEquals(55, dao.getCharacter(count - 1).getWeight());
+
+                writeCharacters(characters, count, 56);
+                awaitWeight(dao, 56);
+            } finally {
+                running.set(false);
+                reader.join();
+            }
+            assertNull(torn.get());
+        } finally {
+            repository.close();
+        }
+    }
+
+    private static void assertNoLostUpdates(StatsDAO stats, TeamDAO teams, int initialTeams) {
+        long played = 0;
+        for (int t = 0; t < TEAMS; t++) {
+            Stats shared = stats.getStats("Shared " + t);
+            played += shared.getGamesPlayed();
+            assertEquals(2 * shared.getGamesPlayed(), shared.getKODone(), shared.getDetails());
+            assertEquals(shared.getGamesPlayed(), shared.getKOReceived(), shared.getDetails());
+        }
+        assertEquals((long) WRITERS * RESULTS_PER_WRITER, played);
+        assertEquals(initialTeams + WRITERS * TEAMS_PER_WRITER / 2, teams.getTeams().size());
+    }
+
+    private static void awaitWeight(CharacterDAO dao, int weight) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (dao.getCharacter(0).getWeight() != weight) {
+            if (System.nanoTime() > deadline) {
+                fail("Version with weight " + weight + " never became visible");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Escribe los personajes en un archivo aparte y lo renombra sobre el anterior. El primero y el último
+     * pesan endWeight; el resto, siempre lo mismo.
+     */
+    private static void writeCharacters(Path path, int count, int endWeight) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+            writer.write("[\n");
+            for (int id = 0; id < count; id++) {
+                int weight = id == 0 || id == count - 1 ? endWeight : 60 + id % 40;
+                writer.write("  {\"id\": " + id + ", \"name\": \"Character " + id + "\", \"weight\": " + weight + "}");
+                writer.write(id + 1 < count ? ",\n" : "\n");
+            }
+            writer.write("]\n");
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,109 @@
+package Persistance.Cache;
+
+import Persistance.JSON.CharacterJSONDAO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Comprueba que los archivos vigilados se recargan con los avisos del vigilante y que, cuando el vigilante
+ * para, se vuelven a comprobar en cada consulta.
+ */
+class DataDirectoryWatcherTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void watchedFileReloadsOnNotification() throws Exception {
+        Path characters = directory.resolve("characters.json");
+        writeCharacter(characters, 50);
+        CachingCharacterDAO dao = new CachingCharacterDAO(new CharacterJSONDAO(characters.toString()), characters);
+        try (DataDirectoryWatcher watcher = new DataDirectoryWatcher(directory, 20)) {
+            dao.watch(watcher);
+            assertEquals(50, dao.getCharacter(1).getWeight());
+
+            writeCharacter(characters, 60);
+            awaitWeight(dao, 60);
+            assertTrue(watcher.getNotifications() > 0);
+        }
+    }
+
+    @Test
+    void closedWatcherFallsBackToFileChecks() throws Exception {
+        Path characters = directory.resolve("characters.json");
+        writeCharacter(characters, 50);
+        CachingCharacterDAO dao = new CachingCharacterDAO(new CharacterJSONDAO(characters.toString()), characters);
+        DataDirectoryWatcher watcher = new DataDirectoryWatcher(directory, 20);
+        dao.watch(watcher);
+        assertEquals(50, dao.getCharacter(1).getWeight());
+
+        watcher.close();
+        assertFalse(watcher.isWatching());
+        writeCharacter(characters, 70);
+        // No notification will come: the query itself has to notice the new modification time
+        assertEquals(70, dao.getCharacter(1).getWeight());
+
+        // Files registered after the watcher stopped are checked on every query from the start
+        AtomicInteger stops = new AtomicInteger();
+        watcher.onStop(stops::incrementAndGet);
+        assertEquals(1, stops.get());
+    }
+
+    @Test
+    void deletedDirectoryStopsTheWatcher() throws Exception {
+        Path data = Files.createDirectory(directory.resolve("data"));
+        Path characters = data.resolve("characters.json");
+        writeCharacter(characters, 50);
+        CachingCharacterDAO dao = new CachingCharacterDAO(new CharacterJSONDAO(characters.toString()), characters);
+        try (DataDirectoryWatcher watcher = new DataDirectoryWatcher(data, 20)) {
+            dao.watch(watcher);
+            // Registered after the cache, so the latch opens once the cache has gone back to file checks
+            CountDownLatch stopped = new CountDownLatch(1);
+            watcher.onStop(stopped::countDown);
+            assertEquals(50, dao.getCharacter(1).getWeight());
+
+            // The watch key becomes invalid, as when the data directory is removed or unmounted
+            Files.delete(characters);
+            Files.delete(data);
+            assertTrue(stopped.await(10, TimeUnit.SECONDS), "the watcher never stopped");
+            assertFalse(watcher.isWatching());
+
+            Files.createDirectory(data);
+            writeCharacter(characters, 80);
+            assertEquals(80, dao.getCharacter(1).getWeight());
+        }
+    }
+
+    /**
+     * Escribe un archivo con un único personaje y le pone una fecha de modificación nueva, para que el cambio
+     * se note aunque el sistema de archivos guarde las fechas con poca precisión.
+     */
+    private static void writeCharacter(Path path, int weight) throws IOException {
+        long previous = Files.exists(path) ? Files.getLastModifiedTime(path).toMillis() : 0;
+        Files.writeString(path, "[{\"id\": 1, \"name\": \"Character\", \"weight\": " + weight + "}]");
+        Files.setLastModifiedTime(path, FileTime.fromMillis(Math.max(previous, System.currentTimeMillis()) + 10_000));
+    }
+
+    private static void awaitWeight(CachingCharacterDAO dao, int weight) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (dao.getCharacter(1).getWeight() != weight) {
+            if (System.nanoTime() > deadline) {
+                fail("Weight " + weight + " never became visible");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package Persistance.Cache;
+
+import Business.Stats.Stats;
+import Persistance.Binary.JournaledStatsDAO;
+import Persistance.JSON.StatsJSONDAO;
+import Persistance.StatsDAO;
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que el DAO de estadísticas en segundo plano no pierde resultados escritos desde varios hilos y
+ * que, si el DAO original falla, lo avisa en {@link WriteBehindStatsDAO#flush()} y al cerrar en lugar de
+ * perder los resultados.
+ */
+class WriteBehindStatsDAOTest {
+    private static final int THREADS = 4;
+    private static final int TEAMS = 64;
+    private static final int RESULTS_PER_THREAD = 25_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void totalsAreCompleteAfterClose() throws Exception {
+        Path path = directory.resolve("stats.json");
+        List<Stats> initial = new ArrayList<>();
+        for (int team = 0; team < TEAMS; team++) {
+            initial.add(new Stats("Team " + team, 0, 0, 0, 0));
+        }
+        new StatsJSONDAO(path.toString()).saveStats(initial);
+
+        WriteBehindStatsDAO writer = new WriteBehindStatsDAO(new JournaledStatsDAO(path));
+        AtomicLongArray expected = new AtomicLongArray(TEAMS * 4);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> players = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            players.add(pool.submit(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < RESULTS_PER_THREAD; i++) {
+                    int team = random.nextInt(TEAMS);
+                    int won = random.nextInt(2);
+                    int koDone = random.nextInt(4);
+                    int koReceived = random.nextInt(4);
+                    writer.addResults("Team " + team, 1, won, koDone, koReceived);
+                    expected.addAndGet(team * 4, 1);
+                    expected.addAndGet(team * 4 + 1, won);
+                    expected.addAndGet(team * 4 + 2, koDone);
+                    expected.addAndGet(team * 4 + 3, koReceived);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> player : players) {
+            player.get();
+        }
+        pool.shutdown();
+        writer.close();
+        assertTrue(writer.describeCounters().startsWith("results=" + THREADS * RESULTS_PER_THREAD + ","), writer.describeCounters());
+
+        JournaledStatsDAO reopened = new JournaledStatsDAO(path);
+        try {
+            List<Stats> statsList = reopened.getStats();
+            assertEquals(TEAMS, statsList.size());
+            for (int team = 0; team < TEAMS; team++) {
+                Stats stats = statsList.get(team);
+                assertEquals("Team " + team, stats.getTeamName());
+                String totals = stats.getGamesPlayed() + " " + stats.getGamesWon() + " " + stats.getKODone() + " " + stats.getKOReceived();
+                assertEquals(expected.get(team * 4) + " " + expected.get(team * 4 + 1) + " " + expected.get(team * 4 + 2) + " "
+                        + expected.get(team * 4 + 3), totals, "team " + team);
+            }
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void failedFlushIsReportedAndRetried() throws Exception {
+        FlakyStatsDAO delegate = new FlakyStatsDAO();
+        WriteBehindStatsDAO writer = new WriteBehindStatsDAO(delegate, 256, 20, 1024);
+        delegate.failures.set(Integer.MAX_VALUE);
+        writer.addResults("Alpha", 1, 1, 2, 0);
+        writer.addResults("Beta", 1, 0, 0, 2);
+        writer.addResults("alpha", 1, 0, 1, 1);
+        assertFalse(writer.flush());
+
+        delegate.failures.set(0);
+        assertTrue(writer.flush());
+        // Each team is written exactly once, with both of its results added up
+        assertEquals("Alpha 2 1 3 1", delegate.describe("alpha"));
+        assertEquals("Beta 1 0 0 2", delegate.describe("beta"));
+        assertEquals(2, delegate.writes.get());
+        writer.close();
+        assertTrue(delegate.closed);
+    }
+
+    @Test
+    void closeRetriesPendingResults() throws Exception {
+        FlakyStatsDAO delegate = new FlakyStatsDAO();
+        WriteBehindStatsDAO writer = new WriteBehindStatsDAO(delegate, 256, 20, 1024);
+        delegate.failures.set(2); // the first two attempts fail, the third goes through
+        writer.addResults("Alpha", 1, 1, 2, 0);
+        writer.close();
+        assertEquals("Alpha 1 1 2 0", delegate.describe("alpha"));
+        assertTrue(delegate.closed);
+    }
+
+    @Test
+    void closeFailsWhenResultsCannotBeSaved() throws Exception {
+        FlakyStatsDAO delegate = new FlakyStatsDAO();
+        WriteBehindStatsDAO writer = new WriteBehindStatsDAO(delegate, 256, 20, 1024);
+        delegate.failures.set(Integer.MAX_VALUE);
+        writer.addResults("Alpha", 1, 1, 2, 0);
+        writer.addResults("Beta", 1, 0, 0, 2);
+        IOException error = assertThrows(IOException.class, writer::close);
+        assertTrue(error.getMessage().contains("2 teams"), error.getMessage());
+        assertTrue(delegate.closed); // the delegate is closed anyway
+        assertEquals(0, delegate.writes.get());
+
+        // Once closed, results go straight to the delegate
+        delegate.failures.set(0);
+        writer.addResults("Alpha", 1, 0, 0, 0);
+        assertEquals("Alpha 1 0 0 0", delegate.describe("alpha"));
+    }
+
+    /**
+     * DAO en memoria cuyas escrituras fallan mientras le queden fallos por dar.
+     */
+    private static final class FlakyStatsDAO implements StatsDAO, Closeable {
+        private final Map<String, Stats> stats = new LinkedHashMap<>();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger writes = new AtomicInteger();
+        private volatile boolean closed;
+
+        @Override
+        public synchronized List<Stats> getStats() {
+            return new ArrayList<>(stats.values());
+        }
+
+        @Override
+        public synchronized void saveStats(List<Stats> statsList) {
+            stats.clear();
+            for (Stats entry : statsList) {
+                stats.put(entry.getTeamName().toLowerCase(), entry);
+            }
+        }
+
+        @Override
+        public synchronized void addResults(String teamName, int gamesPlayed, int gamesWon, int koDone, int koReceived) throws JSONException {
+            if (failures.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+                throw new JSONException("Disk full");
+            }
+            stats.computeIfAbsent(teamName.toLowerCase(), name -> new Stats(teamName, 0, 0, 0, 0))
+                    .addResults(gamesPlayed, gamesWon, koDone, koReceived);
+            writes.incrementAndGet();
+        }
+
+        synchronized String describe(String key) {
+            Stats entry = stats.get(key);
+            return entry == null ? null : entry.getTeamName() + " " + entry.getGamesPlayed() + " " + entry.getGamesWon() + " "
+                    + entry.getKODone() + " " + entry.getKOReceived();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
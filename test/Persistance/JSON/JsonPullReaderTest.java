@@ -0,0 +1,285 @@
+package Persistance.JSON;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba el lector JSON por demanda: escapes, tokens partidos entre dos lecturas del flujo y documentos
+ * aleatorios comparados con lo que lee {@code org.json}.
+ */
+class JsonPullReaderTest {
+
+    // The reader's own buffer
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Stands for JSON null in the maps and lists that are compared
+    private static final Object NULL = "<null>";
+
+    @Test
+    void escapesAreDecoded() throws Exception {
+        String json = "[\"q\\\" b\\\\ s\\/ \\b\\f\\n\\r\\t\", \"\\u00e9\\u00C9\\u0000\", \"\\ud83d\\ude00 😀\", \"ñandú 日本\", \"\"]";
+        JsonPullReader reader = new JsonPullReader(new StringReader(json));
+        reader.beginArray();
+        assertEquals("q\" b\\ s/ \b\f\n\r\t", reader.nextString());
+        assertEquals("éÉ\0", reader.nextString());
+        assertEquals("😀 😀", reader.nextString()); // an escaped surrogate pair and a raw one
+        assertEquals("ñandú 日本", reader.nextString());
+        assertEquals("", reader.nextString());
+        reader.endArray();
+        assertEquals(JsonPullReader.Token.END_DOCUMENT, reader.peek());
+    }
+
+    @Test
+    void malformedTextIsRejected() {
+        for (String json : List.of("[\"\\x\"]", "[\"\\u12g4\"]", "[\"open", "[\"\\u12", "[1 2]", "{\"a\" 1}", "[tru]", "[nul]",
+                "[1,]x", "{\"a\": }", "[")) {
+            assertThrows(JSONException.class, () -> readAll(new StringReader(json)), json);
+        }
+    }
+
+    @Test
+    void numbersAndLiteralsFollowJsonObject() throws Exception {
+        JsonPullReader reader = new JsonPullReader(new StringReader("[12, \"34\", 5.9, -7, 1e3, 9007199254740993, true, false, null, \"x\"]"));
+        reader.beginArray();
+        assertEquals(12, reader.nextInt());
+        assertEquals(34, reader.nextLong()); // a number inside a string, as JSONObject#getLong accepts
+        assertEquals(5, reader.nextLong()); // decimals are truncated
+        assertEquals(-7, reader.nextInt());
+        assertEquals(1000, reader.nextLong());
+        assertEquals(9007199254740993L, reader.nextLong()); // parsed exactly, not through a double
+        assertTrue(reader.nextBoolean());
+        assertFalse(reader.nextBoolean());
+        reader.skipValue();
+        assertThrows(JSONException.class, reader::nextLong);
+    }
+
+    @Test
+    void skipValueSkipsWholeValuesAndProperties() throws Exception {
+        JsonPullReader reader = new JsonPullReader(new StringReader(
+                "{\"skip\": {\"a\": [1, {\"b\": null}, [[]]], \"c\": \"}\"}, \"keep\": 1, \"also\": [true], \"last\": \"x\"}"));
+        reader.beginObject();
+        reader.skipValue(); // the whole "skip" property
+        assertEquals("keep", reader.nextName());
+        assertEquals(1, reader.nextInt());
+        assertEquals("also", reader.nextName());
+        reader.skipValue();
+        assertEquals("last", reader.nextName());
+        assertEquals("x", reader.nextString());
+        reader.endObject();
+        JSONException missing = assertThrows(JSONException.class, () -> JsonPullReader.requireFields(0b101, "id", "name", "weight"));
+        assertEquals("JSONObject[\"name\"] not found.", missing.getMessage());
+    }
+
+    @Test
+    void tokensAcrossTheBufferBoundaryAreRead() throws Exception {
+        // Every kind of token, moved one character at a time over the end of the reader's buffer
+        String tail = "{\"name\\u00e9\": \"a\\\\b\\u00e9\\\"c\", \"n\": -12345.5e2, \"t\": true, \"f\": false, \"z\": null}";
+        for (int padding = BUFFER_SIZE - tail.length() - 2; padding <= BUFFER_SIZE; padding++) {
+            String json = "[" + " ".repeat(padding) + tail + "]";
+            List<?> expected = List.of(Map.of("nameé", "a\\bé\"c", "n", -1234550.0, "t", true, "f", false, "z", NULL));
+            assertEquals(expected, readAll(new StringReader(json)), "padding " + padding);
+        }
+    }
+
+    @Test
+    void randomDocumentsMatchOrgJson() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 1_000; i++) {
+            StringBuilder json = new StringBuilder();
+            writeValue(json, random, 0, true);
+            String text = json.toString();
+            Object expected = fromOrgJson(text.trim().startsWith("[") ? new JSONArray(text) : new JSONObject(text));
+
+            assertEquals(expected, readAll(new StringReader(text)), text);
+            assertEquals(expected, readAll(new ChunkedReader(text, new Random(i))), text);
+        }
+    }
+
+    /**
+     * Lee un documento entero como mapas, listas, textos, números reales, booleanos y {@link #NULL}.
+     */
+    private static Object readAll(Reader text) throws Exception {
+        JsonPullReader reader = new JsonPullReader(text);
+        Object value = readValue(reader);
+        if (reader.peek() != JsonPullReader.Token.END_DOCUMENT) {
+            throw new JSONException("Text after the document");
+        }
+        return value;
+    }
+
+    private static Object readValue(JsonPullReader reader) throws Exception {
+        switch (reader.peek()) {
+            case BEGIN_ARRAY -> {
+                List<Object> list = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    list.add(readValue(reader));
+                }
+                reader.endArray();
+                return list;
+            }
+            case BEGIN_OBJECT -> {
+                Map<String, Object> map = new HashMap<>();
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    map.put(name, readValue(reader));
+                }
+                reader.endObject();
+                return map;
+            }
+            case STRING -> {
+                return reader.nextString();
+            }
+            case NUMBER -> {
+                return reader.nextDouble();
+            }
+            case BOOLEAN -> {
+                return reader.nextBoolean();
+            }
+            case NULL -> {
+                reader.skipValue();
+                return NULL;
+            }
+            default -> throw new JSONException("Unexpected " + reader.peek());
+        }
+    }
+
+    private static Object fromOrgJson(Object value) throws JSONException {
+        if (value instanceof JSONArray array) {
+            List<Object> list = new ArrayList<>();
+            for (int i = 0; i < array.length(); i++) {
+                list.add(fromOrgJson(array.get(i)));
+            }
+            return list;
+        }
+        if (value instanceof JSONObject object) {
+            Map<String, Object> map = new HashMap<>();
+            for (Iterator<?> keys = object.keys(); keys.hasNext(); ) {
+                String key = (String) keys.next();
+                map.put(key, fromOrgJson(object.get(key)));
+            }
+            return map;
+        }
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        return value == JSONObject.NULL ? NULL : value;
+    }
+
+    private static void writeValue(StringBuilder json, Random random, int depth, boolean container) {
+        int kind = container ? random.nextInt(2) : random.nextInt(depth < 4 ? 7 : 5);
+        space(json, random);
+        switch (kind) {
+            case 0, 5 -> {
+                json.append('[');
+                int count = random.nextInt(5);
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) {
+                        json.append(',');
+                    }
+                    writeValue(json, random, depth + 1, false);
+                }
+                space(json, random);
+                json.append(']');
+            }
+            case 1, 6 -> {
+                json.append('{');
+                int count = random.nextInt(5);
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) {
+                        json.append(',');
+                    }
+                    space(json, random);
+                    writeString(json, random, "k" + i); // keys must be unique for JSONObject
+                    space(json, random);
+                    json.append(':');
+                    writeValue(json, random, depth + 1, false);
+                }
+                space(json, random);
+                json.append('}');
+            }
+            case 2 -> writeString(json, random, "");
+            case 3 -> {
+                if (random.nextBoolean()) {
+                    json.append(random.nextLong() % (1L << 53));
+                } else {
+                    double value = (random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(20) - 10);
+                    json.append(value == 0 ? "0.5" : Double.toString(value));
+                }
+            }
+            default -> json.append(List.of("true", "false", "null").get(random.nextInt(3)));
+        }
+        space(json, random);
+    }
+
+    /**
+     * Escribe un texto aleatorio que empieza por prefix, con escapes cortos, escapes \\u, caracteres fuera
+     * del plano básico y caracteres normales.
+     */
+    private static void writeString(StringBuilder json, Random random, String prefix) {
+        json.append('"').append(prefix);
+        int length = random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(6)) {
+                case 0 -> json.append("\\\"\\\\\\/\\b\\f\\n\\r\\t".substring(2 * random.nextInt(8)).substring(0, 2));
+                case 1 -> json.append(String.format("\\u%04x", random.nextInt(0xD800)));
+                case 2 -> json.appendCodePoint(0x1F600 + random.nextInt(64));
+                case 3 -> json.append((char) (0xA0 + random.nextInt(0x700)));
+                default -> json.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        json.append('"');
+    }
+
+    private static void space(StringBuilder json, Random random) {
+        while (random.nextInt(3) == 0) {
+            json.append(" \t\n\r".charAt(random.nextInt(4)));
+        }
+    }
+
+    /**
+     * Flujo que entrega entre uno y tres caracteres en cada lectura, para partir los tokens en cualquier
+     * punto.
+     */
+    private static final class ChunkedReader extends Reader {
+        private final String text;
+        private final Random random;
+        private int position;
+
+        ChunkedReader(String text, Random random) {
+            this.text = text;
+            this.random = random;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == text.length()) {
+                return -1;
+            }
+            int count = Math.min(Math.min(length, 1 + random.nextInt(3)), text.length() - position);
+            text.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package Persistance.Paged;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que la caché de páginas escribe en el archivo las páginas modificadas que expulsa, y solo esas.
+ */
+class PageCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void dirtyPagesAreWrittenWhenEvicted() throws IOException {
+        try (PageFile file = PageFile.open(directory.resolve("evict.pages"))) {
+            PageCache cache = new PageCache(file, 2);
+            List<Integer> pages = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                PageNode node = cache.allocate(true);
+                node.addEntry(0, bytes("key " + i), bytes("value " + i));
+                pages.add(node.page);
+            }
+            cache.trim();
+            assertEquals(2, cache.size());
+            assertTrue(cache.toString().contains("evictions=3, writes=3"), cache.toString());
+
+            // A cache over the same file reads back what the evicted pages held
+            PageCache reader = new PageCache(file, 2);
+            for (int i = 0; i < 3; i++) {
+                PageNode node = reader.get(pages.get(i));
+                assertArrayEquals(bytes("key " + i), node.keys.get(0));
+                assertArrayEquals(bytes("value " + i), node.values.get(0));
+            }
+        }
+    }
+
+    @Test
+    void changesToACachedPageSurviveItsEviction() throws IOException {
+        try (PageFile file = PageFile.open(directory.resolve("change.pages"))) {
+            PageCache cache = new PageCache(file, 1);
+            PageNode node = cache.allocate(true);
+            node.addEntry(0, bytes("key"), bytes("first"));
+            int page = node.page;
+            cache.flush();
+
+            node = cache.get(page);
+            node.setValue(0, bytes("second"));
+            node.dirty = true;
+            cache.allocate(true); // pushes the changed page out
+            cache.trim();
+            assertEquals(1, cache.size());
+
+            assertArrayEquals(bytes("second"), cache.get(page).values.get(0));
+        }
+    }
+
+    @Test
+    void cleanPagesAreDroppedWithoutWriting() throws IOException {
+        try (PageFile file = PageFile.open(directory.resolve("clean.pages"))) {
+            PageCache cache = new PageCache(file, 8);
+            List<Integer> pages = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                pages.add(cache.allocate(true).page);
+            }
+            cache.flush();
+            assertTrue(cache.toString().endsWith("writes=8"), cache.toString());
+
+            PageCache small = new PageCache(file, 2);
+            for (int page : pages) {
+                small.get(page);
+                small.trim();
+            }
+            assertEquals(2, small.size());
+            assertTrue(small.toString().endsWith("evictions=6, writes=0"), small.toString());
+        }
+    }
+
+    @Test
+    void storeLargerThanItsCacheKeepsEveryRecord() throws IOException {
+        Path path = directory.resolve("large.pages");
+        byte[] value = new byte[200];
+        try (PagedStore store = new PagedStore(path, 0)) {
+            for (long id = 0; id < 20_000; id++) {
+                value[0] = (byte) id;
+                store.put(PagedStore.idKey(id), value.clone());
+            }
+            // About 1,000 leaf pages went through a 64-page cache before any flush
+            assertTrue(store.describe().matches(".*evictions=[1-9]\\d*.*"), store.describe());
+            for (long id = 0; id < 20_000; id++) {
+                assertEquals((byte) id, store.get(PagedStore.idKey(id))[0]);
+            }
+        }
+        try (PagedStore store = new PagedStore(path, 0)) {
+            assertEquals(20_000, store.size());
+            for (long id = 0; id < 20_000; id += 97) {
+                assertEquals((byte) id, store.get(PagedStore.idKey(id))[0]);
+            }
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
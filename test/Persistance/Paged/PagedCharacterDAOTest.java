@@ -0,0 +1,67 @@
+package Persistance.Paged;
+
+import Business.Character.Character;
+import Persistance.CharacterDAO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Comprueba la importación de personajes al almacén paginado, con IDs repetidos y con un origen que falla a
+ * medias.
+ */
+class PagedCharacterDAOTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void importKeepsTheFirstCharacterOfARepeatedId() throws IOException {
+        List<Character> source = List.of(new Character(3, "First three", 70), new Character(1, "One", 60),
+                new Character(3, "Second three", 80), new Character(-2, "Minus two", 90), new Character(1, "One again", 65));
+        Path path = directory.resolve("characters.pages");
+        try (PagedCharacterDAO dao = new PagedCharacterDAO(new PagedStore(path, 0))) {
+            assertEquals(3, dao.importFrom(() -> source));
+            assertEquals(3, dao.size());
+            assertEquals("First three", dao.getCharacter(3).getName());
+            assertEquals(70, dao.getCharacter(3).getWeight());
+            assertEquals("One", dao.getCharacter(1).getName());
+
+            // Importing again adds nothing: every ID is already there
+            assertEquals(0, dao.importFrom(() -> source));
+        }
+        try (PagedCharacterDAO dao = new PagedCharacterDAO(new PagedStore(path, 0))) {
+            List<Character> stored = dao.getCharacters();
+            assertEquals(List.of(-2L, 1L, 3L), stored.stream().map(Character::getId).toList());
+            assertEquals("First three", stored.get(2).getName());
+        }
+    }
+
+    @Test
+    void interruptedSourceReportsFailure() throws IOException {
+        CharacterDAO broken = new CharacterDAO() {
+            @Override
+            public List<Character> getCharacters() {
+                return List.of();
+            }
+
+            @Override
+            public boolean forEachCharacter(Consumer<Character> consumer) {
+                consumer.accept(new Character(1, "One", 60));
+                return false;
+            }
+        };
+        try (PagedCharacterDAO dao = new PagedCharacterDAO(new PagedStore(directory.resolve("broken.pages"), 0))) {
+            assertEquals(-1, dao.importFrom(broken));
+            assertEquals("One", dao.getCharacter(1).getName());
+            assertNull(dao.getCharacter(2));
+        }
+    }
+}
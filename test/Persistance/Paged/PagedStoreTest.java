@@ -0,0 +1,127 @@
+package Persistance.Paged;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara el almacén paginado con un {@link TreeMap} tras una serie larga de operaciones aleatorias, cerrando y
+ * volviendo a abrir el archivo, con una caché lo bastante pequeña para que se expulsen páginas todo el rato.
+ */
+class PagedStoreTest {
+    private static final int OPERATIONS = 200_000;
+    private static final int REOPEN_EVERY = 25_000;
+    private static final int KEYS = 30_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void randomOperationsMatchTreeMapAcrossReopens() throws IOException {
+        SplittableRandom random = new SplittableRandom(19);
+        byte[][] keys = new byte[KEYS][];
+        for (int i = 0; i < KEYS; i++) {
+            // Mostly short keys, some at the size limit, so that internal nodes split too
+            keys[i] = randomBytes(random, random.nextInt(50) == 0 ? BPlusTree.MAX_KEY_BYTES : 1 + random.nextInt(40));
+        }
+        TreeMap<byte[], byte[]> expected = new TreeMap<>(Arrays::compareUnsigned);
+        Path path = directory.resolve("random.pages");
+        PagedStore store = new PagedStore(path, 0); // the minimum cache
+
+        for (int op = 1; op <= OPERATIONS; op++) {
+            byte[] key = keys[random.nextInt(KEYS)];
+            int kind = random.nextInt(100);
+            if (kind < 55) {
+                byte[] value = randomValue(random);
+                assertEquals(expected.put(key, value) == null, store.put(key, value), "put #" + op);
+            } else if (kind < 80) {
+                assertEquals(expected.remove(key) != null, store.remove(key), "remove #" + op);
+            } else {
+                byte[] value = store.get(key);
+                byte[] wanted = expected.get(key);
+                if (wanted == null) {
+                    assertNull(value, "get #" + op);
+                } else {
+                    assertArrayEquals(wanted, value, "get #" + op);
+                }
+            }
+
+            if (op % REOPEN_EVERY == 0) {
+                store.close();
+                store = new PagedStore(path, 0);
+                assertSameEntries(expected, store);
+            }
+        }
+        store.close();
+    }
+
+    @Test
+    void scanStopsWhenTheVisitorSaysSo() throws IOException {
+        try (PagedStore store = new PagedStore(directory.resolve("scan.pages"), 0)) {
+            for (long id = -5_000; id < 5_000; id++) {
+                store.put(PagedStore.idKey(id), new byte[]{(byte) id});
+            }
+            // idKey keeps the numeric order, negative IDs first
+            List<Long> seen = new ArrayList<>();
+            store.scan((key, value) -> {
+                seen.add(PagedValues.id(key));
+                return seen.size() < 3;
+            });
+            assertEquals(List.of(-5_000L, -4_999L, -4_998L), seen);
+        }
+    }
+
+    @Test
+    void oversizedEntriesAreRejected() throws IOException {
+        try (PagedStore store = new PagedStore(directory.resolve("limits.pages"), 0)) {
+            assertThrows(IllegalArgumentException.class, () -> store.put(new byte[BPlusTree.MAX_KEY_BYTES + 1], new byte[0]));
+            assertThrows(IllegalArgumentException.class, () -> store.put(new byte[1], new byte[BPlusTree.MAX_VALUE_BYTES + 1]));
+            assertEquals(0, store.size());
+            assertFalse(store.remove(new byte[1]));
+        }
+    }
+
+    private static void assertSameEntries(TreeMap<byte[], byte[]> expected, PagedStore store) throws IOException {
+        assertEquals(expected.size(), store.size());
+        Iterator<Map.Entry<byte[], byte[]>> wanted = expected.entrySet().iterator();
+        long[] visited = {0};
+        store.forEach((key, value) -> {
+            assertTrue(wanted.hasNext(), "extra key");
+            Map.Entry<byte[], byte[]> entry = wanted.next();
+            assertArrayEquals(entry.getKey(), key, "key #" + visited[0]);
+            assertArrayEquals(entry.getValue(), value, "value #" + visited[0]);
+            visited[0]++;
+        });
+        assertFalse(wanted.hasNext(), "missing keys after " + visited[0]);
+    }
+
+    private static byte[] randomValue(SplittableRandom random) {
+        int kind = random.nextInt(100);
+        int length = kind < 80 ? random.nextInt(100) : kind < 99 ? 100 + random.nextInt(700) : 800 + random.nextInt(BPlusTree.MAX_VALUE_BYTES - 799);
+        return randomBytes(random, length);
+    }
+
+    private static byte[] randomBytes(SplittableRandom random, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) random.nextInt(256);
+        }
+        return bytes;
+    }
+}